@@ -14,7 +14,8 @@ import lombok.NoArgsConstructor;
 public class AdmissionFormField {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "admission_form_field_id_seq")
+    @SequenceGenerator(name = "admission_form_field_id_seq", sequenceName = "admission_form_field_id_seq", allocationSize = 50)
     private Long id;
 
     @JsonIgnore
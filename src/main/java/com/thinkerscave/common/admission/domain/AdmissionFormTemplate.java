@@ -19,7 +19,8 @@ import java.util.List;
 public class AdmissionFormTemplate extends Auditable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "admission_form_template_id_seq")
+    @SequenceGenerator(name = "admission_form_template_id_seq", sequenceName = "admission_form_template_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "tenant_id", length = 100)
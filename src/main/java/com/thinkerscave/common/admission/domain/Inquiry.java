@@ -8,6 +8,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 import lombok.Getter;
@@ -40,7 +41,8 @@ import com.thinkerscave.common.auditing.Auditable;
 public class Inquiry extends Auditable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inquiry_inquiry_id_seq")
+    @SequenceGenerator(name = "inquiry_inquiry_id_seq", sequenceName = "inquiry_inquiry_id_seq", allocationSize = 50)
     @Column(name = "inquiry_id")
     private Long inquiryId;
 
@@ -0,0 +1,159 @@
+package com.thinkerscave.common.aop;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.time.temporal.Temporal;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TracingAspect times every controller and service method, replacing the
+ * former LoggingAspect which logged full arguments and results of every call.
+ *
+ * Each method gets a latency timer, traced.method{class, method, exception},
+ * with a percentile histogram unless tracing.percentile-histogram is off.
+ * Arguments and results are only captured for a sampled fraction of calls
+ * (tracing.sample-rate) and for calls slower than tracing.slow-threshold-ms,
+ * and even then only summarized: numbers, booleans, enums, dates and UUIDs
+ * are printed, text and collections by length or size, anything else by
+ * type, so entities and lazy collections are never traversed. Text is never
+ * printed because service arguments include passwords and refresh tokens. Failures are logged once, by the outermost traced method.
+ *
+ * Trace output goes to the "com.thinkerscave.trace" logger, which log4j2.xml
+ * routes through an async logger to its own file.
+ */
+@Aspect
+@Component
+public class TracingAspect {
+
+    private static final Logger trace = LoggerFactory.getLogger("com.thinkerscave.trace");
+
+    private final MeterRegistry meterRegistry;
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+    private final boolean percentileHistogram;
+
+    private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
+    private final ThreadLocal<int[]> depth = ThreadLocal.withInitial(() -> new int[1]);
+
+    public TracingAspect(MeterRegistry meterRegistry,
+            @Value("${tracing.sample-rate:0.01}") double sampleRate,
+            @Value("${tracing.slow-threshold-ms:500}") long slowThresholdMs,
+            @Value("${tracing.percentile-histogram:true}") boolean percentileHistogram) {
+        this.meterRegistry = meterRegistry;
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+        this.percentileHistogram = percentileHistogram;
+    }
+
+    @Around("execution(* com.thinkerscave.common..controller..*(..)) || " +
+            "execution(* com.thinkerscave.common..service..*(..))")
+    public Object trace(ProceedingJoinPoint joinPoint) throws Throwable {
+        int[] calls = depth.get();
+        calls[0]++;
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            long elapsed = System.nanoTime() - start;
+            Method method = method(joinPoint);
+            timers.computeIfAbsent(method, m -> timer(m, "none")).record(elapsed, TimeUnit.NANOSECONDS);
+            if (elapsed >= slowThresholdNanos) {
+                trace.warn("Slow call {} took {} ms args={} result={}", name(method),
+                        TimeUnit.NANOSECONDS.toMillis(elapsed), summarize(joinPoint.getArgs()), summarize(result));
+            } else if (sampled()) {
+                trace.info("Sampled call {} took {} us args={} result={}", name(method),
+                        TimeUnit.NANOSECONDS.toMicros(elapsed), summarize(joinPoint.getArgs()), summarize(result));
+            }
+            return result;
+        } catch (Throwable ex) {
+            long elapsed = System.nanoTime() - start;
+            Method method = method(joinPoint);
+            timer(method, ex.getClass().getSimpleName()).record(elapsed, TimeUnit.NANOSECONDS);
+            if (calls[0] == 1) {
+                trace.warn("Call {} failed after {} ms args={}: {}", name(method),
+                        TimeUnit.NANOSECONDS.toMillis(elapsed), summarize(joinPoint.getArgs()), ex.toString());
+            }
+            throw ex;
+        } finally {
+            calls[0]--;
+        }
+    }
+
+    private boolean sampled() {
+        return sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    private static Method method(ProceedingJoinPoint joinPoint) {
+        return ((MethodSignature) joinPoint.getSignature()).getMethod();
+    }
+
+    private Timer timer(Method method, String exception) {
+        return Timer.builder("traced.method")
+                .description("Latency of controller and service methods")
+                .tag("class", method.getDeclaringClass().getSimpleName())
+                .tag("method", method.getName())
+                .tag("exception", exception)
+                .publishPercentileHistogram(percentileHistogram)
+                .register(meterRegistry);
+    }
+
+    private static String name(Method method) {
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName() + "()";
+    }
+
+    /**
+     * Describes arguments or a result without calling toString() on
+     * arbitrary objects.
+     */
+    static String summarize(Object value) {
+        if (value instanceof Object[] values) {
+            StringBuilder summary = new StringBuilder("[");
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    summary.append(", ");
+                }
+                summary.append(summarize(values[i]));
+            }
+            return summary.append(']').toString();
+        }
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof CharSequence text) {
+            return value.getClass().getSimpleName() + "(length=" + text.length() + ")";
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Character
+                || value instanceof Enum<?> || value instanceof Temporal || value instanceof UUID) {
+            return value.toString();
+        }
+        if (!Hibernate.isInitialized(value)) {
+            return value.getClass().getSimpleName() + "(uninitialized)";
+        }
+        if (value instanceof Collection<?> collection) {
+            return value.getClass().getSimpleName() + "(size=" + collection.size() + ")";
+        }
+        if (value instanceof Map<?, ?> map) {
+            return value.getClass().getSimpleName() + "(size=" + map.size() + ")";
+        }
+        if (value instanceof ResponseEntity<?> response) {
+            return "ResponseEntity(" + response.getStatusCode().value() + ", " + summarize(response.getBody()) + ")";
+        }
+        return value.getClass().getSimpleName();
+    }
+}
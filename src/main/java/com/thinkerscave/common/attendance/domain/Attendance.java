@@ -15,7 +15,8 @@ import java.time.LocalDate;
 public class Attendance extends Auditable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "attendance_id_seq")
+    @SequenceGenerator(name = "attendance_id_seq", sequenceName = "attendance_id_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -1,7 +1,8 @@
 package com.thinkerscave.common.auditing.aspect;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.thinkerscave.common.auditing.annotation.Auditable;
+import com.thinkerscave.common.auditing.pipeline.AuditEvent;
+import com.thinkerscave.common.auditing.pipeline.AuditLogPipeline;
 import com.thinkerscave.common.config.TenantContext;
 import com.thinkerscave.common.context.OrganizationContext;
 import lombok.RequiredArgsConstructor;
@@ -10,11 +11,11 @@ import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
-import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
@@ -29,6 +30,10 @@ import java.util.Map;
  * - Where (tenant/organization context)
  * - Duration (execution time)
  * - Result (success/failure)
+ *
+ * Events are handed to the {@link AuditLogPipeline}, which writes them in
+ * batches on a background thread; the audited call never waits for the
+ * database.
  * 
  * @author System
  */
@@ -38,8 +43,7 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class AuditLogAspect {
 
-    private final JdbcTemplate jdbcTemplate;
-    private final ObjectMapper objectMapper;
+    private final AuditLogPipeline auditLogPipeline;
 
     /**
      * Around advice for @Auditable methods.
@@ -85,11 +89,11 @@ public class AuditLogAspect {
         } finally {
             long duration = System.currentTimeMillis() - startTime;
 
-            // Log to database asynchronously (fire-and-forget)
+            // Queue for the background writer (fire-and-forget)
             try {
-                saveAuditLog(
+                auditLogPipeline.submit(new AuditEvent(
                         tenantId, organizationId, action, description,
-                        performedBy, params, status, errorMessage, duration);
+                        performedBy, params, status, errorMessage, duration, Instant.now()));
             } catch (Exception ex) {
                 // Don't fail the main operation if audit logging fails
                 log.error("Failed to save audit log for action: {}", action, ex);
@@ -162,29 +166,4 @@ public class AuditLogAspect {
         // For primitives and common types, log directly
         return value.toString();
     }
-
-    /**
-     * Save audit log to database.
-     */
-    private void saveAuditLog(String tenantId, Long organizationId, String action,
-            String description, String performedBy, Map<String, Object> details,
-            String status, String errorMessage, long durationMs) {
-
-        String sql = """
-                INSERT INTO organization_audit_log
-                (tenant_id, organization_id, action, description, performed_by, details,
-                 status, error_message, duration_ms, created_at)
-                VALUES (?, ?, ?, ?, ?, ?::jsonb, ?, ?, ?, CURRENT_TIMESTAMP)
-                """;
-
-        try {
-            String detailsJson = objectMapper.writeValueAsString(details);
-
-            jdbcTemplate.update(sql,
-                    tenantId, organizationId, action, description, performedBy,
-                    detailsJson, status, errorMessage, durationMs);
-        } catch (Exception e) {
-            log.error("Failed to insert audit log: {}", e.getMessage());
-        }
-    }
 }
@@ -0,0 +1,63 @@
+package com.thinkerscave.common.auditing.controller;
+
+import com.thinkerscave.common.auditing.dto.AuditLogPage;
+import com.thinkerscave.common.auditing.dto.AuditLogSearchRequest;
+import com.thinkerscave.common.auditing.service.AuditLogSearchService;
+import com.thinkerscave.common.commonModel.ApiResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+
+/**
+ * Read access to the audit logs, newest first with cursor pagination.
+ */
+@RestController
+@RequestMapping("/api/v1/audit-logs")
+@RequiredArgsConstructor
+@Tag(name = "Audit Logs", description = "Search the organization and tenant audit trails")
+public class AuditLogController {
+
+    private final AuditLogSearchService auditLogSearchService;
+
+    @GetMapping
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN','ADMIN')")
+    @Operation(summary = "Search organization audit log", description = "Audited operations of the caller's tenant, filtered by action, user, organization and time range (default: last 30 days). Pass nextCursor as cursor for the next page.", security = @SecurityRequirement(name = "Bearer Authentication"))
+    public ResponseEntity<ApiResponse<AuditLogPage>> searchOrganizationLog(
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String performedBy,
+            @RequestParam(required = false) Long organizationId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        AuditLogPage page = auditLogSearchService.searchOrganizationLog(
+                new AuditLogSearchRequest(action, performedBy, organizationId, null, from, to, cursor, limit));
+        return ResponseEntity.ok(ApiResponse.success("Audit log retrieved", page));
+    }
+
+    @GetMapping("/tenants")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    @Operation(summary = "Search tenant audit log", description = "Tenant lifecycle events (onboarding, activation, promotion), filtered by tenant, action, user and time range (default: last 30 days). Pass nextCursor as cursor for the next page.", security = @SecurityRequirement(name = "Bearer Authentication"))
+    public ResponseEntity<ApiResponse<AuditLogPage>> searchTenantLog(
+            @RequestParam(required = false) String tenantId,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String performedBy,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        AuditLogPage page = auditLogSearchService.searchTenantLog(
+                new AuditLogSearchRequest(action, performedBy, null, tenantId, from, to, cursor, limit));
+        return ResponseEntity.ok(ApiResponse.success("Tenant audit log retrieved", page));
+    }
+}
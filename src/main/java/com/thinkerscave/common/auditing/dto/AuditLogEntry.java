@@ -0,0 +1,24 @@
+package com.thinkerscave.common.auditing.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.Instant;
+
+/**
+ * One audit row, from organization_audit_log or public.tenant_audit_log.
+ * Columns the source table does not have are null.
+ */
+public record AuditLogEntry(
+        long id,
+        String tenantId,
+        Long organizationId,
+        String action,
+        String description,
+        String performedBy,
+        @JsonRawValue String details,
+        String status,
+        String errorMessage,
+        Long durationMs,
+        String ipAddress,
+        Instant occurredAt) {
+}
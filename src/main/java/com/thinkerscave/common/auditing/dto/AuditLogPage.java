@@ -0,0 +1,11 @@
+package com.thinkerscave.common.auditing.dto;
+
+import java.util.List;
+
+/**
+ * A page of audit rows, newest first. Pass {@code nextCursor} back as
+ * {@code cursor} with the same filters to get the following page; it is
+ * null on the last page.
+ */
+public record AuditLogPage(List<AuditLogEntry> items, String nextCursor) {
+}
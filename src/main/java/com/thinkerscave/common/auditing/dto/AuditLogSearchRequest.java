@@ -0,0 +1,27 @@
+package com.thinkerscave.common.auditing.dto;
+
+import java.time.Instant;
+
+/**
+ * Filters of an audit search. Every filter is optional; the time range
+ * defaults to the last audit.search.default-window-days days.
+ *
+ * @param action         exact action, e.g. CREATE_STUDENT or TENANT_CREATED
+ * @param performedBy    exact username
+ * @param organizationId organization (organization log only)
+ * @param tenantId       tenant (tenant log only)
+ * @param from           inclusive lower bound
+ * @param to             exclusive upper bound
+ * @param cursor         nextCursor of the previous page
+ * @param limit          page size
+ */
+public record AuditLogSearchRequest(
+        String action,
+        String performedBy,
+        Long organizationId,
+        String tenantId,
+        Instant from,
+        Instant to,
+        String cursor,
+        Integer limit) {
+}
@@ -0,0 +1,284 @@
+package com.thinkerscave.common.auditing.partition;
+
+import com.thinkerscave.common.config.TenantShardRouter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps the monthly partitions of the audit tables (see migration V1_16):
+ * every partitioned organization_audit_log on every shard, including the
+ * public template and the pooled schema, and public.tenant_audit_log.
+ *
+ * Partitions are named {@code <table>_pYYYYMM} and created
+ * {@code audit.partitions.months-ahead} months in advance, so inserts never
+ * wait on DDL. Partitions whose month ended more than
+ * {@code audit.partitions.retention-months} ago are detached concurrently,
+ * so readers and writers of the parent are not blocked, and then dropped
+ * whole, which costs the same however many rows they hold. A retention of 0
+ * keeps everything.
+ *
+ * There is no default partition: PostgreSQL cannot detach concurrently from
+ * a table that has one, and every new month would have to scan it. Instead
+ * the audit.partitions.missing gauge counts tables that have no partition
+ * for next month after a run (a shard that could not be maintained at all
+ * counts once); alert on it being above 0, since audit rows of a month
+ * without a partition are rejected.
+ *
+ * Runs once at startup (after SchemaInitializer created the global tables)
+ * and then every {@code audit.partitions.maintenance-interval-ms}.
+ */
+@Component
+@DependsOn("schemaInitializer")
+@Slf4j
+public class AuditPartitionManager implements MeterBinder {
+
+    static final Set<String> PARTITIONED_TABLES = Set.of("organization_audit_log", "tenant_audit_log");
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String LIST_TABLES = """
+            SELECT n.nspname, c.relname
+            FROM pg_partitioned_table pt
+            JOIN pg_class c ON c.oid = pt.partrelid
+            JOIN pg_namespace n ON n.oid = c.relnamespace
+            WHERE c.relname = ANY (?)
+            """;
+
+    private static final String LIST_PARTITIONS = """
+            SELECT c.relname, i.inhdetachpending
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = (quote_ident(?) || '.' || quote_ident(?))::regclass
+            """;
+
+    private final TenantShardRouter shardRouter;
+    private final boolean enabled;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final long lockTimeoutMs;
+    private final AtomicInteger missing = new AtomicInteger();
+
+    public AuditPartitionManager(TenantShardRouter shardRouter,
+            @Value("${audit.partitions.enabled:true}") boolean enabled,
+            @Value("${audit.partitions.months-ahead:3}") int monthsAhead,
+            @Value("${audit.partitions.retention-months:24}") int retentionMonths,
+            @Value("${audit.partitions.lock-timeout-ms:5000}") long lockTimeoutMs) {
+        this.shardRouter = shardRouter;
+        this.enabled = enabled;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.lockTimeoutMs = lockTimeoutMs;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        maintain();
+    }
+
+    @Scheduled(fixedDelayString = "${audit.partitions.maintenance-interval-ms:21600000}",
+            initialDelayString = "${audit.partitions.maintenance-interval-ms:21600000}")
+    public void maintain() {
+        if (!enabled) {
+            return;
+        }
+        YearMonth current = YearMonth.now();
+        AtomicInteger uncovered = new AtomicInteger();
+        shardRouter.getShards().forEach((shardKey, dataSource) -> {
+            try {
+                uncovered.addAndGet(maintainShard(dataSource, current));
+            } catch (SQLException | RuntimeException e) {
+                uncovered.incrementAndGet();
+                log.warn("Audit partition maintenance failed on shard {}: {}", shardKey, e.getMessage());
+            }
+        });
+        missing.set(uncovered.get());
+        if (uncovered.get() > 0) {
+            log.error("{} audit table(s) have no partition for {}; their inserts will fail from then on",
+                    uncovered.get(), current.plusMonths(1));
+        }
+    }
+
+    /**
+     * @return the number of tables left without a partition for next month
+     */
+    private int maintainShard(DataSource dataSource, YearMonth current) throws SQLException {
+        int uncovered = 0;
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                // Creating and finalizing partitions locks the parent; don't queue writers behind us
+                statement.execute("SET lock_timeout = " + lockTimeoutMs);
+            }
+            try {
+                for (String[] table : listPartitionedTables(connection)) {
+                    try {
+                        if (!maintainTable(table[0], table[1], current, connection)) {
+                            uncovered++;
+                        }
+                    } catch (SQLException e) {
+                        uncovered++;
+                        log.warn("Could not maintain partitions of {}.{}: {}", table[0], table[1], e.getMessage());
+                    }
+                }
+            } finally {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("RESET lock_timeout");
+                }
+            }
+        }
+        return uncovered;
+    }
+
+    /**
+     * @return whether the table has a partition for next month
+     */
+    boolean maintainTable(String schema, String table, YearMonth current, Connection connection)
+            throws SQLException {
+        Map<String, Boolean> partitions = listPartitions(schema, table, connection);
+        List<String> attached = new ArrayList<>();
+        partitions.forEach((partition, detachPending) -> {
+            if (!detachPending) {
+                attached.add(partition);
+            }
+        });
+
+        int created = 0;
+        for (YearMonth month : monthsToCreate(current, monthsAhead)) {
+            String partition = partitionName(table, month);
+            if (!attached.contains(partition)) {
+                execute(connection, createPartitionSql(schema, table, month));
+                attached.add(partition);
+                created++;
+            }
+        }
+
+        int dropped = 0;
+        for (Map.Entry<String, Boolean> partition : partitions.entrySet()) {
+            if (isExpired(table, partition.getKey(), current, retentionMonths)) {
+                // Runs in autocommit: a concurrent detach cannot be part of a transaction block
+                execute(connection, detachPartitionSql(schema, table, partition.getKey(), partition.getValue()));
+                execute(connection, String.format("DROP TABLE \"%s\".\"%s\"", schema, partition.getKey()));
+                dropped++;
+            }
+        }
+
+        if (created > 0 || dropped > 0) {
+            log.info("Audit partitions of {}.{}: created {}, dropped {}", schema, table, created, dropped);
+        }
+        return attached.contains(partitionName(table, current.plusMonths(1)));
+    }
+
+    static List<YearMonth> monthsToCreate(YearMonth current, int monthsAhead) {
+        List<YearMonth> months = new ArrayList<>(monthsAhead + 1);
+        for (int i = 0; i <= monthsAhead; i++) {
+            months.add(current.plusMonths(i));
+        }
+        return months;
+    }
+
+    static String partitionName(String table, YearMonth month) {
+        return table + "_p" + month.format(SUFFIX);
+    }
+
+    static String createPartitionSql(String schema, String table, YearMonth month) {
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        return String.format(
+                "CREATE TABLE IF NOT EXISTS \"%s\".\"%s\" PARTITION OF \"%s\".\"%s\" FOR VALUES FROM ('%s') TO ('%s')",
+                schema, partitionName(table, month), schema, table, from, to);
+    }
+
+    /**
+     * Detaches a partition without blocking the parent. A detach that was
+     * interrupted midway leaves the partition pending; that one is finalized.
+     */
+    static String detachPartitionSql(String schema, String table, String partition, boolean detachPending) {
+        return String.format("ALTER TABLE \"%s\".\"%s\" DETACH PARTITION \"%s\".\"%s\" %s",
+                schema, table, schema, partition, detachPending ? "FINALIZE" : "CONCURRENTLY");
+    }
+
+    /**
+     * Whether a partition only holds months older than the retention period.
+     * Partitions not named by this class are never dropped.
+     */
+    static boolean isExpired(String table, String partition, YearMonth current, int retentionMonths) {
+        String prefix = table + "_p";
+        if (retentionMonths <= 0 || !partition.startsWith(prefix)) {
+            return false;
+        }
+        try {
+            YearMonth month = YearMonth.parse(partition.substring(prefix.length()), SUFFIX);
+            return month.isBefore(current.minusMonths(retentionMonths));
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private List<String[]> listPartitionedTables(Connection connection) throws SQLException {
+        List<String[]> tables = new ArrayList<>();
+        try (PreparedStatement ps = connection.prepareStatement(LIST_TABLES)) {
+            ps.setArray(1, connection.createArrayOf("text", PARTITIONED_TABLES.toArray()));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    tables.add(new String[] { rs.getString("nspname"), rs.getString("relname") });
+                }
+            }
+        }
+        return tables;
+    }
+
+    /**
+     * Partitions of the table, each with whether a concurrent detach of it
+     * is pending.
+     */
+    private Map<String, Boolean> listPartitions(String schema, String table, Connection connection)
+            throws SQLException {
+        Map<String, Boolean> partitions = new LinkedHashMap<>();
+        try (PreparedStatement ps = connection.prepareStatement(LIST_PARTITIONS)) {
+            ps.setString(1, schema);
+            ps.setString(2, table);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    partitions.put(rs.getString("relname"), rs.getBoolean("inhdetachpending"));
+                }
+            }
+        }
+        return partitions;
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("audit.partitions.missing", missing, AtomicInteger::get)
+                .description("Audit tables without a partition for next month after the last maintenance run")
+                .register(registry);
+    }
+}
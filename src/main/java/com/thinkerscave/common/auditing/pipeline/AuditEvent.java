@@ -0,0 +1,21 @@
+package com.thinkerscave.common.auditing.pipeline;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * One row of organization_audit_log, captured on the request thread and
+ * written later by {@link AuditLogPipeline}.
+ */
+public record AuditEvent(
+        String tenantId,
+        Long organizationId,
+        String action,
+        String description,
+        String performedBy,
+        Map<String, Object> details,
+        String status,
+        String errorMessage,
+        long durationMs,
+        Instant createdAt) {
+}
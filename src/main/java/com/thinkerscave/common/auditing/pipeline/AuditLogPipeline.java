@@ -0,0 +1,281 @@
+package com.thinkerscave.common.auditing.pipeline;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AuditLogPipeline takes audit events off the request thread. Events go into
+ * a bounded queue which a single background thread drains in batches of up
+ * to {@code audit.pipeline.batch-size}, writing each tenant's share with one
+ * multi-row INSERT (see {@link AuditLogWriter}).
+ *
+ * When the queue is full, {@code audit.pipeline.backpressure} decides:
+ * - drop: the event is discarded and counted
+ * - block: the caller waits up to block-timeout-ms for space, then drops
+ * - spill: the event is appended to a local JSON-lines file, which the
+ *   writer replays into the database once the queue has drained
+ * Batches that cannot be written are spilled too under the spill policy.
+ *
+ * On shutdown the queue is flushed for up to shutdown-timeout-ms.
+ */
+@Component
+@Slf4j
+public class AuditLogPipeline implements MeterBinder {
+
+    public enum BackpressurePolicy {
+        DROP, BLOCK, SPILL
+    }
+
+    private final AuditLogWriter writer;
+    private final ObjectMapper objectMapper;
+    private final BlockingQueue<AuditEvent> queue;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final BackpressurePolicy backpressure;
+    private final long blockTimeoutMs;
+    private final Path spillFile;
+    private final long shutdownTimeoutMs;
+
+    private static final long DROP_WARNING_INTERVAL_MS = 10_000;
+
+    private final Object spillLock = new Object();
+    private volatile long lastDropWarning;
+    private volatile boolean running;
+    private Thread writerThread;
+
+    private Counter written;
+    private Counter dropped;
+    private Counter spilled;
+
+    public AuditLogPipeline(AuditLogWriter writer, ObjectMapper objectMapper,
+            @Value("${audit.pipeline.capacity:10000}") int capacity,
+            @Value("${audit.pipeline.batch-size:500}") int batchSize,
+            @Value("${audit.pipeline.flush-interval-ms:200}") long flushIntervalMs,
+            @Value("${audit.pipeline.backpressure:drop}") String backpressure,
+            @Value("${audit.pipeline.block-timeout-ms:1000}") long blockTimeoutMs,
+            @Value("${audit.pipeline.spill-file:./Logs/audit-spill.jsonl}") String spillFile,
+            @Value("${audit.pipeline.shutdown-timeout-ms:10000}") long shutdownTimeoutMs) {
+        this.writer = writer;
+        this.objectMapper = objectMapper;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.backpressure = BackpressurePolicy.valueOf(backpressure.trim().toUpperCase(Locale.ROOT));
+        this.blockTimeoutMs = blockTimeoutMs;
+        this.spillFile = Path.of(spillFile);
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writerThread = new Thread(this::drainLoop, "audit-log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Queues an event; never throws and never touches the database.
+     */
+    public void submit(AuditEvent event) {
+        if (queue.offer(event)) {
+            return;
+        }
+        switch (backpressure) {
+            case BLOCK -> {
+                try {
+                    if (queue.offer(event, blockTimeoutMs, TimeUnit.MILLISECONDS)) {
+                        return;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                drop(1);
+            }
+            case SPILL -> spill(List.of(event));
+            default -> drop(1);
+        }
+    }
+
+    private void drainLoop() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                AuditEvent first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    writeBatch(batch);
+                    batch.clear();
+                } else {
+                    replaySpilled();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Audit log writer failed", e);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Writes a batch, one INSERT per tenant.
+     */
+    void writeBatch(List<AuditEvent> batch) {
+        Map<String, List<AuditEvent>> byTenant = new LinkedHashMap<>();
+        for (AuditEvent event : batch) {
+            byTenant.computeIfAbsent(event.tenantId() != null ? event.tenantId() : "public", t -> new ArrayList<>())
+                    .add(event);
+        }
+        byTenant.forEach((tenant, events) -> {
+            try {
+                writer.write(tenant, events);
+                if (written != null) {
+                    written.increment(events.size());
+                }
+            } catch (RuntimeException e) {
+                log.error("Failed to write {} audit events of tenant {}: {}", events.size(), tenant, e.getMessage());
+                if (backpressure == BackpressurePolicy.SPILL) {
+                    spill(events);
+                } else {
+                    drop(events.size());
+                }
+            }
+        });
+    }
+
+    private void drop(int count) {
+        if (dropped != null) {
+            dropped.increment(count);
+        }
+        long now = System.currentTimeMillis();
+        if (now - lastDropWarning > DROP_WARNING_INTERVAL_MS) {
+            lastDropWarning = now;
+            log.warn("Audit queue full or database unavailable; dropping audit events (see audit.pipeline.events)");
+        }
+    }
+
+    private void spill(List<AuditEvent> events) {
+        synchronized (spillLock) {
+            try (BufferedWriter out = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (AuditEvent event : events) {
+                    out.write(objectMapper.writeValueAsString(event));
+                    out.newLine();
+                }
+                if (spilled != null) {
+                    spilled.increment(events.size());
+                }
+            } catch (IOException e) {
+                log.error("Could not spill {} audit events to {}: {}", events.size(), spillFile, e.getMessage());
+                drop(events.size());
+            }
+        }
+    }
+
+    /**
+     * Writes spilled events back once the queue is idle. The file is moved
+     * aside first, so events spilled meanwhile go to a fresh file.
+     */
+    void replaySpilled() {
+        if (backpressure != BackpressurePolicy.SPILL || !Files.exists(spillFile)) {
+            return;
+        }
+        Path replaying = spillFile.resolveSibling(spillFile.getFileName() + ".replaying");
+        List<String> lines;
+        synchronized (spillLock) {
+            try {
+                if (!Files.exists(replaying)) {
+                    Files.move(spillFile, replaying, StandardCopyOption.ATOMIC_MOVE);
+                }
+                lines = Files.readAllLines(replaying, StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                log.warn("Could not read spilled audit events from {}: {}", spillFile, e.getMessage());
+                return;
+            }
+        }
+        List<AuditEvent> events = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            try {
+                events.add(objectMapper.readValue(line, AuditEvent.class));
+            } catch (IOException e) {
+                log.warn("Skipping unreadable spilled audit event: {}", e.getMessage());
+            }
+        }
+        try {
+            for (int i = 0; i < events.size(); i += batchSize) {
+                writeBatch(events.subList(i, Math.min(events.size(), i + batchSize)));
+            }
+            Files.deleteIfExists(replaying);
+            log.info("Replayed {} spilled audit events", events.size());
+        } catch (IOException e) {
+            log.warn("Could not delete replayed audit spill file {}: {}", replaying, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (writerThread != null) {
+            writerThread.interrupt();
+            try {
+                writerThread.join(shutdownTimeoutMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+    }
+
+    /**
+     * Writes everything still queued on the calling thread.
+     */
+    void flush() {
+        long deadline = System.currentTimeMillis() + shutdownTimeoutMs;
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            writeBatch(batch);
+            batch.clear();
+            if (System.currentTimeMillis() > deadline) {
+                log.warn("Audit log flush timed out with {} events left", queue.size());
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("audit.pipeline.queue", queue, BlockingQueue::size)
+                .description("Audit events waiting to be written")
+                .register(registry);
+        written = Counter.builder("audit.pipeline.events").tag("outcome", "written").register(registry);
+        dropped = Counter.builder("audit.pipeline.events").tag("outcome", "dropped").register(registry);
+        spilled = Counter.builder("audit.pipeline.events").tag("outcome", "spilled").register(registry);
+    }
+}
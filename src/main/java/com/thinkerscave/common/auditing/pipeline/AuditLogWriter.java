@@ -0,0 +1,96 @@
+package com.thinkerscave.common.auditing.pipeline;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thinkerscave.common.config.TenantContext;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes audit events of one tenant into its organization_audit_log with a
+ * single multi-row INSERT per transaction. The connection comes from the
+ * tenant-aware session, so rows land in the tenant's schema (or the pooled
+ * schema, tagged with the tenant's key) on the tenant's shard.
+ */
+@Component
+public class AuditLogWriter {
+
+    private static final String INSERT_PREFIX = """
+            INSERT INTO organization_audit_log
+            (tenant_id, organization_id, action, description, performed_by, details,
+             status, error_message, duration_ms, created_at)
+            VALUES\s""";
+
+    private static final String ROW = "(?, ?, ?, ?, ?, ?::jsonb, ?, ?, ?, ?)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public AuditLogWriter(ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public void write(String tenantId, List<AuditEvent> events) {
+        TenantContext.setTenant(tenantId);
+        try {
+            transactionTemplate.executeWithoutResult(status -> entityManager.unwrap(Session.class).doWork(connection -> {
+                try (PreparedStatement ps = connection.prepareStatement(insertSql(events.size()))) {
+                    int index = 1;
+                    for (AuditEvent event : events) {
+                        ps.setString(index++, event.tenantId());
+                        if (event.organizationId() != null) {
+                            ps.setLong(index++, event.organizationId());
+                        } else {
+                            ps.setNull(index++, Types.BIGINT);
+                        }
+                        ps.setString(index++, event.action());
+                        ps.setString(index++, event.description());
+                        ps.setString(index++, event.performedBy());
+                        ps.setString(index++, toJson(event));
+                        ps.setString(index++, event.status());
+                        ps.setString(index++, event.errorMessage());
+                        ps.setLong(index++, event.durationMs());
+                        ps.setTimestamp(index++, Timestamp.from(event.createdAt()));
+                    }
+                    ps.executeUpdate();
+                }
+            }));
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    static String insertSql(int rows) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + rows * (ROW.length() + 2))
+                .append(INSERT_PREFIX);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW);
+        }
+        return sql.toString();
+    }
+
+    private String toJson(AuditEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event.details() != null ? event.details() : Map.of());
+        } catch (JsonProcessingException e) {
+            return "{}";
+        }
+    }
+}
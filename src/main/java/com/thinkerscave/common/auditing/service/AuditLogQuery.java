@@ -0,0 +1,171 @@
+package com.thinkerscave.common.auditing.service;
+
+import com.thinkerscave.common.auditing.dto.AuditLogEntry;
+import com.thinkerscave.common.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Keyset query over one of the audit tables.
+ *
+ * Rows are read newest first, ordered by (timestamp, id), and a page
+ * continues strictly below the last row of the previous one, so paging deep
+ * costs the same as the first page. The time range is always bounded, which
+ * lets PostgreSQL prune the table to the monthly partitions it covers; every
+ * equality filter has a composite index ending in (timestamp DESC, id DESC).
+ */
+final class AuditLogQuery {
+
+    enum Table {
+        ORGANIZATION("created_at", """
+                SELECT id, tenant_id, organization_id, action, description, performed_by,
+                       details::text AS details, status, error_message, duration_ms,
+                       NULL AS ip_address, created_at AS occurred_at
+                FROM organization_audit_log
+                """),
+        TENANT("performed_at", """
+                SELECT id, tenant_id, NULL::bigint AS organization_id, action, NULL AS description, performed_by,
+                       details::text AS details, status, error_message, duration_ms,
+                       ip_address, performed_at AS occurred_at
+                FROM public.tenant_audit_log
+                """);
+
+        private final String timeColumn;
+        private final String select;
+
+        Table(String timeColumn, String select) {
+            this.timeColumn = timeColumn;
+            this.select = select;
+        }
+    }
+
+    private final Table table;
+    private final StringBuilder sql;
+    private final List<Object> params = new ArrayList<>();
+    private final int limit;
+
+    private AuditLogQuery(Table table, Instant from, Instant to, int limit) {
+        this.table = table;
+        this.limit = limit;
+        this.sql = new StringBuilder(table.select)
+                .append("WHERE ").append(table.timeColumn).append(" >= ? AND ")
+                .append(table.timeColumn).append(" < ?");
+        params.add(Timestamp.from(from));
+        params.add(Timestamp.from(to));
+    }
+
+    static AuditLogQuery over(Table table, Instant from, Instant to, int limit) {
+        return new AuditLogQuery(table, from, to, limit);
+    }
+
+    AuditLogQuery whereEquals(String column, Object value) {
+        if (value != null) {
+            sql.append(" AND ").append(column).append(" = ?");
+            params.add(value);
+        }
+        return this;
+    }
+
+    /**
+     * Continues after the last row of the previous page.
+     */
+    AuditLogQuery after(Cursor cursor) {
+        if (cursor != null) {
+            sql.append(" AND (").append(table.timeColumn).append(", id) < (?, ?)");
+            params.add(Timestamp.from(cursor.occurredAt()));
+            params.add(cursor.id());
+        }
+        return this;
+    }
+
+    /**
+     * The finished statement; fetches one row more than the page size to
+     * tell whether another page follows.
+     */
+    String sql() {
+        return sql + " ORDER BY " + table.timeColumn + " DESC, id DESC LIMIT " + (limit + 1);
+    }
+
+    List<Object> params() {
+        return params;
+    }
+
+    int limit() {
+        return limit;
+    }
+
+    List<AuditLogEntry> execute(Connection connection) throws SQLException {
+        List<AuditLogEntry> rows = new ArrayList<>();
+        try (PreparedStatement ps = connection.prepareStatement(sql())) {
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(map(rs));
+                }
+            }
+        }
+        return rows;
+    }
+
+    static AuditLogEntry map(ResultSet rs) throws SQLException {
+        long organizationId = rs.getLong("organization_id");
+        Long organization = rs.wasNull() ? null : organizationId;
+        long durationMs = rs.getLong("duration_ms");
+        Long duration = rs.wasNull() ? null : durationMs;
+        return new AuditLogEntry(
+                rs.getLong("id"),
+                rs.getString("tenant_id"),
+                organization,
+                rs.getString("action"),
+                rs.getString("description"),
+                rs.getString("performed_by"),
+                rs.getString("details"),
+                rs.getString("status"),
+                rs.getString("error_message"),
+                duration,
+                rs.getString("ip_address"),
+                rs.getTimestamp("occurred_at").toInstant());
+    }
+
+    /**
+     * Position of the last row of a page, handed to clients as an opaque
+     * URL-safe string.
+     */
+    record Cursor(Instant occurredAt, long id) {
+
+        static Cursor of(AuditLogEntry entry) {
+            return new Cursor(entry.occurredAt(), entry.id());
+        }
+
+        String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((occurredAt + "/" + id).getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String value) {
+            if (value == null || value.isBlank()) {
+                return null;
+            }
+            try {
+                String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+                int separator = decoded.lastIndexOf('/');
+                return new Cursor(Instant.parse(decoded.substring(0, separator)),
+                        Long.parseLong(decoded.substring(separator + 1)));
+            } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+                throw new BadRequestException("Invalid audit log cursor");
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.thinkerscave.common.auditing.service;
+
+import com.thinkerscave.common.auditing.dto.AuditLogEntry;
+import com.thinkerscave.common.auditing.dto.AuditLogPage;
+import com.thinkerscave.common.auditing.dto.AuditLogSearchRequest;
+import com.thinkerscave.common.auditing.service.AuditLogQuery.Cursor;
+import com.thinkerscave.common.auditing.service.AuditLogQuery.Table;
+import com.thinkerscave.common.context.OrganizationContext;
+import com.thinkerscave.common.exception.BadRequestException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Searches the audit logs with keyset pagination (see {@link AuditLogQuery}).
+ *
+ * The organization log is read through the tenant-aware session, so it covers
+ * the caller's tenant only (the pooled schema's row-level security applies as
+ * for any other query). Within an organization context the search is limited
+ * to that organization. The tenant log lives in public and is read directly.
+ */
+@Service
+public class AuditLogSearchService {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final Duration defaultWindow;
+    private final Duration maxWindow;
+
+    public AuditLogSearchService(JdbcTemplate jdbcTemplate,
+            @Value("${audit.search.default-page-size:50}") int defaultPageSize,
+            @Value("${audit.search.max-page-size:200}") int maxPageSize,
+            @Value("${audit.search.default-window-days:30}") long defaultWindowDays,
+            @Value("${audit.search.max-window-days:366}") long maxWindowDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.defaultWindow = Duration.ofDays(defaultWindowDays);
+        this.maxWindow = Duration.ofDays(maxWindowDays);
+    }
+
+    @Transactional(readOnly = true)
+    public AuditLogPage searchOrganizationLog(AuditLogSearchRequest request) {
+        Long organizationId = request.organizationId();
+        Long contextOrganizationId = OrganizationContext.getOrganizationId();
+        if (contextOrganizationId != null) {
+            if (organizationId != null && !organizationId.equals(contextOrganizationId)) {
+                throw new AccessDeniedException("Audit logs of another organization are not accessible");
+            }
+            organizationId = contextOrganizationId;
+        }
+
+        AuditLogQuery query = prepare(Table.ORGANIZATION, request)
+                .whereEquals("organization_id", organizationId);
+        List<AuditLogEntry> rows = entityManager.unwrap(Session.class).doReturningWork(query::execute);
+        return page(rows, query.limit());
+    }
+
+    public AuditLogPage searchTenantLog(AuditLogSearchRequest request) {
+        AuditLogQuery query = prepare(Table.TENANT, request)
+                .whereEquals("tenant_id", request.tenantId());
+        List<AuditLogEntry> rows = jdbcTemplate.query(query.sql(), (rs, rowNum) -> AuditLogQuery.map(rs),
+                query.params().toArray());
+        return page(rows, query.limit());
+    }
+
+    private AuditLogQuery prepare(Table table, AuditLogSearchRequest request) {
+        Instant to = request.to() != null ? request.to() : Instant.now();
+        Instant from = request.from() != null ? request.from() : to.minus(defaultWindow);
+        if (!from.isBefore(to)) {
+            throw new BadRequestException("'from' must be before 'to'");
+        }
+        if (Duration.between(from, to).compareTo(maxWindow) > 0) {
+            throw new BadRequestException("The time range may span at most " + maxWindow.toDays() + " days");
+        }
+        int limit = Math.min(Math.max(Objects.requireNonNullElse(request.limit(), defaultPageSize), 1), maxPageSize);
+
+        return AuditLogQuery.over(table, from, to, limit)
+                .whereEquals("action", blankToNull(request.action()))
+                .whereEquals("performed_by", blankToNull(request.performedBy()))
+                .after(Cursor.decode(request.cursor()));
+    }
+
+    static AuditLogPage page(List<AuditLogEntry> rows, int limit) {
+        if (rows.size() <= limit) {
+            return new AuditLogPage(rows, null);
+        }
+        List<AuditLogEntry> items = rows.subList(0, limit);
+        return new AuditLogPage(List.copyOf(items), Cursor.of(items.get(limit - 1)).encode());
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
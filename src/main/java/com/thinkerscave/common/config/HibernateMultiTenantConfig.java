@@ -1,9 +1,16 @@
 package com.thinkerscave.common.config;
 
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.orm.jpa.JpaVendorAdapter;
+import org.springframework.orm.jpa.JpaTransactionManager;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionManager;
 
 import javax.sql.DataSource;
 import java.util.HashMap;
@@ -22,11 +29,29 @@ public class HibernateMultiTenantConfig {
 
     private final SchemaMultiTenantConnectionProvider connectionProvider;
     private final SchemaTenantResolver schemaTenantResolver;
+    private final boolean showSql;
+    private final boolean formatSql;
+    private final int jdbcBatchSize;
+    private final TenantCacheRegionFactory cacheRegionFactory;
+    private final boolean secondLevelCache;
+    private final boolean queryCache;
 
     public HibernateMultiTenantConfig(SchemaMultiTenantConnectionProvider connectionProvider,
-            SchemaTenantResolver schemaTenantResolver) {
+            SchemaTenantResolver schemaTenantResolver,
+            @Value("${spring.jpa.show-sql:false}") boolean showSql,
+            @Value("${spring.jpa.properties.hibernate.format_sql:false}") boolean formatSql,
+            @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int jdbcBatchSize,
+            TenantCacheRegionFactory cacheRegionFactory,
+            @Value("${second-level-cache.enabled:true}") boolean secondLevelCache,
+            @Value("${second-level-cache.query-cache:true}") boolean queryCache) {
         this.connectionProvider = connectionProvider;
         this.schemaTenantResolver = schemaTenantResolver;
+        this.showSql = showSql;
+        this.formatSql = formatSql;
+        this.jdbcBatchSize = jdbcBatchSize;
+        this.cacheRegionFactory = cacheRegionFactory;
+        this.secondLevelCache = secondLevelCache;
+        this.queryCache = queryCache;
     }
 
     /**
@@ -49,8 +74,26 @@ public class HibernateMultiTenantConfig {
 
         // Hibernate-specific settings
         properties.put("hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect");
-        properties.put("hibernate.show_sql", true);
-        properties.put("hibernate.format_sql", true);
+        // SQL echo follows spring.jpa.show-sql (off in prod); per-request statement
+        // counts and DB time are reported by SqlMetricsFilter instead
+        properties.put("hibernate.show_sql", showSql);
+        properties.put("hibernate.format_sql", formatSql);
+
+        // Entity ids come from pooled sequences (allocationSize 50), so inserts are
+        // no longer executed one by one to read back an identity value and can be
+        // sent as JDBC batches; ordering groups statements per table
+        properties.put("hibernate.jdbc.batch_size", jdbcBatchSize);
+        properties.put("hibernate.order_inserts", true);
+        properties.put("hibernate.order_updates", true);
+        properties.put("hibernate.jdbc.batch_versioned_data", true);
+
+        // Second-level and query cache for the reference entities marked @Cache,
+        // with tenant-scoped keys (see TenantCacheRegionFactory)
+        properties.put("hibernate.cache.use_second_level_cache", secondLevelCache);
+        properties.put("hibernate.cache.use_query_cache", secondLevelCache && queryCache);
+        if (secondLevelCache) {
+            properties.put("hibernate.cache.region.factory_class", cacheRegionFactory);
+        }
 
         LocalContainerEntityManagerFactoryBean emf = new LocalContainerEntityManagerFactoryBean();
         emf.setDataSource(dataSource);
@@ -71,4 +114,17 @@ public class HibernateMultiTenantConfig {
         emf.setJpaPropertyMap(properties);
         return emf;
     }
+
+    /**
+     * Transaction manager that lets read-only transactions be routed to a
+     * replica (see {@link ReadOnlyRoutingTransactionManager}).
+     */
+    @Bean
+    public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory,
+            ObjectProvider<TransactionManagerCustomizers> transactionManagerCustomizers) {
+        JpaTransactionManager transactionManager = new ReadOnlyRoutingTransactionManager(entityManagerFactory);
+        transactionManagerCustomizers.ifAvailable(
+                customizers -> customizers.customize((TransactionManager) transactionManager));
+        return transactionManager;
+    }
 }
\ No newline at end of file
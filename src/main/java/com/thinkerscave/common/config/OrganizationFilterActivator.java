@@ -0,0 +1,45 @@
+package com.thinkerscave.common.config;
+
+import org.hibernate.Session;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * OrganizationFilterActivator applies the current organization to the
+ * Hibernate 'tenantFilter' that scopes organization-owned entities.
+ *
+ * The filter is applied once per transaction, when
+ * {@link ReadOnlyRoutingTransactionManager} creates the transaction's
+ * EntityManager, and again only if
+ * {@link com.thinkerscave.common.context.OrganizationContext} changes while a
+ * transaction is open. Without an organization the filter is off, which
+ * gives group admins access across their organizations.
+ */
+public final class OrganizationFilterActivator {
+
+    public static final String FILTER_NAME = "tenantFilter";
+    static final String PARAMETER_NAME = "tenantId";
+
+    private OrganizationFilterActivator() {
+    }
+
+    public static void apply(Session session, Long orgId) {
+        if (orgId != null) {
+            session.enableFilter(FILTER_NAME).setParameter(PARAMETER_NAME, orgId);
+        } else if (session.getEnabledFilter(FILTER_NAME) != null) {
+            session.disableFilter(FILTER_NAME);
+        }
+    }
+
+    /**
+     * Re-applies the organization to the sessions of the transactions open on
+     * this thread.
+     */
+    public static void reapplyToBoundSessions(Long orgId) {
+        for (Object resource : TransactionSynchronizationManager.getResourceMap().values()) {
+            if (resource instanceof EntityManagerHolder holder) {
+                apply(holder.getEntityManager().unwrap(Session.class), orgId);
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.thinkerscave.common.config;
+
+import com.thinkerscave.common.monitoring.SqlInstrumentation;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * PublicSearchPathDataSource guarantees that connections taken straight from
+ * the pool (JdbcTemplate, schema tooling, ...) are on the `public` schema.
+ *
+ * SchemaMultiTenantConnectionProvider no longer resets search_path when a
+ * tenant connection is released, so a pooled connection may come back still
+ * pointing at the last tenant. This wrapper restores `public` on checkout,
+ * and only when the {@link SearchPathRegistry} says it is needed. Statements
+ * run during a measured request are counted via {@link SqlInstrumentation}.
+ */
+public class PublicSearchPathDataSource extends DelegatingDataSource {
+
+    private final SearchPathRegistry searchPathRegistry;
+
+    public PublicSearchPathDataSource(DataSource targetDataSource, SearchPathRegistry searchPathRegistry) {
+        super(targetDataSource);
+        this.searchPathRegistry = searchPathRegistry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return toPublic(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return toPublic(super.getConnection(username, password));
+    }
+
+    private Connection toPublic(Connection connection) throws SQLException {
+        try {
+            searchPathRegistry.apply(connection, SearchPathRegistry.PUBLIC_SCHEMA);
+            return SqlInstrumentation.instrument(connection);
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+    }
+}
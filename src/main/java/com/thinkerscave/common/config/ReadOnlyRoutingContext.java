@@ -0,0 +1,26 @@
+package com.thinkerscave.common.config;
+
+/**
+ * ReadOnlyRoutingContext flags, per thread, that the transaction currently
+ * being opened is read-only.
+ *
+ * It is set by {@link ReadOnlyRoutingTransactionManager} while a transaction
+ * begins, which is when Hibernate checks out the connection, and read by
+ * {@link SchemaMultiTenantConnectionProvider} to pick a replica.
+ */
+public class ReadOnlyRoutingContext {
+
+    private static final ThreadLocal<Boolean> readOnly = new ThreadLocal<>();
+
+    public static void markReadOnly() {
+        readOnly.set(Boolean.TRUE);
+    }
+
+    public static boolean isReadOnly() {
+        return Boolean.TRUE.equals(readOnly.get());
+    }
+
+    public static void clear() {
+        readOnly.remove();
+    }
+}
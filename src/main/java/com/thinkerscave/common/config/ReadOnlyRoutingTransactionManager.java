@@ -0,0 +1,51 @@
+package com.thinkerscave.common.config;
+
+import com.thinkerscave.common.context.OrganizationContext;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+/**
+ * ReadOnlyRoutingTransactionManager is the JpaTransactionManager that marks
+ * `@Transactional(readOnly = true)` transactions for replica routing.
+ *
+ * Spring only publishes the read-only flag after the transaction has begun,
+ * but Hibernate checks out the connection of a read-only transaction inside
+ * begin. The flag is therefore raised just around {@link #doBegin}. Anything
+ * that opens its connection later (writes, nested REQUIRES_NEW, plain
+ * JdbcTemplate) stays on the primary.
+ *
+ * It also enables the organization filter on each transaction's
+ * EntityManager as it is created (see {@link OrganizationFilterActivator}),
+ * so service methods need no per-call activation.
+ */
+public class ReadOnlyRoutingTransactionManager extends JpaTransactionManager {
+
+    public ReadOnlyRoutingTransactionManager(EntityManagerFactory emf) {
+        super(emf);
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        if (!definition.isReadOnly()) {
+            super.doBegin(transaction, definition);
+            return;
+        }
+        ReadOnlyRoutingContext.markReadOnly();
+        try {
+            super.doBegin(transaction, definition);
+        } finally {
+            ReadOnlyRoutingContext.clear();
+        }
+    }
+
+    @Override
+    protected EntityManager createEntityManagerForTransaction() {
+        EntityManager entityManager = super.createEntityManagerForTransaction();
+        OrganizationFilterActivator.apply(entityManager.unwrap(Session.class),
+                OrganizationContext.getOrganizationId());
+        return entityManager;
+    }
+}
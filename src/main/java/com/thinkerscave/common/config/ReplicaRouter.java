@@ -0,0 +1,188 @@
+package com.thinkerscave.common.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ReplicaRouter decides whether a tenant connection is served by the shard's
+ * primary or by its read replica.
+ *
+ * Only read-only transactions (see {@link ReadOnlyRoutingContext}) go to a
+ * replica, and only while its measured replication lag is within
+ * tenant.replicas.max-lag-ms. A replica that cannot be reached or lags behind
+ * is skipped until the next lag check sees it healthy again.
+ *
+ * Exposes how many checkouts each side served, fallbacks and replica lag.
+ */
+@Component
+@Slf4j
+public class ReplicaRouter {
+
+    static final String TARGET_PRIMARY = "primary";
+    static final String TARGET_REPLICA = "replica";
+
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM (now() - pg_last_xact_replay_timestamp())) * 1000, 0)
+            END::bigint
+            """;
+
+    private final MeterRegistry meterRegistry;
+    private final long maxLagMs;
+
+    // shard key -> replica
+    private final Map<String, Replica> replicas = new LinkedHashMap<>();
+
+    private final Map<String, Counter> routeCounters = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ReplicaRouter(TenantReplicaProperties properties, TenantShardRouter shardRouter,
+            MeterRegistry meterRegistry) {
+        this(createPools(properties, shardRouter), properties.getMaxLagMs(), meterRegistry);
+    }
+
+    ReplicaRouter(Map<String, DataSource> replicaPools, long maxLagMs, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.maxLagMs = maxLagMs;
+        replicaPools.forEach((shardKey, pool) -> replicas.put(shardKey, new Replica(shardKey, pool)));
+    }
+
+    /**
+     * Returns the pool the checkout should use: the shard's replica for a
+     * read-only transaction when it is healthy, the given primary otherwise.
+     */
+    public DataSource route(String shardKey, DataSource primary) {
+        if (!ReadOnlyRoutingContext.isReadOnly()) {
+            countRoute(shardKey, TARGET_PRIMARY);
+            return primary;
+        }
+        Replica replica = replicas.get(shardKey);
+        if (replica == null) {
+            countRoute(shardKey, TARGET_PRIMARY);
+            return primary;
+        }
+        if (!replica.healthy) {
+            replica.fallbacks.increment();
+            countRoute(shardKey, TARGET_PRIMARY);
+            return primary;
+        }
+        countRoute(shardKey, TARGET_REPLICA);
+        return replica.pool;
+    }
+
+    public boolean hasReplicas() {
+        return !replicas.isEmpty();
+    }
+
+    /**
+     * Measures the replication lag of every replica and takes lagging or
+     * unreachable ones out of rotation.
+     */
+    @Scheduled(fixedDelayString = "${tenant.replicas.lag-check-interval-ms:5000}")
+    public void checkReplicationLag() {
+        replicas.values().forEach(replica -> {
+            try {
+                Long lagMs = new JdbcTemplate(replica.pool).queryForObject(LAG_QUERY, Long.class);
+                recordLag(replica.shardKey, lagMs != null ? lagMs : 0L);
+            } catch (Exception e) {
+                if (replica.healthy) {
+                    log.warn("Replica of shard '{}' is unreachable, routing reads to primary: {}",
+                            replica.shardKey, e.getMessage());
+                }
+                replica.healthy = false;
+            }
+        });
+    }
+
+    void recordLag(String shardKey, long lagMs) {
+        Replica replica = replicas.get(shardKey);
+        if (replica == null) {
+            return;
+        }
+        replica.lagMs.set(lagMs);
+        boolean healthy = lagMs <= maxLagMs;
+        if (replica.healthy != healthy) {
+            log.warn("Replica of shard '{}' {} (lag {}ms, threshold {}ms)", shardKey,
+                    healthy ? "caught up, serving reads again" : "lagging, routing reads to primary",
+                    lagMs, maxLagMs);
+        }
+        replica.healthy = healthy;
+    }
+
+    private void countRoute(String shardKey, String target) {
+        routeCounters.computeIfAbsent(shardKey + ':' + target, key -> Counter.builder("tenant.datasource.routed")
+                .description("Tenant connection checkouts by serving database")
+                .tag("shard", shardKey)
+                .tag("target", target)
+                .register(meterRegistry))
+                .increment();
+    }
+
+    private static Map<String, DataSource> createPools(TenantReplicaProperties properties,
+            TenantShardRouter shardRouter) {
+        Map<String, DataSource> pools = new LinkedHashMap<>();
+        properties.getDatasources().forEach((shardKey, spec) -> {
+            if (!shardRouter.getShards().containsKey(shardKey)) {
+                throw new IllegalStateException("Replica configured for unknown shard '" + shardKey + "'");
+            }
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("replica-" + shardKey);
+            config.setJdbcUrl(spec.getUrl());
+            config.setUsername(spec.getUsername());
+            config.setPassword(spec.getPassword());
+            config.setMaximumPoolSize(spec.getMaximumPoolSize());
+            config.setReadOnly(true);
+            pools.put(shardKey, new HikariDataSource(config));
+            log.info("Registered read replica for shard '{}' -> {}", shardKey, spec.getUrl());
+        });
+        return pools;
+    }
+
+    @PreDestroy
+    public void close() {
+        replicas.values().forEach(replica -> {
+            if (replica.pool instanceof HikariDataSource pool) {
+                pool.close();
+            }
+        });
+    }
+
+    private final class Replica {
+
+        private final String shardKey;
+        private final DataSource pool;
+        private final AtomicLong lagMs = new AtomicLong();
+        private final Counter fallbacks;
+        private volatile boolean healthy = true;
+
+        private Replica(String shardKey, DataSource pool) {
+            this.shardKey = shardKey;
+            this.pool = pool;
+            this.fallbacks = Counter.builder("tenant.replica.fallback")
+                    .description("Read-only checkouts sent to the primary because the replica was lagging or down")
+                    .tag("shard", shardKey)
+                    .register(meterRegistry);
+            Gauge.builder("tenant.replica.lag", lagMs, AtomicLong::get)
+                    .description("Last measured replication lag in milliseconds")
+                    .tag("shard", shardKey)
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.thinkerscave.common.config;
 
+import com.thinkerscave.common.monitoring.SqlInstrumentation;
 import org.hibernate.engine.jdbc.connections.spi.MultiTenantConnectionProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -7,6 +8,7 @@ import org.springframework.stereotype.Component;
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.regex.Pattern;
 
 /**
  * SchemaMultiTenantConnectionProvider implements Hibernate's
@@ -15,12 +17,44 @@ import java.sql.SQLException;
  * It provides JDBC connections scoped to a specific schema (tenant) using
  * PostgreSQL's
  * `SET search_path` mechanism, enabling schema-based multi-tenancy.
+ *
+ * The search_path each pooled connection is on is tracked by
+ * {@link SearchPathRegistry}, so the SET is only sent when the connection is
+ * not already on the requested schema, and nothing is sent on release.
+ *
+ * Tenant checkouts go through {@link TenantConnectionBulkhead} first, so no
+ * single tenant can hold more than its share of the shared pool.
+ *
+ * Connections are taken from the database the tenant's schema lives on, as
+ * resolved by {@link TenantShardRouter}. Read-only transactions are served
+ * by that shard's replica when {@link ReplicaRouter} considers it healthy.
+ *
+ * Tenants in {@link TenancyMode#POOLED} mode are pointed at the shared pooled
+ * schema with their tenant key set for row-level security; Hibernate keeps
+ * using the plain tenant id, so the mode is transparent above this class.
+ *
+ * During a measured request, connections are handed out through
+ * {@link SqlInstrumentation} so their statements count towards the request.
  */
 @Component
 public class SchemaMultiTenantConnectionProvider implements MultiTenantConnectionProvider<String> {
 
+    private static final Pattern INVALID_SCHEMA_CHARS = Pattern.compile("[^a-zA-Z0-9_]");
+
+    @Autowired
+    private TenantShardRouter shardRouter;
+
     @Autowired
-    private DataSource dataSource;
+    private ReplicaRouter replicaRouter;
+
+    @Autowired
+    private SearchPathRegistry searchPathRegistry;
+
+    @Autowired
+    private TenancyModeResolver tenancyModes;
+
+    @Autowired
+    private TenantConnectionBulkhead connectionBulkhead;
 
     @Override
     public boolean isUnwrappableAs(Class<?> unwrapType) {
@@ -35,7 +69,7 @@ public class SchemaMultiTenantConnectionProvider implements MultiTenantConnectio
 
     @Override
     public Connection getAnyConnection() throws SQLException {
-        return dataSource.getConnection();
+        return checkout(shardRouter.poolFor(null), SearchPathRegistry.PUBLIC_SCHEMA, null);
     }
 
     @Override
@@ -45,25 +79,35 @@ public class SchemaMultiTenantConnectionProvider implements MultiTenantConnectio
 
     /**
      * Provides a tenant-specific connection by setting the schema dynamically.
-     * Uses PostgreSQL's 'SET search_path' to switch schemas.
+     * Uses PostgreSQL's 'SET search_path' to switch schemas, skipping the
+     * statement when the pooled connection is already on that schema.
      */
     @Override
     public Connection getConnection(String tenantIdentifier) throws SQLException {
-        final Connection connection = getAnyConnection();
-        // Sanitize and set schema
         String schema = sanitizeSchemaName(tenantIdentifier);
-        connection.createStatement().execute("SET search_path TO \"" + schema + "\"");
-        return connection;
+        DataSource pool = replicaRouter.route(shardRouter.shardOf(schema), shardRouter.poolFor(schema));
+        connectionBulkhead.acquire(schema);
+        try {
+            return checkout(pool, tenancyModes.physicalSchemaOf(schema), tenancyModes.tenantKeyOf(schema));
+        } catch (SQLException | RuntimeException e) {
+            connectionBulkhead.release(schema);
+            throw e;
+        }
     }
 
     /**
-     * Cleans up after tenant-specific usage.
-     * Resets schema to 'public' to avoid leaking tenant context.
+     * Returns the connection to the pool.
+     * The search_path is deliberately left as is: every checkout path
+     * (this provider and {@link PublicSearchPathDataSource}) re-applies its own
+     * schema before the connection is used, so no tenant context can leak.
      */
     @Override
     public void releaseConnection(String tenantIdentifier, Connection connection) throws SQLException {
-        connection.createStatement().execute("SET search_path TO public");
-        connection.close();
+        try {
+            connection.close();
+        } finally {
+            connectionBulkhead.release(sanitizeSchemaName(tenantIdentifier));
+        }
     }
 
     @Override
@@ -71,12 +115,23 @@ public class SchemaMultiTenantConnectionProvider implements MultiTenantConnectio
         return false;
     }
 
+    private Connection checkout(DataSource pool, String schema, String tenantKey) throws SQLException {
+        final Connection connection = pool.getConnection();
+        try {
+            searchPathRegistry.apply(connection, schema, tenantKey);
+            return SqlInstrumentation.instrument(connection);
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
     /**
      * Sanitizes schema name to prevent SQL injection.
      */
     private String sanitizeSchemaName(String schema) {
         if (schema == null)
-            return "public";
-        return schema.replaceAll("[^a-zA-Z0-9_]", "");
+            return SearchPathRegistry.PUBLIC_SCHEMA;
+        return INVALID_SCHEMA_CHARS.matcher(schema).replaceAll("");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,30 @@
+package com.thinkerscave.common.config;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps every DataSource bean in a {@link PublicSearchPathDataSource} so that
+ * code using the pool directly never inherits a tenant's search_path.
+ */
+@Component
+public class SearchPathDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<SearchPathRegistry> searchPathRegistry;
+
+    public SearchPathDataSourcePostProcessor(ObjectProvider<SearchPathRegistry> searchPathRegistry) {
+        this.searchPathRegistry = searchPathRegistry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (bean instanceof DataSource dataSource && !(bean instanceof PublicSearchPathDataSource)) {
+            return new PublicSearchPathDataSource(dataSource, searchPathRegistry.getObject());
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,159 @@
+package com.thinkerscave.common.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * SearchPathRegistry remembers which search_path every pooled physical
+ * connection is currently on.
+ *
+ * Hikari hands the same driver connection out again and again behind a new
+ * proxy, and PostgreSQL keeps the session-level search_path between
+ * checkouts. Tracking it per physical connection lets callers skip the
+ * `SET search_path` round trip whenever the connection is already on the
+ * requested schema.
+ *
+ * Tenants in the shared pooled schema additionally carry their tenant key in
+ * the `app.tenant_id` session setting, which row-level security policies read.
+ * The tracked state is the combination of both, and a connection that ever
+ * carried a tenant key has it reset before it serves a schema tenant.
+ *
+ * Keys are held weakly so connections retired by the pool drop out on their
+ * own. Unknown connections are always treated as dirty.
+ */
+@Component
+@Slf4j
+public class SearchPathRegistry implements MeterBinder {
+
+    public static final String PUBLIC_SCHEMA = "public";
+
+    public static final String TENANT_KEY_SETTING = "app.tenant_id";
+
+    private static final Pattern VALID_TENANT_KEY = Pattern.compile("[a-zA-Z0-9_]+");
+
+    private final Map<Connection, String> currentSchemas = Collections.synchronizedMap(new WeakHashMap<>());
+
+    // Connections whose session may still hold a tenant key
+    private final Set<Connection> tenantKeyed = Collections.synchronizedSet(
+            Collections.newSetFromMap(new WeakHashMap<>()));
+
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+
+    /**
+     * Makes sure the given connection is on the given schema, issuing
+     * `SET search_path` only when the tracked value differs.
+     *
+     * @param connection connection as handed out by the pool
+     * @param schema     already sanitized schema name
+     */
+    public void apply(Connection connection, String schema) throws SQLException {
+        apply(connection, schema, null);
+    }
+
+    /**
+     * Makes sure the given connection is on the given schema and carries the
+     * given tenant key, sending both in a single round trip when needed.
+     *
+     * @param connection connection as handed out by the pool
+     * @param schema     already sanitized schema name
+     * @param tenantKey  tenant key for row-level security, or null to clear it
+     */
+    public void apply(Connection connection, String schema, String tenantKey) throws SQLException {
+        if (tenantKey != null && !VALID_TENANT_KEY.matcher(tenantKey).matches()) {
+            throw new IllegalArgumentException("Invalid tenant key: " + tenantKey);
+        }
+        Connection physical = physicalConnection(connection);
+        String state = tenantKey == null ? schema : schema + '/' + tenantKey;
+        if (state.equals(currentSchemas.get(physical))) {
+            skipped.increment();
+            return;
+        }
+
+        StringBuilder sql = new StringBuilder("SET search_path TO \"").append(schema).append('"');
+        boolean resetTenantKey = false;
+        if (tenantKey != null) {
+            sql.append("; SET ").append(TENANT_KEY_SETTING).append(" TO '").append(tenantKey).append('\'');
+            tenantKeyed.add(physical);
+        } else if (tenantKeyed.contains(physical)) {
+            sql.append("; RESET ").append(TENANT_KEY_SETTING);
+            resetTenantKey = true;
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql.toString());
+        } catch (SQLException e) {
+            currentSchemas.remove(physical);
+            throw e;
+        }
+        executed.increment();
+
+        // A session-level SET issued inside an open transaction is undone on
+        // rollback, so only remember it once it is already committed.
+        if (connection.getAutoCommit()) {
+            currentSchemas.put(physical, state);
+            if (resetTenantKey) {
+                tenantKeyed.remove(physical);
+            }
+        } else {
+            currentSchemas.remove(physical);
+        }
+    }
+
+    /**
+     * Drops whatever is known about the connection, forcing the next
+     * {@link #apply} to issue a SET.
+     */
+    public void forget(Connection connection) {
+        try {
+            currentSchemas.remove(physicalConnection(connection));
+        } catch (SQLException e) {
+            log.debug("Could not unwrap connection to forget its search_path: {}", e.getMessage());
+        }
+    }
+
+    public long getExecutedCount() {
+        return executed.sum();
+    }
+
+    public long getSkippedCount() {
+        return skipped.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("tenant.search_path.statements", executed, LongAdder::sum)
+                .description("SET search_path statements sent to the database")
+                .tag("outcome", "executed")
+                .register(registry);
+        FunctionCounter.builder("tenant.search_path.statements", skipped, LongAdder::sum)
+                .description("SET search_path statements skipped because the connection was already on the schema")
+                .tag("outcome", "skipped")
+                .register(registry);
+    }
+
+    /**
+     * Resolves the driver connection behind a pool proxy. Pools that do not
+     * support unwrapping yield the proxy itself, which simply never matches
+     * on the next checkout.
+     */
+    private Connection physicalConnection(Connection connection) throws SQLException {
+        if (connection.isWrapperFor(Connection.class)) {
+            return connection.unwrap(Connection.class);
+        }
+        return connection;
+    }
+}
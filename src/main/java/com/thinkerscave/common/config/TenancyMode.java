@@ -0,0 +1,17 @@
+package com.thinkerscave.common.config;
+
+/**
+ * How a tenant's data is stored, as recorded in public.tenant_config.tenancy_mode.
+ */
+public enum TenancyMode {
+
+    /** The tenant has its own schema, named after the tenant id. */
+    SCHEMA,
+
+    /**
+     * The tenant shares {@link TenancyModeResolver#POOLED_SCHEMA} with other
+     * small tenants; its rows are told apart by the tenant_key column and
+     * isolated by row-level security.
+     */
+    POOLED
+}
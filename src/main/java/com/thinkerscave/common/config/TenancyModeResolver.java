@@ -0,0 +1,122 @@
+package com.thinkerscave.common.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TenancyModeResolver tells where a tenant's tables physically live: in its
+ * own schema, or in the shared pooled schema under its tenant key.
+ *
+ * Modes are read from public.tenant_config.tenancy_mode on the primary
+ * database and cached for tenant.pooled.mode-cache-ttl-ms. A promotion done
+ * on another instance is picked up as soon as its {@link TenantConfigChangedEvent}
+ * arrives, or within that window should the notification be lost.
+ */
+@Component
+@Slf4j
+public class TenancyModeResolver {
+
+    public static final String POOLED_SCHEMA = "tenant_pool";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long cacheTtlNanos;
+
+    private final Map<String, CachedMode> modes = new ConcurrentHashMap<>();
+
+    public TenancyModeResolver(JdbcTemplate jdbcTemplate,
+            @Value("${tenant.pooled.mode-cache-ttl-ms:60000}") long cacheTtlMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheTtlNanos = TimeUnit.MILLISECONDS.toNanos(cacheTtlMs);
+    }
+
+    public TenancyMode modeOf(String tenantId) {
+        if (tenantId == null || SearchPathRegistry.PUBLIC_SCHEMA.equals(tenantId)) {
+            return TenancyMode.SCHEMA;
+        }
+        long now = System.nanoTime();
+        CachedMode cached = modes.get(tenantId);
+        if (cached == null || now - cached.loadedAt() > cacheTtlNanos) {
+            cached = new CachedMode(lookupMode(tenantId), now);
+            modes.put(tenantId, cached);
+        }
+        return cached.mode();
+    }
+
+    public boolean isPooled(String tenantId) {
+        return modeOf(tenantId) == TenancyMode.POOLED;
+    }
+
+    /**
+     * Schema holding the tenant's tables.
+     */
+    public String physicalSchemaOf(String tenantId) {
+        return isPooled(tenantId) ? POOLED_SCHEMA : tenantId;
+    }
+
+    /**
+     * Tenant key to put on the connection for row-level security, or null for
+     * tenants with their own schema.
+     */
+    public String tenantKeyOf(String tenantId) {
+        return isPooled(tenantId) ? tenantId : null;
+    }
+
+    /**
+     * Whether a tenant_config row exists for the tenant, in either mode.
+     */
+    public boolean isRegistered(String tenantId) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM public.tenant_config WHERE tenant_id = ?", Integer.class, tenantId);
+        return count != null && count > 0;
+    }
+
+    /**
+     * Pins a tenant's mode, e.g. during onboarding before its tenant_config
+     * row exists or right after a promotion.
+     */
+    public void assign(String tenantId, TenancyMode mode) {
+        modes.put(tenantId, new CachedMode(mode, System.nanoTime()));
+    }
+
+    public void evict(String tenantId) {
+        modes.remove(tenantId);
+    }
+
+    /**
+     * Forgets the modes of the tenants touched by a tenant_config change, or
+     * of every tenant on a resync.
+     */
+    @EventListener
+    public void onTenantConfigChanged(TenantConfigChangedEvent event) {
+        if (event.isResync()) {
+            modes.clear();
+            return;
+        }
+        event.tenantIds().forEach(this::evict);
+    }
+
+    private TenancyMode lookupMode(String tenantId) {
+        List<String> rows = jdbcTemplate.queryForList(
+                "SELECT tenancy_mode FROM public.tenant_config WHERE tenant_id = ?", String.class, tenantId);
+        if (rows.isEmpty() || rows.get(0) == null) {
+            return TenancyMode.SCHEMA;
+        }
+        try {
+            return TenancyMode.valueOf(rows.get(0));
+        } catch (IllegalArgumentException e) {
+            log.warn("Unknown tenancy_mode '{}' for tenant {}, treating it as SCHEMA", rows.get(0), tenantId);
+            return TenancyMode.SCHEMA;
+        }
+    }
+
+    private record CachedMode(TenancyMode mode, long loadedAt) {
+    }
+}
@@ -0,0 +1,220 @@
+package com.thinkerscave.common.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * TenantCacheRegionFactory backs Hibernate's second-level and query cache
+ * with in-process Caffeine caches, one per region.
+ *
+ * Entries of entity and query result regions are keyed by the session's
+ * tenant identifier plus Hibernate's own key, so one tenant can never read
+ * what another cached, whatever key factory Hibernate is configured with.
+ * Evicting a key without a session (Cache.evictEntityData and the like)
+ * drops it for every tenant.
+ *
+ * Queries on entities with an enabled Hibernate filter (AcademicYear and
+ * Semester's tenantFilter) must not be hinted cacheable: the query key holds
+ * the names of the enabled filters but not their parameters, so results
+ * cached for one organization would be served to another of the same tenant.
+ *
+ * The update timestamps region is shared: tables are named the same in
+ * every schema, so a write in one tenant invalidates cached query results of
+ * that table in all tenants. That costs some hits but stays correct for
+ * tables several tenants share, like public.section. It is never evicted,
+ * as Hibernate requires.
+ *
+ * Region sizes and TTLs: second-level-cache.max-size / ttl-seconds, or per
+ * region second-level-cache.regions.&lt;region&gt;.max-size / ttl-seconds.
+ * Every region reports the Caffeine cache metrics as
+ * "hibernate.&lt;region&gt;" plus a hibernate.cache.hit.ratio gauge.
+ */
+@Component
+@Slf4j
+public class TenantCacheRegionFactory extends RegionFactoryTemplate implements MeterBinder {
+
+    private static final String REGION_PROPERTY_PREFIX = "second-level-cache.regions.";
+
+    private final Environment environment;
+    private final long defaultMaxSize;
+    private final long defaultTtlSeconds;
+    private final Map<String, Cache<Object, Object>> regions = new ConcurrentHashMap<>();
+    private MeterRegistry meterRegistry;
+
+    public TenantCacheRegionFactory(Environment environment,
+            @Value("${second-level-cache.max-size:10000}") long defaultMaxSize,
+            @Value("${second-level-cache.ttl-seconds:600}") long defaultTtlSeconds) {
+        this.environment = environment;
+        this.defaultMaxSize = defaultMaxSize;
+        this.defaultTtlSeconds = defaultTtlSeconds;
+    }
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions settings, Map<String, Object> configValues) {
+        log.info("Second-level cache regions default to {} entries, {}s TTL", defaultMaxSize, defaultTtlSeconds);
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        regions.values().forEach(Cache::invalidateAll);
+        regions.clear();
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+            DomainDataRegionBuildingContext buildingContext) {
+        return new CaffeineStorageAccess(boundedRegion(regionConfig.getRegionName()), true);
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName,
+            SessionFactoryImplementor sessionFactory) {
+        return new CaffeineStorageAccess(boundedRegion(regionName), true);
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName,
+            SessionFactoryImplementor sessionFactory) {
+        Cache<Object, Object> timestamps = Caffeine.newBuilder().recordStats().build();
+        register(regionName, timestamps);
+        return new CaffeineStorageAccess(timestamps, false);
+    }
+
+    private Cache<Object, Object> boundedRegion(String regionName) {
+        long maxSize = environment.getProperty(REGION_PROPERTY_PREFIX + regionName + ".max-size",
+                Long.class, defaultMaxSize);
+        long ttlSeconds = environment.getProperty(REGION_PROPERTY_PREFIX + regionName + ".ttl-seconds",
+                Long.class, defaultTtlSeconds);
+        Cache<Object, Object> cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        register(regionName, cache);
+        log.debug("Second-level cache region {}: {} entries, {}s TTL", regionName, maxSize, ttlSeconds);
+        return cache;
+    }
+
+    /**
+     * Cache of a built region, or null.
+     */
+    Cache<Object, Object> region(String regionName) {
+        return regions.get(regionName);
+    }
+
+    /**
+     * Regions are built with the session factory, which may happen before or
+     * after the registry binds this factory.
+     */
+    private synchronized void register(String regionName, Cache<Object, Object> cache) {
+        regions.put(regionName, cache);
+        if (meterRegistry != null) {
+            monitor(meterRegistry, regionName, cache);
+        }
+    }
+
+    @Override
+    public synchronized void bindTo(MeterRegistry registry) {
+        this.meterRegistry = registry;
+        regions.forEach((regionName, cache) -> monitor(registry, regionName, cache));
+    }
+
+    private static void monitor(MeterRegistry registry, String regionName, Cache<Object, Object> cache) {
+        CaffeineCacheMetrics.monitor(registry, cache, "hibernate." + regionName);
+        Gauge.builder("hibernate.cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .description("Share of second-level cache lookups served from the region")
+                .tag("region", regionName)
+                .register(registry);
+    }
+
+    /**
+     * Region storage on a Caffeine cache. Tenant-scoped storage wraps every
+     * key with the tenant of the session it is used by.
+     */
+    static final class CaffeineStorageAccess implements DomainDataStorageAccess {
+
+        private final Cache<Object, Object> cache;
+        private final boolean tenantScoped;
+
+        CaffeineStorageAccess(Cache<Object, Object> cache, boolean tenantScoped) {
+            this.cache = cache;
+            this.tenantScoped = tenantScoped;
+        }
+
+        @Override
+        public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+            return cache.getIfPresent(scoped(key, session));
+        }
+
+        @Override
+        public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+            cache.put(scoped(key, session), value);
+        }
+
+        @Override
+        public void removeFromCache(Object key, SharedSessionContractImplementor session) {
+            cache.invalidate(scoped(key, session));
+        }
+
+        @Override
+        public void clearCache(SharedSessionContractImplementor session) {
+            cache.invalidateAll();
+        }
+
+        @Override
+        public boolean contains(Object key) {
+            return tenantScoped
+                    ? cache.asMap().keySet().stream().anyMatch(k -> ((TenantKey) k).key().equals(key))
+                    : cache.asMap().containsKey(key);
+        }
+
+        @Override
+        public void evictData() {
+            cache.invalidateAll();
+        }
+
+        @Override
+        public void evictData(Object key) {
+            if (tenantScoped) {
+                cache.asMap().keySet().removeIf(k -> ((TenantKey) k).key().equals(key));
+            } else {
+                cache.invalidate(key);
+            }
+        }
+
+        @Override
+        public void release() {
+            cache.invalidateAll();
+        }
+
+        private Object scoped(Object key, SharedSessionContractImplementor session) {
+            if (!tenantScoped) {
+                return key;
+            }
+            return new TenantKey(session != null ? session.getTenantIdentifier() : null, key);
+        }
+    }
+
+    record TenantKey(String tenant, Object key) {
+    }
+}
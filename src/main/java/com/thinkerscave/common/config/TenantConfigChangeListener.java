@@ -0,0 +1,235 @@
+package com.thinkerscave.common.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * TenantConfigChangeListener relays PostgreSQL notifications about
+ * public.tenant_config changes to the application as
+ * {@link TenantConfigChangedEvent}s, so caches on every node are evicted as
+ * soon as a tenant is added, renamed, moved or deactivated. Changes to
+ * public.user_tenant_mapping are relayed the same way as
+ * {@link UserTenantMappingChangedEvent}s.
+ *
+ * The triggers sending them are created by SchemaInitializer (see also
+ * migrations V1_13 and V1_18). The listener keeps one dedicated connection
+ * outside the pool; after losing it, it reconnects and publishes resync
+ * events because notifications sent meanwhile are lost.
+ */
+@Component
+@Slf4j
+public class TenantConfigChangeListener {
+
+    public static final String CHANNEL = "tenant_config_changed";
+
+    public static final String TRIGGER_FUNCTION_SQL = """
+            CREATE OR REPLACE FUNCTION public.notify_tenant_config_change() RETURNS trigger AS $$
+            DECLARE
+                old_tenant_id TEXT;
+                new_tenant_id TEXT;
+                old_subdomain TEXT;
+                new_subdomain TEXT;
+            BEGIN
+                IF TG_OP IN ('UPDATE', 'DELETE') THEN
+                    old_tenant_id := OLD.tenant_id;
+                    old_subdomain := OLD.subdomain;
+                END IF;
+                IF TG_OP IN ('INSERT', 'UPDATE') THEN
+                    new_tenant_id := NEW.tenant_id;
+                    new_subdomain := NEW.subdomain;
+                END IF;
+                PERFORM pg_notify('tenant_config_changed', json_build_object(
+                        'tenant_ids', json_build_array(old_tenant_id, new_tenant_id),
+                        'subdomains', json_build_array(old_subdomain, new_subdomain))::text);
+                RETURN NULL;
+            END
+            $$ LANGUAGE plpgsql
+            """;
+
+    public static final String TRIGGER_SQL = """
+            DO $$
+            BEGIN
+                IF NOT EXISTS (SELECT 1 FROM pg_trigger WHERE tgname = 'tenant_config_changed') THEN
+                    CREATE TRIGGER tenant_config_changed
+                        AFTER INSERT OR DELETE OR UPDATE OF tenant_id, subdomain, is_active, shard_key, tenancy_mode
+                        ON public.tenant_config
+                        FOR EACH ROW EXECUTE FUNCTION public.notify_tenant_config_change();
+                END IF;
+            END $$
+            """;
+
+    public static final String MAPPING_CHANNEL = "user_tenant_mapping_changed";
+
+    public static final String MAPPING_TRIGGER_FUNCTION_SQL = """
+            CREATE OR REPLACE FUNCTION public.notify_user_tenant_mapping_change() RETURNS trigger AS $$
+            DECLARE
+                old_email TEXT;
+                new_email TEXT;
+            BEGIN
+                IF TG_OP IN ('UPDATE', 'DELETE') THEN
+                    old_email := OLD.email;
+                END IF;
+                IF TG_OP IN ('INSERT', 'UPDATE') THEN
+                    new_email := NEW.email;
+                END IF;
+                PERFORM pg_notify('user_tenant_mapping_changed', json_build_object(
+                        'emails', json_build_array(old_email, new_email))::text);
+                RETURN NULL;
+            END
+            $$ LANGUAGE plpgsql
+            """;
+
+    public static final String MAPPING_TRIGGER_SQL = """
+            DO $$
+            BEGIN
+                IF EXISTS (SELECT 1 FROM information_schema.tables
+                           WHERE table_schema = 'public' AND table_name = 'user_tenant_mapping')
+                   AND NOT EXISTS (SELECT 1 FROM pg_trigger WHERE tgname = 'user_tenant_mapping_changed') THEN
+                    CREATE TRIGGER user_tenant_mapping_changed
+                        AFTER INSERT OR DELETE OR UPDATE OF email, username, mobile_number, tenant_id, is_active
+                        ON public.user_tenant_mapping
+                        FOR EACH ROW EXECUTE FUNCTION public.notify_user_tenant_mapping_change();
+                END IF;
+            END $$
+            """;
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${spring.datasource.username}")
+    private String username;
+
+    @Value("${spring.datasource.password}")
+    private String password;
+
+    @Value("${tenant.config-notify.enabled:true}")
+    private boolean enabled;
+
+    @Value("${tenant.config-notify.reconnect-delay-ms:5000}")
+    private long reconnectDelayMs;
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    public TenantConfigChangeListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled || !url.startsWith("jdbc:postgresql:")) {
+            log.info("tenant_config change notifications disabled; tenant caches rely on their TTL");
+            return;
+        }
+        running = true;
+        listenerThread = new Thread(this::listen, "tenant-config-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    private void listen() {
+        boolean connectedBefore = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                    statement.execute("LISTEN " + MAPPING_CHANNEL);
+                }
+                if (connectedBefore) {
+                    // Changes made while we were disconnected were not delivered
+                    eventPublisher.publishEvent(TenantConfigChangedEvent.resync());
+                    eventPublisher.publishEvent(UserTenantMappingChangedEvent.resync());
+                }
+                connectedBefore = true;
+                log.info("Listening for tenant_config changes on channels '{}' and '{}'", CHANNEL, MAPPING_CHANNEL);
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(1000);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            eventPublisher.publishEvent(MAPPING_CHANNEL.equals(notification.getName())
+                                    ? parseMappingChange(notification.getParameter())
+                                    : parse(notification.getParameter()));
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("tenant_config listener connection lost, reconnecting in {}ms: {}",
+                            reconnectDelayMs, e.getMessage());
+                    sleepBeforeReconnect();
+                }
+            } catch (RuntimeException e) {
+                log.error("tenant_config listener failed, reconnecting in {}ms", reconnectDelayMs, e);
+                sleepBeforeReconnect();
+            }
+        }
+    }
+
+    TenantConfigChangedEvent parse(String payload) {
+        try {
+            JsonNode json = objectMapper.readTree(payload);
+            return new TenantConfigChangedEvent(values(json.get("tenant_ids")), values(json.get("subdomains")));
+        } catch (Exception e) {
+            log.warn("Unreadable tenant_config notification '{}', resyncing: {}", payload, e.getMessage());
+            return TenantConfigChangedEvent.resync();
+        }
+    }
+
+    UserTenantMappingChangedEvent parseMappingChange(String payload) {
+        try {
+            return new UserTenantMappingChangedEvent(values(objectMapper.readTree(payload).get("emails")));
+        } catch (Exception e) {
+            log.warn("Unreadable user_tenant_mapping notification '{}', resyncing: {}", payload, e.getMessage());
+            return UserTenantMappingChangedEvent.resync();
+        }
+    }
+
+    private static Set<String> values(JsonNode array) {
+        Set<String> values = new LinkedHashSet<>();
+        if (array != null) {
+            array.forEach(value -> {
+                if (!value.isNull() && !value.asText().isBlank()) {
+                    values.add(value.asText());
+                }
+            });
+        }
+        return values;
+    }
+
+    private void sleepBeforeReconnect() {
+        try {
+            Thread.sleep(reconnectDelayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.thinkerscave.common.config;
+
+import java.util.Set;
+
+/**
+ * Published when rows of public.tenant_config change on any node, as relayed
+ * by {@link TenantConfigChangeListener}.
+ *
+ * A resync event (no tenant ids) means notifications may have been missed and
+ * every tenant_config-derived cache should be dropped.
+ *
+ * @param tenantIds  tenant ids of the changed rows, before and after the change
+ * @param subdomains subdomains of the changed rows, before and after the change
+ */
+public record TenantConfigChangedEvent(Set<String> tenantIds, Set<String> subdomains) {
+
+    public static TenantConfigChangedEvent resync() {
+        return new TenantConfigChangedEvent(Set.of(), Set.of());
+    }
+
+    public boolean isResync() {
+        return tenantIds.isEmpty() && subdomains.isEmpty();
+    }
+}
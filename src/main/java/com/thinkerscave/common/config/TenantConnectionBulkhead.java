@@ -0,0 +1,118 @@
+package com.thinkerscave.common.config;
+
+import com.thinkerscave.common.exception.TenantConnectionLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TenantConnectionBulkhead caps how many pooled connections a single tenant
+ * may hold at once.
+ *
+ * All tenants share one Hikari pool. Without a cap, one school running a
+ * heavy report can take every connection and starve the others. Each tenant
+ * gets a fair (FIFO) semaphore sized to its share, so a noisy tenant only
+ * queues behind itself and times out on its own requests.
+ *
+ * Exposes per-tenant wait time, rejections and connections in use.
+ */
+@Component
+@Slf4j
+public class TenantConnectionBulkhead {
+
+    private final MeterRegistry meterRegistry;
+    private final int maxConnectionsPerTenant;
+    private final long acquireTimeoutMs;
+
+    private final Map<String, TenantSlots> slots = new ConcurrentHashMap<>();
+
+    public TenantConnectionBulkhead(MeterRegistry meterRegistry,
+            @Value("${tenant.pool.max-connections-per-tenant:8}") int maxConnectionsPerTenant,
+            @Value("${tenant.pool.acquire-timeout-ms:5000}") long acquireTimeoutMs) {
+        this.meterRegistry = meterRegistry;
+        this.maxConnectionsPerTenant = maxConnectionsPerTenant;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+    }
+
+    /**
+     * Blocks until the tenant has a free slot or the wait times out.
+     *
+     * @throws TenantConnectionLimitExceededException if no slot became free in
+     *                                                time
+     */
+    public void acquire(String tenantId) throws SQLException {
+        if (!isEnabled()) {
+            return;
+        }
+        TenantSlots tenantSlots = slotsFor(tenantId);
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = tenantSlots.semaphore.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection slot for tenant " + tenantId, e);
+        }
+        long waitedNanos = System.nanoTime() - start;
+        tenantSlots.waitTimer.record(waitedNanos, TimeUnit.NANOSECONDS);
+
+        if (!acquired) {
+            tenantSlots.rejections.increment();
+            log.warn("Tenant '{}' hit its connection cap of {} - request rejected after {}ms",
+                    tenantId, maxConnectionsPerTenant, TimeUnit.NANOSECONDS.toMillis(waitedNanos));
+            throw new TenantConnectionLimitExceededException(tenantId, TimeUnit.NANOSECONDS.toMillis(waitedNanos));
+        }
+    }
+
+    /**
+     * Returns a slot taken by {@link #acquire(String)}.
+     */
+    public void release(String tenantId) {
+        if (!isEnabled()) {
+            return;
+        }
+        TenantSlots tenantSlots = slots.get(tenantId);
+        if (tenantSlots != null) {
+            tenantSlots.semaphore.release();
+        }
+    }
+
+    public boolean isEnabled() {
+        return maxConnectionsPerTenant > 0;
+    }
+
+    private TenantSlots slotsFor(String tenantId) {
+        return slots.computeIfAbsent(tenantId, this::newSlots);
+    }
+
+    private TenantSlots newSlots(String tenantId) {
+        Semaphore semaphore = new Semaphore(maxConnectionsPerTenant, true);
+        Timer waitTimer = Timer.builder("tenant.connection.wait")
+                .description("Time spent waiting for a tenant connection slot")
+                .tag("tenant", tenantId)
+                .register(meterRegistry);
+        Counter rejections = Counter.builder("tenant.connection.rejected")
+                .description("Connection requests rejected because the tenant was at its cap")
+                .tag("tenant", tenantId)
+                .register(meterRegistry);
+        Gauge.builder("tenant.connection.active", semaphore,
+                s -> maxConnectionsPerTenant - s.availablePermits())
+                .description("Pooled connections currently held by the tenant")
+                .tag("tenant", tenantId)
+                .register(meterRegistry);
+        return new TenantSlots(semaphore, waitTimer, rejections);
+    }
+
+    private record TenantSlots(Semaphore semaphore, Timer waitTimer, Counter rejections) {
+    }
+}
@@ -0,0 +1,102 @@
+package com.thinkerscave.common.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Streaming read replicas that serve `@Transactional(readOnly = true)` work.
+ *
+ * Replicas are keyed by shard key ("default" is the primary spring.datasource),
+ * so every shard can have its own replica. Example:
+ *
+ * <pre>
+ * tenant.replicas.max-lag-ms=2000
+ * tenant.replicas.datasources.default.url=jdbc:postgresql://localhost:5434/thinkerscave_saas
+ * tenant.replicas.datasources.default.username=postgres
+ * tenant.replicas.datasources.default.password=postgres
+ * </pre>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "tenant.replicas")
+public class TenantReplicaProperties {
+
+    /** Replication lag above which read-only traffic falls back to the primary. */
+    private long maxLagMs = 5000;
+
+    /** How often replica lag is measured. */
+    private long lagCheckIntervalMs = 5000;
+
+    private Map<String, ReplicaDataSource> datasources = new LinkedHashMap<>();
+
+    // Getters and Setters
+
+    public long getMaxLagMs() {
+        return maxLagMs;
+    }
+
+    public void setMaxLagMs(long maxLagMs) {
+        this.maxLagMs = maxLagMs;
+    }
+
+    public long getLagCheckIntervalMs() {
+        return lagCheckIntervalMs;
+    }
+
+    public void setLagCheckIntervalMs(long lagCheckIntervalMs) {
+        this.lagCheckIntervalMs = lagCheckIntervalMs;
+    }
+
+    public Map<String, ReplicaDataSource> getDatasources() {
+        return datasources;
+    }
+
+    public void setDatasources(Map<String, ReplicaDataSource> datasources) {
+        this.datasources = datasources;
+    }
+
+    /**
+     * Connection settings of a single replica database.
+     */
+    public static class ReplicaDataSource {
+
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public int getMaximumPoolSize() {
+            return maximumPoolSize;
+        }
+
+        public void setMaximumPoolSize(int maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+        }
+    }
+}
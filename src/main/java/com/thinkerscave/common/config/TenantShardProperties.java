@@ -0,0 +1,103 @@
+package com.thinkerscave.common.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Additional PostgreSQL databases ("shards") tenant schemas can live on.
+ *
+ * The primary spring.datasource is always the "default" shard and keeps the
+ * global tables (tenant_config, user_tenant_mapping, ...). Example:
+ *
+ * <pre>
+ * tenant.sharding.default-capacity=500
+ * tenant.sharding.datasources.shard_b.url=jdbc:postgresql://localhost:5433/thinkerscave_saas
+ * tenant.sharding.datasources.shard_b.username=postgres
+ * tenant.sharding.datasources.shard_b.password=postgres
+ * tenant.sharding.datasources.shard_b.capacity=500
+ * </pre>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "tenant.sharding")
+public class TenantShardProperties {
+
+    /** Relative tenant capacity of the primary database. */
+    private int defaultCapacity = 1000;
+
+    private Map<String, ShardDataSource> datasources = new LinkedHashMap<>();
+
+    // Getters and Setters
+
+    public int getDefaultCapacity() {
+        return defaultCapacity;
+    }
+
+    public void setDefaultCapacity(int defaultCapacity) {
+        this.defaultCapacity = defaultCapacity;
+    }
+
+    public Map<String, ShardDataSource> getDatasources() {
+        return datasources;
+    }
+
+    public void setDatasources(Map<String, ShardDataSource> datasources) {
+        this.datasources = datasources;
+    }
+
+    /**
+     * Connection settings of a single shard database.
+     */
+    public static class ShardDataSource {
+
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+
+        /** Relative tenant capacity used when placing new tenants. */
+        private int capacity = 1000;
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public int getMaximumPoolSize() {
+            return maximumPoolSize;
+        }
+
+        public void setMaximumPoolSize(int maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.thinkerscave.common.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * TenantShardRouter maps every tenant to the PostgreSQL database ("shard")
+ * its schema lives on.
+ *
+ * The assignment is stored in public.tenant_config.shard_key on the primary
+ * database and cached in memory until a {@link TenantConfigChangedEvent}
+ * names the tenant. The primary spring.datasource is the
+ * "default" shard; further shards come from {@link TenantShardProperties}.
+ * With no extra shards configured every lookup short-circuits to the
+ * primary without touching the database.
+ */
+@Component
+@Slf4j
+public class TenantShardRouter {
+
+    public static final String DEFAULT_SHARD = "default";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TenantShardProperties properties;
+
+    // shard key -> DataSource (wrapped so direct checkouts land on public)
+    private final Map<String, DataSource> shards = new LinkedHashMap<>();
+
+    // tenant id -> shard key
+    private final Map<String, String> tenantShards = new ConcurrentHashMap<>();
+
+    public TenantShardRouter(DataSource dataSource, JdbcTemplate jdbcTemplate, TenantShardProperties properties,
+            SearchPathRegistry searchPathRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+
+        shards.put(DEFAULT_SHARD, dataSource);
+        properties.getDatasources().forEach((shardKey, spec) -> {
+            if (DEFAULT_SHARD.equals(shardKey)) {
+                throw new IllegalStateException("Shard key '" + DEFAULT_SHARD + "' is reserved for spring.datasource");
+            }
+            shards.put(shardKey, new PublicSearchPathDataSource(createPool(shardKey, spec), searchPathRegistry));
+            log.info("Registered tenant shard '{}' -> {}", shardKey, spec.getUrl());
+        });
+    }
+
+    /**
+     * Returns the shard key the tenant's schema lives on.
+     */
+    public String shardOf(String tenantId) {
+        if (!isSharded() || tenantId == null || SearchPathRegistry.PUBLIC_SCHEMA.equals(tenantId)) {
+            return DEFAULT_SHARD;
+        }
+        return tenantShards.computeIfAbsent(tenantId, this::lookupShard);
+    }
+
+    /**
+     * DataSource of the tenant's shard. Connections come back on the public
+     * schema, ready for qualified DDL/DML.
+     */
+    public DataSource dataSourceFor(String tenantId) {
+        return shards.get(shardOf(tenantId));
+    }
+
+    /**
+     * Raw pool of the tenant's shard, for callers that set the search_path
+     * themselves.
+     */
+    public DataSource poolFor(String tenantId) {
+        DataSource dataSource = dataSourceFor(tenantId);
+        if (dataSource instanceof PublicSearchPathDataSource wrapper) {
+            return wrapper.getTargetDataSource();
+        }
+        return dataSource;
+    }
+
+    /**
+     * All shards by key, the primary first.
+     */
+    public Map<String, DataSource> getShards() {
+        return Collections.unmodifiableMap(shards);
+    }
+
+    public boolean isSharded() {
+        return shards.size() > 1;
+    }
+
+    /**
+     * Picks the shard for a new tenant: the one with the lowest ratio of active
+     * tenants to configured capacity.
+     */
+    public String selectShardForNewTenant() {
+        if (!isSharded()) {
+            return DEFAULT_SHARD;
+        }
+
+        Map<String, Long> activeTenants = new HashMap<>();
+        jdbcTemplate.query("""
+                SELECT COALESCE(shard_key, 'default') AS shard_key, COUNT(*) AS tenants
+                FROM public.tenant_config
+                WHERE is_active = true
+                GROUP BY COALESCE(shard_key, 'default')
+                """, rs -> {
+            activeTenants.put(rs.getString("shard_key"), rs.getLong("tenants"));
+        });
+
+        String selected = DEFAULT_SHARD;
+        double lowestLoad = Double.MAX_VALUE;
+        for (String shardKey : shards.keySet()) {
+            double load = activeTenants.getOrDefault(shardKey, 0L) / (double) Math.max(1, capacityOf(shardKey));
+            if (load < lowestLoad) {
+                lowestLoad = load;
+                selected = shardKey;
+            }
+        }
+        log.debug("Selected shard '{}' for new tenant (load {})", selected, lowestLoad);
+        return selected;
+    }
+
+    /**
+     * Decides where a tenant being onboarded lives and pins it there before its
+     * tenant_config row exists. A tenant that is already registered keeps its
+     * shard, so duplicate checks run against the right database.
+     *
+     * @return the shard key to record in tenant_config
+     */
+    public String placeNewTenant(String tenantId) {
+        if (!isSharded()) {
+            return DEFAULT_SHARD;
+        }
+        List<String> existing = jdbcTemplate.queryForList(
+                "SELECT shard_key FROM public.tenant_config WHERE tenant_id = ?", String.class, tenantId);
+        String shardKey = existing.isEmpty() ? selectShardForNewTenant() : shardOf(tenantId);
+        tenantShards.put(tenantId, shardKey);
+        return shardKey;
+    }
+
+    /**
+     * Forgets the cached shard of a tenant, e.g. after it was moved or removed.
+     */
+    public void evict(String tenantId) {
+        tenantShards.remove(tenantId);
+    }
+
+    /**
+     * Forgets the shards of the tenants touched by a tenant_config change, or
+     * of every tenant on a resync.
+     */
+    @EventListener
+    public void onTenantConfigChanged(TenantConfigChangedEvent event) {
+        if (event.isResync()) {
+            tenantShards.clear();
+            return;
+        }
+        event.tenantIds().forEach(this::evict);
+    }
+
+    private String lookupShard(String tenantId) {
+        List<String> rows = jdbcTemplate.queryForList(
+                "SELECT shard_key FROM public.tenant_config WHERE tenant_id = ?", String.class, tenantId);
+        String shardKey = rows.isEmpty() || rows.get(0) == null ? DEFAULT_SHARD : rows.get(0);
+        if (!shards.containsKey(shardKey)) {
+            throw new IllegalStateException(
+                    "Tenant '" + tenantId + "' is assigned to shard '" + shardKey + "' which is not configured");
+        }
+        return shardKey;
+    }
+
+    private int capacityOf(String shardKey) {
+        if (DEFAULT_SHARD.equals(shardKey)) {
+            return properties.getDefaultCapacity();
+        }
+        return properties.getDatasources().get(shardKey).getCapacity();
+    }
+
+    private static DataSource createPool(String shardKey, TenantShardProperties.ShardDataSource spec) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("shard-" + shardKey);
+        config.setJdbcUrl(spec.getUrl());
+        config.setUsername(spec.getUsername());
+        config.setPassword(spec.getPassword());
+        config.setMaximumPoolSize(spec.getMaximumPoolSize());
+        return new HikariDataSource(config);
+    }
+
+    @PreDestroy
+    public void close() {
+        shards.forEach((shardKey, dataSource) -> {
+            if (!DEFAULT_SHARD.equals(shardKey) && dataSource instanceof PublicSearchPathDataSource wrapper
+                    && wrapper.getTargetDataSource() instanceof HikariDataSource pool) {
+                pool.close();
+            }
+        });
+    }
+}
@@ -0,0 +1,25 @@
+package com.thinkerscave.common.config;
+
+import java.util.Set;
+
+/**
+ * Published when rows of public.user_tenant_mapping change on any node, as
+ * relayed by {@link TenantConfigChangeListener}. The rows are written by the
+ * sync_user_tenant_mapping trigger on every users table and by
+ * SchemaInitializer when it creates a tenant admin.
+ *
+ * A resync event (no emails) means notifications may have been missed and
+ * every cached login should be dropped.
+ *
+ * @param emails emails of the changed rows, before and after the change
+ */
+public record UserTenantMappingChangedEvent(Set<String> emails) {
+
+    public static UserTenantMappingChangedEvent resync() {
+        return new UserTenantMappingChangedEvent(Set.of());
+    }
+
+    public boolean isResync() {
+        return emails.isEmpty();
+    }
+}
@@ -0,0 +1,75 @@
+package com.thinkerscave.common.context;
+
+import org.slf4j.MDC;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * MDC fields identifying the request a log line belongs to. The request
+ * pipeline sets them once per request; log4j2.xml prints them with %X and
+ * the JSON layout emits them as labels.
+ *
+ * Log4j2 keeps the MDC in a garbage-free map (log4j2.component.properties),
+ * so setting and printing these fields allocates nothing per log call.
+ */
+public final class LoggingContext {
+
+    public static final String REQUEST_ID = "requestId";
+    public static final String TENANT = "tenant";
+    public static final String ORGANIZATION = "org";
+
+    public static final String REQUEST_ID_HEADER = "X-Request-ID";
+
+    private static final int MAX_REQUEST_ID_LENGTH = 64;
+
+    private LoggingContext() {
+    }
+
+    /**
+     * Uses the caller's request id if it is a plain token (so ids from a
+     * gateway or client carry through), otherwise a random 16 digit hex id.
+     *
+     * @return the request id now in the MDC
+     */
+    public static String startRequest(String requestIdHeader) {
+        String requestId = isValidRequestId(requestIdHeader) ? requestIdHeader : newRequestId();
+        MDC.put(REQUEST_ID, requestId);
+        return requestId;
+    }
+
+    public static void setTenant(String tenantId) {
+        MDC.put(TENANT, tenantId);
+    }
+
+    public static void setOrganization(Long organizationId) {
+        if (organizationId != null) {
+            MDC.put(ORGANIZATION, organizationId.toString());
+        }
+    }
+
+    public static void clear() {
+        MDC.remove(REQUEST_ID);
+        MDC.remove(TENANT);
+        MDC.remove(ORGANIZATION);
+    }
+
+    static String newRequestId() {
+        // The top bit is set so the id always has 16 digits
+        return Long.toHexString(ThreadLocalRandom.current().nextLong() | Long.MIN_VALUE);
+    }
+
+    static boolean isValidRequestId(String value) {
+        if (value == null || value.isEmpty() || value.length() > MAX_REQUEST_ID_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            boolean valid = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_' || c == '.';
+            if (!valid) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
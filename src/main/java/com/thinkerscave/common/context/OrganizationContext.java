@@ -1,8 +1,15 @@
 package com.thinkerscave.common.context;
 
+import com.thinkerscave.common.config.OrganizationFilterActivator;
+
+import java.util.Objects;
+
 /**
  * Thread-local context for storing the current organization ID.
  * Similar to TenantContext, but for organization-scoped operations.
+ *
+ * Changing the organization while a transaction is open re-applies the
+ * organization filter to its session (see {@link OrganizationFilterActivator}).
  * 
  * @author System
  */
@@ -16,7 +23,11 @@ public class OrganizationContext {
      * @param orgId The organization ID to set
      */
     public static void setOrganizationId(Long orgId) {
+        Long previous = currentOrganizationId.get();
         currentOrganizationId.set(orgId);
+        if (!Objects.equals(previous, orgId)) {
+            OrganizationFilterActivator.reapplyToBoundSessions(orgId);
+        }
     }
 
     /**
@@ -33,7 +44,11 @@ public class OrganizationContext {
      * IMPORTANT: Always call this in a finally block to prevent memory leaks.
      */
     public static void clear() {
+        Long previous = currentOrganizationId.get();
         currentOrganizationId.remove();
+        if (previous != null) {
+            OrganizationFilterActivator.reapplyToBoundSessions(null);
+        }
     }
 
     /**
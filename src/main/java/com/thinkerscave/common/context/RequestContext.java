@@ -0,0 +1,66 @@
+package com.thinkerscave.common.context;
+
+import lombok.Builder;
+import lombok.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * Immutable snapshot of everything resolved about the current request:
+ * tenant, authenticated principal and organization.
+ *
+ * Built once per request by RequestContextPipelineFilter and published for
+ * the request's thread. TenantContext, the SecurityContext and
+ * OrganizationContext are still populated from it for existing code.
+ *
+ * @author System
+ */
+@Value
+@Builder(toBuilder = true)
+public class RequestContext {
+
+    private static final ThreadLocal<RequestContext> current = new ThreadLocal<>();
+
+    /**
+     * Where the tenant of a request was taken from, in priority order.
+     */
+    public enum TenantSource {
+        SUBDOMAIN, TOKEN, HEADER, DEFAULT
+    }
+
+    String tenantId;
+    TenantSource tenantSource;
+
+    /** Subject of the bearer token, or null for anonymous requests. */
+    String username;
+
+    /** Authenticated principal, or null when the request is not authenticated. */
+    UserDetails principal;
+
+    /** Organization the request operates on, or null when none applies. */
+    Long organizationId;
+
+    public boolean isAuthenticated() {
+        return principal != null;
+    }
+
+    /**
+     * Get the context of the request handled by this thread.
+     *
+     * @return The current request context, or null outside a request
+     */
+    public static RequestContext current() {
+        return current.get();
+    }
+
+    public static void set(RequestContext context) {
+        current.set(context);
+    }
+
+    /**
+     * Clear the request context for this thread.
+     * IMPORTANT: Always call this in a finally block to prevent memory leaks.
+     */
+    public static void clear() {
+        current.remove();
+    }
+}
@@ -57,7 +57,8 @@ public class AcademicContainer extends Auditable {
      * Primary stable internal identifier for the hierarchical unit.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "academic_containers_container_id_seq")
+    @SequenceGenerator(name = "academic_containers_container_id_seq", sequenceName = "academic_containers_container_id_seq", allocationSize = 50)
     @Column(name = "container_id")
     private Long containerId;
 
@@ -48,6 +48,8 @@ import java.time.LocalDate;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@Cacheable
+@org.hibernate.annotations.Cache(usage = org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE, region = "academic_year")
 
 public class AcademicYear extends Auditable {
 
@@ -55,7 +57,8 @@ public class AcademicYear extends Auditable {
      * Primary stable internal identifier for the academic session.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "academic_years_academic_year_id_seq")
+    @SequenceGenerator(name = "academic_years_academic_year_id_seq", sequenceName = "academic_years_academic_year_id_seq", allocationSize = 50)
     @Column(name = "academic_year_id")
     private Long academicYearId;
 
@@ -56,7 +56,8 @@ public class Chapter extends Auditable {
      * Unique stable identifier for the chapter record.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "chapters_chapter_id_seq")
+    @SequenceGenerator(name = "chapters_chapter_id_seq", sequenceName = "chapters_chapter_id_seq", allocationSize = 50)
     @Column(name = "chapter_id")
     private Long chapterId;
 
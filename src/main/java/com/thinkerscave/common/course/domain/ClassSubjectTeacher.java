@@ -27,7 +27,8 @@ import lombok.NoArgsConstructor;
 public class ClassSubjectTeacher extends Auditable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "class_subject_teacher_mapping_id_seq")
+    @SequenceGenerator(name = "class_subject_teacher_mapping_id_seq", sequenceName = "class_subject_teacher_mapping_id_seq", allocationSize = 50)
     @Column(name = "mapping_id")
     private Long mappingId;
 
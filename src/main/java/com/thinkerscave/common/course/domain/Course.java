@@ -57,7 +57,8 @@ public class Course extends Auditable {
      * Primary stable internal identifier for the course program.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "courses_course_id_seq")
+    @SequenceGenerator(name = "courses_course_id_seq", sequenceName = "courses_course_id_seq", allocationSize = 50)
     @Column(name = "course_id")
     private Long courseId;
 
@@ -23,7 +23,8 @@ import lombok.NoArgsConstructor;
 public class CourseSubjectMapping extends Auditable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "course_subject_mapping_mapping_id_seq")
+    @SequenceGenerator(name = "course_subject_mapping_mapping_id_seq", sequenceName = "course_subject_mapping_mapping_id_seq", allocationSize = 50)
     @Column(name = "mapping_id")
     private Long mappingId;
 
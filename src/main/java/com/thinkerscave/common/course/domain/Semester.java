@@ -21,11 +21,14 @@ import java.time.LocalDate;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@Cacheable
+@org.hibernate.annotations.Cache(usage = org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE, region = "semester")
 
 public class Semester extends Auditable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "semesters_semester_id_seq")
+    @SequenceGenerator(name = "semesters_semester_id_seq", sequenceName = "semesters_semester_id_seq", allocationSize = 50)
     @Column(name = "semester_id")
     private Long semesterId;
 
@@ -62,7 +62,8 @@ public class Subject extends Auditable {
      * Primary stable internal identifier for the subject record.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "subjects_subject_id_seq")
+    @SequenceGenerator(name = "subjects_subject_id_seq", sequenceName = "subjects_subject_id_seq", allocationSize = 50)
     @Column(name = "subject_id")
     private Long subjectId;
 
@@ -23,7 +23,8 @@ import lombok.NoArgsConstructor;
 public class SubjectContainerMapping extends Auditable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "subject_container_mapping_mapping_id_seq")
+    @SequenceGenerator(name = "subject_container_mapping_mapping_id_seq", sequenceName = "subject_container_mapping_mapping_id_seq", allocationSize = 50)
     @Column(name = "mapping_id")
     private Long mappingId;
 
@@ -69,7 +69,8 @@ public class Syllabus extends Auditable {
      * Primary stable identifier for the syllabus entry.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "syllabus_syllabus_id_seq")
+    @SequenceGenerator(name = "syllabus_syllabus_id_seq", sequenceName = "syllabus_syllabus_id_seq", allocationSize = 50)
     @Column(name = "syllabus_id")
     private Long syllabusId;
 
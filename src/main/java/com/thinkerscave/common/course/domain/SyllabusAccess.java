@@ -50,7 +50,8 @@ public class SyllabusAccess extends Auditable {
      * Primary stable identifier for the access record.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "syllabus_access_access_id_seq")
+    @SequenceGenerator(name = "syllabus_access_access_id_seq", sequenceName = "syllabus_access_access_id_seq", allocationSize = 50)
     @Column(name = "access_id")
     private Long accessId;
 
@@ -53,7 +53,8 @@ public class SyllabusProgress extends Auditable {
      * Primary stable internal identifier for the progress event.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "syllabus_progress_progress_id_seq")
+    @SequenceGenerator(name = "syllabus_progress_progress_id_seq", sequenceName = "syllabus_progress_progress_id_seq", allocationSize = 50)
     @Column(name = "progress_id")
     private Long progressId;
 
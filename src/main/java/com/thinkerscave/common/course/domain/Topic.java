@@ -54,7 +54,8 @@ public class Topic extends Auditable {
      * Stable unique identifier for the lesson/topic entry.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "topics_topic_id_seq")
+    @SequenceGenerator(name = "topics_topic_id_seq", sequenceName = "topics_topic_id_seq", allocationSize = 50)
     @Column(name = "topic_id")
     private Long topicId;
 
@@ -205,6 +205,46 @@ public class GlobalExceptionHandler {
                                                 .build());
         }
 
+        @ExceptionHandler({ org.springframework.transaction.CannotCreateTransactionException.class,
+                        org.springframework.dao.DataAccessResourceFailureException.class })
+        public ResponseEntity<ApiError> handleConnectionFailure(Exception ex, HttpServletRequest request) {
+                TenantConnectionLimitExceededException limitEx = findCause(ex,
+                                TenantConnectionLimitExceededException.class);
+                if (limitEx == null) {
+                        return handleException(ex, request);
+                }
+
+                String correlationId = generateCorrelationId();
+                log.warn("[{}] Tenant connection cap reached: {}", correlationId, limitEx.getMessage());
+
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                .header("Retry-After", "1")
+                                .body(ApiError.builder()
+                                                .status(503)
+                                                .code("TENANT_BUSY")
+                                                .message("Too many concurrent requests for your organization. Please retry shortly.")
+                                                .path(request.getRequestURI())
+                                                .correlationId(correlationId)
+                                                .build());
+        }
+
+        @ExceptionHandler(PasswordHashingBusyException.class)
+        public ResponseEntity<ApiError> handlePasswordHashingBusy(PasswordHashingBusyException ex,
+                        HttpServletRequest request) {
+                String correlationId = generateCorrelationId();
+                log.warn("[{}] Password hashing saturated: {}", correlationId, request.getRequestURI());
+
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                .header("Retry-After", String.valueOf(ex.getRetryAfterSeconds()))
+                                .body(ApiError.builder()
+                                                .status(503)
+                                                .code("AUTH_BUSY")
+                                                .message(ex.getMessage())
+                                                .path(request.getRequestURI())
+                                                .correlationId(correlationId)
+                                                .build());
+        }
+
         // ==================== Schema Errors ====================
 
         @ExceptionHandler(SchemaCreationException.class)
@@ -267,6 +307,17 @@ public class GlobalExceptionHandler {
                                                 .build());
         }
 
+        private static <T extends Throwable> T findCause(Throwable ex, Class<T> type) {
+                Throwable current = ex;
+                while (current != null) {
+                        if (type.isInstance(current)) {
+                                return type.cast(current);
+                        }
+                        current = current.getCause() == current ? null : current.getCause();
+                }
+                return null;
+        }
+
         // ==================== Catch-All ====================
 
         @ExceptionHandler(Exception.class)
@@ -0,0 +1,20 @@
+package com.thinkerscave.common.exception;
+
+/**
+ * Thrown when the password hashing executor is saturated: its queue is full
+ * or the result was not ready within the configured wait. The client should
+ * retry after {@link #getRetryAfterSeconds()}.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
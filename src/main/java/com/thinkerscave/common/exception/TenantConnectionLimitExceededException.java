@@ -0,0 +1,21 @@
+package com.thinkerscave.common.exception;
+
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * Thrown when a tenant already holds its full share of pooled connections and
+ * no slot became free within the configured wait time.
+ */
+public class TenantConnectionLimitExceededException extends SQLTransientConnectionException {
+
+    private final String tenantId;
+
+    public TenantConnectionLimitExceededException(String tenantId, long waitedMs) {
+        super("Tenant '" + tenantId + "' exceeded its connection share (waited " + waitedMs + "ms)");
+        this.tenantId = tenantId;
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+}
@@ -1,87 +0,0 @@
-package com.thinkerscave.common.filter;
-
-import com.thinkerscave.common.config.TenantContext;
-import com.thinkerscave.common.usrm.service.impl.JwtServiceImpl;
-
-import jakarta.servlet.FilterChain;
-import jakarta.servlet.ServletException;
-import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpServletResponse;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.Ordered;
-import org.springframework.core.annotation.Order;
-import org.springframework.lang.NonNull;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.context.SecurityContext;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
-import org.springframework.stereotype.Component;
-import org.springframework.web.filter.OncePerRequestFilter;
-
-import java.io.IOException;
-
-/**
- * JwtAuthFilter - Validates JWT tokens and sets Spring Security context.
- * 
- * IMPORTANT: Runs AFTER TenantFilter. TenantContext is already set.
- * This filter only handles JWT validation and Spring Security authentication.
- */
-@Slf4j
-@Component
-@Order(Ordered.HIGHEST_PRECEDENCE + 1) // Run AFTER TenantFilter
-public class JwtAuthFilter extends OncePerRequestFilter {
-
-    @Autowired
-    private JwtServiceImpl jwtService;
-
-    @Autowired
-    private org.springframework.security.core.userdetails.UserDetailsService userInfoDetailsService;
-
-    // private static final String TENANT_HEADER = "X-Tenant-ID"; // Unused
-
-    @Override
-    protected void doFilterInternal(
-            @NonNull HttpServletRequest request,
-            @NonNull HttpServletResponse response,
-            @NonNull FilterChain filterChain) throws ServletException, IOException {
-
-        String authHeader = request.getHeader("Authorization");
-        String token = null;
-        String username = null;
-
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            token = authHeader.substring(7);
-            
-            // Check if TenantFilter already parsed the token and extracted the username
-            username = (String) request.getAttribute("JWT_USERNAME");
-            
-            if (username == null) {
-                try {
-                    username = jwtService.extractUsername(token);
-                } catch (Exception e) {
-                    log.error("Failed to extract username from token", e);
-                    response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Invalid or expired JWT token");
-                    return;
-                }
-            }
-        }
-
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userInfoDetailsService.loadUserByUsername(username);
-
-            if (jwtService.validateToken(token, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-                SecurityContext context = SecurityContextHolder.createEmptyContext();
-                context.setAuthentication(authToken);
-                SecurityContextHolder.setContext(context);
-            }
-        }
-
-        filterChain.doFilter(request, response);
-    }
-}
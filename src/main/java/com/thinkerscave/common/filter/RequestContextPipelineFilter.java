@@ -0,0 +1,131 @@
+package com.thinkerscave.common.filter;
+
+import com.thinkerscave.common.config.TenantContext;
+import com.thinkerscave.common.context.LoggingContext;
+import com.thinkerscave.common.context.OrganizationContext;
+import com.thinkerscave.common.context.RequestContext;
+import com.thinkerscave.common.filter.RequestContextResolver.BearerToken;
+import com.thinkerscave.common.filter.RequestContextResolver.RequestContextException;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * RequestContextPipelineFilter - sets up tenant, authentication and
+ * organization for a request in one pass, replacing the former
+ * TenantFilter, JwtAuthFilter and OrganizationFilter.
+ *
+ * Execution Order:
+ * 1. Parse the bearer token (once)
+ * 2. Resolve the tenant and set TenantContext, so every query below runs in
+ *    the tenant's schema
+ * 3. Authenticate the token and set the SecurityContext
+ * 4. Resolve the organization and set OrganizationContext
+ * 5. Controller
+ *
+ * The resolved {@link RequestContext} is published for downstream code, and
+ * request id, tenant and organization are put into the logging MDC (see
+ * {@link LoggingContext}); the request id is echoed in the X-Request-ID
+ * response header. All thread-local contexts are cleared when the request
+ * completes.
+ *
+ * Runs right after SecurityContextHolderFilter so the authentication it sets
+ * is not replaced by the (stateless) security context repository.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class RequestContextPipelineFilter extends OncePerRequestFilter {
+
+    private final RequestContextResolver resolver;
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        String requestId = LoggingContext.startRequest(request.getHeader(LoggingContext.REQUEST_ID_HEADER));
+        response.setHeader(LoggingContext.REQUEST_ID_HEADER, requestId);
+
+        try {
+            BearerToken bearer = resolver.parseToken(request);
+
+            RequestContext context = resolver.resolveTenant(request, bearer);
+            TenantContext.setTenant(context.getTenantId());
+            LoggingContext.setTenant(context.getTenantId());
+
+            context = resolver.resolvePrincipal(context, bearer);
+            if (context.isAuthenticated() && SecurityContextHolder.getContext().getAuthentication() == null) {
+                authenticate(request, context);
+            }
+
+            if (!skipsOrganization(request)) {
+                context = resolver.resolveOrganization(request, context);
+            }
+            if (context.getOrganizationId() != null) {
+                OrganizationContext.setOrganizationId(context.getOrganizationId());
+                LoggingContext.setOrganization(context.getOrganizationId());
+            }
+
+            RequestContext.set(context);
+            log.debug("Request tenant: {} ({}) | user: {} | org: {} | Path: {} | Method: {}",
+                    context.getTenantId(), context.getTenantSource(), context.getUsername(),
+                    context.getOrganizationId(), request.getRequestURI(), request.getMethod());
+
+            filterChain.doFilter(request, response);
+
+        } catch (RequestContextException e) {
+            response.sendError(e.getStatus(), e.getMessage());
+        } finally {
+            // CRITICAL: Always clear contexts to prevent cross-request pollution
+            RequestContext.clear();
+            OrganizationContext.clear();
+            TenantContext.clear();
+            LoggingContext.clear();
+        }
+    }
+
+    private static void authenticate(HttpServletRequest request, RequestContext context) {
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                context.getPrincipal(), null, context.getPrincipal().getAuthorities());
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+        SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+        securityContext.setAuthentication(authToken);
+        SecurityContextHolder.setContext(securityContext);
+    }
+
+    /**
+     * Organization resolution is skipped for exactly what SecurityConfig
+     * permits anonymously.
+     */
+    private static boolean skipsOrganization(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return path.startsWith("/api/v1/users/login") ||
+                path.startsWith("/api/v1/users/register") ||
+                path.startsWith("/api/v1/users/refreshToken") ||
+                path.startsWith("/api/v1/users/logout") ||
+                path.startsWith("/api/v1/users/generateKey") ||
+                path.startsWith("/api/password/") ||
+                path.startsWith("/api/v1/public/") || // public inquiry + config endpoints
+                path.startsWith("/api/v1/admissions/") || // admissions form submission (public-facing)
+                path.startsWith("/api/schema/init") ||
+                path.startsWith("/swagger-ui/") ||
+                path.startsWith("/v3/api-docs/") ||
+                path.startsWith("/actuator/");
+    }
+}
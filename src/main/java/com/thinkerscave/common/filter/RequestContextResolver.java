@@ -0,0 +1,379 @@
+package com.thinkerscave.common.filter;
+
+import com.thinkerscave.common.context.RequestContext;
+import com.thinkerscave.common.context.RequestContext.TenantSource;
+import com.thinkerscave.common.orgm.service.OrganizationMembershipIndex;
+import com.thinkerscave.common.resolver.SubdomainTenantResolver;
+import com.thinkerscave.common.security.AccessTokenRevocationRegistry;
+import com.thinkerscave.common.security.PrincipalCache;
+import com.thinkerscave.common.security.UserInfoUserDetails;
+import com.thinkerscave.common.usrm.domain.User;
+import com.thinkerscave.common.usrm.repository.UserRepository;
+import com.thinkerscave.common.usrm.service.impl.JwtServiceImpl;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+/**
+ * RequestContextResolver - resolves tenant, principal and organization of a
+ * request in a single pass and returns them as an immutable
+ * {@link RequestContext}.
+ *
+ * The bearer token is parsed once and its claims reused by every step.
+ *
+ * Priority for Tenant Detection (checked in order):
+ * 0. Subdomain (sjcollege.thinkerscave.com) - Production, best UX
+ * 1. JWT Token (embedded tenant claim) - Secure, for API calls
+ * 2. X-Tenant-ID Header - Fallback for testing/backward compatibility
+ * 3. Default "public" - For unauthenticated requests
+ *
+ * The principal is rebuilt from the token's compact authority claim when it
+ * was issued in the resolved tenant, matches the tenant's privilege
+ * dictionary and carries the user's current roles, and comes from
+ * {@link PrincipalCache} otherwise; the caller publishes the tenant to
+ * TenantContext first so both look in the right schema. Users blocked since
+ * their token was issued, or unknown in the tenant, stay unauthenticated.
+ * The organization comes from X-Organization-ID (membership-checked unless
+ * SUPER_ADMIN) or is auto-detected when the user belongs to exactly one.
+ *
+ * Each step is timed under request.context.resolve{step}.
+ */
+@Component
+@Slf4j
+public class RequestContextResolver {
+
+    static final String TENANT_HEADER = "X-Tenant-ID";
+    static final String ORG_HEADER = "X-Organization-ID";
+    private static final String AUTH_HEADER = "Authorization";
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final String DEFAULT_TENANT = "public";
+    private static final String TENANT_CLAIM = "tenant_id";
+
+    private final JwtServiceImpl jwtService;
+    private final SubdomainTenantResolver subdomainResolver;
+    private final PrincipalCache principalCache;
+    private final UserRepository userRepository;
+    private final OrganizationMembershipIndex membershipIndex;
+    private final AccessTokenRevocationRegistry revocations;
+
+    private final Timer tokenTimer;
+    private final Timer tenantTimer;
+    private final Timer principalTimer;
+    private final Timer organizationTimer;
+    private final DistributionSummary orgQueriesPerRequest;
+
+    public RequestContextResolver(JwtServiceImpl jwtService, SubdomainTenantResolver subdomainResolver,
+            PrincipalCache principalCache, UserRepository userRepository,
+            OrganizationMembershipIndex membershipIndex, AccessTokenRevocationRegistry revocations,
+            MeterRegistry meterRegistry) {
+        this.jwtService = jwtService;
+        this.subdomainResolver = subdomainResolver;
+        this.principalCache = principalCache;
+        this.userRepository = userRepository;
+        this.membershipIndex = membershipIndex;
+        this.revocations = revocations;
+        this.tokenTimer = stepTimer(meterRegistry, "token");
+        this.tenantTimer = stepTimer(meterRegistry, "tenant");
+        this.principalTimer = stepTimer(meterRegistry, "principal");
+        this.organizationTimer = stepTimer(meterRegistry, "organization");
+        this.orgQueriesPerRequest = DistributionSummary.builder("organization.context.queries")
+                .description("Database queries issued to resolve the organization per request")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Parsed bearer token of a request. {@code claims} is null when the header
+     * is absent or the token did not verify.
+     */
+    record BearerToken(String token, Claims claims) {
+
+        boolean present() {
+            return token != null;
+        }
+    }
+
+    BearerToken parseToken(HttpServletRequest request) {
+        return tokenTimer.record(() -> {
+            String authHeader = request.getHeader(AUTH_HEADER);
+            if (authHeader == null || !authHeader.startsWith(BEARER_PREFIX)) {
+                return new BearerToken(null, null);
+            }
+            String token = authHeader.substring(BEARER_PREFIX.length());
+            try {
+                return new BearerToken(token, jwtService.extractAllClaimsPublic(token));
+            } catch (Exception e) {
+                log.debug("Could not parse JWT: {}", e.getMessage());
+                return new BearerToken(token, null);
+            }
+        });
+    }
+
+    /**
+     * Resolves the tenant by priority and returns a context holding only the
+     * tenant; the caller publishes it to TenantContext before the principal is
+     * looked up.
+     */
+    RequestContext resolveTenant(HttpServletRequest request, BearerToken bearer) {
+        return tenantTimer.record(() -> {
+            // Priority 0: Extract tenant from subdomain (production mode - best UX)
+            try {
+                String tenant = subdomainResolver.extractTenantFromSubdomain(request);
+                if (tenant != null && !tenant.isBlank()) {
+                    log.debug("Tenant extracted from subdomain: {}", tenant);
+                    return tenantContext(tenant, TenantSource.SUBDOMAIN);
+                }
+            } catch (Exception e) {
+                log.debug("Could not extract tenant from subdomain: {}", e.getMessage());
+            }
+
+            // Priority 1: Extract tenant from JWT token (authenticated API calls)
+            if (bearer.claims() != null) {
+                String tenant = bearer.claims().get(TENANT_CLAIM, String.class);
+                if (tenant != null && !tenant.isBlank()) {
+                    log.debug("Tenant extracted from JWT: {}", tenant);
+                    return tenantContext(tenant, TenantSource.TOKEN);
+                }
+            }
+
+            // Priority 2: Fallback to X-Tenant-ID header (testing/backward compatibility)
+            String tenant = request.getHeader(TENANT_HEADER);
+            if (tenant != null && !tenant.isBlank()) {
+                log.debug("Tenant extracted from header: {}", tenant);
+                return tenantContext(tenant, TenantSource.HEADER);
+            }
+
+            // Priority 3: Default to public schema
+            return tenantContext(DEFAULT_TENANT, TenantSource.DEFAULT);
+        });
+    }
+
+    /**
+     * Authenticates the bearer token against the current tenant.
+     *
+     * @throws RequestContextException 401 when a bearer token was sent but did
+     *                                 not verify or has been revoked
+     */
+    RequestContext resolvePrincipal(RequestContext context, BearerToken bearer) {
+        if (!bearer.present()) {
+            return context;
+        }
+        if (bearer.claims() == null) {
+            throw new RequestContextException(HttpServletResponse.SC_UNAUTHORIZED, "Invalid or expired JWT token");
+        }
+        if (revocations.isRevoked(bearer.claims().getId())) {
+            throw new RequestContextException(HttpServletResponse.SC_UNAUTHORIZED, "JWT token has been revoked");
+        }
+        if (bearer.claims().getSubject() == null) {
+            return context;
+        }
+        return principalTimer.record(() -> {
+            Claims claims = bearer.claims();
+            String username = claims.getSubject();
+            RequestContext.RequestContextBuilder resolved = context.toBuilder().username(username);
+            PrincipalCache.AccessState access = principalCache.accessState(username);
+            if (access == null || access.suspended()) {
+                log.debug("User '{}' is unknown or blocked in tenant '{}'", username, context.getTenantId());
+                return resolved.build();
+            }
+            UserInfoUserDetails compact = jwtService.extractPrincipal(claims);
+            UserDetails principal = compact != null && access.matches(compact)
+                    ? compact
+                    : principalCache.load(username);
+            if (jwtService.validateClaims(claims, principal)) {
+                resolved.principal(principal);
+            }
+            return resolved.build();
+        });
+    }
+
+    /**
+     * Resolves the organization of an authenticated request.
+     *
+     * @throws RequestContextException 400 for a malformed X-Organization-ID, 403
+     *                                 when the user is not a member
+     */
+    RequestContext resolveOrganization(HttpServletRequest request, RequestContext context) {
+        if (!context.isAuthenticated()) {
+            return context;
+        }
+        return organizationTimer.record(() -> {
+            int[] queries = { 0 };
+            try {
+                Long orgId = resolveOrganizationId(request, context, queries);
+                return orgId != null ? context.toBuilder().organizationId(orgId).build() : context;
+            } finally {
+                orgQueriesPerRequest.record(queries[0]);
+            }
+        });
+    }
+
+    private Long resolveOrganizationId(HttpServletRequest request, RequestContext context, int[] queries) {
+        String username = context.getUsername();
+        String orgHeader = request.getHeader(ORG_HEADER);
+
+        if (orgHeader == null || orgHeader.trim().isEmpty()) {
+            // No header — auto-detect if user belongs to exactly one org
+            return autoDetectSingleOrg(context, queries);
+        }
+
+        // Client explicitly specified an org — validate membership
+        Long orgId;
+        try {
+            orgId = Long.parseLong(orgHeader.trim());
+        } catch (NumberFormatException e) {
+            log.warn("Invalid X-Organization-ID header value: '{}'", orgHeader);
+            throw new RequestContextException(HttpServletResponse.SC_BAD_REQUEST, "Invalid organization ID format");
+        }
+
+        if (isSuperAdmin(context.getPrincipal())) {
+            log.debug("Organization context set: orgId={} via SUPER_ADMIN override", orgId);
+            return orgId;
+        }
+        if (!belongsTo(context, orgId, queries)) {
+            log.warn("User '{}' attempted to access org {} without permission", username, orgId);
+            throw new RequestContextException(HttpServletResponse.SC_FORBIDDEN,
+                    "Access denied to organization: " + orgId);
+        }
+        log.debug("Organization context set: orgId={} for user='{}'", orgId, username);
+        return orgId;
+    }
+
+    private boolean belongsTo(RequestContext context, Long orgId, int[] queries) {
+        try {
+            Long userId = resolveUserId(context, queries);
+            if (userId == null) {
+                return false;
+            }
+            OrganizationMembershipIndex.Lookup memberships = membershipIndex.lookup(userId);
+            queries[0] += memberships.queries();
+            return memberships.contains(orgId);
+        } catch (Exception e) {
+            log.error("Error validating org membership for user '{}', orgId={}: {}", context.getUsername(), orgId,
+                    e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Auto-detects the org when no X-Organization-ID header is present.
+     * Returns an org only if the user belongs to exactly one active org.
+     */
+    private Long autoDetectSingleOrg(RequestContext context, int[] queries) {
+        String username = context.getUsername();
+        try {
+            Long userId = resolveUserId(context, queries);
+            if (userId == null) {
+                return null;
+            }
+            OrganizationMembershipIndex.Lookup memberships = membershipIndex.lookup(userId);
+            queries[0] += memberships.queries();
+            int orgCount = memberships.organizationIds().size();
+
+            if (orgCount == 1) {
+                Long autoOrgId = memberships.organizationIds().iterator().next();
+                log.debug("Auto-detected org context: orgId={} for user='{}'", autoOrgId, username);
+                return autoOrgId;
+            } else if (orgCount == 0) {
+                log.debug("User '{}' has no active org memberships — context not set", username);
+            } else {
+                log.debug("User '{}' belongs to {} orgs — awaiting explicit X-Organization-ID header", username,
+                        orgCount);
+            }
+        } catch (Exception e) {
+            log.error("Error during org auto-detection for user '{}': {}", username, e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * User id of the principal, looked up by username only when the principal
+     * does not carry it.
+     */
+    private Long resolveUserId(RequestContext context, int[] queries) {
+        if (context.getPrincipal() instanceof UserInfoUserDetails principal && principal.getUserId() != null) {
+            return principal.getUserId();
+        }
+        queries[0]++;
+        return userRepository.findByUserName(context.getUsername()).map(User::getId).orElse(null);
+    }
+
+    private static boolean isSuperAdmin(UserDetails principal) {
+        for (GrantedAuthority authority : principal.getAuthorities()) {
+            String name = authority.getAuthority();
+            if ("SUPER_ADMIN".equals(name) || "ROLE_SUPER_ADMIN".equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static RequestContext tenantContext(String tenant, TenantSource source) {
+        return RequestContext.builder()
+                .tenantId(sanitizeTenantName(tenant))
+                .tenantSource(source)
+                .build();
+    }
+
+    /**
+     * Sanitizes tenant name to prevent SQL injection attacks.
+     * Only allows alphanumeric characters and underscores. Valid names, the
+     * common case, are returned without copying.
+     */
+    static String sanitizeTenantName(String tenant) {
+        if (tenant == null) {
+            return DEFAULT_TENANT;
+        }
+        int length = tenant.length();
+        int firstInvalid = 0;
+        while (firstInvalid < length && isTenantChar(tenant.charAt(firstInvalid))) {
+            firstInvalid++;
+        }
+        if (firstInvalid == length) {
+            return length == 0 ? DEFAULT_TENANT : tenant;
+        }
+        StringBuilder sanitized = new StringBuilder(length).append(tenant, 0, firstInvalid);
+        for (int i = firstInvalid + 1; i < length; i++) {
+            char c = tenant.charAt(i);
+            if (isTenantChar(c)) {
+                sanitized.append(c);
+            }
+        }
+        return sanitized.isEmpty() ? DEFAULT_TENANT : sanitized.toString();
+    }
+
+    private static boolean isTenantChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    private static Timer stepTimer(MeterRegistry meterRegistry, String step) {
+        return Timer.builder("request.context.resolve")
+                .description("Time spent resolving one step of the request context")
+                .tag("step", step)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Rejects the request with the given status before it reaches the
+     * application.
+     */
+    static class RequestContextException extends RuntimeException {
+
+        private final int status;
+
+        RequestContextException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+
+        int getStatus() {
+            return status;
+        }
+    }
+}
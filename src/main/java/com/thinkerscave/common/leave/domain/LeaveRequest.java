@@ -15,7 +15,8 @@ import java.time.LocalDate;
 public class LeaveRequest extends Auditable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "leave_requests_id_seq")
+    @SequenceGenerator(name = "leave_requests_id_seq", sequenceName = "leave_requests_id_seq", allocationSize = 50)
     private Long id;
 
     /** Organization this record belongs to — ensures branch-level data isolation */
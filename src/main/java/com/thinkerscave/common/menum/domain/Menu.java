@@ -5,6 +5,8 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.EqualsAndHashCode;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 @Entity
@@ -13,10 +15,13 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 @Setter
 @EqualsAndHashCode(callSuper = false)
 @Table(name = "menu_master")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "menu")
 public class Menu extends Auditable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "menu_master_menu_id_seq")
+    @SequenceGenerator(name = "menu_master_menu_id_seq", sequenceName = "menu_master_menu_id_seq", allocationSize = 50)
     @Column(name = "menu_id")
     private Long menuId;
 
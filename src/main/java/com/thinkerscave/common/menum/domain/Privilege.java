@@ -1,15 +1,19 @@
 package com.thinkerscave.common.menum.domain;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Getter
 @Setter
@@ -17,10 +21,13 @@ import lombok.NoArgsConstructor;
 @Table(name = "privilege_master")
 @AllArgsConstructor
 @NoArgsConstructor
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "privilege")
 public class Privilege {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "privilege_master_privilege_id_seq")
+    @SequenceGenerator(name = "privilege_master_privilege_id_seq", sequenceName = "privilege_master_privilege_id_seq", allocationSize = 50)
     @Column(name = "privilege_id")
     private Long privilegeId;
 
@@ -10,6 +10,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -26,7 +27,8 @@ import lombok.NoArgsConstructor;
 @EqualsAndHashCode(callSuper = false)
 public class RoleMenuPrivilegeMapping extends Auditable {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "role_submenu_privilege_mapping_mapping_id_seq")
+    @SequenceGenerator(name = "role_submenu_privilege_mapping_mapping_id_seq", sequenceName = "role_submenu_privilege_mapping_mapping_id_seq", allocationSize = 50)
     @Column(name = "mapping_id")
     private Long mappingId;
 
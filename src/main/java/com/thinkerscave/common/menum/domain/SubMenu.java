@@ -9,6 +9,8 @@ import lombok.EqualsAndHashCode;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 @Getter
@@ -17,10 +19,13 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 @Entity
 @EntityListeners(AuditingEntityListener.class)
 @Table(name = "sub_menu_master")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "sub_menu")
 public class SubMenu extends Auditable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sub_menu_master_sub_menu_id_seq")
+    @SequenceGenerator(name = "sub_menu_master_sub_menu_id_seq", sequenceName = "sub_menu_master_sub_menu_id_seq", allocationSize = 50)
     @Column(name = "sub_menu_id")
     @EqualsAndHashCode.Include
     private Long subMenuId;
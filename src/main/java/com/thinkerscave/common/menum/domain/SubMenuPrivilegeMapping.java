@@ -8,6 +8,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.Setter;
@@ -18,7 +19,8 @@ import lombok.Setter;
 @Setter
 public class SubMenuPrivilegeMapping {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "submenu_privilege_mapping_mapping_id_seq")
+    @SequenceGenerator(name = "submenu_privilege_mapping_mapping_id_seq", sequenceName = "submenu_privilege_mapping_mapping_id_seq", allocationSize = 50)
     @Column(name = "mapping_id")
     private Long mappingId;
 
@@ -2,7 +2,10 @@ package com.thinkerscave.common.menum.repository;
 
 
 import com.thinkerscave.common.menum.domain.Menu;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
@@ -17,13 +20,17 @@ import java.util.Optional;
 public interface MenuRepository extends JpaRepository<Menu, Long> {
 
     /** Returns all menus where isActive is true. */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Menu> findByIsActiveTrue();
 
     /** Finds a menu by its unique menu code. */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Menu> findByMenuCode(String menuCode);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Menu> findByIsActiveTrueOrderByMenuOrderAsc();
 
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
 	List<Menu> findAllByOrderByMenuOrderAsc();
 
 }
\ No newline at end of file
@@ -1,6 +1,11 @@
 package com.thinkerscave.common.menum.repository;
 
+import java.util.List;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.thinkerscave.common.menum.domain.Privilege;
@@ -8,4 +13,8 @@ import com.thinkerscave.common.menum.domain.Privilege;
 @Repository
 public interface PrivilegeRepository extends JpaRepository<Privilege, Long> {
 
+	/** All privileges, from the query cache when possible. */
+	@Override
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+	List<Privilege> findAll();
 }
@@ -24,4 +24,16 @@ public interface RoleMenuPrivilegeMappingRepository extends JpaRepository<RoleMe
 			+ "AND s.isActive = true")
 	List<RoleMenuPrivilegeMapping> findByRoleId(@Param("roleId") Long roleId);
 
+	/**
+	 * Every active grant of the tenant as ROLEID:SUBMENUCODE_PRIVILEGE.
+	 */
+	@Query("SELECT CONCAT(CAST(r.role.roleId AS String), ':', s.subMenuCode, '_', p.privilegeName) "
+			+ "FROM RoleMenuPrivilegeMapping r "
+			+ "JOIN r.subMenu s "
+			+ "JOIN s.menu m "
+			+ "JOIN r.privilege p "
+			+ "WHERE m.isActive = true "
+			+ "AND s.isActive = true")
+	List<String> findActiveGrantKeys();
+
 }
@@ -3,7 +3,10 @@ package com.thinkerscave.common.menum.repository;
 import java.util.List;
 import java.util.Optional;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.thinkerscave.common.menum.domain.Role;
@@ -12,11 +15,14 @@ import com.thinkerscave.common.usrm.domain.User;
 @Repository
 public interface RoleRepository extends JpaRepository<Role, Long> {
 	
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
 	Optional<Role> findByRoleCode(String roleCode);
 
 	boolean existsByRoleCode(String roleCode);
 	
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
 	List<Role> findByIsActiveTrue();
 
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
 	Optional<Role> findByRoleName(String string);
 }
@@ -1,6 +1,9 @@
 package com.thinkerscave.common.menum.repository;
 
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.thinkerscave.common.menum.domain.SubMenu;
@@ -9,5 +12,16 @@ import com.thinkerscave.common.menum.domain.SubMenuPrivilegeMapping;
 @Repository
 public interface SubMenuPrivilegeMappingRepository extends JpaRepository<SubMenuPrivilegeMapping, Long> {
     void deleteBySubMenu(SubMenu subMenu);
+
+    /**
+     * Authority codes (SUBMENUCODE_PRIVILEGE) offered by active submenus.
+     */
+    @Query("SELECT CONCAT(s.subMenuCode, '_', p.privilegeName) FROM SubMenuPrivilegeMapping sp "
+            + "JOIN sp.subMenu s "
+            + "JOIN s.menu m "
+            + "JOIN sp.privilege p "
+            + "WHERE m.isActive = true "
+            + "AND s.isActive = true")
+    List<String> findActivePrivilegeCodes();
 }
 
@@ -2,7 +2,10 @@ package com.thinkerscave.common.menum.repository;
 
 import com.thinkerscave.common.menum.domain.Menu;
 import com.thinkerscave.common.menum.domain.SubMenu;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -18,23 +21,29 @@ import java.util.Optional;
 @Repository
 public interface SubMenuRepository extends JpaRepository<SubMenu, Long> {
 
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
 	List<SubMenu> findByIsActiveTrue();
 
 	/** ✅ Finds a submenu by its unique code. */
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
 	Optional<SubMenu> findBySubMenuCode(String subMenuCode);
 
 	/** ✅ Returns all submenus sorted by subMenuOrder ascending. */
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
 	List<SubMenu> findAllByOrderBySubMenuOrderAsc();
 
 	/** ✅ Returns active submenus sorted by subMenuOrder ascending. */
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
 	List<SubMenu> findByIsActiveTrueOrderBySubMenuOrderAsc();
 
 	/** ✅ Retrieves the maximum subMenuOrder from existing submenus. */
 	@Query("SELECT COALESCE(MAX(s.subMenuOrder), 0) FROM SubMenu s")
 	Integer findMaxSequence();
 
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
 	List<SubMenu> findByMenu_MenuIdOrderBySubMenuOrderAsc(Long menuId);
 
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
 	List<SubMenu> findByMenuAndIsActiveTrueOrderBySubMenuOrderAsc(Menu menu);
 
 }
\ No newline at end of file
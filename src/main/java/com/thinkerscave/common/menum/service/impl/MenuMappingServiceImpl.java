@@ -25,6 +25,7 @@ import com.thinkerscave.common.menum.repository.RoleMenuPrivilegeMappingReposito
 import com.thinkerscave.common.menum.repository.RoleRepository;
 import com.thinkerscave.common.menum.repository.SubMenuRepository;
 import com.thinkerscave.common.menum.service.MenuMappingService;
+import com.thinkerscave.common.security.PrincipalCache;
 
 import lombok.RequiredArgsConstructor;
 
@@ -38,6 +39,7 @@ public class MenuMappingServiceImpl implements MenuMappingService {
         private final RoleMenuPrivilegeMappingRepository roleMenuPrivilegeMappingRepository;
         private final RoleRepository roleRepository;
         private final PrivilegeRepository privilegeRepository;
+        private final PrincipalCache principalCache;
 
         @Override
         public List<SideMenuDTO> getRoleBasedSideMenu(Long roleId) {
@@ -140,6 +142,7 @@ public class MenuMappingServiceImpl implements MenuMappingService {
         }
 
         @Override
+        @Transactional
         public void assignRoleMenuPrivileges(RoleMenuMappingRequest request) {
                 Long roleId = request.getRoleId();
                 Role role = roleRepository.findById(roleId).get();
@@ -159,6 +162,9 @@ public class MenuMappingServiceImpl implements MenuMappingService {
                         }
                 }
 
+                // Users holding the role must pick up the new privileges
+                principalCache.evictTenant();
+
         }
 
 }
@@ -8,6 +8,7 @@ import com.thinkerscave.common.menum.dto.SubMenuOrderDTO;
 import com.thinkerscave.common.menum.repository.MenuRepository;
 import com.thinkerscave.common.menum.repository.SubMenuRepository;
 import com.thinkerscave.common.menum.service.MenuService;
+import com.thinkerscave.common.security.PrincipalCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -32,6 +33,7 @@ public class MenuServiceImpl implements MenuService {
 
 	private final MenuRepository menuRepository;
 	private final SubMenuRepository subMenuRepository;
+	private final PrincipalCache principalCache;
 
 	/** Saves a new menu or updates an existing one based on the code. */
 	@Override
@@ -92,6 +94,7 @@ public class MenuServiceImpl implements MenuService {
 				Menu menu = menuOptional.get();
 				menu.setIsActive(status);
 				menuRepository.save(menu);
+				principalCache.evictTenant();
 				return "Menu status updated to " + (status ? "Active" : "Inactive");
 			} else {
 				return "Menu not found";
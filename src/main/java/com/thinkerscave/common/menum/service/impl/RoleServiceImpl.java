@@ -10,6 +10,7 @@ import com.thinkerscave.common.menum.dto.RoleDTO;
 import com.thinkerscave.common.menum.dto.RoleLookupDTO;
 import com.thinkerscave.common.menum.repository.RoleRepository;
 import com.thinkerscave.common.menum.service.RoleService;
+import com.thinkerscave.common.security.PrincipalCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -20,6 +21,7 @@ import lombok.extern.slf4j.Slf4j;
 public class RoleServiceImpl implements RoleService {
 
     private final RoleRepository roleRepository;
+    private final PrincipalCache principalCache;
 
     @Override
     @Transactional
@@ -43,6 +45,7 @@ public class RoleServiceImpl implements RoleService {
         role.setOrganizationId(dto.getOrganizationId());
 
         Role saved = roleRepository.save(role);
+        principalCache.evictTenant();
         log.info("Role saved successfully with id: {}", saved.getRoleId());
 
         return mapToDTO(saved);
@@ -80,6 +83,7 @@ public class RoleServiceImpl implements RoleService {
 
         role.setIsActive(status);
         roleRepository.save(role);
+        principalCache.evictTenant();
 
         log.info("Role status updated successfully: {}", role.getRoleId());
 
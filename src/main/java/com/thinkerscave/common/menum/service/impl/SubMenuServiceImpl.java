@@ -11,6 +11,7 @@ import com.thinkerscave.common.menum.repository.PrivilegeRepository;
 import com.thinkerscave.common.menum.repository.SubMenuPrivilegeMappingRepository;
 import com.thinkerscave.common.menum.repository.SubMenuRepository;
 import com.thinkerscave.common.menum.service.SubMenuService;
+import com.thinkerscave.common.security.PrincipalCache;
 
 import org.springframework.transaction.annotation.Transactional;
 
@@ -31,6 +32,7 @@ public class SubMenuServiceImpl implements SubMenuService {
 	private final MenuRepository menuRepository;
 	private final PrivilegeRepository privilegeRepository;
 	private final SubMenuPrivilegeMappingRepository subMenuPrivilegeMappingRepository;
+	private final PrincipalCache principalCache;
 
 	/**
 	 * Saves a new submenu or updates an existing one. - Uses submenuId for updates
@@ -89,6 +91,7 @@ public class SubMenuServiceImpl implements SubMenuService {
 				subMenuPrivilegeMappingRepository.save(mapping);
 			}
 		}
+		principalCache.evictTenant();
 
 		return mapToResponseDTO(subMenu);
 	}
@@ -167,6 +170,7 @@ public class SubMenuServiceImpl implements SubMenuService {
 				SubMenu subMenu = subMenuOptional.get();
 				subMenu.setIsActive(status);
 				subMenuRepository.save(subMenu);
+				principalCache.evictTenant();
 				return "Sub-menu status updated to " + (status ? "Active" : "Inactive");
 			} else {
 				return "Sub-Menu not found";
@@ -0,0 +1,100 @@
+package com.thinkerscave.common.monitoring;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * JDBC proxy layer feeding {@link SqlStatistics}. Both checkout paths
+ * (SchemaMultiTenantConnectionProvider for Hibernate, PublicSearchPathDataSource
+ * for JdbcTemplate and direct pool use) pass their connections through
+ * {@link #instrument(Connection)}.
+ *
+ * Connections are only wrapped while a request is being measured, so
+ * background work and requests with instrumentation disabled use the pool's
+ * connections as they are. Wrapped statements time each execute call;
+ * reading the result set afterwards is not included.
+ */
+public final class SqlInstrumentation {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private SqlInstrumentation() {
+    }
+
+    public static Connection instrument(Connection connection) {
+        if (SqlStatistics.current() == null || Proxy.isProxyClass(connection.getClass())
+                && Proxy.getInvocationHandler(connection) instanceof ConnectionHandler) {
+            return connection;
+        }
+        return (Connection) Proxy.newProxyInstance(SqlInstrumentation.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, new ConnectionHandler(connection));
+    }
+
+    private record ConnectionHandler(Connection target) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object identity = identity(proxy, method, args);
+            if (identity != null) {
+                return identity;
+            }
+            Object result = invokeTarget(target, method, args);
+            if (result instanceof Statement statement && method.getReturnType().isInterface()) {
+                // prepareStatement/prepareCall carry their SQL; createStatement passes it per execute
+                String sql = method.getName().startsWith("prepare") ? (String) args[0] : null;
+                return Proxy.newProxyInstance(SqlInstrumentation.class.getClassLoader(),
+                        new Class<?>[] { method.getReturnType() }, new StatementHandler(statement, sql));
+            }
+            return result;
+        }
+    }
+
+    private record StatementHandler(Statement target, String preparedSql) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!EXECUTE_METHODS.contains(method.getName())) {
+                Object identity = identity(proxy, method, args);
+                return identity != null ? identity : invokeTarget(target, method, args);
+            }
+            long start = System.nanoTime();
+            try {
+                return invokeTarget(target, method, args);
+            } finally {
+                SqlStatistics statistics = SqlStatistics.current();
+                if (statistics != null) {
+                    String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+                    statistics.record(sql, System.nanoTime() - start);
+                }
+            }
+        }
+    }
+
+    /**
+     * equals/hashCode of the proxy itself; Hibernate keeps statements in hash
+     * maps and must find the proxy it registered.
+     */
+    private static Object identity(Object proxy, Method method, Object[] args) {
+        if ("equals".equals(method.getName()) && args != null && args.length == 1) {
+            return proxy == args[0];
+        }
+        if ("hashCode".equals(method.getName()) && (args == null || args.length == 0)) {
+            return System.identityHashCode(proxy);
+        }
+        return null;
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.thinkerscave.common.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SqlMetricsFilter measures the SQL each request executes (see
+ * {@link SqlInstrumentation}) and reports it per endpoint and tenant:
+ *
+ * - sql.request.statements: statements per request
+ * - sql.request.time: time spent executing them
+ * - sql.request.repeated: requests that ran one identical statement at least
+ *   sql.instrumentation.repeated-statement-threshold times (likely N+1),
+ *   also logged with the statement
+ *
+ * Clients see the same figures in a Server-Timing header, added just before
+ * the response body is written ({@link SqlServerTimingAdvice}) or here for
+ * responses without a body.
+ *
+ * Runs ahead of the security filter chain so tenant and principal resolution
+ * are included.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@Slf4j
+public class SqlMetricsFilter extends OncePerRequestFilter {
+
+    static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private static final String UNMATCHED = "UNMATCHED";
+    private static final String NO_TENANT = "none";
+    private static final int MAX_TRACKED_STATEMENTS = 256;
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int repeatedStatementThreshold;
+    private final boolean serverTiming;
+    private final boolean tagTenant;
+
+    public SqlMetricsFilter(MeterRegistry meterRegistry,
+            @Value("${sql.instrumentation.enabled:true}") boolean enabled,
+            @Value("${sql.instrumentation.repeated-statement-threshold:10}") int repeatedStatementThreshold,
+            @Value("${sql.instrumentation.server-timing:true}") boolean serverTiming,
+            @Value("${sql.instrumentation.tag-tenant:true}") boolean tagTenant) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.repeatedStatementThreshold = repeatedStatementThreshold;
+        this.serverTiming = serverTiming;
+        this.tagTenant = tagTenant;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        SqlStatistics statistics = SqlStatistics.start(MAX_TRACKED_STATEMENTS);
+        if (serverTiming) {
+            request.setAttribute(SqlServerTimingAdvice.ENABLED_ATTRIBUTE, Boolean.TRUE);
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatistics.stop();
+            if (serverTiming && !response.isCommitted() && !response.containsHeader(SERVER_TIMING_HEADER)) {
+                response.setHeader(SERVER_TIMING_HEADER, statistics.serverTiming());
+            }
+            record(request, statistics);
+        }
+    }
+
+    void record(HttpServletRequest request, SqlStatistics statistics) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : UNMATCHED;
+        Tags tags = Tags.of("method", request.getMethod(), "uri", uri);
+        if (tagTenant) {
+            tags = tags.and("tenant", statistics.getTenant() != null ? statistics.getTenant() : NO_TENANT);
+        }
+
+        DistributionSummary.builder("sql.request.statements")
+                .description("SQL statements executed per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(statistics.getStatements());
+        Timer.builder("sql.request.time")
+                .description("Time per request spent executing SQL statements")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(statistics.getNanos(), TimeUnit.NANOSECONDS);
+
+        if (statistics.getMostRepeatedCount() >= repeatedStatementThreshold) {
+            Counter.builder("sql.request.repeated")
+                    .description("Requests that executed one identical statement repeatedly (likely N+1)")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("{} {} executed the same statement {} times (of {}), likely N+1: {}",
+                    request.getMethod(), uri, statistics.getMostRepeatedCount(), statistics.getStatements(),
+                    abbreviate(statistics.getMostRepeatedSql()));
+        }
+    }
+
+    private static String abbreviate(String sql) {
+        return sql.length() <= 300 ? sql : sql.substring(0, 300) + "...";
+    }
+}
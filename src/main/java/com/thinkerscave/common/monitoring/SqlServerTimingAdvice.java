@@ -0,0 +1,41 @@
+package com.thinkerscave.common.monitoring;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.lang.NonNull;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the request's SQL figures as a Server-Timing header right before the
+ * response body is written, which commits the response. By then the
+ * controller, and with open-in-view disabled every query, has finished.
+ */
+@RestControllerAdvice
+public class SqlServerTimingAdvice implements ResponseBodyAdvice<Object> {
+
+    static final String ENABLED_ATTRIBUTE = SqlServerTimingAdvice.class.getName() + ".enabled";
+
+    @Override
+    public boolean supports(@NonNull MethodParameter returnType,
+            @NonNull Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, @NonNull MethodParameter returnType,
+            @NonNull MediaType selectedContentType,
+            @NonNull Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            @NonNull ServerHttpRequest request, @NonNull ServerHttpResponse response) {
+        SqlStatistics statistics = SqlStatistics.current();
+        if (statistics != null && request instanceof ServletServerHttpRequest servletRequest
+                && servletRequest.getServletRequest().getAttribute(ENABLED_ATTRIBUTE) != null) {
+            response.getHeaders().set(SqlMetricsFilter.SERVER_TIMING_HEADER, statistics.serverTiming());
+        }
+        return body;
+    }
+}
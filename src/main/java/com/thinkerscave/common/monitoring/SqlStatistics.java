@@ -0,0 +1,105 @@
+package com.thinkerscave.common.monitoring;
+
+import com.thinkerscave.common.config.TenantContext;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SQL executed by the current request: statement count, time spent in the
+ * database and how often each distinct statement ran. Started and stopped by
+ * {@link SqlMetricsFilter}; filled by connections wrapped through
+ * {@link SqlInstrumentation}. Confined to the request thread.
+ */
+public final class SqlStatistics {
+
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private final int maxTrackedStatements;
+    private final Map<String, Integer> executions = new HashMap<>();
+    private int statements;
+    private long nanos;
+    private String tenant;
+    private String mostRepeatedSql;
+    private int mostRepeatedCount;
+
+    SqlStatistics(int maxTrackedStatements) {
+        this.maxTrackedStatements = maxTrackedStatements;
+    }
+
+    static SqlStatistics start(int maxTrackedStatements) {
+        SqlStatistics statistics = new SqlStatistics(maxTrackedStatements);
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /**
+     * Statistics of the request running on this thread, or null outside a
+     * request.
+     */
+    public static SqlStatistics current() {
+        return CURRENT.get();
+    }
+
+    static void stop() {
+        CURRENT.remove();
+    }
+
+    void record(String sql, long elapsedNanos) {
+        statements++;
+        nanos += elapsedNanos;
+        if (tenant == null) {
+            // TenantContext is cleared before the filter reads the statistics
+            tenant = TenantContext.getTenant();
+        }
+        if (sql == null) {
+            return;
+        }
+        Integer count = executions.get(sql);
+        if (count == null && executions.size() >= maxTrackedStatements) {
+            return;
+        }
+        int updated = count == null ? 1 : count + 1;
+        executions.put(sql, updated);
+        if (updated > mostRepeatedCount) {
+            mostRepeatedCount = updated;
+            mostRepeatedSql = sql;
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * Tenant the first statement ran for, or null.
+     */
+    public String getTenant() {
+        return tenant;
+    }
+
+    /**
+     * The statement executed most often with identical SQL, the usual
+     * signature of an N+1 query.
+     */
+    public String getMostRepeatedSql() {
+        return mostRepeatedSql;
+    }
+
+    public int getMostRepeatedCount() {
+        return mostRepeatedCount;
+    }
+
+    /**
+     * Server-Timing header value, e.g. {@code db;dur=12.3;desc="7 statements"}.
+     */
+    String serverTiming() {
+        long tenthsOfMillis = nanos / 100_000;
+        return "db;dur=" + tenthsOfMillis / 10 + '.' + tenthsOfMillis % 10
+                + ";desc=\"" + statements + (statements == 1 ? " statement\"" : " statements\"");
+    }
+}
@@ -86,4 +86,12 @@ public class TenantOnboardingController {
         return ResponseEntity.ok(ApiResponse.success("Tenant deactivated successfully", null));
     }
 
+    @PostMapping("/{tenantId}/promote")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    @Operation(summary = "Promote pooled tenant", description = "Moves a tenant from the shared pooled schema into its own schema. Deactivate the tenant first.", security = @SecurityRequirement(name = "Bearer Authentication"))
+    public ResponseEntity<ApiResponse<Void>> promoteTenant(@PathVariable String tenantId) {
+        onboardingService.promoteTenantToSchema(tenantId);
+        return ResponseEntity.ok(ApiResponse.success("Tenant promoted to its own schema", null));
+    }
+
 }
@@ -24,7 +24,8 @@ import java.time.LocalDate; // Use LocalDate for dates without time
 @Table(name = "organisation")
 public class Organisation extends Auditable {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "organisation_org_id_seq")
+    @SequenceGenerator(name = "organisation_org_id_seq", sequenceName = "organisation_org_id_seq", allocationSize = 50)
     @Column(name = "org_id")
     private Long orgId;
 
@@ -29,7 +29,8 @@ import java.time.LocalDateTime;
 public class OrganizationUser {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "organization_users_id_seq")
+    @SequenceGenerator(name = "organization_users_id_seq", sequenceName = "organization_users_id_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -19,7 +19,8 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 public class OwnerDetails extends Auditable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "owner_details_owner_id_seq")
+    @SequenceGenerator(name = "owner_details_owner_id_seq", sequenceName = "owner_details_owner_id_seq", allocationSize = 50)
     @Column(name = "owner_id")
     private Long ownerId;
 
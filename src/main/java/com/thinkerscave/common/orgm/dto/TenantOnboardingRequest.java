@@ -60,6 +60,9 @@ public class TenantOnboardingRequest {
 
     private Integer storageLimitMb = 10240; // 10GB default
 
+    @Pattern(regexp = "^(?i)(SCHEMA|POOLED)$", message = "Invalid tenancy mode. Valid modes: SCHEMA, POOLED")
+    private String tenancyMode; // SCHEMA (own schema, default) or POOLED (shared schema for small tenants)
+
     private Map<String, Object> customSettings;
 
     private String city;
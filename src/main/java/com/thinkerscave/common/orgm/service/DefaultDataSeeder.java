@@ -1,5 +1,6 @@
 package com.thinkerscave.common.orgm.service;
 
+import com.thinkerscave.common.config.TenancyModeResolver;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -27,6 +28,7 @@ import java.util.HashMap;
 public class DefaultDataSeeder {
 
     private final JdbcTemplate jdbcTemplate;
+    private final TenancyModeResolver tenancyModes;
 
     // Default roles to seed
     private static final List<RoleDefinition> DEFAULT_ROLES = Arrays.asList(
@@ -46,16 +48,20 @@ public class DefaultDataSeeder {
     /**
      * Seeds all default data for a new tenant schema.
      * Starts in REQUIRES_NEW to isolate from the outer transaction.
+     * Pooled tenants are seeded into the pooled schema; the transaction's
+     * connection already carries their tenant key, so the existence checks
+     * and inserts only see and create the tenant's own rows.
      */
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void seedDefaultData(String tenantSchema) {
         log.info("🌱 Starting default data seeding (Matrix Model) for tenant: {}", tenantSchema);
         long startTime = System.currentTimeMillis();
+        String schema = tenancyModes.physicalSchemaOf(tenantSchema);
 
-        seedDefaultRoles(tenantSchema);
-        seedDefaultPrivileges(tenantSchema);
-        seedMenusAndSubMenus(tenantSchema);
-        seedMatrixMappings(tenantSchema);
+        seedDefaultRoles(schema);
+        seedDefaultPrivileges(schema);
+        seedMenusAndSubMenus(schema);
+        seedMatrixMappings(schema);
 
         long duration = System.currentTimeMillis() - startTime;
         log.info("✅ Default data seeding completed for {} in {}ms", tenantSchema, duration);
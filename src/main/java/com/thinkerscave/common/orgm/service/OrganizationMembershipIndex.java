@@ -0,0 +1,103 @@
+package com.thinkerscave.common.orgm.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.thinkerscave.common.config.TenantContext;
+import com.thinkerscave.common.orgm.domain.OrganizationUser;
+import com.thinkerscave.common.orgm.repository.OrganizationUserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * OrganizationMembershipIndex keeps, per tenant, the active organizations
+ * each user belongs to, so request context resolution can set the
+ * organization context without querying organization_users on every request.
+ *
+ * Services that write memberships evict the user's entry (after commit when a
+ * transaction is active); the TTL bounds staleness for writes made elsewhere,
+ * e.g. by another instance or directly in the database.
+ */
+@Component
+public class OrganizationMembershipIndex implements MeterBinder {
+
+    private static final String PUBLIC_TENANT = "public";
+
+    private final OrganizationUserRepository orgUserRepository;
+    private final Cache<String, Set<Long>> memberships;
+
+    public OrganizationMembershipIndex(OrganizationUserRepository orgUserRepository,
+            @Value("${organization.membership-cache.max-size:10000}") long maxSize,
+            @Value("${organization.membership-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.orgUserRepository = orgUserRepository;
+        this.memberships = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Active organization ids of a user of the current tenant.
+     */
+    public Lookup lookup(Long userId) {
+        boolean[] loaded = { false };
+        Set<Long> orgIds = memberships.get(key(currentTenant(), userId), k -> {
+            loaded[0] = true;
+            return orgUserRepository.findByUserIdAndIsActive(userId, true).stream()
+                    .map(OrganizationUser::getOrganizationId)
+                    .collect(Collectors.toUnmodifiableSet());
+        });
+        return new Lookup(orgIds, loaded[0] ? 1 : 0);
+    }
+
+    /**
+     * Drops the memberships of a user of the current tenant after their
+     * organization_users rows changed.
+     */
+    public void evict(Long userId) {
+        String key = key(currentTenant(), userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    memberships.invalidate(key);
+                }
+            });
+        } else {
+            memberships.invalidate(key);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, memberships, "organization.memberships");
+    }
+
+    private static String currentTenant() {
+        String tenant = TenantContext.getTenant();
+        return tenant != null ? tenant : PUBLIC_TENANT;
+    }
+
+    private static String key(String tenant, Long userId) {
+        return tenant + '\u0000' + userId;
+    }
+
+    /**
+     * Result of a lookup and how many queries it cost (0 on a cache hit).
+     */
+    public record Lookup(Set<Long> organizationIds, int queries) {
+
+        public boolean contains(Long orgId) {
+            return organizationIds.contains(orgId);
+        }
+    }
+}
@@ -0,0 +1,337 @@
+package com.thinkerscave.common.orgm.service;
+
+import com.thinkerscave.common.config.SearchPathRegistry;
+import com.thinkerscave.common.config.TenancyMode;
+import com.thinkerscave.common.config.TenancyModeResolver;
+import com.thinkerscave.common.config.TenantShardRouter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * PooledTenancyService manages the shared schema small tenants live in.
+ *
+ * Every template table from public gets one copy in
+ * {@link TenancyModeResolver#POOLED_SCHEMA}, extended with a tenant_key column
+ * that defaults to the connection's app.tenant_id. Row-level security (forced,
+ * so it also applies to the owning role) limits every statement to the rows of
+ * the tenant set on the connection, and unique indexes are rebuilt to be
+ * unique per tenant.
+ *
+ * A pooled tenant can later be promoted to its own schema; see
+ * {@link #promoteToSchema(String)}.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class PooledTenancyService {
+
+    static final String TENANT_KEY_COLUMN = "tenant_key";
+
+    private static final String POOLED_SCHEMA = TenancyModeResolver.POOLED_SCHEMA;
+    private static final String TENANT_KEY_SETTING = SearchPathRegistry.TENANT_KEY_SETTING;
+
+    private final SchemaInitializer schemaInitializer;
+    private final TenantShardRouter shardRouter;
+    private final TenancyModeResolver tenancyModes;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Prepares the pooled schema on the tenant's shard and marks the tenant
+     * as pooled. Refuses to do so when the database role bypasses row-level
+     * security, since pooled tenants would then see each other's rows.
+     */
+    public void registerPooledTenant(String tenantId) throws SQLException {
+        try (Connection connection = shardRouter.dataSourceFor(tenantId).getConnection()) {
+            ensureRowLevelSecurityEnforced(connection);
+            ensurePoolSchema(tenantId, connection);
+        }
+        tenancyModes.assign(tenantId, TenancyMode.POOLED);
+    }
+
+    /**
+     * Deletes every pooled row of the tenant (failed onboarding, promotion).
+     */
+    public void purgeTenant(String tenantId) throws SQLException {
+        try (Connection connection = schemaInitializer.openTenantConnection(tenantId)) {
+            for (String table : listTables(POOLED_SCHEMA, connection)) {
+                try (PreparedStatement ps = connection.prepareStatement(String.format(
+                        "DELETE FROM \"%s\".\"%s\" WHERE %s = ?", POOLED_SCHEMA, table, TENANT_KEY_COLUMN))) {
+                    ps.setString(1, tenantId);
+                    ps.executeUpdate();
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves a pooled tenant into a schema of its own.
+     *
+     * 1. Creates the schema from the public templates and copies the tenant's
+     * rows into it, keeping their ids, in one transaction on the shard.
+     * 2. Advances identity sequences past the copied ids (by a whole block for
+     * the pooled entity id sequences).
+     * 3. Switches tenant_config.tenancy_mode to SCHEMA on the primary (the new
+     * schema is dropped again if this fails).
+     * 4. Deletes the pooled copies.
+     *
+     * Writes made by the tenant while this runs may be lost, so deactivate the
+     * tenant first. Other application instances switch over once their cached
+     * mode expires (tenant.pooled.mode-cache-ttl-ms).
+     */
+    public void promoteToSchema(String tenantId) throws SQLException {
+        if (!tenancyModes.isPooled(tenantId)) {
+            throw new IllegalStateException("Tenant '" + tenantId + "' already has its own schema");
+        }
+        if (schemaInitializer.schemaExists(tenantId)) {
+            throw new IllegalStateException("Schema '" + tenantId + "' already exists");
+        }
+
+        long startTime = System.currentTimeMillis();
+        try (Connection connection = schemaInitializer.openTenantConnection(tenantId)) {
+            connection.setAutoCommit(false);
+            try {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("CREATE SCHEMA \"" + tenantId + "\"");
+                }
+                schemaInitializer.copyTablesFromPublic(tenantId, connection);
+
+                Set<String> targetTables = new LinkedHashSet<>(listTables(tenantId, connection));
+                for (String table : listTables(POOLED_SCHEMA, connection)) {
+                    if (targetTables.contains(table)) {
+                        copyRows(tenantId, table, connection);
+                    }
+                }
+                resetIdentitySequences(tenantId, connection);
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+
+        try {
+            int updated = jdbcTemplate.update("""
+                    UPDATE public.tenant_config
+                    SET tenancy_mode = 'SCHEMA', updated_at = CURRENT_TIMESTAMP
+                    WHERE tenant_id = ?
+                    """, tenantId);
+            if (updated == 0) {
+                throw new IllegalStateException("No tenant_config row for tenant '" + tenantId + "'");
+            }
+        } catch (RuntimeException e) {
+            log.error("Could not switch tenant {} to SCHEMA mode, dropping the copied schema", tenantId);
+            schemaInitializer.dropSchema(tenantId);
+            throw e;
+        }
+
+        purgeTenant(tenantId);
+        tenancyModes.assign(tenantId, TenancyMode.SCHEMA);
+        log.info("Promoted tenant {} from the pooled schema to its own schema in {}ms", tenantId,
+                System.currentTimeMillis() - startTime);
+    }
+
+    private void ensureRowLevelSecurityEnforced(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery(
+                        "SELECT rolsuper OR rolbypassrls FROM pg_roles WHERE rolname = current_user")) {
+            if (rs.next() && rs.getBoolean(1)) {
+                throw new SQLException("The database role bypasses row-level security; "
+                        + "pooled tenants would not be isolated. Connect with a role without SUPERUSER/BYPASSRLS.");
+            }
+        }
+    }
+
+    /**
+     * Creates the pooled schema and any template table it is still missing.
+     * Serialized with an advisory lock so concurrent onboardings do not race.
+     */
+    private void ensurePoolSchema(String tenantId, Connection connection) throws SQLException {
+        connection.setAutoCommit(false);
+        try {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SELECT pg_advisory_xact_lock(hashtext('" + POOLED_SCHEMA + "'))");
+                statement.execute("CREATE SCHEMA IF NOT EXISTS \"" + POOLED_SCHEMA + "\"");
+            }
+            Set<String> existing = new LinkedHashSet<>(listTables(POOLED_SCHEMA, connection));
+            for (String table : schemaInitializer.listTemplateTables(tenantId, connection)) {
+                if (!existing.contains(table)) {
+                    createPooledTable(table, connection);
+                }
+            }
+            connection.commit();
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private void createPooledTable(String table, Connection connection) throws SQLException {
+        String target = String.format("\"%s\".\"%s\"", POOLED_SCHEMA, table);
+        String partitionKey = schemaInitializer.partitionKeyOf(table, connection);
+        List<String> ddl = new ArrayList<>();
+        ddl.add(String.format("CREATE TABLE %s (LIKE public.\"%s\" INCLUDING DEFAULTS INCLUDING IDENTITY "
+                + "INCLUDING GENERATED INCLUDING CONSTRAINTS INCLUDING COMMENTS)%s", target, table,
+                partitionKey != null ? " PARTITION BY " + partitionKey : ""));
+        ddl.add(String.format("ALTER TABLE %s ADD COLUMN %s VARCHAR(63) NOT NULL DEFAULT current_setting('%s')",
+                target, TENANT_KEY_COLUMN, TENANT_KEY_SETTING));
+        ddl.addAll(pooledIndexDefinitions(table, target, connection));
+        ddl.add("ALTER TABLE " + target + " ENABLE ROW LEVEL SECURITY");
+        ddl.add("ALTER TABLE " + target + " FORCE ROW LEVEL SECURITY");
+        ddl.add(String.format("CREATE POLICY tenant_isolation ON %s USING (%s = current_setting('%s', true)) "
+                + "WITH CHECK (%s = current_setting('%s', true))",
+                target, TENANT_KEY_COLUMN, TENANT_KEY_SETTING, TENANT_KEY_COLUMN, TENANT_KEY_SETTING));
+
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : ddl) {
+                statement.execute(sql);
+            }
+        }
+        schemaInitializer.addIdSequence(POOLED_SCHEMA, table, connection);
+        if (partitionKey != null) {
+            // Policies of the partitioned parent apply to every row read or written through it
+            schemaInitializer.copyPartitions(POOLED_SCHEMA, table, connection);
+        }
+        log.info("Created pooled table {}", target);
+    }
+
+    /**
+     * Recreates the template table's indexes on the pooled copy. The primary
+     * key stays as is (ids come from a sequence shared by the pool); every
+     * other btree index gets tenant_key as its leading column, which also
+     * makes unique constraints unique per tenant.
+     */
+    private List<String> pooledIndexDefinitions(String table, String target, Connection connection)
+            throws SQLException {
+        String sql = """
+                SELECT i.indisprimary, am.amname, pg_get_indexdef(i.indexrelid) AS indexdef,
+                       pg_get_constraintdef(con.oid) AS constraintdef
+                FROM pg_index i
+                JOIN pg_class c ON c.oid = i.indexrelid
+                JOIN pg_am am ON am.oid = c.relam
+                LEFT JOIN pg_constraint con ON con.conindid = i.indexrelid AND con.contype = 'p'
+                WHERE i.indrelid = ('public.' || quote_ident(?))::regclass
+                """;
+        List<String> definitions = new ArrayList<>();
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, table);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    if (rs.getBoolean("indisprimary")) {
+                        definitions.add("ALTER TABLE " + target + " ADD " + rs.getString("constraintdef"));
+                        continue;
+                    }
+                    // Partitioned indexes read "ON ONLY public.x"; recreated without ONLY they cascade
+                    String definition = rs.getString("indexdef").replaceFirst(
+                            " ON (ONLY )?public\\.", " ON " + POOLED_SCHEMA + ".");
+                    if ("btree".equals(rs.getString("amname"))) {
+                        definition = definition.replaceFirst(" USING btree \\(",
+                                " USING btree (" + TENANT_KEY_COLUMN + ", ");
+                    }
+                    definitions.add(definition);
+                }
+            }
+        }
+        return definitions;
+    }
+
+    private void copyRows(String tenantId, String table, Connection connection) throws SQLException {
+        Set<String> sourceColumns = new LinkedHashSet<>(listColumns(POOLED_SCHEMA, table, connection));
+        List<String> columns = new ArrayList<>();
+        for (String column : listColumns(tenantId, table, connection)) {
+            if (sourceColumns.contains(column)) {
+                columns.add("\"" + column + "\"");
+            }
+        }
+        String columnList = String.join(", ", columns);
+        String sql = String.format(
+                "INSERT INTO \"%s\".\"%s\" (%s) OVERRIDING SYSTEM VALUE SELECT %s FROM \"%s\".\"%s\" WHERE %s = ?",
+                tenantId, table, columnList, columnList, POOLED_SCHEMA, table, TENANT_KEY_COLUMN);
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, tenantId);
+            int copied = ps.executeUpdate();
+            log.debug("Copied {} rows of {} for tenant {}", copied, table, tenantId);
+        }
+    }
+
+    private void resetIdentitySequences(String schema, Connection connection) throws SQLException {
+        String identityColumns = """
+                SELECT table_name, column_name FROM information_schema.columns
+                WHERE table_schema = ? AND is_identity = 'YES'
+                """;
+        List<String[]> columns = new ArrayList<>();
+        try (PreparedStatement ps = connection.prepareStatement(identityColumns)) {
+            ps.setString(1, schema);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    columns.add(new String[] { rs.getString("table_name"), rs.getString("column_name") });
+                }
+            }
+        }
+        for (String[] column : columns) {
+            // Hibernate's pooled optimizer reads a sequence value as the top of a block
+            // of "increment" ids, so the next value must clear the copied ids by a full block
+            String sql = String.format("""
+                    SELECT setval(q.seq, COALESCE((SELECT MAX("%s") FROM "%s"."%s"), 0) + s.seqincrement, false)
+                    FROM (SELECT pg_get_serial_sequence(?, ?) AS seq) q
+                    JOIN pg_sequence s ON s.seqrelid = q.seq::regclass
+                    """, column[1], schema, column[0]);
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                ps.setString(1, "\"" + schema + "\".\"" + column[0] + "\"");
+                ps.setString(2, column[1]);
+                ps.execute();
+            }
+        }
+    }
+
+    private List<String> listTables(String schema, Connection connection) throws SQLException {
+        List<String> tables = new ArrayList<>();
+        // Partitions are reached through their parent, which carries the row-level security policy
+        try (PreparedStatement ps = connection.prepareStatement("""
+                SELECT c.relname FROM pg_class c
+                JOIN pg_namespace n ON n.oid = c.relnamespace
+                WHERE n.nspname = ? AND c.relkind IN ('r', 'p') AND NOT c.relispartition
+                """)) {
+            ps.setString(1, schema);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    tables.add(rs.getString("relname"));
+                }
+            }
+        }
+        return tables;
+    }
+
+    private List<String> listColumns(String schema, String table, Connection connection) throws SQLException {
+        List<String> columns = new ArrayList<>();
+        try (PreparedStatement ps = connection.prepareStatement("""
+                SELECT column_name FROM information_schema.columns
+                WHERE table_schema = ? AND table_name = ? AND is_generated = 'NEVER'
+                ORDER BY ordinal_position
+                """)) {
+            ps.setString(1, schema);
+            ps.setString(2, table);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    columns.add(rs.getString("column_name"));
+                }
+            }
+        }
+        return columns;
+    }
+}
@@ -1,5 +1,9 @@
 package com.thinkerscave.common.orgm.service;
 
+import com.thinkerscave.common.config.SearchPathRegistry;
+import com.thinkerscave.common.config.TenancyModeResolver;
+import com.thinkerscave.common.config.TenantConfigChangeListener;
+import com.thinkerscave.common.config.TenantShardRouter;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -17,17 +21,31 @@ import java.sql.Statement;
  * 1. Creates a new PostgreSQL schema for each tenant
  * 2. Lets Hibernate auto-generate tables via ddl-auto=update
  * 3. Seeds default data (menus, privileges, roles)
+ *
+ * Tenant schemas are created on the database chosen by
+ * {@link TenantShardRouter}; the global tables always stay on the primary.
+ * A shard database must carry the template tables in its own public schema.
+ *
+ * Pooled tenants have no schema of their own; their users are seeded into
+ * {@link TenancyModeResolver#POOLED_SCHEMA} under their tenant key.
  */
 @Service
 public class SchemaInitializer {
 
     private final DataSource dataSource;
+    private final TenantShardRouter shardRouter;
+    private final TenancyModeResolver tenancyModes;
+    private final SearchPathRegistry searchPathRegistry;
 
     @Value("${spring.datasource.url}")
     private String dataSourceUrl;
 
-    public SchemaInitializer(DataSource dataSource) {
+    public SchemaInitializer(DataSource dataSource, TenantShardRouter shardRouter,
+            TenancyModeResolver tenancyModes, SearchPathRegistry searchPathRegistry) {
         this.dataSource = dataSource;
+        this.shardRouter = shardRouter;
+        this.tenancyModes = tenancyModes;
+        this.searchPathRegistry = searchPathRegistry;
     }
 
     @PostConstruct
@@ -54,21 +72,22 @@ public class SchemaInitializer {
                         )
                     """);
 
-            // 2. Create tenant_audit_log
+            // 2. Create tenant_audit_log (monthly partitions are kept by AuditPartitionManager)
             statement.execute("""
                         CREATE TABLE IF NOT EXISTS public.tenant_audit_log (
-                            id BIGSERIAL PRIMARY KEY,
+                            id BIGSERIAL,
                             tenant_id VARCHAR(255) NOT NULL,
                             action VARCHAR(50) NOT NULL,
                             performed_by VARCHAR(255),
-                            performed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                            performed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
                             details JSONB,
                             ip_address VARCHAR(45),
                             status VARCHAR(20) DEFAULT 'SUCCESS',
                             error_message TEXT,
                             duration_ms INTEGER,
-                            CONSTRAINT valid_status CHECK (status IN ('SUCCESS', 'FAILED', 'PENDING'))
-                        )
+                            CONSTRAINT valid_status CHECK (status IN ('SUCCESS', 'FAILED', 'PENDING')),
+                            PRIMARY KEY (id, performed_at)
+                        ) PARTITION BY RANGE (performed_at)
                     """);
 
             // 3. Create indexes
@@ -76,7 +95,22 @@ public class SchemaInitializer {
                     "CREATE INDEX IF NOT EXISTS idx_tenant_config_subdomain ON public.tenant_config(subdomain)");
             statement.execute(
                     "CREATE INDEX IF NOT EXISTS idx_tenant_config_active ON public.tenant_config(is_active)");
-            statement.execute("CREATE INDEX IF NOT EXISTS idx_audit_tenant ON public.tenant_audit_log(tenant_id)");
+            statement.execute(
+                    "ALTER TABLE public.tenant_config ADD COLUMN IF NOT EXISTS shard_key VARCHAR(50) NOT NULL DEFAULT 'default'");
+            statement.execute(
+                    "CREATE INDEX IF NOT EXISTS idx_tenant_config_shard ON public.tenant_config(shard_key)");
+            statement.execute(
+                    "ALTER TABLE public.tenant_config ADD COLUMN IF NOT EXISTS tenancy_mode VARCHAR(20) NOT NULL DEFAULT 'SCHEMA'");
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_audit_performed_brin "
+                    + "ON public.tenant_audit_log USING brin (performed_at)");
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_audit_tenant_performed "
+                    + "ON public.tenant_audit_log (tenant_id, performed_at DESC, id DESC)");
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_audit_action_performed "
+                    + "ON public.tenant_audit_log (action, performed_at DESC, id DESC)");
+            statement.execute(TenantConfigChangeListener.TRIGGER_FUNCTION_SQL);
+            statement.execute(TenantConfigChangeListener.TRIGGER_SQL);
+            statement.execute(TenantConfigChangeListener.MAPPING_TRIGGER_FUNCTION_SQL);
+            statement.execute(TenantConfigChangeListener.MAPPING_TRIGGER_SQL);
 
             // 4. Create organization_users (Needed for Super Admin in public schema)
             statement.execute("""
@@ -111,7 +145,7 @@ public class SchemaInitializer {
         // Sanitize schema name to prevent SQL injection
         String sanitizedSchema = sanitizeSchemaName(schemaName);
 
-        try (Connection connection = dataSource.getConnection()) {
+        try (Connection connection = shardRouter.dataSourceFor(sanitizedSchema).getConnection()) {
             // Check if schema exists
             if (schemaExists(sanitizedSchema, connection)) {
                 return false;
@@ -129,23 +163,138 @@ public class SchemaInitializer {
         }
     }
 
+    /**
+     * allocationSize of the entity id generators; identity sequences must
+     * increment by the same.
+     */
+    static final int ID_BLOCK_SIZE = 50;
+
     /**
      * Copies all table structures from public schema to the target schema.
      * This ensures new tenants have all required tables.
      */
     // Tables that should only exist in the public schema, not in tenant schemas
-    private static final java.util.Set<String> PUBLIC_ONLY_TABLES = java.util.Set.of(
+    static final java.util.Set<String> PUBLIC_ONLY_TABLES = java.util.Set.of(
             "tenant_config", "tenant_audit_log", "user_tenant_mapping",
-            "organisation", "owner_details");
+            "organisation", "owner_details", "login_attempts", "revoked_access_tokens");
 
     /**
      * Copies table structures from public schema to the target schema,
      * excluding tables that should only exist in the public schema.
      */
-    private void copyTablesFromPublic(String targetSchema, Connection connection) throws SQLException {
-        // Get list of tables from public schema
-        String getTablesQuery = "SELECT table_name FROM information_schema.tables " +
-                "WHERE table_schema = 'public' AND table_type = 'BASE TABLE'";
+    void copyTablesFromPublic(String targetSchema, Connection connection) throws SQLException {
+        // Copy each table structure to the new schema
+        for (String tableName : listTemplateTables(targetSchema, connection)) {
+            String partitionKey = partitionKeyOf(tableName, connection);
+            String copyTableSql = String.format(
+                    "CREATE TABLE \"%s\".\"%s\" (LIKE public.\"%s\" INCLUDING ALL)",
+                    targetSchema, tableName, tableName);
+            if (partitionKey != null) {
+                copyTableSql += " PARTITION BY " + partitionKey;
+            }
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute(copyTableSql);
+            }
+            if (partitionKey != null) {
+                copyPartitions(targetSchema, tableName, connection);
+            }
+            addIdSequence(targetSchema, tableName, connection);
+        }
+    }
+
+    /**
+     * Gives a copied table an id sequence of its own, named like the entity
+     * id generators (&lt;table&gt;_&lt;column&gt;_seq, see V1_17) so Hibernate
+     * finds it on the tenant's search_path and inserts without an id get one.
+     *
+     * LIKE copies an identity column with a new sequence of that name. On an
+     * install whose public tables were made by ddl-auto, though, the id is a
+     * plain bigint whose sequence stands alone in public, or a serial drawing
+     * from public's sequence; those become identity columns here, like V1_17
+     * converts existing schemas. Tables without a single integer primary key
+     * column are left alone.
+     */
+    void addIdSequence(String targetSchema, String tableName, Connection connection) throws SQLException {
+        String query = """
+                SELECT a.attname, a.attidentity <> '' AS is_identity
+                FROM pg_index i
+                JOIN pg_attribute a ON a.attrelid = i.indrelid AND a.attnum = i.indkey[0]
+                WHERE i.indrelid = (quote_ident(?) || '.' || quote_ident(?))::regclass
+                  AND i.indisprimary AND i.indnatts = 1
+                  AND a.atttypid IN ('smallint'::regtype, 'integer'::regtype, 'bigint'::regtype)
+                """;
+        String column;
+        try (java.sql.PreparedStatement ps = connection.prepareStatement(query)) {
+            ps.setString(1, targetSchema);
+            ps.setString(2, tableName);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next() || rs.getBoolean("is_identity")) {
+                    return;
+                }
+                column = rs.getString("attname");
+            }
+        }
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute(String.format("ALTER TABLE \"%s\".\"%s\" ALTER COLUMN \"%s\" DROP DEFAULT",
+                    targetSchema, tableName, column));
+            stmt.execute(String.format("ALTER TABLE \"%s\".\"%s\" ALTER COLUMN \"%s\" ADD GENERATED BY DEFAULT "
+                    + "AS IDENTITY (SEQUENCE NAME \"%s\".\"%s_%s_seq\" INCREMENT BY %d)",
+                    targetSchema, tableName, column, targetSchema, tableName, column, ID_BLOCK_SIZE));
+        }
+    }
+
+    /**
+     * Partition key of a partitioned template table, e.g.
+     * "RANGE (created_at)", or null for a plain table. LIKE copies the
+     * columns of a partitioned table but not its partitioning.
+     */
+    String partitionKeyOf(String tableName, Connection connection) throws SQLException {
+        try (java.sql.PreparedStatement ps = connection.prepareStatement(
+                "SELECT pg_get_partkeydef(('public.' || quote_ident(?))::regclass)")) {
+            ps.setString(1, tableName);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        }
+    }
+
+    /**
+     * Creates the partitions the public template table has, with the same
+     * names and bounds, on the copy in the target schema.
+     */
+    void copyPartitions(String targetSchema, String tableName, Connection connection) throws SQLException {
+        String query = """
+                SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) AS bound
+                FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = ('public.' || quote_ident(?))::regclass
+                ORDER BY c.relname
+                """;
+        java.util.List<String> ddl = new java.util.ArrayList<>();
+        try (java.sql.PreparedStatement ps = connection.prepareStatement(query)) {
+            ps.setString(1, tableName);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    ddl.add(String.format("CREATE TABLE \"%s\".\"%s\" PARTITION OF \"%s\".\"%s\" %s",
+                            targetSchema, rs.getString("relname"), targetSchema, tableName, rs.getString("bound")));
+                }
+            }
+        }
+        try (Statement stmt = connection.createStatement()) {
+            for (String sql : ddl) {
+                stmt.execute(sql);
+            }
+        }
+    }
+
+    /**
+     * Lists the public tables every tenant gets a copy of.
+     */
+    java.util.List<String> listTemplateTables(String targetSchema, Connection connection) throws SQLException {
+        // Get list of tables from public schema; partitions come with their parent
+        String getTablesQuery = "SELECT c.relname AS table_name FROM pg_class c " +
+                "JOIN pg_namespace n ON n.oid = c.relnamespace " +
+                "WHERE n.nspname = 'public' AND c.relkind IN ('r', 'p') AND NOT c.relispartition";
 
         java.util.List<String> tables = new java.util.ArrayList<>();
         try (Statement stmt = connection.createStatement();
@@ -158,15 +307,11 @@ public class SchemaInitializer {
             }
         }
 
-        // Copy each table structure to the new schema
-        for (String tableName : tables) {
-            String copyTableSql = String.format(
-                    "CREATE TABLE \"%s\".\"%s\" (LIKE public.\"%s\" INCLUDING ALL)",
-                    targetSchema, tableName, tableName);
-            try (Statement stmt = connection.createStatement()) {
-                stmt.execute(copyTableSql);
-            }
+        if (tables.isEmpty()) {
+            throw new SQLException("No template tables found in the public schema of shard '"
+                    + shardRouter.shardOf(targetSchema) + "'");
         }
+        return tables;
     }
 
     /**
@@ -174,7 +319,7 @@ public class SchemaInitializer {
      */
     public boolean schemaExists(String schemaName) throws SQLException {
         String sanitizedSchema = sanitizeSchemaName(schemaName);
-        try (Connection connection = dataSource.getConnection()) {
+        try (Connection connection = shardRouter.dataSourceFor(sanitizedSchema).getConnection()) {
             return schemaExists(sanitizedSchema, connection);
         }
     }
@@ -195,25 +340,28 @@ public class SchemaInitializer {
      */
     public void dropSchema(String schemaName) throws SQLException {
         String sanitizedSchema = sanitizeSchemaName(schemaName);
-        try (Connection connection = dataSource.getConnection();
+        try (Connection connection = shardRouter.dataSourceFor(sanitizedSchema).getConnection();
                 Statement statement = connection.createStatement()) {
             statement.execute("DROP SCHEMA IF EXISTS \"" + sanitizedSchema + "\" CASCADE");
         }
     }
 
     /**
-     * Lists all tenant schemas (excludes system schemas).
+     * Lists all tenant schemas across all shards (excludes system schemas).
      */
     public java.util.List<String> listTenantSchemas() throws SQLException {
         java.util.List<String> schemas = new java.util.ArrayList<>();
         String query = "SELECT schema_name FROM information_schema.schemata " +
-                "WHERE schema_name NOT IN ('pg_catalog', 'information_schema', 'pg_toast', 'public')";
-
-        try (Connection connection = dataSource.getConnection();
-                Statement statement = connection.createStatement();
-                ResultSet rs = statement.executeQuery(query)) {
-            while (rs.next()) {
-                schemas.add(rs.getString("schema_name"));
+                "WHERE schema_name NOT IN ('pg_catalog', 'information_schema', 'pg_toast', 'public', '"
+                + TenancyModeResolver.POOLED_SCHEMA + "')";
+
+        for (DataSource shard : shardRouter.getShards().values()) {
+            try (Connection connection = shard.getConnection();
+                    Statement statement = connection.createStatement();
+                    ResultSet rs = statement.executeQuery(query)) {
+                while (rs.next()) {
+                    schemas.add(rs.getString("schema_name"));
+                }
             }
         }
         return schemas;
@@ -233,23 +381,30 @@ public class SchemaInitializer {
     public void seedTenantUser(String schemaName, String username, String password, String roleCode, String firstName,
             String lastName) throws SQLException {
         String sanitizedSchema = sanitizeSchemaName(schemaName);
+        String tableSchema = tenancyModes.physicalSchemaOf(sanitizedSchema);
+        Long mobileNumber;
 
-        try (Connection connection = dataSource.getConnection()) {
-            if (!schemaExists(sanitizedSchema, connection)) {
-                throw new java.sql.SQLException("Schema " + schemaName + " does not exist");
+        try (Connection connection = openTenantConnection(sanitizedSchema)) {
+            if (!schemaExists(tableSchema, connection)) {
+                throw new java.sql.SQLException("Schema " + tableSchema + " does not exist");
             }
 
             // 1. Ensure Role exists
-            long roleId = ensureRoleExists(sanitizedSchema, connection, roleCode);
+            long roleId = ensureRoleExists(tableSchema, connection, roleCode);
 
             // 2. Insert User
-            long userId = insertUser(sanitizedSchema, connection, username, password, firstName, lastName);
+            long userId = insertUser(tableSchema, connection, username, password, firstName, lastName);
 
             // 3. Map User to Role
-            assignRoleToUser(sanitizedSchema, connection, userId, roleId);
+            assignRoleToUser(tableSchema, connection, userId, roleId);
 
-            // 4. CRITICAL: Sync to user_tenant_mapping for auto-tenant detection
-            syncToUserTenantMapping(sanitizedSchema, connection, username);
+            mobileNumber = mobileNumberOf(tableSchema, connection, userId);
+        }
+
+        // 4. CRITICAL: Sync to user_tenant_mapping for auto-tenant detection.
+        // The mapping lives on the primary database, whichever shard the tenant is on.
+        try (Connection directory = dataSource.getConnection()) {
+            syncToUserTenantMapping(sanitizedSchema, directory, username, mobileNumber);
         }
     }
 
@@ -257,26 +412,43 @@ public class SchemaInitializer {
      * Syncs user to public.user_tenant_mapping table.
      * This enables auto-tenant detection during login.
      */
-    private void syncToUserTenantMapping(String tenantId, Connection conn, String username) throws SQLException {
+    private void syncToUserTenantMapping(String tenantId, Connection conn, String username, Long mobileNumber)
+            throws SQLException {
         String sql = """
                 INSERT INTO public.user_tenant_mapping
-                (email, username, tenant_id, is_active, created_at, updated_at)
-                VALUES (?, ?, ?, true, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+                (email, username, mobile_number, tenant_id, is_active, created_at, updated_at)
+                VALUES (?, ?, ?, ?, true, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
                 ON CONFLICT (email)
                 DO UPDATE SET
                     is_active = true,
                     updated_at = CURRENT_TIMESTAMP,
-                    username = EXCLUDED.username
+                    username = EXCLUDED.username,
+                    mobile_number = COALESCE(EXCLUDED.mobile_number, user_tenant_mapping.mobile_number)
                 """;
 
         try (java.sql.PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setString(1, username); // email
             ps.setString(2, username); // username (same as email for now)
-            ps.setString(3, tenantId);
+            ps.setObject(3, mobileNumber, java.sql.Types.BIGINT);
+            ps.setString(4, tenantId);
             ps.executeUpdate();
         }
     }
 
+    /**
+     * Mobile number the seeded user is stored with, which they may also log in
+     * with.
+     */
+    private Long mobileNumberOf(String schema, Connection conn, long userId) throws SQLException {
+        String query = String.format("SELECT mobile_number FROM \"%s\".users WHERE id = ?", schema);
+        try (java.sql.PreparedStatement ps = conn.prepareStatement(query)) {
+            ps.setLong(1, userId);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getObject("mobile_number", Long.class) : null;
+            }
+        }
+    }
+
     private long ensureRoleExists(String schema, Connection conn, String roleCode) throws SQLException {
         String query = String.format("SELECT role_id FROM \"%s\".role_master WHERE role_code = ?", schema);
         try (java.sql.PreparedStatement ps = conn.prepareStatement(query)) {
@@ -364,14 +536,15 @@ public class SchemaInitializer {
     public java.util.List<java.util.Map<String, Object>> debugListUsers(String schemaName, String username)
             throws SQLException {
         String sanitizedSchema = sanitizeSchemaName(schemaName);
+        String tableSchema = tenancyModes.physicalSchemaOf(sanitizedSchema);
         java.util.List<java.util.Map<String, Object>> users = new java.util.ArrayList<>();
 
-        try (Connection connection = dataSource.getConnection()) {
-            if (!schemaExists(sanitizedSchema, connection)) {
+        try (Connection connection = openTenantConnection(sanitizedSchema)) {
+            if (!schemaExists(tableSchema, connection)) {
                 return users;
             }
 
-            String sql = "SELECT * FROM \"" + sanitizedSchema + "\".users WHERE user_name = ?";
+            String sql = "SELECT * FROM \"" + tableSchema + "\".users WHERE user_name = ?";
             try (java.sql.PreparedStatement stmt = connection.prepareStatement(sql)) {
                 stmt.setString(1, username);
                 try (ResultSet rs = stmt.executeQuery()) {
@@ -390,6 +563,25 @@ public class SchemaInitializer {
         return users;
     }
 
+    /**
+     * Opens a connection on the tenant's shard. For pooled tenants the
+     * connection also carries the tenant key, so row-level security lets the
+     * qualified statements above see and write the tenant's rows only.
+     */
+    Connection openTenantConnection(String tenantId) throws SQLException {
+        Connection connection = shardRouter.dataSourceFor(tenantId).getConnection();
+        String tenantKey = tenancyModes.tenantKeyOf(tenantId);
+        if (tenantKey != null) {
+            try {
+                searchPathRegistry.apply(connection, TenancyModeResolver.POOLED_SCHEMA, tenantKey);
+            } catch (SQLException e) {
+                connection.close();
+                throw e;
+            }
+        }
+        return connection;
+    }
+
     /**
      * Sanitizes schema name to prevent SQL injection.
      * Only allows alphanumeric characters and underscores.
@@ -1,7 +1,12 @@
 package com.thinkerscave.common.orgm.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thinkerscave.common.config.TenancyMode;
+import com.thinkerscave.common.config.TenancyModeResolver;
 import com.thinkerscave.common.config.TenantContext;
+import com.thinkerscave.common.config.TenantShardRouter;
+import com.thinkerscave.common.exception.BadRequestException;
+import com.thinkerscave.common.exception.PasswordHashingBusyException;
 import com.thinkerscave.common.orgm.dto.TenantOnboardingRequest;
 import com.thinkerscave.common.orgm.dto.TenantOnboardingResponse;
 import com.thinkerscave.common.orgm.dto.TenantStatusResponse;
@@ -36,10 +41,13 @@ public class TenantOnboardingService {
     private final ObjectMapper objectMapper;
     private final DefaultDataSeeder defaultDataSeeder;
     private final OrganizationService organizationService;
+    private final TenantShardRouter shardRouter;
+    private final TenancyModeResolver tenancyModes;
+    private final PooledTenancyService pooledTenancyService;
 
     private static final List<String> RESERVED_TENANT_NAMES = Arrays.asList(
             "public", "admin", "system", "api", "www", "app", "dashboard",
-            "pg_catalog", "information_schema", "pg_toast");
+            "pg_catalog", "information_schema", "pg_toast", TenancyModeResolver.POOLED_SCHEMA);
 
     private static final Pattern EMAIL_PATTERN = Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
 
@@ -48,7 +56,8 @@ public class TenantOnboardingService {
      * 
      * Steps:
      * 1. Validate request
-     * 2. Create schema
+     * 2. Place tenant on a database shard and create its schema (or register
+     * it in the pooled schema)
      * 3. Seed admin user
      * 4. Seed default data (roles, privileges, menus)
      * 5. Configure tenant settings
@@ -58,6 +67,7 @@ public class TenantOnboardingService {
     @Transactional
     public TenantOnboardingResponse onboardNewTenant(TenantOnboardingRequest request) {
         String tenantId = sanitizeTenantId(request.getTenantName());
+        TenancyMode tenancyMode = resolveTenancyMode(request);
         long startTime = System.currentTimeMillis();
         boolean schemaCreated = false;
 
@@ -68,16 +78,38 @@ public class TenantOnboardingService {
             validateTenantRequest(request);
             log.debug("✅ Validation passed for tenant: {}", tenantId);
 
-            // Step 2: Create schema
-            boolean created = schemaInitializer.createSchemaIfNotExists(tenantId);
-            if (!created) {
+            if (tenancyModes.isRegistered(tenantId)) {
                 throw new TenantAlreadyExistsException("Tenant '" + tenantId + "' already exists");
             }
-            schemaCreated = true;
-            log.info("✅ Schema created: {}", tenantId);
 
-            // Step 3: Seed admin user & IT Support user (includes user_tenant_mapping sync)
+            // Hash the seeded users' passwords before any side effect, so a saturated
+            // hashing pool rejects the request without leaving a half-built tenant
             String hashedPassword = passwordEncoder.encode(request.getAdminPassword());
+            String supportRandomPassword = passwordEncoder.encode("Support@123"); // In production, this should be a
+                                                                                  // secure random password sent via
+                                                                                  // email
+
+            // Step 2: Place tenant on the least loaded shard, then create schema there
+            String shardKey = shardRouter.placeNewTenant(tenantId);
+            log.info("✅ Tenant {} placed on shard: {}", tenantId, shardKey);
+
+            if (tenancyMode == TenancyMode.POOLED) {
+                if (schemaInitializer.schemaExists(tenantId)) {
+                    throw new TenantAlreadyExistsException("Tenant '" + tenantId + "' already exists");
+                }
+                pooledTenancyService.registerPooledTenant(tenantId);
+                schemaCreated = true;
+                log.info("✅ Tenant {} registered in pooled schema", tenantId);
+            } else {
+                boolean created = schemaInitializer.createSchemaIfNotExists(tenantId);
+                if (!created) {
+                    throw new TenantAlreadyExistsException("Tenant '" + tenantId + "' already exists");
+                }
+                schemaCreated = true;
+                log.info("✅ Schema created: {}", tenantId);
+            }
+
+            // Step 3: Seed admin user & IT Support user (includes user_tenant_mapping sync)
             schemaInitializer.seedTenantUser(tenantId, request.getAdminEmail(), hashedPassword, "ADMIN",
                     request.getAdminFirstName(), request.getAdminLastName());
             log.info("✅ Admin user created: {}", request.getAdminEmail());
@@ -85,19 +117,28 @@ public class TenantOnboardingService {
             String supportEmail = "support@" + (request.getEnableSubdomain() && request.getSubdomainPrefix() != null
                     ? request.getSubdomainPrefix()
                     : tenantId) + ".thinkerscave.com";
-            String supportRandomPassword = passwordEncoder.encode("Support@123"); // In production, this should be a
-                                                                                  // secure random password sent via
-                                                                                  // email
             schemaInitializer.seedTenantUser(tenantId, supportEmail, supportRandomPassword, "IT_SUPPORT", "IT",
                     "Support");
             log.info("✅ IT Support auto-provisioned: {}", supportEmail);
 
-            // Step 4: Seed default data (roles, privileges, menus)
-            defaultDataSeeder.seedDefaultData(tenantId);
+            // Step 4: Seed default data (roles, privileges, menus).
+            // Runs with the new tenant as context so the seeding session connects
+            // to the shard holding its schema.
+            String callerTenantId = TenantContext.getTenant();
+            try {
+                TenantContext.setTenant(tenantId);
+                defaultDataSeeder.seedDefaultData(tenantId);
+            } finally {
+                if (callerTenantId != null) {
+                    TenantContext.setTenant(callerTenantId);
+                } else {
+                    TenantContext.clear();
+                }
+            }
             log.info("✅ Default data seeded for tenant");
 
             // Step 5: Configure tenant in tenant_config
-            configureTenantSettings(tenantId, request);
+            configureTenantSettings(tenantId, request, shardKey, tenancyMode);
             log.info("✅ Tenant configuration saved");
 
             // Step 6: Create public Organization record for directory listing
@@ -145,12 +186,25 @@ public class TenantOnboardingService {
             log.error("❌ Tenant already exists: {}", tenantId);
             throw e;
 
+        } catch (PasswordHashingBusyException e) {
+            long duration = System.currentTimeMillis() - startTime;
+            auditTenantCreation(tenantId, request, "FAILED", e.getMessage(), duration);
+            log.warn("❌ Onboarding of {} rejected, password hashing is saturated", tenantId);
+            throw e;
+
         } catch (Exception e) {
             long duration = System.currentTimeMillis() - startTime;
             auditTenantCreation(tenantId, request, "FAILED", e.getMessage(), duration);
 
-            // Compensating cleanup: drop the schema if it was created
-            if (schemaCreated) {
+            // Compensating cleanup: drop the schema (or pooled rows) if it was created
+            if (schemaCreated && tenancyMode == TenancyMode.POOLED) {
+                try {
+                    log.warn("🧹 Rolling back: purging pooled rows of {}", tenantId);
+                    pooledTenancyService.purgeTenant(tenantId);
+                } catch (Exception cleanupEx) {
+                    log.error("🧹 Failed to purge pooled rows of {}: {}", tenantId, cleanupEx.getMessage());
+                }
+            } else if (schemaCreated) {
                 try {
                     log.warn("🧹 Rolling back: dropping orphaned schema {}", tenantId);
                     schemaInitializer.dropSchema(tenantId);
@@ -159,6 +213,8 @@ public class TenantOnboardingService {
                     log.error("🧹 Failed to clean up orphaned schema {}: {}", tenantId, cleanupEx.getMessage());
                 }
             }
+            shardRouter.evict(tenantId);
+            tenancyModes.evict(tenantId);
 
             log.error("❌ Failed to onboard tenant: {}", tenantId, e);
             throw new TenantOnboardingException("Failed to onboard tenant: " + e.getMessage(), e);
@@ -205,12 +261,13 @@ public class TenantOnboardingService {
      * Configures tenant settings in tenant_config table.
      * Non-fatal: if the table does not exist yet, logs a warning and continues.
      */
-    private void configureTenantSettings(String tenantId, TenantOnboardingRequest request) {
+    private void configureTenantSettings(String tenantId, TenantOnboardingRequest request, String shardKey,
+            TenancyMode tenancyMode) {
         String sql = """
                 INSERT INTO public.tenant_config
                 (tenant_id, tenant_name, subdomain, is_active, max_users, storage_limit_mb,
-                 features, created_by, created_at, updated_at)
-                VALUES (?, ?, ?, true, ?, ?, ?::jsonb, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+                 features, shard_key, tenancy_mode, created_by, created_at, updated_at)
+                VALUES (?, ?, ?, true, ?, ?, ?::jsonb, ?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
                 """;
 
         try {
@@ -228,6 +285,8 @@ public class TenantOnboardingService {
                     request.getMaxUsers() != null ? request.getMaxUsers() : 100,
                     request.getStorageLimitMb() != null ? request.getStorageLimitMb() : 10240,
                     featuresJson,
+                    shardKey,
+                    tenancyMode.name(),
                     request.getPerformedBy() != null ? request.getPerformedBy() : "SYSTEM");
 
         } catch (Exception e) {
@@ -368,6 +427,39 @@ public class TenantOnboardingService {
         log.info("✅ Tenant deactivated: {}", tenantId);
     }
 
+    /**
+     * Moves a pooled tenant into a schema of its own.
+     * Deactivate the tenant first; see {@link PooledTenancyService#promoteToSchema}.
+     */
+    public void promoteTenantToSchema(String tenantId) {
+        try {
+            pooledTenancyService.promoteToSchema(tenantId);
+        } catch (IllegalStateException e) {
+            auditTenantAction(tenantId, "PROMOTED", "FAILED", e.getMessage());
+            throw new BadRequestException(e.getMessage());
+        } catch (Exception e) {
+            auditTenantAction(tenantId, "PROMOTED", "FAILED", e.getMessage());
+            throw new TenantOnboardingException("Failed to promote tenant: " + e.getMessage(), e);
+        }
+
+        auditTenantAction(tenantId, "PROMOTED", "SUCCESS", null);
+        log.info("✅ Tenant promoted to its own schema: {}", tenantId);
+    }
+
+    private TenancyMode resolveTenancyMode(TenantOnboardingRequest request) {
+        String mode = request.getTenancyMode();
+        if (mode == null || mode.isBlank()) {
+            return TenancyMode.SCHEMA;
+        }
+        for (TenancyMode candidate : TenancyMode.values()) {
+            if (candidate.name().equalsIgnoreCase(mode.trim())) {
+                return candidate;
+            }
+        }
+        throw new BadRequestException("Invalid tenancyMode '" + mode + "'. Accepted values: "
+                + Arrays.toString(TenancyMode.values()));
+    }
+
     /**
      * Records tenant action in audit log.
      */
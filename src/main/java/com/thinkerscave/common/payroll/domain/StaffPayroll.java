@@ -16,7 +16,8 @@ import java.time.LocalDate;
 public class StaffPayroll extends Auditable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "staff_payroll_id_seq")
+    @SequenceGenerator(name = "staff_payroll_id_seq", sequenceName = "staff_payroll_id_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -1,13 +1,20 @@
 package com.thinkerscave.common.resolver;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.thinkerscave.common.config.TenantConfigChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import jakarta.servlet.http.HttpServletRequest;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.time.Duration;
+import java.util.List;
 
 /**
  * SubdomainTenantResolver - Extracts tenant identifier from subdomain.
@@ -24,11 +31,16 @@ import java.util.concurrent.ConcurrentHashMap;
  * - No manual tenant selection needed
  * - Professional appearance
  * - Easy to brand per tenant
+ *
+ * Resolved subdomains are kept in a bounded cache, including subdomains with
+ * no tenant_config mapping (resolved to their normalized form), so steady-state
+ * resolution issues no query. Entries are refreshed in the background ahead
+ * of expiry and evicted on every node when tenant_config changes (see
+ * {@link TenantConfigChangedEvent}).
  */
 @Component
 @Slf4j
-@RequiredArgsConstructor
-public class SubdomainTenantResolver {
+public class SubdomainTenantResolver implements MeterBinder {
 
     private final JdbcTemplate jdbcTemplate;
 
@@ -38,9 +50,21 @@ public class SubdomainTenantResolver {
     // Base domain configuration (should be externalized to application.properties)
     private static final String BASE_DOMAIN = "thinkerscave.com";
 
-    // Cache for subdomain -> tenant_id mappings (5 min TTL in production)
-    private final Map<String, CachedTenant> subdomainCache = new ConcurrentHashMap<>();
-    private static final long CACHE_TTL_MS = 5 * 60 * 1000; // 5 minutes
+    // Cache for subdomain -> tenant_id (mapped or normalized)
+    private final LoadingCache<String, String> subdomainCache;
+
+    public SubdomainTenantResolver(JdbcTemplate jdbcTemplate,
+            @Value("${tenant.subdomain-cache.max-size:10000}") long maxSize,
+            @Value("${tenant.subdomain-cache.ttl-seconds:300}") long ttlSeconds,
+            @Value("${tenant.subdomain-cache.refresh-seconds:240}") long refreshSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.subdomainCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .refreshAfterWrite(Duration.ofSeconds(Math.min(refreshSeconds, ttlSeconds)))
+                .recordStats()
+                .build(this::resolveSubdomain);
+    }
 
     /**
      * Extracts tenant ID from the subdomain of the request hostname.
@@ -67,69 +91,77 @@ public class SubdomainTenantResolver {
             return null;
         }
 
-        // Check cache first
-        CachedTenant cached = subdomainCache.get(subdomain);
-        if (cached != null && !cached.isExpired()) {
-            log.debug("Cache hit for subdomain: {} -> {}", subdomain, cached.tenantId);
-            return cached.tenantId;
+        try {
+            return subdomainCache.get(subdomain);
+        } catch (RuntimeException e) {
+            // tenant_config unreachable: answer without caching so the mapping is
+            // looked up again once the database is back
+            log.debug("Could not look up subdomain {} in tenant_config: {}", subdomain, e.getMessage());
+            return normalizeSubdomainToTenantId(subdomain);
         }
+    }
 
-        // Look up in tenant_config table
+    /**
+     * Resolves a subdomain through tenant_config, falling back to its
+     * normalized form. Database errors propagate so they are not cached.
+     */
+    private String resolveSubdomain(String subdomain) {
         String tenantId = lookupTenantBySubdomain(subdomain);
 
         if (tenantId != null) {
-            log.info("Found tenant mapping in tenant_config: {} -> {}", subdomain, tenantId);
-            subdomainCache.put(subdomain, new CachedTenant(tenantId));
+            log.debug("Found tenant mapping in tenant_config: {} -> {}", subdomain, tenantId);
             return tenantId;
         }
 
         // Fallback: Convert subdomain to tenant ID format (replace hyphens with
         // underscores)
         tenantId = normalizeSubdomainToTenantId(subdomain);
-        log.info("Using normalized subdomain as tenant: {} -> {}", subdomain, tenantId);
-
+        log.debug("Using normalized subdomain as tenant: {} -> {}", subdomain, tenantId);
         return tenantId;
     }
 
     /**
      * Looks up tenant_id from tenant_config table by subdomain.
+     *
+     * @return the tenant id, or null when no active tenant has this subdomain
      */
     private String lookupTenantBySubdomain(String subdomain) {
-        try {
-            String sql = """
-                    SELECT tenant_id FROM public.tenant_config
-                    WHERE subdomain = ? AND is_active = true
-                    """;
-            return jdbcTemplate.queryForObject(sql, String.class, subdomain);
-        } catch (Exception e) {
-            log.debug("No tenant found for subdomain {} in tenant_config: {}", subdomain, e.getMessage());
-            return null;
-        }
+        String sql = """
+                SELECT tenant_id FROM public.tenant_config
+                WHERE subdomain = ? AND is_active = true
+                """;
+        List<String> tenantIds = jdbcTemplate.queryForList(sql, String.class, subdomain);
+        return tenantIds.isEmpty() ? null : tenantIds.get(0);
     }
 
     /**
      * Clears the subdomain cache. Call when tenant_config is updated.
      */
     public void clearCache() {
-        subdomainCache.clear();
+        subdomainCache.invalidateAll();
         log.info("Subdomain cache cleared");
     }
 
     /**
-     * Cached tenant entry with TTL.
+     * Evicts the subdomains touched by a tenant_config change, or everything on
+     * a resync.
      */
-    private static class CachedTenant {
-        final String tenantId;
-        final long timestamp;
-
-        CachedTenant(String tenantId) {
-            this.tenantId = tenantId;
-            this.timestamp = System.currentTimeMillis();
+    @EventListener
+    public void onTenantConfigChanged(TenantConfigChangedEvent event) {
+        if (event.isResync()) {
+            clearCache();
+            return;
         }
+        subdomainCache.invalidateAll(event.subdomains());
+        // Tenants without a mapping are cached under their own name
+        subdomainCache.asMap().values().removeIf(event.tenantIds()::contains);
+        log.debug("Evicted subdomains {} / tenants {} after tenant_config change", event.subdomains(),
+                event.tenantIds());
+    }
 
-        boolean isExpired() {
-            return System.currentTimeMillis() - timestamp > CACHE_TTL_MS;
-        }
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, subdomainCache, "tenant.subdomains");
     }
 
     /**
@@ -151,7 +183,29 @@ public class SubdomainTenantResolver {
         }
 
         // Check if it's an IP address pattern
-        return host.matches("^\\d{1,3}\\.\\d{1,3}\\.\\d{1,3}\\.\\d{1,3}$");
+        return isIpv4Literal(host);
+    }
+
+    /**
+     * Matches d{1,3}.d{1,3}.d{1,3}.d{1,3} without a regex.
+     */
+    private static boolean isIpv4Literal(String host) {
+        int groups = 0;
+        int digits = 0;
+        for (int i = 0; i < host.length(); i++) {
+            char c = host.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (++digits > 3) {
+                    return false;
+                }
+            } else if (c == '.' && digits > 0 && groups < 3) {
+                groups++;
+                digits = 0;
+            } else {
+                return false;
+            }
+        }
+        return groups == 3 && digits > 0;
     }
 
     /**
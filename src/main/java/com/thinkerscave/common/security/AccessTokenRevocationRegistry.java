@@ -0,0 +1,158 @@
+package com.thinkerscave.common.security;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * AccessTokenRevocationRegistry lets access tokens be revoked before they
+ * expire, e.g. on logout. Tokens are identified by their jti claim.
+ *
+ * Revocations are stored in public.revoked_access_tokens (migration V1_20)
+ * and mirrored on every node in an exact set fronted by a
+ * {@link BloomFilter}, so checking a token that was not revoked costs a few
+ * hashes and no query. Nodes pick up
+ * each other's revocations every {@code security.token-revocation.sync-interval-ms};
+ * until then a token revoked on another node is still accepted here.
+ * Entries whose token has expired are compacted away, in memory and in the
+ * table.
+ */
+@Component
+@Slf4j
+public class AccessTokenRevocationRegistry implements MeterBinder {
+
+    /**
+     * Revocations committed up to this long before the last sync started are
+     * still picked up, covering slow transactions and clock skew between nodes.
+     */
+    private static final long SYNC_OVERLAP_MS = 60_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final double falsePositiveRate;
+    private final long expectedInsertions;
+
+    /** jti to expiry (epoch millis) of every revoked, unexpired token. */
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private final Object filterLock = new Object();
+    private volatile BloomFilter filter;
+    private volatile long syncedUntil;
+
+    public AccessTokenRevocationRegistry(JdbcTemplate jdbcTemplate,
+            @Value("${security.token-revocation.expected-insertions:100000}") long expectedInsertions,
+            @Value("${security.token-revocation.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedInsertions, falsePositiveRate);
+    }
+
+    @PostConstruct
+    public void load() {
+        sync();
+    }
+
+    /**
+     * Whether the token with this jti has been revoked. Tokens without a jti
+     * (issued before revocation existed) are never revoked.
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        Long expiresAt = revoked.get(jti);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    /**
+     * Revokes the token the claims belong to until it expires.
+     */
+    public void revoke(Claims claims) {
+        if (claims.getId() == null || claims.getExpiration() == null) {
+            log.debug("Token of {} has no jti; it cannot be revoked", claims.getSubject());
+            return;
+        }
+        revoke(claims.getId(), claims.getExpiration().getTime());
+    }
+
+    public void revoke(String jti, long expiresAt) {
+        if (expiresAt <= System.currentTimeMillis()) {
+            return;
+        }
+        jdbcTemplate.update("""
+                INSERT INTO public.revoked_access_tokens (jti, expires_at, revoked_at)
+                VALUES (?, ?, ?)
+                ON CONFLICT (jti) DO NOTHING
+                """, jti, expiresAt, System.currentTimeMillis());
+        add(jti, expiresAt);
+    }
+
+    /**
+     * Picks up revocations made on other nodes.
+     */
+    @Scheduled(fixedDelayString = "${security.token-revocation.sync-interval-ms:5000}")
+    public void sync() {
+        long now = System.currentTimeMillis();
+        long since = syncedUntil == 0 ? 0 : syncedUntil - SYNC_OVERLAP_MS;
+        jdbcTemplate.query("""
+                SELECT jti, expires_at FROM public.revoked_access_tokens
+                WHERE revoked_at >= ? AND expires_at > ?
+                """, (RowCallbackHandler) rs -> add(rs.getString("jti"), rs.getLong("expires_at")), since, now);
+        syncedUntil = now;
+    }
+
+    /**
+     * Drops revocations of tokens that have expired anyway and rebuilds the
+     * Bloom filter from what is left.
+     */
+    @Scheduled(fixedDelayString = "${security.token-revocation.compact-interval-ms:600000}",
+            initialDelayString = "${security.token-revocation.compact-interval-ms:600000}")
+    public void compact() {
+        long now = System.currentTimeMillis();
+        int deleted = jdbcTemplate.update("DELETE FROM public.revoked_access_tokens WHERE expires_at <= ?", now);
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+        synchronized (filterLock) {
+            filter = rebuild();
+        }
+        if (deleted > 0) {
+            log.debug("Compacted {} expired access token revocations", deleted);
+        }
+    }
+
+    private void add(String jti, long expiresAt) {
+        revoked.put(jti, expiresAt);
+        synchronized (filterLock) {
+            BloomFilter current = filter;
+            if (revoked.size() > current.expectedInsertions()) {
+                // Over capacity the false positive rate degrades; grow instead
+                filter = rebuild();
+            } else {
+                current.put(jti);
+            }
+        }
+    }
+
+    /** Caller holds filterLock. */
+    private BloomFilter rebuild() {
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedInsertions, 2L * revoked.size()), falsePositiveRate);
+        revoked.keySet().forEach(rebuilt::put);
+        return rebuilt;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("security.token.revocations", revoked, Map::size)
+                .description("Revoked access tokens that have not expired yet")
+                .register(registry);
+    }
+}
@@ -0,0 +1,161 @@
+package com.thinkerscave.common.security;
+
+import com.thinkerscave.common.config.TenantContext;
+import com.thinkerscave.common.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PasswordHashingExecutor runs BCrypt hashing and verification on a small
+ * pool sized to the CPU, instead of on whichever request thread asked for it.
+ *
+ * A login storm can otherwise occupy every core with BCrypt and starve all
+ * other endpoints. Here at most {@code threads} hashes run at once, at most
+ * {@code queue-capacity} wait, and callers wait at most {@code max-wait-ms}
+ * for their result; beyond that the call fails fast with
+ * {@link PasswordHashingBusyException}, answered with 503 and Retry-After.
+ *
+ * Exposes per-tenant hashing time, queue wait and rejections, plus the pool's
+ * own executor metrics.
+ */
+@Component
+@Slf4j
+public class PasswordHashingExecutor implements MeterBinder {
+
+    private static final String PUBLIC_TENANT = "public";
+
+    private final ThreadPoolExecutor executor;
+    private final long maxWaitMs;
+    private final long retryAfterSeconds;
+    private MeterRegistry meterRegistry;
+
+    public PasswordHashingExecutor(
+            @Value("${security.password-hashing.threads:0}") int threads,
+            @Value("${security.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${security.password-hashing.max-wait-ms:2000}") long maxWaitMs,
+            @Value("${security.password-hashing.retry-after-seconds:1}") long retryAfterSeconds) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.maxWaitMs = maxWaitMs;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Runs a hashing operation on the pool and waits for its result.
+     *
+     * @param operation metric tag, e.g. "encode" or "matches"
+     * @throws PasswordHashingBusyException if the pool is saturated
+     */
+    public <T> T execute(String operation, Callable<T> task) {
+        String tenant = currentTenant();
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long started = System.nanoTime();
+                record(timer("password.hashing.wait", "Time a hashing request waited for a thread", tenant,
+                        operation), started - submitted);
+                try {
+                    return task.call();
+                } finally {
+                    record(timer("password.hashing", "Time spent hashing or verifying a password", tenant,
+                            operation), System.nanoTime() - started);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            throw reject(tenant, operation, "queue_full");
+        }
+
+        try {
+            return future.get(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | CancellationException e) {
+            // Drops the task if it has not started yet
+            future.cancel(false);
+            throw reject(tenant, operation, "timeout");
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.meterRegistry = registry;
+        ExecutorServiceMetrics.monitor(registry, executor, "password.hashing.executor", Collections.emptyList());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private PasswordHashingBusyException reject(String tenant, String operation, String reason) {
+        if (meterRegistry != null) {
+            Counter.builder("password.hashing.rejected")
+                    .description("Hashing requests rejected because the pool was saturated")
+                    .tag("tenant", tenant)
+                    .tag("operation", operation)
+                    .tag("reason", reason)
+                    .register(meterRegistry)
+                    .increment();
+        }
+        log.warn("Password hashing saturated ({}), rejected {} for tenant '{}'", reason, operation, tenant);
+        return new PasswordHashingBusyException("Too many concurrent sign-ins. Please retry shortly.",
+                retryAfterSeconds);
+    }
+
+    private Timer timer(String name, String description, String tenant, String operation) {
+        if (meterRegistry == null) {
+            return null;
+        }
+        return Timer.builder(name)
+                .description(description)
+                .tag("tenant", tenant)
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    private static void record(Timer timer, long nanos) {
+        if (timer != null) {
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static String currentTenant() {
+        String tenant = TenantContext.getTenant();
+        return tenant != null ? tenant : PUBLIC_TENANT;
+    }
+}
@@ -0,0 +1,192 @@
+package com.thinkerscave.common.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.thinkerscave.common.config.TenantContext;
+import com.thinkerscave.common.usrm.domain.User;
+import com.thinkerscave.common.usrm.repository.UserRepository;
+import com.thinkerscave.common.usrm.service.LoginAttemptService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * PrincipalCache keeps the resolved principal and authorities of recently
+ * authenticated users, keyed by tenant and JWT subject.
+ *
+ * Request authentication goes through this cache instead of hitting the user, role and
+ * privilege tables on every request. Entries are dropped when a user's
+ * password, blocked state or role changes, or when a role's privileges change
+ * (the whole tenant is dropped then). Evictions issued inside a transaction run
+ * after it commits, so a concurrent request cannot re-cache the old state.
+ *
+ * Next to the principals it caches each user's {@link AccessState} (block
+ * state and role names), which is evicted by the same hooks. Every request
+ * checks it, so blocking a user or changing their roles takes effect at once
+ * even for access tokens that carry the principal in their claims.
+ *
+ * Login still loads the user straight from the database.
+ */
+@Component
+@Slf4j
+public class PrincipalCache implements MeterBinder {
+
+    private static final String PUBLIC_TENANT = "public";
+
+    private final UserDetailsService userDetailsService;
+    private final PrivilegeDictionary privilegeDictionary;
+    private final UserRepository userRepository;
+    private final Cache<String, UserDetails> principals;
+    private final Cache<String, AccessState> accessStates;
+
+    public PrincipalCache(UserDetailsService userDetailsService, PrivilegeDictionary privilegeDictionary,
+            UserRepository userRepository,
+            @Value("${security.principal-cache.max-size:10000}") long maxSize,
+            @Value("${security.principal-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.userDetailsService = userDetailsService;
+        this.privilegeDictionary = privilegeDictionary;
+        this.userRepository = userRepository;
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.accessStates = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the principal of the user in the current tenant, loading it on a
+     * miss. Unknown users are not cached.
+     */
+    public UserDetails load(String username) {
+        return principals.get(key(currentTenant(), username), k -> userDetailsService.loadUserByUsername(username));
+    }
+
+    /**
+     * Returns the current block state and roles of the user in the current
+     * tenant, loading them on a miss, or null for an unknown user (not cached).
+     */
+    public AccessState accessState(String username) {
+        return accessStates.get(key(currentTenant(), username), k -> loadAccessState(username));
+    }
+
+    private AccessState loadAccessState(String username) {
+        List<Object[]> rows = userRepository.findAccessState(username);
+        if (rows.isEmpty()) {
+            return null;
+        }
+        // Username and email are matched; should they name two users, the first wins
+        Object[] user = rows.get(0);
+        Set<String> roleNames = new LinkedHashSet<>();
+        for (Object[] row : rows) {
+            if (Objects.equals(row[0], user[0]) && row[3] != null) {
+                roleNames.add((String) row[3]);
+            }
+        }
+        LocalDateTime lockDateTime = (LocalDateTime) user[2];
+        return new AccessState(Boolean.TRUE.equals(user[1]),
+                lockDateTime != null ? lockDateTime.plus(LoginAttemptService.LOCK_DURATION) : null,
+                Set.copyOf(roleNames));
+    }
+
+    /**
+     * Drops the cached principal of a user of the current tenant, under both
+     * names a token subject may carry.
+     */
+    public void evictUser(User user) {
+        evictUser(user.getUserName());
+        if (user.getEmail() != null) {
+            evictUser(user.getEmail());
+        }
+    }
+
+    public void evictUser(String username) {
+        String key = key(currentTenant(), username);
+        afterCommit(() -> {
+            principals.invalidate(key);
+            accessStates.invalidate(key);
+        });
+    }
+
+    /**
+     * Drops every cached principal and the privilege dictionary of the current
+     * tenant, e.g. after a role, its privileges or a submenu changed.
+     */
+    public void evictTenant() {
+        String tenant = currentTenant();
+        String prefix = key(tenant, "");
+        afterCommit(() -> {
+            principals.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+            accessStates.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+            privilegeDictionary.evict(tenant);
+        });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, principals, "security.principals");
+        CaffeineCacheMetrics.monitor(registry, accessStates, "security.access_states");
+    }
+
+    private static void afterCommit(Runnable eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+
+    private static String currentTenant() {
+        String tenant = TenantContext.getTenant();
+        return tenant != null ? tenant : PUBLIC_TENANT;
+    }
+
+    private static String key(String tenant, String username) {
+        return tenant + '\u0000' + username;
+    }
+
+    /**
+     * Block state and role names of a user as stored, against which an access
+     * token's claims are checked before they are trusted.
+     */
+    public record AccessState(boolean blocked, LocalDateTime lockedUntil, Set<String> roleNames) {
+
+        /**
+         * Whether the user may not act now: blocked, and either without a lock
+         * time or still within a lock set by failed logins.
+         */
+        public boolean suspended() {
+            return blocked && (lockedUntil == null || lockedUntil.isAfter(LocalDateTime.now()));
+        }
+
+        /**
+         * Whether a principal rebuilt from token claims still has the user's roles.
+         */
+        public boolean matches(UserInfoUserDetails principal) {
+            return principal.getRoleNames() != null && roleNames.equals(Set.copyOf(principal.getRoleNames()));
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.thinkerscave.common.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.thinkerscave.common.config.TenantContext;
+import com.thinkerscave.common.menum.repository.RoleMenuPrivilegeMappingRepository;
+import com.thinkerscave.common.menum.repository.SubMenuPrivilegeMappingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * PrivilegeDictionary assigns every submenu x privilege pair of a tenant
+ * (authorities like COURSES_ADD) a bit index, so access tokens can carry a
+ * user's matrix privileges as a compact bitset.
+ *
+ * The version of a tenant's dictionary is a hash of the tenant, its codes
+ * and the tenant's role grants. Any instance building the dictionary from the
+ * same data gets the same version, and any change to submenus, privileges or
+ * grants produces a new one, which makes older tokens fall back to a lookup.
+ * Tenants seeded alike still get different versions, so a token never
+ * matches the dictionary of another tenant.
+ * Dictionaries are cached per tenant and dropped together with the tenant's
+ * principals (see {@link PrincipalCache#evictTenant()}).
+ */
+@Component
+@Slf4j
+public class PrivilegeDictionary {
+
+    private static final String PUBLIC_TENANT = "public";
+
+    private final SubMenuPrivilegeMappingRepository subMenuPrivilegeMappingRepository;
+    private final RoleMenuPrivilegeMappingRepository roleMenuPrivilegeMappingRepository;
+    private final Cache<String, Snapshot> dictionaries;
+
+    public PrivilegeDictionary(SubMenuPrivilegeMappingRepository subMenuPrivilegeMappingRepository,
+            RoleMenuPrivilegeMappingRepository roleMenuPrivilegeMappingRepository,
+            @Value("${security.principal-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.subMenuPrivilegeMappingRepository = subMenuPrivilegeMappingRepository;
+        this.roleMenuPrivilegeMappingRepository = roleMenuPrivilegeMappingRepository;
+        this.dictionaries = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * Returns the dictionary of the current tenant, building it on a miss.
+     */
+    @Transactional(readOnly = true)
+    public Snapshot current() {
+        return dictionaries.get(currentTenant(), this::build);
+    }
+
+    /**
+     * Drops a tenant's dictionary. Callers inside a transaction should
+     * go through {@link PrincipalCache#evictTenant()}, which waits for commit.
+     */
+    void evict(String tenant) {
+        dictionaries.invalidate(tenant);
+    }
+
+    private Snapshot build(String tenant) {
+        TreeSet<String> codes = new TreeSet<>(subMenuPrivilegeMappingRepository.findActivePrivilegeCodes());
+        TreeSet<String> grants = new TreeSet<>(roleMenuPrivilegeMappingRepository.findActiveGrantKeys());
+        // Granted pairs the submenu no longer offers still need a bit
+        grants.forEach(grant -> codes.add(grant.substring(grant.indexOf(':') + 1)));
+
+        Snapshot snapshot = new Snapshot(tenant, version(tenant, codes, grants), new ArrayList<>(codes));
+        log.debug("Built privilege dictionary v{} with {} codes for tenant '{}'",
+                snapshot.getVersion(), codes.size(), tenant);
+        return snapshot;
+    }
+
+    private static String version(String tenant, Collection<String> codes, Collection<String> grants) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((tenant + '\n').getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            codes.forEach(code -> digest.update((code + '\n').getBytes(StandardCharsets.UTF_8)));
+            digest.update((byte) 0);
+            grants.forEach(grant -> digest.update((grant + '\n').getBytes(StandardCharsets.UTF_8)));
+            return HexFormat.of().formatHex(digest.digest(), 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    static String currentTenant() {
+        String tenant = TenantContext.getTenant();
+        return tenant != null ? tenant : PUBLIC_TENANT;
+    }
+
+    /**
+     * One version of a tenant's dictionary.
+     */
+    public static final class Snapshot {
+
+        private final String tenant;
+        private final String version;
+        private final List<String> codes;
+        private final Map<String, Integer> bitOf = new HashMap<>();
+
+        Snapshot(String tenant, String version, List<String> codes) {
+            this.tenant = tenant;
+            this.version = version;
+            this.codes = List.copyOf(codes);
+            for (int i = 0; i < this.codes.size(); i++) {
+                bitOf.put(this.codes.get(i), i);
+            }
+        }
+
+        public String getTenant() {
+            return tenant;
+        }
+
+        public String getVersion() {
+            return version;
+        }
+
+        /**
+         * Encodes the matrix privileges among the given authorities as a
+         * URL-safe Base64 bitset. Authorities outside the dictionary (roles) are
+         * skipped.
+         */
+        public String encode(Collection<? extends GrantedAuthority> authorities) {
+            BitSet bits = new BitSet(codes.size());
+            for (GrantedAuthority authority : authorities) {
+                Integer bit = bitOf.get(authority.getAuthority());
+                if (bit != null) {
+                    bits.set(bit);
+                }
+            }
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(bits.toByteArray());
+        }
+
+        /**
+         * Decodes a bitset produced by {@link #encode} back into privilege codes.
+         */
+        public List<String> decode(String bitset) {
+            BitSet bits = BitSet.valueOf(Base64.getUrlDecoder().decode(bitset));
+            if (bits.length() > codes.size()) {
+                throw new IllegalArgumentException("Privilege bitset does not fit dictionary v" + version);
+            }
+            List<String> privileges = new ArrayList<>(bits.cardinality());
+            for (int bit = bits.nextSetBit(0); bit >= 0; bit = bits.nextSetBit(bit + 1)) {
+                privileges.add(codes.get(bit));
+            }
+            return privileges;
+        }
+    }
+}
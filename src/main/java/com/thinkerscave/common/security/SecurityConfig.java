@@ -1,7 +1,6 @@
 package com.thinkerscave.common.security;
 
-import com.thinkerscave.common.filter.JwtAuthFilter;
-import com.thinkerscave.common.filter.TenantFilter;
+import com.thinkerscave.common.filter.RequestContextPipelineFilter;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
@@ -27,18 +26,12 @@ import org.springframework.security.web.context.SecurityContextHolderFilter;
 public class SecurityConfig {
 
     @Autowired
-    private JwtAuthFilter jwtAuthFilter;
-
-    @Autowired
-    private TenantFilter tenantFilter;
-
-    @Autowired
-    private com.thinkerscave.common.filter.OrganizationFilter organizationFilter;
+    private RequestContextPipelineFilter requestContextFilter;
 
     /**
      * Configures the main HTTP security filter chain.
-     * CRITICAL: TenantFilter runs BEFORE JwtAuthFilter to set tenant context for DB
-     * queries.
+     * CRITICAL: RequestContextPipelineFilter sets the tenant context before it
+     * authenticates, so DB queries go to the tenant schema.
      */
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http, AuthenticationProvider authenticationProvider)
@@ -65,11 +58,9 @@ public class SecurityConfig {
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authenticationProvider(authenticationProvider)
-                // CRITICAL: TenantFilter MUST run first to set schema context.
-                // Anchoring to SecurityContextHolderFilter ensures it runs very early.
-                .addFilterBefore(tenantFilter, SecurityContextHolderFilter.class)
-                .addFilterAfter(jwtAuthFilter, SecurityContextHolderFilter.class)
-                .addFilterAfter(organizationFilter, JwtAuthFilter.class)
+                // CRITICAL: Tenant, authentication and organization are resolved in one
+                // filter. Anchoring to SecurityContextHolderFilter ensures it runs very early.
+                .addFilterAfter(requestContextFilter, SecurityContextHolderFilter.class)
                 .build();
     }
 
@@ -111,9 +102,13 @@ public class SecurityConfig {
         return source;
     }
 
+    /**
+     * BCrypt, run on the bounded PasswordHashingExecutor rather than on request
+     * threads.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingExecutor passwordHashingExecutor) {
+        return new OffloadedPasswordEncoder(new BCryptPasswordEncoder(), passwordHashingExecutor);
     }
 
     @Bean
@@ -123,22 +118,23 @@ public class SecurityConfig {
     }
 
     @Bean
-    public AuthenticationProvider authenticationProvider(UserDetailsService userDetailsService) {
+    public AuthenticationProvider authenticationProvider(UserDetailsService userDetailsService,
+            PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authenticationProvider = new DaoAuthenticationProvider();
         authenticationProvider.setUserDetailsService(userDetailsService);
-        authenticationProvider.setPasswordEncoder(passwordEncoder());
+        authenticationProvider.setPasswordEncoder(passwordEncoder);
         return authenticationProvider;
     }
 
     /**
-     * Prevent JwtAuthFilter from being automatically registered in the generic
-     * filter chain.
+     * Prevent RequestContextPipelineFilter from being automatically registered in
+     * the generic filter chain.
      * It is manually added to the SecurityFilterChain.
      */
     @Bean
-    public org.springframework.boot.web.servlet.FilterRegistrationBean<JwtAuthFilter> jwtAuthFilterRegistration(
-            JwtAuthFilter filter) {
-        org.springframework.boot.web.servlet.FilterRegistrationBean<JwtAuthFilter> registration = new org.springframework.boot.web.servlet.FilterRegistrationBean<>(
+    public org.springframework.boot.web.servlet.FilterRegistrationBean<RequestContextPipelineFilter> requestContextFilterRegistration(
+            RequestContextPipelineFilter filter) {
+        org.springframework.boot.web.servlet.FilterRegistrationBean<RequestContextPipelineFilter> registration = new org.springframework.boot.web.servlet.FilterRegistrationBean<>(
                 filter);
         registration.setEnabled(false);
         return registration;
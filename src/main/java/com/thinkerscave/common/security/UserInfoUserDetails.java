@@ -7,10 +7,14 @@ import org.springframework.security.core.userdetails.UserDetails;
 import com.thinkerscave.common.menum.domain.Role;
 import com.thinkerscave.common.menum.domain.RoleMenuPrivilegeMapping;
 import com.thinkerscave.common.usrm.domain.User;
+import com.thinkerscave.common.usrm.service.LoginAttemptService;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class UserInfoUserDetails implements UserDetails {
 
@@ -20,25 +24,23 @@ public class UserInfoUserDetails implements UserDetails {
 	private String password;
 	private List<GrantedAuthority> authorities;
 	private Long roleId;
+	private List<String> roleNames;
 	private boolean blocked;
+	private LocalDateTime lockedUntil;
 
 	public UserInfoUserDetails(User user, List<RoleMenuPrivilegeMapping> matrixMappings) {
 		this.userId = user.getId();
 		this.name = user.getUserName();
 		this.password = user.getPassword();
 		this.blocked = Boolean.TRUE.equals(user.getIsBlocked());
+		// Locks set by failed logins expire; a block without a lock time does not
+		this.lockedUntil = user.getLockDateTime() != null
+				? user.getLockDateTime().plus(LoginAttemptService.LOCK_DURATION)
+				: null;
+		this.roleNames = user.getRoles().stream().map(Role::getRoleName).collect(Collectors.toList());
 
 		// 1. Base Roles
-		this.authorities = user.getRoles().stream()
-				.flatMap(role -> {
-					String roleName = role.getRoleName();
-					String roleWithPrefix = roleName.startsWith("ROLE_") ? roleName : "ROLE_" + roleName;
-					String roleWithoutPrefix = roleName.replaceFirst("^ROLE_", "");
-					return java.util.stream.Stream.of(
-							new SimpleGrantedAuthority(roleWithPrefix),
-							new SimpleGrantedAuthority(roleWithoutPrefix));
-				})
-				.collect(Collectors.toList());
+		this.authorities = roleAuthorities(roleNames);
 
 		// 2. Matrix Privileges (e.g., COURSES_ADD, SYLLABUS_EDIT)
 		if (matrixMappings != null) {
@@ -57,6 +59,32 @@ public class UserInfoUserDetails implements UserDetails {
 		}
 	}
 
+	/**
+	 * Rebuilds the principal from the compact authority claim of an access token
+	 * (see {@link PrivilegeDictionary}), without touching the database.
+	 */
+	public UserInfoUserDetails(Long userId, String name, Long roleId, List<String> roleNames,
+			List<String> privileges) {
+		this.userId = userId;
+		this.name = name;
+		this.roleId = roleId;
+		this.roleNames = List.copyOf(roleNames);
+		this.authorities = roleAuthorities(roleNames);
+		privileges.forEach(privilege -> this.authorities.add(new SimpleGrantedAuthority(privilege)));
+	}
+
+	private static List<GrantedAuthority> roleAuthorities(List<String> roleNames) {
+		return roleNames.stream()
+				.flatMap(roleName -> {
+					String roleWithPrefix = roleName.startsWith("ROLE_") ? roleName : "ROLE_" + roleName;
+					String roleWithoutPrefix = roleName.replaceFirst("^ROLE_", "");
+					return Stream.<GrantedAuthority>of(
+							new SimpleGrantedAuthority(roleWithPrefix),
+							new SimpleGrantedAuthority(roleWithoutPrefix));
+				})
+				.collect(Collectors.toCollection(ArrayList::new));
+	}
+
 	public Long getUserId() {
 		return userId;
 	}
@@ -65,6 +93,10 @@ public class UserInfoUserDetails implements UserDetails {
 		return roleId;
 	}
 
+	public List<String> getRoleNames() {
+		return roleNames;
+	}
+
 	@Override
 	public Collection<? extends GrantedAuthority> getAuthorities() {
 		return authorities;
@@ -87,7 +119,7 @@ public class UserInfoUserDetails implements UserDetails {
 
 	@Override
 	public boolean isAccountNonLocked() {
-		return !this.blocked;
+		return !this.blocked || (lockedUntil != null && lockedUntil.isBefore(LocalDateTime.now()));
 	}
 
 	@Override
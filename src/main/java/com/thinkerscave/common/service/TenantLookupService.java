@@ -1,107 +1,263 @@
 package com.thinkerscave.common.service;
 
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.thinkerscave.common.config.TenantConfigChangedEvent;
+import com.thinkerscave.common.config.UserTenantMappingChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
 /**
- * Service for looking up tenant information based on user identifier (email or
- * username).
+ * Service for looking up tenant information based on user identifier (email,
+ * username or mobile number).
  * This enables automatic tenant detection during login without requiring manual
  * tenant input.
+ *
+ * Identifiers are normalised (trimmed, lower-cased; mobile numbers reduced to
+ * their digits) and matched against the functional indexes created by
+ * migration V1_14, so a lookup costs one index probe regardless of how many
+ * users the platform has. Found logins are cached in memory; entries are
+ * evicted by user_tenant_mapping and tenant_config change notifications, and
+ * otherwise expire after their TTL. Unknown identifiers are not cached.
+ *
+ * The mapping is written by the application: upsertUserTenantMapping when a
+ * user is created or updated, and SchemaInitializer for tenant admins. The
+ * notify trigger of migration V1_18 on the mapping table broadcasts every
+ * write, whoever made it.
  */
 @Service
 @Slf4j
-@RequiredArgsConstructor
-public class TenantLookupService {
+public class TenantLookupService implements MeterBinder {
+
+    private static final String PUBLIC_TENANT = "public";
+
+    private static final String SELECT_BY_EMAIL_OR_USERNAME = """
+            SELECT tenant_id, username, email
+            FROM public.user_tenant_mapping
+            WHERE (LOWER(email) = ? OR LOWER(username) = ?)
+            AND is_active = true
+            LIMIT 1
+            """;
+
+    private static final String SELECT_BY_MOBILE = """
+            SELECT tenant_id, username, email
+            FROM public.user_tenant_mapping
+            WHERE mobile_number = ?
+            AND is_active = true
+            LIMIT 2
+            """;
 
     private final JdbcTemplate jdbcTemplate;
+    private final Cache<String, LoginTenant> logins;
+
+    public TenantLookupService(JdbcTemplate jdbcTemplate,
+            @Value("${tenant.login-lookup-cache.max-size:100000}") long maxSize,
+            @Value("${tenant.login-lookup-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.logins = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
 
     /**
      * Finds the tenant ID associated with a given email or username.
-     * 
-     * @param identifier Either email address or username
+     *
+     * @param identifier Either email address, username or mobile number
      * @return tenant ID (database schema name) or "public" if not found
      */
     public String findTenantByEmailOrUsername(String identifier) {
+        LoginTenant login = findLogin(identifier);
+        return login != null ? login.tenantId() : PUBLIC_TENANT;
+    }
+
+    /**
+     * Resolves a login identifier to the tenant and the username the user is
+     * stored under there, so a user can sign in with their email or mobile
+     * number as well as their username.
+     *
+     * @param identifier Either email address, username or mobile number
+     * @return the mapping, or null if the identifier is unknown (or a mobile
+     *         number registered with more than one tenant)
+     */
+    public LoginTenant findLogin(String identifier) {
         if (identifier == null || identifier.trim().isEmpty()) {
             log.warn("Empty identifier provided for tenant lookup");
-            return "public";
+            return null;
         }
 
-        String sql = """
-                SELECT tenant_id
-                FROM public.user_tenant_mapping
-                WHERE (LOWER(email) = LOWER(?) OR LOWER(username) = LOWER(?))
-                AND is_active = true
-                LIMIT 1
-                """;
+        String key = normalize(identifier);
+        LoginTenant cached = logins.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
 
         try {
-            String tenantId = jdbcTemplate.queryForObject(sql, String.class, identifier, identifier);
-            log.info("Found tenant '{}' for identifier '{}'", tenantId, identifier);
-            return tenantId;
-        } catch (EmptyResultDataAccessException e) {
-            log.warn("No tenant found for identifier: '{}'. Using default tenant 'public'", identifier);
-            return "public";
+            LoginTenant login = query(key);
+            if (login == null) {
+                log.debug("No tenant found for identifier: '{}'. Using default tenant 'public'", identifier);
+                return null;
+            }
+            logins.put(key, login);
+            log.debug("Found tenant '{}' for identifier '{}'", login.tenantId(), identifier);
+            return login;
         } catch (Exception e) {
             log.error("Error looking up tenant for identifier '{}': {}", identifier, e.getMessage(), e);
-            return "public";
+            return null;
         }
     }
 
     /**
      * Checks if a user exists in the tenant mapping.
-     * 
-     * @param identifier Either email address or username
+     *
+     * @param identifier Either email address, username or mobile number
      * @return true if user exists in mapping, false otherwise
      */
     public boolean userExistsInMapping(String identifier) {
-        if (identifier == null || identifier.trim().isEmpty()) {
-            return false;
-        }
-
-        String sql = """
-                SELECT COUNT(*) > 0
-                FROM public.user_tenant_mapping
-                WHERE (LOWER(email) = LOWER(?) OR LOWER(username) = LOWER(?))
-                AND is_active = true
-                """;
-
-        try {
-            Boolean exists = jdbcTemplate.queryForObject(sql, Boolean.class, identifier, identifier);
-            return Boolean.TRUE.equals(exists);
-        } catch (Exception e) {
-            log.error("Error checking user existence for '{}': {}", identifier, e.getMessage());
-            return false;
-        }
+        return findLogin(identifier) != null;
     }
 
     /**
-     * Updates or creates a mapping for a user.
-     * This is used when users are created or updated in tenant schemas.
-     * 
-     * @param email    User's email
-     * @param username User's username
-     * @param tenantId Tenant/schema ID
+     * Updates or creates a mapping for a user. Called when a user is created or
+     * their email/username changes.
      */
     public void upsertUserTenantMapping(String email, String username, String tenantId) {
+        upsertUserTenantMapping(email, username, null, tenantId);
+    }
+
+    /**
+     * Updates or creates a mapping for a user, including the mobile number
+     * they may log in with. A null mobile number keeps the stored one.
+     */
+    public void upsertUserTenantMapping(String email, String username, Long mobileNumber, String tenantId) {
         String sql = """
-                INSERT INTO public.user_tenant_mapping (email, username, tenant_id)
-                VALUES (?, ?, ?)
+                INSERT INTO public.user_tenant_mapping (email, username, mobile_number, tenant_id)
+                VALUES (?, ?, ?, ?)
                 ON CONFLICT (email) DO UPDATE
                 SET username = EXCLUDED.username,
+                    mobile_number = COALESCE(EXCLUDED.mobile_number, user_tenant_mapping.mobile_number),
                     tenant_id = EXCLUDED.tenant_id,
                     updated_at = CURRENT_TIMESTAMP
                 """;
-
         try {
-            jdbcTemplate.update(sql, email, username, tenantId);
+            jdbcTemplate.update(sql, email, username, mobileNumber, tenantId);
             log.info("Updated user-tenant mapping: email={}, username={}, tenant={}", email, username, tenantId);
         } catch (Exception e) {
             log.error("Failed to upsert user-tenant mapping for email '{}': {}", email, e.getMessage(), e);
+        } finally {
+            evict(email);
         }
     }
+
+    /**
+     * Drops every cached identifier of the user with this email, including a
+     * previous username or mobile number.
+     */
+    public void evict(String email) {
+        if (email == null) {
+            return;
+        }
+        String normalizedEmail = normalize(email);
+        logins.invalidate(normalizedEmail);
+        logins.asMap().values().removeIf(login ->
+                login.email() != null && normalizedEmail.equals(normalize(login.email())));
+    }
+
+    /**
+     * Evicts the logins of the users whose mapping changed, or every login on
+     * a resync.
+     */
+    @EventListener
+    public void onUserTenantMappingChanged(UserTenantMappingChangedEvent event) {
+        if (event.isResync()) {
+            logins.invalidateAll();
+            return;
+        }
+        event.emails().forEach(this::evict);
+    }
+
+    @EventListener
+    public void onTenantConfigChanged(TenantConfigChangedEvent event) {
+        if (event.isResync()) {
+            logins.invalidateAll();
+            return;
+        }
+        logins.asMap().values().removeIf(login -> event.tenantIds().contains(login.tenantId()));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, logins, "tenant.login.lookups");
+    }
+
+    private LoginTenant query(String key) {
+        if (isMobileNumber(key)) {
+            List<LoginTenant> matches = jdbcTemplate.query(SELECT_BY_MOBILE, TenantLookupService::mapRow,
+                    Long.parseLong(key));
+            if (matches.size() > 1) {
+                log.warn("Mobile number is registered with more than one user; it cannot be used to log in");
+                return null;
+            }
+            if (!matches.isEmpty()) {
+                return matches.get(0);
+            }
+            // Purely numeric usernames are still matched below
+        }
+        List<LoginTenant> matches = jdbcTemplate.query(SELECT_BY_EMAIL_OR_USERNAME, TenantLookupService::mapRow,
+                key, key);
+        return matches.isEmpty() ? null : matches.get(0);
+    }
+
+    private static LoginTenant mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new LoginTenant(rs.getString("tenant_id"), rs.getString("username"), rs.getString("email"));
+    }
+
+    /**
+     * Lower-cases emails and usernames; mobile numbers written with spaces,
+     * dashes, brackets or a leading '+' are reduced to their digits.
+     */
+    static String normalize(String identifier) {
+        String trimmed = identifier.trim();
+        StringBuilder digits = new StringBuilder(trimmed.length());
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            } else if (!(c == ' ' || c == '-' || c == '(' || c == ')' || (c == '+' && i == 0))) {
+                return trimmed.toLowerCase(Locale.ROOT);
+            }
+        }
+        return digits.length() > 0 ? digits.toString() : trimmed.toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isMobileNumber(String key) {
+        if (key.length() < 7 || key.length() > 15) {
+            return false;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            if (key.charAt(i) < '0' || key.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tenant and canonical username of a login identifier.
+     */
+    public record LoginTenant(String tenantId, String username, String email) {
+    }
 }
@@ -8,6 +8,8 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @AllArgsConstructor
@@ -15,10 +17,13 @@ import lombok.Setter;
 @Data
 
 @Table(name = "branch")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "branch")
 public class Branch extends Auditable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "branch_branch_id_seq")
+    @SequenceGenerator(name = "branch_branch_id_seq", sequenceName = "branch_branch_id_seq", allocationSize = 50)
     @Column(name = "branch_id")
     private Long id;
 
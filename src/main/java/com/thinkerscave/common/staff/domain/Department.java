@@ -8,6 +8,8 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @AllArgsConstructor
@@ -15,10 +17,13 @@ import lombok.Setter;
 @Data
 
 @Table(name = "department")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "department")
 public class Department extends Auditable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "department_department_id_seq")
+    @SequenceGenerator(name = "department_department_id_seq", sequenceName = "department_department_id_seq", allocationSize = 50)
     @Column(name = "department_id")
     private Long id;
 
@@ -15,7 +15,8 @@ import java.time.LocalDate;
 public class Staff extends Auditable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "staff_staff_id_seq")
+    @SequenceGenerator(name = "staff_staff_id_seq", sequenceName = "staff_staff_id_seq", allocationSize = 50)
     @Column(name = "staff_id")
     private Long id;
 
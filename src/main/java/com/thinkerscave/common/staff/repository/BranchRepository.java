@@ -1,17 +1,23 @@
 package com.thinkerscave.common.staff.repository;
 
 import com.thinkerscave.common.staff.domain.Branch;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface BranchRepository extends JpaRepository<Branch, Long> {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Branch> findByBranchCode(String branchCode);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Branch> findAllByIsActiveTrue();
 
     // Multi-tenant: find branches by org
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Branch> findByOrganizationIdAndIsActive(Long organizationId, Boolean isActive);
 }
@@ -15,6 +15,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import com.thinkerscave.common.usrm.domain.User;
 import com.thinkerscave.common.usrm.repository.UserRepository;
@@ -102,7 +103,7 @@ public class StaffServiceImpl implements StaffService {
 
                     // Saving the New User
                     BeanUtils.copyProperties(staffRequestDTO, newUser, "id");
-                    newUser.setRoles(List.of(userRole));
+                    newUser.setRoles(Set.of(userRole));
 
                     newUser = userRepository.save(newUser);
 
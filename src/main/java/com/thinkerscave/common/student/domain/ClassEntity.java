@@ -4,15 +4,20 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.EqualsAndHashCode;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Getter
 @Setter
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @Table(name = "class")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "class")
 public class ClassEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "class_class_id_seq")
+    @SequenceGenerator(name = "class_class_id_seq", sequenceName = "class_class_id_seq", allocationSize = 50)
     @Column(name = "class_id")
     @EqualsAndHashCode.Include
     private Long classId;
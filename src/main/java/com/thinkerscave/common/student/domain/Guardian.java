@@ -19,7 +19,8 @@ import java.util.List;
 public class Guardian {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "guardian_guardian_id_seq")
+    @SequenceGenerator(name = "guardian_guardian_id_seq", sequenceName = "guardian_guardian_id_seq", allocationSize = 50)
     @Column(name = "guardian_id")
     private Long guardianId;
 
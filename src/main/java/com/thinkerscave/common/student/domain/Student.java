@@ -18,7 +18,8 @@ import java.time.LocalDate;
 public class Student extends Auditable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "student_student_id_seq")
+    @SequenceGenerator(name = "student_student_id_seq", sequenceName = "student_student_id_seq", allocationSize = 50)
     @Column(nullable = false, length = 50, name = "student_id")
     private Long studentId;
 
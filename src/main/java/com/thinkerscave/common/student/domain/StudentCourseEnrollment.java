@@ -23,7 +23,8 @@ import java.time.LocalDate;
 public class StudentCourseEnrollment extends Auditable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "student_course_enrollment_enrollment_id_seq")
+    @SequenceGenerator(name = "student_course_enrollment_enrollment_id_seq", sequenceName = "student_course_enrollment_enrollment_id_seq", allocationSize = 50)
     @Column(name = "enrollment_id")
     private Long enrollmentId;
 
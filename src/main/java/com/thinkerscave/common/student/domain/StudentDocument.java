@@ -12,7 +12,8 @@ import lombok.EqualsAndHashCode;
 public class StudentDocument extends Auditable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "student_document_document_id_seq")
+    @SequenceGenerator(name = "student_document_document_id_seq", sequenceName = "student_document_document_id_seq", allocationSize = 50)
     @Column(name = "document_id")
     private Long documentId;
 
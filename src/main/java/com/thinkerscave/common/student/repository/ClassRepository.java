@@ -1,12 +1,16 @@
 package com.thinkerscave.common.student.repository;
 
 import com.thinkerscave.common.student.domain.ClassEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
 
 public interface ClassRepository extends JpaRepository<ClassEntity, Long> {
 
     // Multi-tenant: always scope class lookups to the caller's organization
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<ClassEntity> findByOrganizationId(Long organizationId);
 }
@@ -2,11 +2,15 @@ package com.thinkerscave.common.student.repository;
 
 
 import com.thinkerscave.common.student.domain.Section;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
 
 public interface SectionRepository extends JpaRepository<Section,Long> {
 	
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
 	List<Section> findByClassEntity_ClassId(Long classId);
 }
@@ -1,14 +1,17 @@
 package com.thinkerscave.common.usrm.controller;
 
 import com.thinkerscave.common.config.TenantContext;
+import com.thinkerscave.common.security.AccessTokenRevocationRegistry;
 import com.thinkerscave.common.service.TenantLookupService;
 import com.thinkerscave.common.usrm.dto.*;
 import com.thinkerscave.common.usrm.service.LoginAttemptService;
+import com.thinkerscave.common.usrm.service.LoginService;
 import com.thinkerscave.common.usrm.service.RefreshTokenService;
 import com.thinkerscave.common.usrm.service.UserService;
 import com.thinkerscave.common.usrm.service.impl.JwtServiceImpl;
 import com.thinkerscave.common.commonModel.ApiResponse;
 
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Encoders;
 import io.swagger.v3.oas.annotations.Operation;
@@ -20,8 +23,6 @@ import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -31,7 +32,6 @@ import jakarta.validation.Valid;
 
 import java.security.Key;
 import java.util.List;
-import java.util.Optional;
 
 @Slf4j
 @RestController
@@ -44,7 +44,7 @@ public class UserController {
 
 	private final JwtServiceImpl jwtServiceImpl;
 
-	private final AuthenticationManager authenticationManager;
+	private final LoginService loginService;
 
 	private final RefreshTokenService refreshTokenService;
 
@@ -52,6 +52,8 @@ public class UserController {
 
 	private final TenantLookupService tenantLookupService;
 
+	private final AccessTokenRevocationRegistry accessTokenRevocations;
+
 	@Operation(summary = "Register a new user")
 	@PostMapping("/register")
 	public ResponseEntity<ApiResponse<UserResponseDTO>> registerUser(@Valid @RequestBody UserRequestDTO userRequestDTO) {
@@ -127,8 +129,9 @@ public class UserController {
 	 * <ul>
 	 * <li>Checks if the user is temporarily blocked due to excessive failed login
 	 * attempts using {@code LoginAttemptService}.</li>
-	 * <li>Authenticates the user credentials using
-	 * {@code AuthenticationManager}.</li>
+	 * <li>Authenticates the user credentials using {@code LoginService}, which
+	 * loads the user, roles, organizations and privileges once and builds the
+	 * whole response from them.</li>
 	 * <li>On successful authentication, logs the success, creates and returns a JWT
 	 * access token and a refresh token.</li>
 	 * <li>On authentication failure, logs the failed attempt and returns an
@@ -140,7 +143,7 @@ public class UserController {
 	 *         if authentication is successful
 	 * @throws RuntimeException if the user is blocked or if authentication fails
 	 */
-	@Operation(summary = "Login with credentials and receive JWT + Refresh Token", description = "Auto-detects tenant from username/email. X-Tenant-ID header is optional (for testing).")
+	@Operation(summary = "Login with credentials and receive JWT + Refresh Token", description = "Auto-detects tenant from username, email or mobile number. X-Tenant-ID header is optional (for testing).")
 	@ApiResponses(value = {
 			@io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Authentication successful"),
 			@io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "User is blocked"),
@@ -149,8 +152,11 @@ public class UserController {
 	@PostMapping("/login")
 	public ResponseEntity<ApiResponse<JwtResponse>> authenticationAndGetToken(@Valid @RequestBody AuthRequest authRequest) {
 
-		String username = authRequest.getUsername();
-		String tenantId = tenantLookupService.findTenantByEmailOrUsername(username);
+		// The user may sign in with their username, email or mobile number;
+		// everything below works with the username they are stored under.
+		TenantLookupService.LoginTenant login = tenantLookupService.findLogin(authRequest.getUsername());
+		String username = login != null ? login.username() : authRequest.getUsername();
+		String tenantId = login != null ? login.tenantId() : "public";
 		TenantContext.setTenant(tenantId);
 
 		try {
@@ -159,19 +165,16 @@ public class UserController {
 						"User account is temporarily locked due to too many failed login attempts.");
 			}
 
-			Authentication authentication = authenticationManager.authenticate(
-					new UsernamePasswordAuthenticationToken(username, authRequest.getPassword()));
+			LoginService.LoginResult result = loginService.login(username, authRequest.getPassword());
 
 			loginAttemptService.loginSucceeded(username);
-			Optional<UserResponseDTO> userOpt = userService.findByUsername(username);
-			com.thinkerscave.common.usrm.domain.RefreshToken refreshToken = refreshTokenService.createRefreshToken(username);
 
 			JwtResponse response = JwtResponse.builder()
-					.accessToken(jwtServiceImpl.generateToken(username))
-					.token(refreshToken.getToken())
+					.accessToken(jwtServiceImpl.generateToken(result.principal()))
+					.token(result.refreshToken().getToken())
 					.tenantId(tenantId)
 					.tenantName(formatTenantName(tenantId))
-					.user(userOpt.orElse(null))
+					.user(result.profile())
 					.build();
 
 			return ResponseEntity.ok(ApiResponse.success("Login successful", response));
@@ -206,8 +209,8 @@ public class UserController {
 	@Operation(summary = "Refresh the JWT using a valid refresh token")
 	@PostMapping("/refreshToken")
 	public ResponseEntity<ApiResponse<JwtResponse>> refreshToken(@Valid @RequestBody RefreshTokenRequest refreshTokenRequest) {
-		com.thinkerscave.common.usrm.domain.User user = refreshTokenService.validateAndGetUser(refreshTokenRequest.getToken());
-		String accessToken = jwtServiceImpl.generateToken(user.getUserName());
+		String userName = refreshTokenService.validateAndGetUsername(refreshTokenRequest.getToken());
+		String accessToken = jwtServiceImpl.generateToken(userName);
 
 		JwtResponse response = JwtResponse.builder()
 				.accessToken(accessToken)
@@ -216,10 +219,19 @@ public class UserController {
 		return ResponseEntity.ok(ApiResponse.success("Token refreshed successfully", response));
 	}
 
-	@Operation(summary = "Logout user and invalidate refresh token")
+	@Operation(summary = "Logout user, invalidate refresh token and revoke the presented access token")
 	@PostMapping("/logout")
-	public ResponseEntity<ApiResponse<Void>> logoutUser(@Valid @RequestBody RefreshTokenRequest refreshTokenRequest) {
+	public ResponseEntity<ApiResponse<Void>> logoutUser(@Valid @RequestBody RefreshTokenRequest refreshTokenRequest,
+			@RequestHeader(value = "Authorization", required = false) String authorization) {
 		refreshTokenService.deleteByToken(refreshTokenRequest.getToken());
+		if (authorization != null && authorization.startsWith("Bearer ")) {
+			try {
+				accessTokenRevocations.revoke(jwtServiceImpl.extractAllClaimsPublic(authorization.substring(7)));
+			} catch (JwtException | IllegalArgumentException e) {
+				// Invalid or expired already; nothing to revoke
+				log.debug("Access token presented at logout not revoked: {}", e.getMessage());
+			}
+		}
 		return ResponseEntity.ok(ApiResponse.success("Logged out successfully", null));
 	}
 
@@ -22,7 +22,8 @@ import java.time.LocalDateTime;
 
 public class PasswordResetToken extends Auditable {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "password_reset_token_id_seq")
+    @SequenceGenerator(name = "password_reset_token_id_seq", sequenceName = "password_reset_token_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -8,8 +8,14 @@ import lombok.NoArgsConstructor;
 
 import java.time.Instant;
 
+/**
+ * A user's refresh token. Only the SHA-256 hash of the token is stored; the
+ * raw token is handed to the client once, when it is issued.
+ */
 @Entity
-@Table(name = "refresh_token")
+@Table(name = "refresh_token", indexes = {
+        @Index(name = "idx_refresh_token_expiry_date", columnList = "expiry_date")
+})
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -17,16 +23,24 @@ import java.time.Instant;
 public class RefreshToken {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "refresh_token_id_seq")
+    @SequenceGenerator(name = "refresh_token_id_seq", sequenceName = "refresh_token_id_seq", allocationSize = 50)
     private Long id;
 
-    @Column(nullable = false, unique = true, length = 512)
-    private String token;
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
 
     @Column(name = "expiry_date", nullable = false)
     private Instant expiryDate;
 
     @OneToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "user_id", nullable = false, referencedColumnName = "id")
+    @JoinColumn(name = "user_id", nullable = false, unique = true, referencedColumnName = "id")
     private User user;
+
+    /**
+     * The raw token; only set on the instance returned when the token is
+     * issued, never persisted.
+     */
+    @Transient
+    private String token;
 }
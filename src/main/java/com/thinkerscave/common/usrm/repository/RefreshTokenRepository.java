@@ -2,17 +2,70 @@ package com.thinkerscave.common.usrm.repository;
 
 import com.thinkerscave.common.usrm.domain.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.thinkerscave.common.usrm.domain.RefreshToken;
 
+import java.time.Instant;
 import java.util.Optional;
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Integer>{
 
-	Optional<RefreshToken> findByToken(String token);
+	/**
+	 * Owner of an unexpired token, resolved with one probe of the token_hash
+	 * unique index.
+	 */
+	@Query("SELECT t.user.userName AS userName, t.expiryDate AS expiryDate FROM RefreshToken t "
+			+ "WHERE t.tokenHash = :tokenHash AND t.expiryDate > :now")
+	Optional<TokenOwner> findOwnerByTokenHash(@Param("tokenHash") String tokenHash, @Param("now") Instant now);
+
+	/**
+	 * Replaces the user's token in one atomic statement.
+	 *
+	 * Deliberately not {@code @Modifying}: that runs the statement through
+	 * executeUpdate, which only yields a row count, while RETURNING makes
+	 * PostgreSQL answer with a result set that is read like a select. Nothing
+	 * needs clearing afterwards either: the caller never loads RefreshToken
+	 * entities in the transaction, it builds a detached one from the result.
+	 * Hibernate cannot tell the statement writes refresh_token, so RefreshToken
+	 * must stay out of the second-level and query caches.
+	 *
+	 * @return the hash of the replaced token, or empty if the user had none
+	 */
+	@Query(value = """
+			UPDATE refresh_token t
+			SET token_hash = :tokenHash, expiry_date = :expiryDate
+			FROM (SELECT id, token_hash FROM refresh_token WHERE user_id = :userId FOR UPDATE) previous
+			WHERE t.id = previous.id
+			RETURNING previous.token_hash
+			""", nativeQuery = true)
+	Optional<String> rotate(@Param("userId") Long userId, @Param("tokenHash") String tokenHash,
+			@Param("expiryDate") Instant expiryDate);
+
+	@Modifying
+	@Query("DELETE FROM RefreshToken t WHERE t.tokenHash = :tokenHash")
+	int deleteByTokenHash(@Param("tokenHash") String tokenHash);
+
+	/**
+	 * Deletes up to {@code batchSize} expired tokens, keeping each purge
+	 * transaction short.
+	 */
+	@Modifying
+	@Query(value = """
+			DELETE FROM refresh_token
+			WHERE id IN (SELECT id FROM refresh_token WHERE expiry_date < :now LIMIT :batchSize)
+			""", nativeQuery = true)
+	int deleteExpiredBatch(@Param("now") Instant now, @Param("batchSize") int batchSize);
 
     void deleteByUser(User user);
 
-    Optional<RefreshToken> findByUser(User user);
+	interface TokenOwner {
+
+		String getUserName();
+
+		Instant getExpiryDate();
+	}
 }
@@ -1,10 +1,15 @@
 package com.thinkerscave.common.usrm.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.thinkerscave.common.usrm.domain.User;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -15,5 +20,31 @@ public interface UserRepository extends JpaRepository<User, Long> {
 	Optional<User> findByEmail(String email);
 
 	Optional<User> findByEmailIgnoreCase(String email);
+
+	/**
+	 * Loads a user by username or email together with their roles and
+	 * organizations in one statement, for the login fast path.
+	 */
+	@Query("SELECT DISTINCT u FROM User u " +
+			"LEFT JOIN FETCH u.roles " +
+			"LEFT JOIN FETCH u.organizations " +
+			"WHERE u.userName = :login OR u.email = :login")
+	List<User> findLoginProfile(@Param("login") String login);
+
+	/**
+	 * Block state and role names of a user by username or email, one row per
+	 * role, for checking an access token against the user's current state.
+	 */
+	@Query("SELECT u.id, u.isBlocked, u.lockDateTime, r.roleName FROM User u " +
+			"LEFT JOIN u.roles r " +
+			"WHERE u.userName = :login OR u.email = :login " +
+			"ORDER BY u.id")
+	List<Object[]> findAccessState(@Param("login") String login);
+
+	@Modifying
+	@Query("UPDATE User u SET u.isBlocked = :blocked, u.attempts = :attempts, u.lockDateTime = :lockDateTime " +
+			"WHERE u.userName = :userName")
+	int updateLockState(@Param("userName") String userName, @Param("blocked") boolean blocked,
+			@Param("attempts") Integer attempts, @Param("lockDateTime") LocalDateTime lockDateTime);
 	 
 }
@@ -1,8 +1,19 @@
 package com.thinkerscave.common.usrm.service;
 
+import java.time.Duration;
+
 public interface LoginAttemptService {
+
+    /** Failed logins within {@link #ATTEMPT_WINDOW} that lock the account */
+    int MAX_ATTEMPTS = 3;
+
+    /** Failures older than this no longer count towards a lock */
+    Duration ATTEMPT_WINDOW = Duration.ofMinutes(15);
+
+    /** Auto-unlock after this long */
+    Duration LOCK_DURATION = Duration.ofMinutes(15);
+
     void loginSucceeded(String username);
     void loginFailed(String username);
     boolean isBlocked(String username);
 }
-
@@ -0,0 +1,39 @@
+package com.thinkerscave.common.usrm.service;
+
+/**
+ * Holds the recent failed logins and the lock of each (tenant, username) key
+ * for {@link LoginAttemptService}. Times are epoch milliseconds.
+ *
+ * The default store keeps them in memory on each node; with
+ * {@code security.login-attempts.store=shared} they are kept in the database
+ * so every node counts the same failures.
+ */
+public interface LoginAttemptStore {
+
+    /**
+     * Records a failed login and returns how many failures of the key fall
+     * within the window, this one included (at most {@link LoginAttemptService#MAX_ATTEMPTS}).
+     */
+    int recordFailure(String key, long now, long windowMillis);
+
+    /**
+     * When the key's lock ends, or 0 if it was never locked.
+     */
+    long lockedUntil(String key);
+
+    /**
+     * Locks the key until the given time unless it is still locked at
+     * {@code now}, in one atomic step: of concurrent callers exactly one
+     * places the lock.
+     *
+     * @return whether this call placed the lock
+     */
+    boolean lock(String key, long now, long until);
+
+    /**
+     * Forgets the key's failures and lock.
+     *
+     * @return whether the key had been locked
+     */
+    boolean reset(String key);
+}
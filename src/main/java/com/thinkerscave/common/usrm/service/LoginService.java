@@ -0,0 +1,23 @@
+package com.thinkerscave.common.usrm.service;
+
+import com.thinkerscave.common.security.UserInfoUserDetails;
+import com.thinkerscave.common.usrm.domain.RefreshToken;
+import com.thinkerscave.common.usrm.dto.UserResponseDTO;
+
+/**
+ * Login fast path: authenticates a user of the current tenant and assembles
+ * everything the login response needs from one load of the user.
+ */
+public interface LoginService {
+
+	/**
+	 * @param login       username or email
+	 * @param rawPassword the submitted password
+	 * @throws org.springframework.security.core.AuthenticationException if the
+	 *         credentials are wrong or the account is locked
+	 */
+	LoginResult login(String login, String rawPassword);
+
+	record LoginResult(UserInfoUserDetails principal, UserResponseDTO profile, RefreshToken refreshToken) {
+	}
+}
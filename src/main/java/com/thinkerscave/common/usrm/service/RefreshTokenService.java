@@ -1,7 +1,5 @@
 package com.thinkerscave.common.usrm.service;
 
-import java.util.Optional;
-
 import com.thinkerscave.common.usrm.domain.RefreshToken;
 import com.thinkerscave.common.usrm.domain.User;
 
@@ -9,11 +7,18 @@ public interface RefreshTokenService {
 
 	public RefreshToken createRefreshToken(String username);
 
-	public Optional<RefreshToken> findByToken(String token);
-
-	public User validateAndGetUser(String token);
-
-	public RefreshToken verifyExpiration(RefreshToken token);
+	/**
+	 * Same as {@link #createRefreshToken(String)} for an already loaded user.
+	 * The returned instance carries the raw token for the client.
+	 */
+	public RefreshToken createRefreshToken(User user);
+
+	/**
+	 * Username of the owner of an unexpired refresh token.
+	 *
+	 * @throws RuntimeException if the token is unknown or expired
+	 */
+	public String validateAndGetUsername(String token);
 
 	public void deleteByToken(String refreshToken);
 }
@@ -0,0 +1,90 @@
+package com.thinkerscave.common.usrm.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.thinkerscave.common.usrm.service.LoginAttemptService;
+import com.thinkerscave.common.usrm.service.LoginAttemptStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Node-local {@link LoginAttemptStore}. Each key keeps only its last
+ * {@link LoginAttemptService#MAX_ATTEMPTS} failure times in a ring, guarded
+ * by its own monitor, so concurrent logins of different users never contend.
+ * Keys idle for longer than both the attempt window and the lock are dropped.
+ */
+@Component
+@ConditionalOnProperty(name = "security.login-attempts.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryLoginAttemptStore implements LoginAttemptStore {
+
+    private final Cache<String, AttemptWindow> windows;
+
+    public InMemoryLoginAttemptStore(
+            @Value("${security.login-attempts.max-tracked-users:100000}") long maxTrackedUsers) {
+        this.windows = Caffeine.newBuilder()
+                .maximumSize(maxTrackedUsers)
+                .expireAfterAccess(LoginAttemptService.ATTEMPT_WINDOW.compareTo(LoginAttemptService.LOCK_DURATION) > 0
+                        ? LoginAttemptService.ATTEMPT_WINDOW
+                        : LoginAttemptService.LOCK_DURATION)
+                .build();
+    }
+
+    @Override
+    public int recordFailure(String key, long now, long windowMillis) {
+        return windows.get(key, k -> new AttemptWindow(LoginAttemptService.MAX_ATTEMPTS))
+                .recordFailure(now, windowMillis);
+    }
+
+    @Override
+    public long lockedUntil(String key) {
+        AttemptWindow window = windows.getIfPresent(key);
+        return window != null ? window.lockedUntil() : 0;
+    }
+
+    @Override
+    public boolean lock(String key, long now, long until) {
+        return windows.get(key, k -> new AttemptWindow(LoginAttemptService.MAX_ATTEMPTS)).lock(now, until);
+    }
+
+    @Override
+    public boolean reset(String key) {
+        AttemptWindow removed = windows.asMap().remove(key);
+        return removed != null && removed.lockedUntil() != 0;
+    }
+
+    static final class AttemptWindow {
+
+        private final long[] failures;
+        private int next;
+        private long lockedUntil;
+
+        AttemptWindow(int capacity) {
+            this.failures = new long[capacity];
+        }
+
+        synchronized int recordFailure(long now, long windowMillis) {
+            failures[next] = now;
+            next = (next + 1) % failures.length;
+            int count = 0;
+            for (long failure : failures) {
+                if (failure != 0 && now - failure < windowMillis) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        synchronized long lockedUntil() {
+            return lockedUntil;
+        }
+
+        synchronized boolean lock(long now, long until) {
+            if (lockedUntil > now) {
+                return false;
+            }
+            lockedUntil = until;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.thinkerscave.common.usrm.service.impl;
+
+import com.thinkerscave.common.usrm.service.LoginAttemptService;
+import com.thinkerscave.common.usrm.service.LoginAttemptStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Shared {@link LoginAttemptStore} for deployments with several nodes, enabled
+ * with {@code security.login-attempts.store=shared}. Failures and locks live
+ * in the unlogged table public.login_attempts (migration V1_19), so every
+ * node counts the same failures; the price is one primary-key lookup per
+ * login and one write per failed or successful login.
+ */
+@Component
+@ConditionalOnProperty(name = "security.login-attempts.store", havingValue = "shared")
+@RequiredArgsConstructor
+@Slf4j
+public class JdbcLoginAttemptStore implements LoginAttemptStore {
+
+    private static final String RECORD_FAILURE_SQL = """
+            INSERT INTO public.login_attempts AS a (attempt_key, failures, updated_at)
+            VALUES (?, ARRAY[?::bigint], ?)
+            ON CONFLICT (attempt_key) DO UPDATE
+            SET failures = ARRAY(SELECT f FROM unnest(a.failures) f WHERE f > ? ORDER BY f DESC LIMIT ?)
+                    || EXCLUDED.failures,
+                updated_at = EXCLUDED.updated_at
+            RETURNING cardinality(failures)
+            """;
+
+    // Concurrent callers queue on the row lock; once the first commits, the
+    // others re-check locked_until and update nothing
+    private static final String LOCK_SQL = """
+            UPDATE public.login_attempts
+            SET locked_until = ?, updated_at = ?
+            WHERE attempt_key = ? AND locked_until <= ?
+            RETURNING locked_until
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int recordFailure(String key, long now, long windowMillis) {
+        Integer count = jdbcTemplate.queryForObject(RECORD_FAILURE_SQL, Integer.class,
+                key, now, now, now - windowMillis, LoginAttemptService.MAX_ATTEMPTS - 1);
+        return count != null ? count : 1;
+    }
+
+    @Override
+    public long lockedUntil(String key) {
+        List<Long> until = jdbcTemplate.queryForList(
+                "SELECT locked_until FROM public.login_attempts WHERE attempt_key = ?", Long.class, key);
+        return until.isEmpty() ? 0 : until.get(0);
+    }
+
+    @Override
+    public boolean lock(String key, long now, long until) {
+        return !jdbcTemplate.queryForList(LOCK_SQL, Long.class, until, now, key, now).isEmpty();
+    }
+
+    @Override
+    public boolean reset(String key) {
+        List<Long> until = jdbcTemplate.queryForList(
+                "DELETE FROM public.login_attempts WHERE attempt_key = ? RETURNING locked_until", Long.class, key);
+        return !until.isEmpty() && until.get(0) != 0;
+    }
+
+    /**
+     * Drops keys whose failures and lock have all expired.
+     */
+    @Scheduled(fixedDelayString = "${security.login-attempts.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        long cutoff = System.currentTimeMillis()
+                - Math.max(LoginAttemptService.ATTEMPT_WINDOW.toMillis(), LoginAttemptService.LOCK_DURATION.toMillis());
+        int purged = jdbcTemplate.update(
+                "DELETE FROM public.login_attempts WHERE updated_at < ? AND locked_until < ?", cutoff, cutoff);
+        if (purged > 0) {
+            log.debug("Purged {} expired login attempt entries", purged);
+        }
+    }
+}
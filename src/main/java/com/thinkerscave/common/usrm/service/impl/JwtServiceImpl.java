@@ -1,21 +1,38 @@
 package com.thinkerscave.common.usrm.service.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import com.thinkerscave.common.config.TenantContext;
+import com.thinkerscave.common.security.PrivilegeDictionary;
+import com.thinkerscave.common.security.UserInfoUserDetails;
 import com.thinkerscave.common.usrm.service.JwtService;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 /**
@@ -23,9 +40,23 @@ import java.util.function.Function;
  * 
  * IMPORTANT: This implementation embeds the tenant_id in the JWT claims
  * to prevent cross-tenant token hijacking attacks.
+ *
+ * The signing key and parser are built once. Verified claims are cached by
+ * SHA-256 of the token until the token expires, so a token's signature is
+ * checked once however many requests present it.
+ *
+ * Every token carries a random jti, by which
+ * {@link com.thinkerscave.common.security.AccessTokenRevocationRegistry}
+ * revokes it.
+ *
+ * Tokens issued for a full principal also carry its roles and a privilege
+ * bitset against the tenant's {@link PrivilegeDictionary}, so the principal
+ * can be rebuilt without the database while the dictionary version matches.
+ * That claim names the tenant it was issued in and is only honoured in that
+ * tenant.
  */
 @Service
-public class JwtServiceImpl implements JwtService {
+public class JwtServiceImpl implements JwtService, MeterBinder {
 
     @Value("${jwt.secret}")
     private String secretKey;
@@ -33,7 +64,18 @@ public class JwtServiceImpl implements JwtService {
     @Value("${jwt.expiration}")
     private long expiration;
 
+    @Value("${jwt.claims-cache.max-size:10000}")
+    private long claimsCacheMaxSize;
+
+    @Autowired(required = false)
+    private PrivilegeDictionary privilegeDictionary;
+
     private static final String TENANT_CLAIM = "tenant_id";
+    private static final String AUTHORITIES_CLAIM = "auth";
+
+    private volatile SecretKey signingKey;
+    private volatile JwtParser jwtParser;
+    private volatile Cache<String, Claims> verifiedClaims;
 
     @Override
     public String generateToken(String userName) {
@@ -49,6 +91,74 @@ public class JwtServiceImpl implements JwtService {
             claims.put("userId", userId);
         }
 
+        return buildToken(userName, claims);
+    }
+
+    /**
+     * Issues an access token that also carries the principal's roles and matrix
+     * privileges in compact form.
+     */
+    public String generateToken(UserInfoUserDetails user) {
+        Map<String, Object> claims = new HashMap<>();
+        if (privilegeDictionary != null) {
+            PrivilegeDictionary.Snapshot dictionary = privilegeDictionary.current();
+            Map<String, Object> authorities = new HashMap<>();
+            authorities.put("t", dictionary.getTenant());
+            authorities.put("v", dictionary.getVersion());
+            authorities.put("p", dictionary.encode(user.getAuthorities()));
+            authorities.put("r", user.getRoleNames());
+            authorities.put("uid", user.getUserId());
+            authorities.put("rid", user.getRoleId());
+            claims.put(AUTHORITIES_CLAIM, authorities);
+        }
+        return buildToken(user.getUsername(), claims);
+    }
+
+    /**
+     * Rebuilds the principal from the token's compact authority claim.
+     *
+     * @return the principal, or null when the token has no such claim, was
+     *         issued in another tenant or against another version of the
+     *         tenant's dictionary
+     */
+    public UserInfoUserDetails extractPrincipal(String token) {
+        if (privilegeDictionary == null) {
+            return null;
+        }
+        return extractPrincipal(extractAllClaims(token));
+    }
+
+    /**
+     * Same as {@link #extractPrincipal(String)} for claims the caller already
+     * verified.
+     */
+    @SuppressWarnings("unchecked")
+    public UserInfoUserDetails extractPrincipal(Claims claims) {
+        if (privilegeDictionary == null) {
+            return null;
+        }
+        Map<String, Object> authorities = claims.get(AUTHORITIES_CLAIM, Map.class);
+        if (authorities == null) {
+            return null;
+        }
+        PrivilegeDictionary.Snapshot dictionary = privilegeDictionary.current();
+        if (!dictionary.getTenant().equals(authorities.get("t"))
+                || !dictionary.getVersion().equals(authorities.get("v"))) {
+            return null;
+        }
+        return new UserInfoUserDetails(
+                toLong(authorities.get("uid")),
+                claims.getSubject(),
+                toLong(authorities.get("rid")),
+                (List<String>) authorities.get("r"),
+                dictionary.decode((String) authorities.get("p")));
+    }
+
+    private static Long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : null;
+    }
+
+    private String buildToken(String userName, Map<String, Object> claims) {
         // CRITICAL: Embed current tenant in JWT for security validation
         String currentTenant = TenantContext.getCurrentTenant();
         if (currentTenant != null && !currentTenant.isBlank() && !"public".equals(currentTenant)) {
@@ -57,6 +167,7 @@ public class JwtServiceImpl implements JwtService {
 
         return Jwts.builder()
                 .claims(claims)
+                .id(UUID.randomUUID().toString())
                 .subject(userName)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
@@ -91,19 +202,79 @@ public class JwtServiceImpl implements JwtService {
     @Override
     public boolean validateToken(String token, UserDetails userDetails) {
         try {
-            Claims claims = extractAllClaims(token);
-            final String username = claims.getSubject();
-            boolean isExpired = claims.getExpiration().before(new Date());
-            
-            return (username.equals(userDetails.getUsername()) && !isExpired);
+            return validateClaims(extractAllClaims(token), userDetails);
         } catch (Exception e) {
             return false;
         }
     }
 
+    /**
+     * Checks already verified claims against the principal they were resolved to.
+     */
+    public boolean validateClaims(Claims claims, UserDetails userDetails) {
+        final String username = claims.getSubject();
+        boolean isExpired = claims.getExpiration().before(new Date());
+
+        return (username != null && username.equals(userDetails.getUsername()) && !isExpired);
+    }
+
     private SecretKey getKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+        SecretKey key = signingKey;
+        if (key == null) {
+            synchronized (this) {
+                key = signingKey;
+                if (key == null) {
+                    byte[] keyBytes = Decoders.BASE64.decode(secretKey);
+                    key = Keys.hmacShaKeyFor(keyBytes);
+                    signingKey = key;
+                }
+            }
+        }
+        return key;
+    }
+
+    private JwtParser getParser() {
+        JwtParser parser = jwtParser;
+        if (parser == null) {
+            synchronized (this) {
+                parser = jwtParser;
+                if (parser == null) {
+                    parser = Jwts.parser().verifyWith(getKey()).build();
+                    jwtParser = parser;
+                }
+            }
+        }
+        return parser;
+    }
+
+    private Cache<String, Claims> getVerifiedClaims() {
+        Cache<String, Claims> cache = verifiedClaims;
+        if (cache == null) {
+            synchronized (this) {
+                cache = verifiedClaims;
+                if (cache == null) {
+                    cache = Caffeine.newBuilder()
+                            .maximumSize(claimsCacheMaxSize)
+                            .expireAfter(new UntilTokenExpiry())
+                            .recordStats()
+                            .build();
+                    verifiedClaims = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Drops the cached claims of a token, e.g. once it has been revoked.
+     */
+    public void evictClaims(String token) {
+        getVerifiedClaims().invalidate(tokenHash(token));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, getVerifiedClaims(), "jwt.verified_claims");
     }
 
     public Claims extractAllClaimsPublic(String token) {
@@ -115,12 +286,51 @@ public class JwtServiceImpl implements JwtService {
         return claimResolver.apply(claims);
     }
 
+    /**
+     * Returns the token's claims, verifying the signature only on a cache miss.
+     * Invalid or expired tokens are never cached and keep throwing.
+     */
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        String key = tokenHash(token);
+        Cache<String, Claims> cache = getVerifiedClaims();
+        Claims claims = cache.getIfPresent(key);
+        if (claims == null) {
+            claims = getParser().parseSignedClaims(token).getPayload();
+            cache.put(key, claims);
+        }
+        return claims;
+    }
+
+    private static String tokenHash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Expires each cache entry when its token does.
+     */
+    private final class UntilTokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            Date expiresAt = claims.getExpiration();
+            long remainingMs = expiresAt != null ? expiresAt.getTime() - System.currentTimeMillis() : expiration;
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, Math.min(remainingMs, expiration)));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 
     private boolean isTokenExpired(String token) {
@@ -129,10 +339,7 @@ public class JwtServiceImpl implements JwtService {
 
     private boolean isTokenSignatureValid(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getKey())
-                    .build()
-                    .parseSignedClaims(token);
+            extractAllClaims(token);
             return true;
         } catch (Exception e) {
             return false;
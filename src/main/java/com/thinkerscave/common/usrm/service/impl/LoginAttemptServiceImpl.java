@@ -1,74 +1,132 @@
 package com.thinkerscave.common.usrm.service.impl;
 
-import org.springframework.transaction.annotation.Transactional;
-import com.thinkerscave.common.usrm.domain.User;
+import com.thinkerscave.common.config.TenantContext;
+import com.thinkerscave.common.security.PrincipalCache;
 import com.thinkerscave.common.usrm.repository.UserRepository;
 import com.thinkerscave.common.usrm.service.LoginAttemptService;
+import com.thinkerscave.common.usrm.service.LoginAttemptStore;
 
-import org.springframework.beans.factory.annotation.Autowired;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Tracks failed logins per (tenant, username) in a {@link LoginAttemptStore}
+ * instead of the users table, so checking and recording an attempt costs no
+ * query. The users table is written only when an account crosses the
+ * threshold or is unlocked again; these writes happen in the background
+ * (write-behind) and also drop the user's cached principal.
+ *
+ * The persisted lock keeps nodes that have not seen the failures (or a
+ * restarted node) from authenticating the user: {@code UserInfoUserDetails}
+ * treats the account as locked until {@link #LOCK_DURATION} after the lock time.
+ */
 @Service
-@Transactional(readOnly = true)
+@Slf4j
 public class LoginAttemptServiceImpl implements LoginAttemptService {
 
-    private static final int MAX_ATTEMPTS = 3;
-    /** Auto-unlock after this many minutes */
-    private static final int LOCK_DURATION_MINUTES = 15;
+    private static final String PUBLIC_TENANT = "public";
 
-    @Autowired
-    private UserRepository userRepository;
+    private final LoginAttemptStore store;
+    private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService lockWriter = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "login-lock-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public LoginAttemptServiceImpl(LoginAttemptStore store, UserRepository userRepository,
+            PrincipalCache principalCache, PlatformTransactionManager transactionManager) {
+        this.store = store;
+        this.userRepository = userRepository;
+        this.principalCache = principalCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
 
     @Override
-    @Transactional
     public void loginSucceeded(String userName) {
-        userRepository.findByUserName(userName).ifPresent(user -> {
-            user.setAttempts(null);
-            user.setIsBlocked(false);
-            user.setLockDateTime(null);
-            userRepository.save(user);
-        });
+        if (store.reset(key(userName))) {
+            persistLockState(userName, false);
+        }
     }
 
     @Override
-    @Transactional
     public void loginFailed(String userName) {
-        userRepository.findByUserName(userName).ifPresent(user -> {
-            int previousAttempts = user.getAttempts() != null ? user.getAttempts() : 0;
-            int attempts = previousAttempts + 1;
-            user.setAttempts(attempts);
+        String key = key(userName);
+        long now = System.currentTimeMillis();
+        int attempts = store.recordFailure(key, now, ATTEMPT_WINDOW.toMillis());
+        if (attempts < MAX_ATTEMPTS) {
+            return;
+        }
+        // Of concurrent failures crossing the threshold only one places the lock
+        if (store.lock(key, now, now + LOCK_DURATION.toMillis())) {
+            persistLockState(userName, true);
+        }
+    }
 
-            if (attempts >= MAX_ATTEMPTS) {
-                user.setIsBlocked(true);
-                user.setLockDateTime(LocalDateTime.now());
-            }
+    @Override
+    public boolean isBlocked(String userName) {
+        String key = key(userName);
+        long lockedUntil = store.lockedUntil(key);
+        if (lockedUntil == 0) {
+            return false;
+        }
+        if (lockedUntil > System.currentTimeMillis()) {
+            return true;
+        }
+        // Auto-unlock if lock has expired
+        if (store.reset(key)) {
+            persistLockState(userName, false);
+        }
+        return false;
+    }
 
-            userRepository.save(user);
+    /**
+     * Writes the lock (or unlock) to the user's row in the background.
+     */
+    private void persistLockState(String userName, boolean blocked) {
+        String tenant = currentTenant();
+        LocalDateTime lockDateTime = blocked ? LocalDateTime.now() : null;
+        Integer attempts = blocked ? MAX_ATTEMPTS : null;
+        lockWriter.execute(() -> {
+            TenantContext.setTenant(tenant);
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    userRepository.updateLockState(userName, blocked, attempts, lockDateTime);
+                    principalCache.evictUser(userName);
+                });
+            } catch (RuntimeException e) {
+                log.warn("Could not persist {} of user '{}' in tenant '{}': {}",
+                        blocked ? "lock" : "unlock", userName, tenant, e.getMessage());
+            } finally {
+                TenantContext.clear();
+            }
         });
     }
 
-    @Override
-    @Transactional
-    public boolean isBlocked(String userName) {
-        return userRepository.findByUserName(userName)
-                .map(user -> {
-                    if (!Boolean.TRUE.equals(user.getIsBlocked())) {
-                        return false;
-                    }
-                    // Auto-unlock if lock has expired
-                    if (user.getLockDateTime() != null
-                            && user.getLockDateTime().plusMinutes(LOCK_DURATION_MINUTES)
-                                    .isBefore(LocalDateTime.now())) {
-                        user.setIsBlocked(false);
-                        user.setAttempts(0);
-                        user.setLockDateTime(null);
-                        userRepository.save(user);
-                        return false;
-                    }
-                    return true;
-                })
-                .orElse(false);
+    @PreDestroy
+    public void flush() throws InterruptedException {
+        lockWriter.shutdown();
+        if (!lockWriter.awaitTermination(5, TimeUnit.SECONDS)) {
+            log.warn("Login lock writes still pending at shutdown");
+        }
+    }
+
+    private static String currentTenant() {
+        String tenant = TenantContext.getTenant();
+        return tenant != null ? tenant : PUBLIC_TENANT;
+    }
+
+    private static String key(String userName) {
+        return currentTenant() + '\u0000' + userName;
     }
 }
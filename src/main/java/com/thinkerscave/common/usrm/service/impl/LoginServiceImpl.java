@@ -0,0 +1,93 @@
+package com.thinkerscave.common.usrm.service.impl;
+
+import com.thinkerscave.common.menum.domain.RoleMenuPrivilegeMapping;
+import com.thinkerscave.common.menum.repository.RoleMenuPrivilegeMappingRepository;
+import com.thinkerscave.common.orgm.repository.OrganizationRepository;
+import com.thinkerscave.common.security.UserInfoUserDetails;
+import com.thinkerscave.common.usrm.domain.RefreshToken;
+import com.thinkerscave.common.usrm.domain.User;
+import com.thinkerscave.common.usrm.repository.UserRepository;
+import com.thinkerscave.common.usrm.service.LoginService;
+import com.thinkerscave.common.usrm.service.RefreshTokenService;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.LockedException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Loads the user with roles and organizations in one statement, then their
+ * role's privilege matrix, and builds the principal, the response profile and
+ * the refresh token from that graph. A login costs four statements: user
+ * graph, privileges, organization type and the refresh token rotation (plus
+ * an insert on the user's first login).
+ *
+ * The checks mirror DaoAuthenticationProvider: an unknown user still costs a
+ * password hash (so response times do not reveal which users exist), and a
+ * locked account is refused before the password is checked.
+ */
+@Service
+@RequiredArgsConstructor
+public class LoginServiceImpl implements LoginService {
+
+	private static final String BAD_CREDENTIALS = "Bad credentials";
+
+	private final UserRepository userRepository;
+	private final RoleMenuPrivilegeMappingRepository roleMenuPrivilegeMappingRepository;
+	private final OrganizationRepository organizationRepository;
+	private final RefreshTokenService refreshTokenService;
+	private final PasswordEncoder passwordEncoder;
+
+	private volatile String unknownUserPassword;
+
+	@Override
+	@Transactional
+	public LoginResult login(String login, String rawPassword) {
+		User user = findUser(login);
+		if (user == null) {
+			passwordEncoder.matches(rawPassword, unknownUserPassword());
+			throw new BadCredentialsException(BAD_CREDENTIALS);
+		}
+
+		List<RoleMenuPrivilegeMapping> mappings = user.getRoles().isEmpty()
+				? List.of()
+				: roleMenuPrivilegeMappingRepository.findByRoleId(user.getRoles().iterator().next().getRoleId());
+		UserInfoUserDetails principal = new UserInfoUserDetails(user, mappings);
+
+		if (!principal.isAccountNonLocked()) {
+			throw new LockedException("User account is locked");
+		}
+		if (rawPassword == null || !passwordEncoder.matches(rawPassword, user.getPassword())) {
+			throw new BadCredentialsException(BAD_CREDENTIALS);
+		}
+
+		return new LoginResult(principal,
+				UserServiceImpl.toResponseDTO(user, UserServiceImpl.privilegeCodes(mappings),
+						UserServiceImpl.orgTypeOfCurrentTenant(organizationRepository)),
+				refreshTokenService.createRefreshToken(user));
+	}
+
+	/**
+	 * Prefers a username match, like UserUserInfoDetailsService.
+	 */
+	private User findUser(String login) {
+		List<User> users = userRepository.findLoginProfile(login);
+		return users.stream()
+				.filter(user -> login.equals(user.getUserName()))
+				.findFirst()
+				.orElse(users.isEmpty() ? null : users.get(0));
+	}
+
+	private String unknownUserPassword() {
+		String hash = unknownUserPassword;
+		if (hash == null) {
+			hash = passwordEncoder.encode("userNotFoundPassword");
+			unknownUserPassword = hash;
+		}
+		return hash;
+	}
+}
@@ -0,0 +1,79 @@
+package com.thinkerscave.common.usrm.service.impl;
+
+import com.thinkerscave.common.config.TenantContext;
+import com.thinkerscave.common.usrm.repository.RefreshTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deletes expired refresh tokens of every active tenant in batches of
+ * {@code security.refresh-token.purge-batch-size}, each in its own short
+ * transaction, so the purge never holds many row locks at once.
+ */
+@Component
+@Slf4j
+public class RefreshTokenPurgeJob {
+
+    private static final String PUBLIC_TENANT = "public";
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public RefreshTokenPurgeJob(RefreshTokenRepository refreshTokenRepository, JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${security.refresh-token.purge-batch-size:1000}") int batchSize) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${security.refresh-token.purge-interval-ms:3600000}",
+            initialDelayString = "${security.refresh-token.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        List<String> tenants = new ArrayList<>();
+        tenants.add(PUBLIC_TENANT);
+        tenants.addAll(jdbcTemplate.queryForList(
+                "SELECT tenant_id FROM public.tenant_config WHERE is_active = true", String.class));
+
+        long purged = 0;
+        for (String tenant : tenants) {
+            try {
+                purged += purgeTenant(tenant, Instant.now());
+            } catch (RuntimeException e) {
+                log.warn("Could not purge expired refresh tokens of tenant {}: {}", tenant, e.getMessage());
+            }
+        }
+        if (purged > 0) {
+            log.info("Purged {} expired refresh tokens across {} tenants", purged, tenants.size());
+        }
+    }
+
+    long purgeTenant(String tenant, Instant now) {
+        TenantContext.setTenant(tenant);
+        try {
+            long purged = 0;
+            int deleted;
+            do {
+                Integer batch = transactionTemplate.execute(
+                        status -> refreshTokenRepository.deleteExpiredBatch(now, batchSize));
+                deleted = batch != null ? batch : 0;
+                purged += deleted;
+            } while (deleted == batchSize);
+            return purged;
+        } finally {
+            TenantContext.clear();
+        }
+    }
+}
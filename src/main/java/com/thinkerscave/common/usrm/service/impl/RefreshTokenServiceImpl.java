@@ -1,94 +1,169 @@
 package com.thinkerscave.common.usrm.service.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.thinkerscave.common.config.TenantContext;
 import com.thinkerscave.common.usrm.domain.RefreshToken;
 import com.thinkerscave.common.usrm.domain.User;
 import com.thinkerscave.common.usrm.repository.RefreshTokenRepository;
 import com.thinkerscave.common.usrm.repository.UserRepository;
 import com.thinkerscave.common.usrm.service.RefreshTokenService;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.HexFormat;
 import java.util.Optional;
 import java.util.UUID;
 
+/**
+ * Refresh tokens are stored as SHA-256 hashes under a unique index, one per
+ * user. Issuing a token replaces the user's previous one with a single
+ * UPDATE ... RETURNING (an INSERT only on the user's first login); expired
+ * rows are removed by {@link RefreshTokenPurgeJob}.
+ *
+ * With {@code security.refresh-token.cache.enabled} the refresh endpoint is
+ * served from a short-lived in-memory cache of validated tokens. Logout and
+ * rotation evict it on this node; other nodes may accept a revoked token
+ * until their entry expires (security.refresh-token.cache.ttl-seconds).
+ */
 @Service
 @Transactional(readOnly = true)
-@RequiredArgsConstructor
-public class RefreshTokenServiceImpl implements RefreshTokenService {
+public class RefreshTokenServiceImpl implements RefreshTokenService, MeterBinder {
+
+	private static final String PUBLIC_TENANT = "public";
 
 	@Value("${refresh.token.expiration:86400000}")
 	private long refreshTokenDurationMs;
 
 	private final RefreshTokenRepository refreshTokenRepository;
 	private final UserRepository userRepository;
+	private final Cache<String, CachedOwner> validated;
+
+	public RefreshTokenServiceImpl(RefreshTokenRepository refreshTokenRepository, UserRepository userRepository,
+			@Value("${security.refresh-token.cache.enabled:false}") boolean cacheEnabled,
+			@Value("${security.refresh-token.cache.max-size:100000}") long cacheMaxSize,
+			@Value("${security.refresh-token.cache.ttl-seconds:30}") long cacheTtlSeconds) {
+		this.refreshTokenRepository = refreshTokenRepository;
+		this.userRepository = userRepository;
+		this.validated = cacheEnabled
+				? Caffeine.newBuilder()
+						.maximumSize(cacheMaxSize)
+						.expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+						.recordStats()
+						.build()
+				: null;
+	}
 
 	@Transactional
 	public RefreshToken createRefreshToken(String username) {
 		User user = userRepository.findByUserName(username)
 				.orElseThrow(() -> new RuntimeException("User not found with username: " + username));
+		return createRefreshToken(user);
+	}
 
-		// Check if a token already exists for this user
-		Optional<RefreshToken> existingTokenOpt = refreshTokenRepository.findByUser((user));
+	@Override
+	@Transactional
+	public RefreshToken createRefreshToken(User user) {
+		String token = UUID.randomUUID().toString();
+		String tokenHash = hash(token);
+		Instant expiryDate = Instant.now().plusMillis(refreshTokenDurationMs);
 
-		RefreshToken refreshToken;
-		if (existingTokenOpt.isPresent()) {
-			// If it exists, UPDATE the existing token
-			refreshToken = existingTokenOpt.get();
-			refreshToken.setToken(UUID.randomUUID().toString());
-			refreshToken.setExpiryDate(Instant.now().plusMillis(refreshTokenDurationMs)); // Update expiry
+		Optional<String> previousHash = refreshTokenRepository.rotate(user.getId(), tokenHash, expiryDate);
+		RefreshToken refreshToken = RefreshToken.builder()
+				.user(user)
+				.tokenHash(tokenHash)
+				.expiryDate(expiryDate)
+				.build();
+		if (previousHash.isPresent()) {
+			evictCached(previousHash.get());
 		} else {
-			// If it doesn't exist, CREATE a new one
-			refreshToken = RefreshToken.builder()
-					.user(user)
-					.token(UUID.randomUUID().toString())
-					.expiryDate(Instant.now().plusMillis(refreshTokenDurationMs))
-					.build();
+			// First login of this user
+			refreshToken = refreshTokenRepository.save(refreshToken);
 		}
-
-		// Save the (either updated or new) token
-		return refreshTokenRepository.save(refreshToken);
+		refreshToken.setToken(token);
+		return refreshToken;
 	}
 
-	/**
-	 * Find a refresh token by its token value.
-	 *
-	 * @param token the token value
-	 * @return an Optional containing the refresh token if found, or empty if not
-	 *         found
-	 */
-	public Optional<RefreshToken> findByToken(String token) {
-		return refreshTokenRepository.findByToken(token);
+	@Override
+	public String validateAndGetUsername(String token) {
+		String tokenHash = hash(token);
+		Instant now = Instant.now();
+		if (validated != null) {
+			CachedOwner cached = validated.getIfPresent(cacheKey(tokenHash));
+			if (cached != null && cached.expiryDate().isAfter(now)) {
+				return cached.userName();
+			}
+		}
+
+		RefreshTokenRepository.TokenOwner owner = refreshTokenRepository.findOwnerByTokenHash(tokenHash, now)
+				.orElseThrow(() -> new RuntimeException("Refresh token is not in database or has expired!"));
+		if (validated != null) {
+			validated.put(cacheKey(tokenHash), new CachedOwner(owner.getUserName(), owner.getExpiryDate()));
+		}
+		return owner.getUserName();
 	}
 
 	@Override
 	@Transactional
-	public User validateAndGetUser(String token) {
-		return findByToken(token)
-				.map(this::verifyExpiration)
-				.map(refreshToken -> {
-					User user = refreshToken.getUser();
-					// Trigger initialization of the proxy by accessing a property
-					user.getUserName();
-					return user;
-				})
-				.orElseThrow(() -> new RuntimeException("Refresh token is not in database!"));
+	public void deleteByToken(String refreshToken) {
+		String tokenHash = hash(refreshToken);
+		refreshTokenRepository.deleteByTokenHash(tokenHash);
+		evictCached(tokenHash);
 	}
 
-	public RefreshToken verifyExpiration(RefreshToken token) {
-		if (token.getExpiryDate().compareTo(Instant.now()) < 0) {
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		if (validated != null) {
+			CaffeineCacheMetrics.monitor(registry, validated, "refresh.tokens");
+		}
+	}
 
-			refreshTokenRepository.delete(token);
-			throw new RuntimeException(token.getToken() + "Refresh token was expired");
+	private void evictCached(String tokenHash) {
+		if (validated == null) {
+			return;
+		}
+		String key = cacheKey(tokenHash);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					validated.invalidate(key);
+				}
+			});
+		} else {
+			validated.invalidate(key);
 		}
-		return token;
 	}
 
-	@Override
-	public void deleteByToken(String refreshToken) {
-		refreshTokenRepository.findByToken(refreshToken).ifPresent(refreshTokenRepository::delete);
+	private static String cacheKey(String tokenHash) {
+		String tenant = TenantContext.getTenant();
+		return (tenant != null ? tenant : PUBLIC_TENANT) + '\u0000' + tokenHash;
+	}
+
+	/**
+	 * Hex encoded SHA-256 of a raw token, as stored in refresh_token.token_hash.
+	 */
+	static String hash(String token) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+	}
+
+	private record CachedOwner(String userName, Instant expiryDate) {
 	}
-}
\ No newline at end of file
+}
@@ -7,7 +7,10 @@ import com.thinkerscave.common.menum.repository.RoleMenuPrivilegeMappingReposito
 import com.thinkerscave.common.menum.domain.RoleMenuPrivilegeMapping;
 import com.thinkerscave.common.menum.domain.Role;
 import com.thinkerscave.common.menum.repository.RoleRepository;
+import com.thinkerscave.common.orgm.service.OrganizationMembershipIndex;
+import com.thinkerscave.common.security.PrincipalCache;
 import com.thinkerscave.common.security.UserInfoUserDetails;
+import com.thinkerscave.common.service.TenantLookupService;
 import com.thinkerscave.common.usrm.domain.User;
 import com.thinkerscave.common.usrm.dto.UserResponseDTO;
 import com.thinkerscave.common.usrm.dto.UserRequestDTO;
@@ -39,6 +42,9 @@ public class UserServiceImpl implements UserService {
     private final OrganizationRepository organizationRepository;
     private final EmailService emailService;
     private final RoleMenuPrivilegeMappingRepository roleMenuPrivilegeMappingRepository;
+    private final PrincipalCache principalCache;
+    private final OrganizationMembershipIndex membershipIndex;
+    private final TenantLookupService tenantLookupService;
 
     /**
      * Registers a new user with encrypted password using a DTO.
@@ -72,15 +78,17 @@ public class UserServiceImpl implements UserService {
                     return roleRepository.save(newRole);
                 });
             }).collect(Collectors.toList());
-            user.setRoles(attachedRoles);
+            user.setRoles(new java.util.LinkedHashSet<>(attachedRoles));
         }
 
         if (dto.getOrganizationIds() != null && !dto.getOrganizationIds().isEmpty()) {
             List<Organisation> orgs = organizationRepository.findAllById(dto.getOrganizationIds());
-            user.setOrganizations(orgs);
+            user.setOrganizations(new java.util.LinkedHashSet<>(orgs));
         }
 
         User savedUser = userRepository.save(user);
+        membershipIndex.evict(savedUser.getId());
+        mapLoginToCurrentTenant(savedUser);
         return mapToUserResponseDTO(savedUser);
     }
 
@@ -148,6 +156,7 @@ public class UserServiceImpl implements UserService {
     public void updatePassword(User user, String newPassword) {
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        principalCache.evictUser(user);
     }
 
     @Transactional
@@ -157,6 +166,7 @@ public class UserServiceImpl implements UserService {
         // 2. Clear first-time-login flag so the user is not redirected again
         user.setIsFirstTimeLogin(false);
         userRepository.save(user);
+        principalCache.evictUser(user);
         // 3. Delete the user's password reset token (one-time use)
         passwordResetTokenRepository.deleteByUser(user);
     }
@@ -176,6 +186,7 @@ public class UserServiceImpl implements UserService {
         user.setPassword(passwordEncoder.encode(newPassword));
         user.setIsFirstTimeLogin(false);
         userRepository.save(user);
+        principalCache.evictUser(user);
     }
 
     /**
@@ -185,6 +196,33 @@ public class UserServiceImpl implements UserService {
      * @return UserResponseDTO
      */
     private UserResponseDTO mapToUserResponseDTO(User user) {
+        List<String> privileges = List.of();
+        if (user.getRoles() != null && !user.getRoles().isEmpty()) {
+            Role role = user.getRoles().iterator().next();
+            privileges = privilegeCodes(roleMenuPrivilegeMappingRepository.findByRoleId(role.getRoleId()));
+        }
+        return toResponseDTO(user, privileges, getOrgTypeForCurrentTenant());
+    }
+
+    /**
+     * SUBMENUCODE_PRIVILEGE codes of a role's privilege matrix.
+     */
+    static List<String> privilegeCodes(List<RoleMenuPrivilegeMapping> mappings) {
+        List<String> privileges = new java.util.ArrayList<>();
+        for (RoleMenuPrivilegeMapping mapping : mappings) {
+            if (mapping.getSubMenu() != null && mapping.getPrivilege() != null) {
+                privileges.add(
+                        mapping.getSubMenu().getSubMenuCode() + "_" + mapping.getPrivilege().getPrivilegeName());
+            }
+        }
+        return privileges;
+    }
+
+    /**
+     * Builds the response DTO from a user whose roles and organizations are
+     * loaded.
+     */
+    static UserResponseDTO toResponseDTO(User user, List<String> privileges, String orgType) {
         List<com.thinkerscave.common.usrm.dto.InternalRoleDTO> roleDTOs = user.getRoles().stream()
                 .map(r -> com.thinkerscave.common.usrm.dto.InternalRoleDTO.builder()
                         .roleCode(r.getRoleCode())
@@ -193,18 +231,6 @@ public class UserServiceImpl implements UserService {
                         .build())
                 .collect(Collectors.toList());
 
-        List<String> privileges = new java.util.ArrayList<>();
-        if (user.getRoles() != null && !user.getRoles().isEmpty()) {
-            Role role = user.getRoles().iterator().next();
-            List<RoleMenuPrivilegeMapping> mappings = roleMenuPrivilegeMappingRepository.findByRoleId(role.getRoleId());
-            for (RoleMenuPrivilegeMapping mapping : mappings) {
-                if (mapping.getSubMenu() != null && mapping.getPrivilege() != null) {
-                    privileges.add(
-                            mapping.getSubMenu().getSubMenuCode() + "_" + mapping.getPrivilege().getPrivilegeName());
-                }
-            }
-        }
-
         List<UserOrgDTO> orgDTOs = user.getOrganizations().stream()
                 .map(org -> new UserOrgDTO(org.getOrgId(), org.getOrgName(), org.getOrgCode()))
                 .collect(Collectors.toList());
@@ -226,7 +252,7 @@ public class UserServiceImpl implements UserService {
                 .firstTimeLogin(user.getIsFirstTimeLogin())
                 .roles(roleDTOs)
                 .privileges(privileges)
-                .orgType(getOrgTypeForCurrentTenant())
+                .orgType(orgType)
                 .organizations(orgDTOs)
                 .build();
     }
@@ -234,53 +260,7 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional(readOnly = true)
     public Optional<UserResponseDTO> findByUsername(String username) {
-        return userRepository.findByUserName(username)
-                .map(user -> {
-                    List<UserOrgDTO> orgDTOs = user.getOrganizations().stream()
-                            .map(org -> new UserOrgDTO(org.getOrgId(), org.getOrgName(), org.getOrgCode()))
-                            .collect(Collectors.toList());
-
-                    List<String> privileges = new java.util.ArrayList<>();
-                    if (user.getRoles() != null && !user.getRoles().isEmpty()) {
-                        Role role = user.getRoles().iterator().next();
-                        List<RoleMenuPrivilegeMapping> mappings = roleMenuPrivilegeMappingRepository
-                                .findByRoleId(role.getRoleId());
-                        for (RoleMenuPrivilegeMapping mapping : mappings) {
-                            if (mapping.getSubMenu() != null && mapping.getPrivilege() != null) {
-                                privileges.add(mapping.getSubMenu().getSubMenuCode() + "_"
-                                        + mapping.getPrivilege().getPrivilegeName());
-                            }
-                        }
-                    }
-
-                    return UserResponseDTO.builder()
-                            .id(user.getId())
-                            .userCode(user.getUserCode())
-                            .userName(user.getUserName())
-                            .email(user.getEmail())
-                            .firstName(user.getFirstName())
-                            .middleName(user.getMiddleName())
-                            .lastName(user.getLastName())
-                            .address(user.getAddress())
-                            .city(user.getCity())
-                            .state(user.getState())
-                            .mobileNumber(user.getMobileNumber())
-                            .isBlocked(user.getIsBlocked())
-                            .maxDeviceAllow(user.getMaxDeviceAllow())
-                            .firstTimeLogin(user.getIsFirstTimeLogin())
-                            .roles(user.getRoles()
-                                    .stream()
-                                    .map(r -> com.thinkerscave.common.usrm.dto.InternalRoleDTO.builder()
-                                            .roleCode(r.getRoleCode())
-                                            .roleName(r.getRoleName())
-                                            .description(r.getDescription())
-                                            .build())
-                                    .toList())
-                            .privileges(privileges)
-                            .orgType(getOrgTypeForCurrentTenant())
-                            .organizations(orgDTOs)
-                            .build();
-                });
+        return userRepository.findByUserName(username).map(this::mapToUserResponseDTO);
     }
 
     public Long getCurrentUserRoleId(Authentication authentication) {
@@ -317,9 +297,10 @@ public class UserServiceImpl implements UserService {
             user.setUserName(userName);
             user.setUserCode(userCode);
             user.setPassword(encodedPassword);
-            user.setRoles(List.of(role));
+            user.setRoles(java.util.Set.of(role));
 
             User savedUser = userRepository.save(user);
+            mapLoginToCurrentTenant(savedUser);
 
             // Send welcome email with temporary credentials (async — won't block or
             // rollback)
@@ -384,7 +365,24 @@ public class UserServiceImpl implements UserService {
         return result.toString();
     }
 
+    /**
+     * Points the user's email, username and mobile number at the current
+     * tenant, so login tenant discovery finds them. Users of the public schema
+     * are found without a mapping.
+     */
+    private void mapLoginToCurrentTenant(User user) {
+        String tenantId = TenantContext.getTenant();
+        if (tenantId != null && !"public".equals(tenantId)) {
+            tenantLookupService.upsertUserTenantMapping(user.getEmail(), user.getUserName(),
+                    user.getMobileNumber(), tenantId);
+        }
+    }
+
     private String getOrgTypeForCurrentTenant() {
+        return orgTypeOfCurrentTenant(organizationRepository);
+    }
+
+    static String orgTypeOfCurrentTenant(OrganizationRepository organizationRepository) {
         String tenantId = TenantContext.getTenant();
         if (tenantId != null && !"public".equals(tenantId)) {
             return organizationRepository.findByTenantSchema(tenantId)
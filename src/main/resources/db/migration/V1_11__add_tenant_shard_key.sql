@@ -0,0 +1,15 @@
+-- ============================================================================
+-- Migration: V1_11__add_tenant_shard_key.sql
+--
+-- Purpose: Records which PostgreSQL database ("shard") each tenant schema
+--          lives on. Existing tenants stay on the primary database
+--          ('default'). Additional shards are configured through
+--          tenant.sharding.datasources.<key>.* and must have the template
+--          tables in their public schema.
+-- ============================================================================
+
+ALTER TABLE public.tenant_config
+    ADD COLUMN IF NOT EXISTS shard_key VARCHAR(50) NOT NULL DEFAULT 'default';
+
+CREATE INDEX IF NOT EXISTS idx_tenant_config_shard
+    ON public.tenant_config (shard_key);
@@ -0,0 +1,21 @@
+-- ============================================================================
+-- Migration: V1_12__add_tenant_tenancy_mode.sql
+--
+-- Purpose: Records how each tenant's data is stored.
+--          SCHEMA - the tenant has its own schema (all existing tenants).
+--          POOLED - the tenant shares the tenant_pool schema with other small
+--                   tenants, isolated by row-level security on tenant_key.
+--          The tenant_pool schema itself is created by the application when
+--          the first pooled tenant is onboarded on a shard.
+-- ============================================================================
+
+ALTER TABLE public.tenant_config
+    ADD COLUMN IF NOT EXISTS tenancy_mode VARCHAR(20) NOT NULL DEFAULT 'SCHEMA';
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'tenant_config_tenancy_mode_check') THEN
+        ALTER TABLE public.tenant_config
+            ADD CONSTRAINT tenant_config_tenancy_mode_check CHECK (tenancy_mode IN ('SCHEMA', 'POOLED'));
+    END IF;
+END $$;
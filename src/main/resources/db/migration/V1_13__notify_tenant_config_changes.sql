@@ -0,0 +1,41 @@
+-- ============================================================================
+-- Migration: V1_13__notify_tenant_config_changes.sql
+--
+-- Purpose: Broadcasts changes to public.tenant_config on the
+--          'tenant_config_changed' channel so every application node can evict
+--          its tenant caches (subdomain mappings, shards, tenancy modes).
+--          The payload is JSON: {"tenant_ids": [old, new], "subdomains": [old, new]}.
+--          The application creates the same trigger on startup.
+-- ============================================================================
+
+CREATE OR REPLACE FUNCTION public.notify_tenant_config_change() RETURNS trigger AS $$
+DECLARE
+    old_tenant_id TEXT;
+    new_tenant_id TEXT;
+    old_subdomain TEXT;
+    new_subdomain TEXT;
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        old_tenant_id := OLD.tenant_id;
+        old_subdomain := OLD.subdomain;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        new_tenant_id := NEW.tenant_id;
+        new_subdomain := NEW.subdomain;
+    END IF;
+    PERFORM pg_notify('tenant_config_changed', json_build_object(
+            'tenant_ids', json_build_array(old_tenant_id, new_tenant_id),
+            'subdomains', json_build_array(old_subdomain, new_subdomain))::text);
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_trigger WHERE tgname = 'tenant_config_changed') THEN
+        CREATE TRIGGER tenant_config_changed
+            AFTER INSERT OR DELETE OR UPDATE OF tenant_id, subdomain, is_active, shard_key, tenancy_mode
+            ON public.tenant_config
+            FOR EACH ROW EXECUTE FUNCTION public.notify_tenant_config_change();
+    END IF;
+END $$;
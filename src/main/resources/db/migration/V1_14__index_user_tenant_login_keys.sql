@@ -0,0 +1,70 @@
+-- ============================================================================
+-- Login tenant discovery: normalised lookup keys and mobile number login
+-- ============================================================================
+
+-- TenantLookupService matches LOWER(email) / LOWER(username) against an
+-- already lower-cased identifier; these partial indexes serve exactly that.
+CREATE INDEX IF NOT EXISTS idx_user_tenant_email_lower
+    ON public.user_tenant_mapping (LOWER(email)) WHERE is_active = true;
+CREATE INDEX IF NOT EXISTS idx_user_tenant_username_lower
+    ON public.user_tenant_mapping (LOWER(username)) WHERE is_active = true;
+
+-- Users may also log in with their mobile number. It is not unique: a number
+-- shared by several users cannot be used to log in.
+ALTER TABLE public.user_tenant_mapping ADD COLUMN IF NOT EXISTS mobile_number BIGINT;
+
+CREATE INDEX IF NOT EXISTS idx_user_tenant_mobile
+    ON public.user_tenant_mapping (mobile_number) WHERE is_active = true AND mobile_number IS NOT NULL;
+
+COMMENT ON COLUMN public.user_tenant_mapping.mobile_number IS 'User mobile number, as stored in the tenant users table';
+
+-- Backfill mobile numbers from every tenant schema
+DO $$
+DECLARE
+    schema_rec RECORD;
+BEGIN
+    FOR schema_rec IN
+        SELECT DISTINCT table_schema
+        FROM information_schema.columns
+        WHERE table_name = 'users'
+          AND column_name = 'mobile_number'
+          AND table_schema NOT IN ('public', 'tenant_pool', 'information_schema', 'pg_catalog', 'pg_toast')
+          AND table_schema NOT LIKE 'pg_%'
+    LOOP
+        EXECUTE format(
+            'UPDATE public.user_tenant_mapping m
+                SET mobile_number = u.mobile_number
+               FROM %I.users u
+              WHERE m.email = u.email
+                AND m.tenant_id = %L
+                AND m.mobile_number IS NULL',
+            schema_rec.table_schema, schema_rec.table_schema);
+    END LOOP;
+
+    -- Pooled tenants share tenant_pool.users, keyed by tenant_key
+    IF EXISTS (SELECT 1 FROM information_schema.tables
+               WHERE table_schema = 'tenant_pool' AND table_name = 'users') THEN
+        UPDATE public.user_tenant_mapping m
+           SET mobile_number = u.mobile_number
+          FROM tenant_pool.users u
+         WHERE m.email = u.email
+           AND m.tenant_id = u.tenant_key
+           AND m.mobile_number IS NULL;
+    END IF;
+END $$;
+
+-- Keep the trigger function in step with the new column
+CREATE OR REPLACE FUNCTION public.sync_user_tenant_mapping()
+RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO public.user_tenant_mapping (email, username, mobile_number, tenant_id)
+    VALUES (NEW.email, NEW.user_name, NEW.mobile_number, current_schema())
+    ON CONFLICT (email) DO UPDATE
+    SET username = EXCLUDED.username,
+        mobile_number = EXCLUDED.mobile_number,
+        tenant_id = EXCLUDED.tenant_id,
+        updated_at = CURRENT_TIMESTAMP;
+
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
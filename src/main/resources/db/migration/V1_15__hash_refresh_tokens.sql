@@ -0,0 +1,47 @@
+-- ============================================================================
+-- Refresh tokens: store SHA-256 hashes instead of raw tokens
+-- ============================================================================
+
+-- RefreshTokenServiceImpl looks tokens up by the hex encoded SHA-256 of the
+-- raw token. Existing raw tokens are hashed in place, so clients holding them
+-- stay logged in. The expiry index serves RefreshTokenPurgeJob.
+DO $$
+DECLARE
+    schema_rec RECORD;
+BEGIN
+    FOR schema_rec IN
+        SELECT table_schema
+        FROM information_schema.columns
+        WHERE table_name = 'refresh_token'
+          AND column_name = 'token'
+          AND table_schema NOT IN ('information_schema', 'pg_catalog', 'pg_toast')
+          AND table_schema NOT LIKE 'pg_%'
+    LOOP
+        RAISE NOTICE 'Hashing refresh tokens in schema: %', schema_rec.table_schema;
+
+        EXECUTE format('ALTER TABLE %I.refresh_token RENAME COLUMN token TO token_hash',
+                       schema_rec.table_schema);
+        EXECUTE format(
+            'UPDATE %I.refresh_token SET token_hash = encode(sha256(convert_to(token_hash, ''UTF8'')), ''hex'')',
+            schema_rec.table_schema);
+        EXECUTE format('ALTER TABLE %I.refresh_token ALTER COLUMN token_hash TYPE VARCHAR(64)',
+                       schema_rec.table_schema);
+    END LOOP;
+
+    FOR schema_rec IN
+        SELECT table_schema
+        FROM information_schema.tables
+        WHERE table_name = 'refresh_token'
+          AND table_schema NOT IN ('information_schema', 'pg_catalog', 'pg_toast')
+          AND table_schema NOT LIKE 'pg_%'
+    LOOP
+        IF schema_rec.table_schema = 'tenant_pool' THEN
+            -- Pooled indexes lead with tenant_key, like PooledTenancyService creates them
+            CREATE INDEX IF NOT EXISTS idx_refresh_token_expiry_date
+                ON tenant_pool.refresh_token (tenant_key, expiry_date);
+        ELSE
+            EXECUTE format('CREATE INDEX IF NOT EXISTS idx_refresh_token_expiry_date ON %I.refresh_token (expiry_date)',
+                           schema_rec.table_schema);
+        END IF;
+    END LOOP;
+END $$;
@@ -0,0 +1,129 @@
+-- ============================================================================
+-- Audit logs: monthly range partitions
+-- Migration: V1_16__partition_audit_logs.sql
+--
+-- organization_audit_log (every schema that has one, including tenant_pool)
+-- and public.tenant_audit_log become tables partitioned by month on their
+-- timestamp column. Existing rows are copied into partitions covering their
+-- months; partitions for the next three months are created up front.
+-- From then on AuditPartitionManager creates future partitions and drops
+-- those older than audit.partitions.retention-months.
+--
+-- The primary keys become (id, <timestamp>) because a partitioned table's
+-- unique constraints must contain the partition key. Id sequences are kept
+-- (and re-owned by the new table), so ids continue where they stopped.
+-- ============================================================================
+
+CREATE OR REPLACE FUNCTION pg_temp.partition_by_month(p_schema TEXT, p_table TEXT, p_column TEXT)
+RETURNS BOOLEAN AS $$
+DECLARE
+    legacy_table TEXT := p_table || '_unpartitioned';
+    id_sequence TEXT;
+    first_month DATE;
+    last_month DATE;
+    partition_start DATE;
+BEGIN
+    IF EXISTS (SELECT 1
+               FROM pg_partitioned_table pt
+               JOIN pg_class c ON c.oid = pt.partrelid
+               JOIN pg_namespace n ON n.oid = c.relnamespace
+               WHERE n.nspname = p_schema AND c.relname = p_table) THEN
+        RETURN FALSE;
+    END IF;
+
+    RAISE NOTICE 'Partitioning %.% by month', p_schema, p_table;
+
+    EXECUTE format('ALTER TABLE %I.%I RENAME TO %I', p_schema, p_table, legacy_table);
+    EXECUTE format('UPDATE %I.%I SET %I = CURRENT_TIMESTAMP WHERE %I IS NULL',
+                   p_schema, legacy_table, p_column, p_column);
+    EXECUTE format('CREATE TABLE %I.%I (LIKE %I.%I INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING COMMENTS) '
+                   || 'PARTITION BY RANGE (%I)', p_schema, p_table, p_schema, legacy_table, p_column);
+    EXECUTE format('ALTER TABLE %I.%I ALTER COLUMN %I SET NOT NULL', p_schema, p_table, p_column);
+
+    EXECUTE format('SELECT date_trunc(''month'', MIN(%I))::date, date_trunc(''month'', MAX(%I))::date FROM %I.%I',
+                   p_column, p_column, p_schema, legacy_table) INTO first_month, last_month;
+    first_month := LEAST(COALESCE(first_month, CURRENT_DATE), date_trunc('month', CURRENT_DATE)::date);
+    last_month := GREATEST(COALESCE(last_month, CURRENT_DATE),
+                           (date_trunc('month', CURRENT_DATE) + INTERVAL '3 months')::date);
+
+    partition_start := first_month;
+    WHILE partition_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE %I.%I PARTITION OF %I.%I FOR VALUES FROM (%L) TO (%L)',
+                       p_schema, p_table || '_p' || to_char(partition_start, 'YYYYMM'), p_schema, p_table,
+                       partition_start, (partition_start + INTERVAL '1 month')::date);
+        partition_start := (partition_start + INTERVAL '1 month')::date;
+    END LOOP;
+
+    EXECUTE format('INSERT INTO %I.%I SELECT * FROM %I.%I', p_schema, p_table, p_schema, legacy_table);
+
+    -- Tenant copies share public's sequence; it must outlive the legacy table
+    id_sequence := pg_get_serial_sequence(format('%I.%I', p_schema, legacy_table), 'id');
+    IF id_sequence IS NOT NULL THEN
+        EXECUTE format('ALTER SEQUENCE %s OWNED BY %I.%I.id', id_sequence, p_schema, p_table);
+    END IF;
+
+    EXECUTE format('DROP TABLE %I.%I', p_schema, legacy_table);
+    EXECUTE format('ALTER TABLE %I.%I ADD PRIMARY KEY (id, %I)', p_schema, p_table, p_column);
+    RETURN TRUE;
+END
+$$ LANGUAGE plpgsql;
+
+-- ----------------------------------------------------------------------------
+-- public.tenant_audit_log
+-- ----------------------------------------------------------------------------
+DO $$
+BEGIN
+    IF to_regclass('public.tenant_audit_log') IS NOT NULL THEN
+        PERFORM pg_temp.partition_by_month('public', 'tenant_audit_log', 'performed_at');
+    END IF;
+END $$;
+
+CREATE INDEX IF NOT EXISTS idx_audit_performed_brin
+    ON public.tenant_audit_log USING brin (performed_at);
+CREATE INDEX IF NOT EXISTS idx_audit_tenant_performed
+    ON public.tenant_audit_log (tenant_id, performed_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_action_performed
+    ON public.tenant_audit_log (action, performed_at DESC, id DESC);
+
+-- ----------------------------------------------------------------------------
+-- organization_audit_log in every schema
+-- ----------------------------------------------------------------------------
+-- The keyset search orders by (created_at DESC, id DESC); each filter it
+-- offers has a composite index ending in that order. The pooled copy leads
+-- every index with tenant_key, like PooledTenancyService creates them, and
+-- gets its row-level security policy back.
+DO $$
+DECLARE
+    schema_rec RECORD;
+    prefix TEXT;
+BEGIN
+    FOR schema_rec IN
+        SELECT table_schema
+        FROM information_schema.tables
+        WHERE table_name = 'organization_audit_log'
+          AND table_type = 'BASE TABLE'
+          AND table_schema NOT IN ('information_schema', 'pg_catalog', 'pg_toast')
+          AND table_schema NOT LIKE 'pg_%'
+    LOOP
+        PERFORM pg_temp.partition_by_month(schema_rec.table_schema, 'organization_audit_log', 'created_at');
+
+        prefix := CASE WHEN schema_rec.table_schema = 'tenant_pool' THEN 'tenant_key, ' ELSE '' END;
+        EXECUTE format('CREATE INDEX IF NOT EXISTS idx_audit_log_created ON %I.organization_audit_log (%screated_at DESC, id DESC)',
+                       schema_rec.table_schema, prefix);
+        EXECUTE format('CREATE INDEX IF NOT EXISTS idx_audit_log_org_created ON %I.organization_audit_log (%sorganization_id, created_at DESC, id DESC)',
+                       schema_rec.table_schema, prefix);
+        EXECUTE format('CREATE INDEX IF NOT EXISTS idx_audit_log_action_created ON %I.organization_audit_log (%saction, created_at DESC, id DESC)',
+                       schema_rec.table_schema, prefix);
+        EXECUTE format('CREATE INDEX IF NOT EXISTS idx_audit_log_user_created ON %I.organization_audit_log (%sperformed_by, created_at DESC, id DESC)',
+                       schema_rec.table_schema, prefix);
+
+        IF schema_rec.table_schema = 'tenant_pool' THEN
+            ALTER TABLE tenant_pool.organization_audit_log ENABLE ROW LEVEL SECURITY;
+            ALTER TABLE tenant_pool.organization_audit_log FORCE ROW LEVEL SECURITY;
+            DROP POLICY IF EXISTS tenant_isolation ON tenant_pool.organization_audit_log;
+            CREATE POLICY tenant_isolation ON tenant_pool.organization_audit_log
+                USING (tenant_key = current_setting('app.tenant_id', true))
+                WITH CHECK (tenant_key = current_setting('app.tenant_id', true));
+        END IF;
+    END LOOP;
+END $$;
@@ -0,0 +1,133 @@
+-- ============================================================================
+-- Entity ids: pooled sequences for JDBC batching
+-- Migration: V1_17__pooled_entity_id_sequences.sql
+--
+-- The JPA entities now draw their ids from sequences through Hibernate's
+-- pooled optimizer (@SequenceGenerator allocationSize = 50): one nextval
+-- reserves a block of 50 ids, so inserts no longer have to run one at a
+-- time to read back a generated key and can be sent as JDBC batches.
+--
+-- For every entity table, in every schema that has it (public, tenant
+-- schemas, tenant_pool), the id column becomes an identity column whose
+-- sequence is named <table>_<column>_seq, increments by 50 and continues a
+-- full block past the highest existing id. Identity columns are altered in
+-- place; BIGSERIAL columns (organization_users, student_document), whose
+-- tenant copies used to share the public sequence, get an identity sequence
+-- of their own in each schema.
+--
+-- Schemas created later copy public with CREATE TABLE ... (LIKE public.x
+-- INCLUDING ALL), which only carries an identity over if this migration has
+-- already converted public. On a fresh install public comes from ddl-auto
+-- instead (plain bigint ids, standalone sequences in public), so
+-- SchemaInitializer.addIdSequence gives every copied table an identity
+-- sequence of its own either way.
+--
+-- Inserts without an id (seed scripts, SchemaInitializer) keep working; each
+-- of them consumes one block, which costs ids but never collides.
+--
+-- allocationSize in the entity mappings and the increment below must match;
+-- Hibernate refuses to start on a mismatch.
+--
+-- application_admission is left out: its id is a VARCHAR.
+-- ============================================================================
+
+CREATE OR REPLACE FUNCTION pg_temp.pool_id_sequence(p_table TEXT, p_column TEXT)
+RETURNS VOID AS $$
+DECLARE
+    block_size CONSTANT INTEGER := 50;
+    sequence_name TEXT := p_table || '_' || p_column || '_seq';
+    target RECORD;
+    qualified_table TEXT;
+    current_sequence TEXT;
+    next_value BIGINT;
+BEGIN
+    -- public goes last: tenant copies of BIGSERIAL columns still default to
+    -- the public sequence until their own default has been dropped
+    FOR target IN
+        SELECT c.table_schema, c.is_identity
+        FROM information_schema.columns c
+        JOIN information_schema.tables t
+          ON t.table_schema = c.table_schema AND t.table_name = c.table_name
+        WHERE c.table_name = p_table AND c.column_name = p_column
+          AND t.table_type = 'BASE TABLE'
+        ORDER BY c.table_schema = 'public', c.table_schema
+    LOOP
+        qualified_table := format('%I.%I', target.table_schema, p_table);
+        EXECUTE format('SELECT COALESCE(MAX(%I), 0) + %s FROM %s', p_column, block_size, qualified_table)
+            INTO next_value;
+
+        IF target.is_identity = 'YES' THEN
+            current_sequence := pg_get_serial_sequence(qualified_table, p_column);
+            IF current_sequence <> format('%I.%I', target.table_schema, sequence_name) THEN
+                EXECUTE format('ALTER SEQUENCE %s RENAME TO %I', current_sequence, sequence_name);
+            END IF;
+            EXECUTE format('ALTER TABLE %s ALTER COLUMN %I SET INCREMENT BY %s',
+                           qualified_table, p_column, block_size);
+        ELSE
+            EXECUTE format('ALTER TABLE %s ALTER COLUMN %I DROP DEFAULT', qualified_table, p_column);
+            EXECUTE format('DROP SEQUENCE IF EXISTS %I.%I', target.table_schema, sequence_name);
+            EXECUTE format('ALTER TABLE %s ALTER COLUMN %I ADD GENERATED BY DEFAULT AS IDENTITY '
+                           || '(SEQUENCE NAME %I.%I INCREMENT BY %s)',
+                           qualified_table, p_column, target.table_schema, sequence_name, block_size);
+        END IF;
+
+        -- The pooled optimizer reads a value as the top of its block
+        PERFORM setval(format('%I.%I', target.table_schema, sequence_name)::regclass, next_value, false);
+        RAISE NOTICE 'Pooled id sequence %.% starts at %', target.table_schema, sequence_name, next_value;
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT pg_temp.pool_id_sequence(t.table_name, t.column_name)
+FROM (VALUES
+    -- admission
+    ('admission_form_field', 'id'),
+    ('admission_form_template', 'id'),
+    ('follow_up', 'id'),
+    ('inquiry', 'inquiry_id'),
+    -- attendance, leave, payroll
+    ('attendance', 'id'),
+    ('leave_requests', 'id'),
+    ('staff_payroll', 'id'),
+    -- course
+    ('academic_containers', 'container_id'),
+    ('academic_years', 'academic_year_id'),
+    ('chapters', 'chapter_id'),
+    ('class_subject_teacher', 'mapping_id'),
+    ('course_subject_mapping', 'mapping_id'),
+    ('courses', 'course_id'),
+    ('semesters', 'semester_id'),
+    ('subject_container_mapping', 'mapping_id'),
+    ('subjects', 'subject_id'),
+    ('syllabus', 'syllabus_id'),
+    ('syllabus_access', 'access_id'),
+    ('syllabus_progress', 'progress_id'),
+    ('topics', 'topic_id'),
+    -- menus, roles, privileges
+    ('menu_master', 'menu_id'),
+    ('privilege_master', 'privilege_id'),
+    ('role_master', 'role_id'),
+    ('role_submenu_privilege_mapping', 'mapping_id'),
+    ('sub_menu_master', 'sub_menu_id'),
+    ('submenu_privilege_mapping', 'mapping_id'),
+    -- organizations
+    ('organisation', 'org_id'),
+    ('organization_users', 'id'),
+    ('owner_details', 'owner_id'),
+    -- staff
+    ('branch', 'branch_id'),
+    ('department', 'department_id'),
+    ('staff', 'staff_id'),
+    -- students
+    ('address', 'id'),
+    ('class', 'class_id'),
+    ('guardian', 'guardian_id'),
+    ('section', 'section_id'),
+    ('student', 'student_id'),
+    ('student_course_enrollment', 'enrollment_id'),
+    ('student_document', 'document_id'),
+    -- users
+    ('password_reset_token', 'id'),
+    ('refresh_token', 'id'),
+    ('users', 'id')
+) AS t(table_name, column_name);
@@ -0,0 +1,40 @@
+-- ============================================================================
+-- Migration: V1_18__notify_user_tenant_mapping_changes.sql
+--
+-- Purpose: Broadcasts changes to public.user_tenant_mapping on the
+--          'user_tenant_mapping_changed' channel so every application node can
+--          evict the logins it cached for login tenant discovery.
+--          The mapping is written by the application (TenantLookupService
+--          when users are created or updated, SchemaInitializer for tenant
+--          admins) and by hand; notifying from the table itself covers all
+--          of them.
+--          The payload is JSON: {"emails": [old, new]}.
+--          The application creates the same trigger on startup.
+-- ============================================================================
+
+CREATE OR REPLACE FUNCTION public.notify_user_tenant_mapping_change() RETURNS trigger AS $$
+DECLARE
+    old_email TEXT;
+    new_email TEXT;
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        old_email := OLD.email;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        new_email := NEW.email;
+    END IF;
+    PERFORM pg_notify('user_tenant_mapping_changed', json_build_object(
+            'emails', json_build_array(old_email, new_email))::text);
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_trigger WHERE tgname = 'user_tenant_mapping_changed') THEN
+        CREATE TRIGGER user_tenant_mapping_changed
+            AFTER INSERT OR DELETE OR UPDATE OF email, username, mobile_number, tenant_id, is_active
+            ON public.user_tenant_mapping
+            FOR EACH ROW EXECUTE FUNCTION public.notify_user_tenant_mapping_change();
+    END IF;
+END $$;
@@ -0,0 +1,23 @@
+-- ============================================================================
+-- Migration: V1_19__create_login_attempts.sql
+--
+-- Purpose: Failed logins and locks per (tenant, username) key for the shared
+--          login attempt store (security.login-attempts.store=shared), so
+--          every node counts the same failures.
+--          failures holds the times (epoch ms) of the most recent failures
+--          within the attempt window; locked_until is 0 when never locked.
+--          UNLOGGED: the data is short-lived and losing it on a crash only
+--          resets the counters, while the lock itself is also kept in users.
+-- ============================================================================
+
+CREATE UNLOGGED TABLE IF NOT EXISTS public.login_attempts (
+    attempt_key VARCHAR(600) PRIMARY KEY,
+    failures BIGINT[] NOT NULL DEFAULT '{}',
+    locked_until BIGINT NOT NULL DEFAULT 0,
+    updated_at BIGINT NOT NULL
+);
+
+-- Serves the periodic purge of expired entries
+CREATE INDEX IF NOT EXISTS idx_login_attempts_updated ON public.login_attempts (updated_at);
+
+COMMENT ON TABLE public.login_attempts IS 'Recent failed logins and locks per tenant and username, shared by all nodes';
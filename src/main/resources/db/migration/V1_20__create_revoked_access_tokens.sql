@@ -0,0 +1,20 @@
+-- ============================================================================
+-- Migration: V1_20__create_revoked_access_tokens.sql
+--
+-- Purpose: Access tokens revoked before they expire (e.g. on logout), by jti,
+--          read by every node's AccessTokenRevocationRegistry.
+--          expires_at and revoked_at are epoch ms; rows are deleted once the
+--          token has expired.
+-- ============================================================================
+
+CREATE TABLE IF NOT EXISTS public.revoked_access_tokens (
+    jti VARCHAR(64) PRIMARY KEY,
+    expires_at BIGINT NOT NULL,
+    revoked_at BIGINT NOT NULL
+);
+
+-- Serves the incremental sync of revocations made on other nodes
+CREATE INDEX IF NOT EXISTS idx_revoked_access_tokens_revoked_at
+    ON public.revoked_access_tokens (revoked_at);
+
+COMMENT ON TABLE public.revoked_access_tokens IS 'Access tokens revoked before their expiry, shared by all nodes';
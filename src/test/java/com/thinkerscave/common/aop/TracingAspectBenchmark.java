@@ -0,0 +1,79 @@
+package com.thinkerscave.common.aop;
+
+import com.thinkerscave.common.aop.service.EchoService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call overhead of {@link TracingAspect}: a plain call, a call through a
+ * Spring AOP proxy without advice, and a traced call at several sample
+ * rates. The traced cost minus the bare proxy cost is the aspect's overhead.
+ *
+ * Not part of the test run. Start it with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.thinkerscave.common.aop.TracingAspectBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TracingAspectBenchmark {
+
+    @Param({ "0", "0.01" })
+    public double sampleRate;
+
+    private EchoService direct;
+    private EchoService proxied;
+    private EchoService traced;
+
+    @Setup
+    public void setUp() {
+        direct = new EchoService();
+
+        AspectJProxyFactory plain = new AspectJProxyFactory(new EchoService());
+        plain.setProxyTargetClass(true);
+        proxied = plain.getProxy();
+
+        AspectJProxyFactory tracing = new AspectJProxyFactory(new EchoService());
+        tracing.setProxyTargetClass(true);
+        tracing.addAspect(new TracingAspect(new SimpleMeterRegistry(), sampleRate, 500, true));
+        traced = tracing.getProxy();
+    }
+
+    @Benchmark
+    public String direct() {
+        return direct.echo("value");
+    }
+
+    @Benchmark
+    public String proxied() {
+        return proxied.echo("value");
+    }
+
+    @Benchmark
+    public String traced() {
+        return traced.echo("value");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TracingAspectBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,68 @@
+package com.thinkerscave.common.aop;
+
+import com.thinkerscave.common.aop.service.EchoService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TracingAspectTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void calls_AreTimedPerMethodAndOutcome() {
+        EchoService service = proxy(new TracingAspect(meterRegistry, 0, 500, false));
+
+        service.echo("a");
+        service.echo("b");
+        assertThrows(IllegalStateException.class, () -> service.fail("boom"));
+
+        assertEquals(2, meterRegistry.get("traced.method").tag("method", "echo").tag("exception", "none")
+                .timer().count());
+        assertEquals(1, meterRegistry.get("traced.method").tag("method", "fail")
+                .tag("exception", "IllegalStateException").timer().count());
+    }
+
+    @Test
+    void sampledCalls_NeverRenderArbitraryObjects() {
+        EchoService service = proxy(new TracingAspect(meterRegistry, 1.0, 500, false));
+
+        Object entity = new Object() {
+            @Override
+            public String toString() {
+                throw new AssertionError("toString() must not be called");
+            }
+        };
+
+        assertSame(entity, service.pass(entity));
+    }
+
+    @Test
+    void summarize_DescribesScalarsAndSizesOnly() {
+        assertEquals("[String(length=5), 42, null]", TracingAspect.summarize(new Object[] { "priya", 42, null }));
+        assertEquals("ListN(size=3)", TracingAspect.summarize(List.of(1, 2, 3)));
+        assertEquals("ResponseEntity(200, String(length=2))", TracingAspect.summarize(ResponseEntity.ok("ok")));
+        assertEquals("StringBuilder(length=500)", TracingAspect.summarize(new StringBuilder("x".repeat(500))));
+    }
+
+    @Test
+    void loginArguments_NeverCaptureThePassword() {
+        // What a sampled or slow LoginService.login(login, rawPassword) call logs as args
+        String summary = TracingAspect.summarize(new Object[] { "priya@sj.edu", "Tr0ub4dor&3" });
+
+        assertEquals("[String(length=12), String(length=11)]", summary);
+        assertFalse(summary.contains("Tr0ub4dor"));
+    }
+
+    private static EchoService proxy(TracingAspect aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new EchoService());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+}
@@ -0,0 +1,20 @@
+package com.thinkerscave.common.aop.service;
+
+/**
+ * Minimal service matched by TracingAspect's service pointcut, used by its
+ * test and benchmark.
+ */
+public class EchoService {
+
+    public String echo(String value) {
+        return value;
+    }
+
+    public Object pass(Object value) {
+        return value;
+    }
+
+    public String fail(String message) {
+        throw new IllegalStateException(message);
+    }
+}
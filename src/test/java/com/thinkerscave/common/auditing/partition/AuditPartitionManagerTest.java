@@ -0,0 +1,96 @@
+package com.thinkerscave.common.auditing.partition;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.*;
+
+class AuditPartitionManagerTest {
+
+    private static final YearMonth OCTOBER = YearMonth.of(2026, 10);
+
+    @Test
+    void createsCurrentMonthAndMonthsAhead_AcrossYearEnd() {
+        assertEquals(List.of(OCTOBER, YearMonth.of(2026, 11), YearMonth.of(2026, 12), YearMonth.of(2027, 1)),
+                AuditPartitionManager.monthsToCreate(OCTOBER, 3));
+        assertEquals("""
+                CREATE TABLE IF NOT EXISTS "school_a"."organization_audit_log_p202612" \
+                PARTITION OF "school_a"."organization_audit_log" \
+                FOR VALUES FROM ('2026-12-01') TO ('2027-01-01')""",
+                AuditPartitionManager.createPartitionSql("school_a", "organization_audit_log",
+                        YearMonth.of(2026, 12)));
+    }
+
+    @Test
+    void dropsOnlyOwnPartitionsPastRetention() {
+        assertTrue(AuditPartitionManager.isExpired("tenant_audit_log", "tenant_audit_log_p202409", OCTOBER, 24));
+        assertFalse(AuditPartitionManager.isExpired("tenant_audit_log", "tenant_audit_log_p202410", OCTOBER, 24));
+        assertFalse(AuditPartitionManager.isExpired("tenant_audit_log", "tenant_audit_log_p202001", OCTOBER, 0));
+        assertFalse(AuditPartitionManager.isExpired("tenant_audit_log", "tenant_audit_log_archive", OCTOBER, 24));
+        assertFalse(AuditPartitionManager.isExpired("organization_audit_log", "tenant_audit_log_p202001",
+                OCTOBER, 24));
+    }
+
+    @Test
+    void expiredPartitions_AreDetachedConcurrentlyBeforeTheDrop() throws SQLException {
+        Connection connection = connection(Map.of("tenant_audit_log_p202409", false,
+                "tenant_audit_log_p202410", false, "tenant_audit_log_p202411", false));
+        Statement statement = connection.createStatement();
+        AuditPartitionManager manager = new AuditPartitionManager(null, true, 3, 24, 5000);
+
+        assertTrue(manager.maintainTable("public", "tenant_audit_log", OCTOBER, connection));
+
+        InOrder inOrder = inOrder(statement);
+        inOrder.verify(statement).execute("""
+                ALTER TABLE "public"."tenant_audit_log" \
+                DETACH PARTITION "public"."tenant_audit_log_p202409" CONCURRENTLY""");
+        inOrder.verify(statement).execute("DROP TABLE \"public\".\"tenant_audit_log_p202409\"");
+        verify(statement).execute(contains("\"tenant_audit_log_p202612\" PARTITION OF"));
+        verify(statement).execute(contains("\"tenant_audit_log_p202701\" PARTITION OF"));
+        verify(statement, never()).execute(contains("\"tenant_audit_log_p202410\" PARTITION OF"));
+    }
+
+    @Test
+    void interruptedDetach_IsFinalized_MissingNextMonthIsReported() throws SQLException {
+        Connection connection = connection(Map.of("tenant_audit_log_p202409", true,
+                "tenant_audit_log_p202410", false));
+        Statement statement = connection.createStatement();
+        AuditPartitionManager manager = new AuditPartitionManager(null, true, 0, 24, 5000);
+
+        assertFalse(manager.maintainTable("public", "tenant_audit_log", OCTOBER, connection));
+
+        verify(statement).execute("""
+                ALTER TABLE "public"."tenant_audit_log" \
+                DETACH PARTITION "public"."tenant_audit_log_p202409" FINALIZE""");
+        verify(statement).execute("DROP TABLE \"public\".\"tenant_audit_log_p202409\"");
+    }
+
+    private static Connection connection(Map<String, Boolean> partitions) throws SQLException {
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        PreparedStatement listPartitions = mock(PreparedStatement.class);
+        ResultSet rows = mock(ResultSet.class);
+        List<Map.Entry<String, Boolean>> entries = List.copyOf(new TreeMap<>(partitions).entrySet());
+        int[] row = { -1 };
+        when(rows.next()).thenAnswer(invocation -> ++row[0] < entries.size());
+        when(rows.getString("relname")).thenAnswer(invocation -> entries.get(row[0]).getKey());
+        when(rows.getBoolean("inhdetachpending")).thenAnswer(invocation -> entries.get(row[0]).getValue());
+        when(listPartitions.executeQuery()).thenReturn(rows);
+        when(connection.prepareStatement(anyString())).thenReturn(listPartitions);
+        when(connection.createStatement()).thenReturn(statement);
+        return connection;
+    }
+}
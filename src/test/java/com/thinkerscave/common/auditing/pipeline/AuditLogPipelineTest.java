@@ -0,0 +1,113 @@
+package com.thinkerscave.common.auditing.pipeline;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class AuditLogPipelineTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AuditLogWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = mock(AuditLogWriter.class);
+    }
+
+    @Test
+    void batch_IsWrittenWithOneCallPerTenant() {
+        AuditLogPipeline pipeline = pipeline(10, "drop");
+
+        pipeline.writeBatch(List.of(event("school_a"), event("school_b"), event("school_a"), event(null)));
+
+        verify(writer).write(eq("school_a"), argThat(events -> events.size() == 2));
+        verify(writer).write(eq("school_b"), argThat(events -> events.size() == 1));
+        verify(writer).write(eq("public"), argThat(events -> events.size() == 1));
+        assertEquals(4, meterRegistry.get("audit.pipeline.events").tag("outcome", "written").counter().count());
+    }
+
+    @Test
+    void fullQueue_DropsWithoutBlockingTheCaller() {
+        AuditLogPipeline pipeline = pipeline(2, "drop");
+
+        for (int i = 0; i < 5; i++) {
+            pipeline.submit(event("school_a"));
+        }
+
+        assertEquals(3, meterRegistry.get("audit.pipeline.events").tag("outcome", "dropped").counter().count());
+        pipeline.flush();
+        verify(writer).write(eq("school_a"), argThat(events -> events.size() == 2));
+    }
+
+    @Test
+    void fullQueue_SpillsToFileAndReplaysOnceIdle() throws Exception {
+        AuditLogPipeline pipeline = pipeline(1, "spill");
+
+        pipeline.submit(event("school_a"));
+        pipeline.submit(event("school_b"));
+        pipeline.submit(event("school_b"));
+
+        assertEquals(2, Files.readAllLines(tempDir.resolve("spill.jsonl")).size());
+        pipeline.flush();
+        pipeline.replaySpilled();
+
+        verify(writer).write(eq("school_a"), anyList());
+        verify(writer).write(eq("school_b"), argThat(events -> events.size() == 2
+                && "CREATE_STUDENT".equals(events.get(0).action())));
+        assertFalse(Files.exists(tempDir.resolve("spill.jsonl")));
+        assertFalse(Files.exists(tempDir.resolve("spill.jsonl.replaying")));
+    }
+
+    @Test
+    void failedWrite_IsSpilledUnderSpillPolicy() throws Exception {
+        AuditLogPipeline pipeline = pipeline(10, "spill");
+        doThrow(new IllegalStateException("database down")).when(writer).write(any(), anyList());
+
+        pipeline.writeBatch(List.of(event("school_a")));
+
+        assertEquals(1, Files.readAllLines(tempDir.resolve("spill.jsonl")).size());
+    }
+
+    @Test
+    void stop_FlushesQueuedEvents() {
+        AuditLogPipeline pipeline = pipeline(10, "block");
+        pipeline.start();
+        pipeline.submit(event("school_a"));
+
+        pipeline.stop();
+
+        verify(writer, atLeastOnce()).write(eq("school_a"), anyList());
+    }
+
+    private AuditLogPipeline pipeline(int capacity, String backpressure) {
+        AuditLogPipeline pipeline = new AuditLogPipeline(writer, objectMapper, capacity, 100, 50, backpressure, 10,
+                tempDir.resolve("spill.jsonl").toString(), 1000);
+        pipeline.bindTo(meterRegistry);
+        return pipeline;
+    }
+
+    private static AuditEvent event(String tenant) {
+        return new AuditEvent(tenant, 5L, "CREATE_STUDENT", "Creates a student", "priya",
+                Map.of("name", "Asha"), "SUCCESS", null, 12, Instant.now());
+    }
+}
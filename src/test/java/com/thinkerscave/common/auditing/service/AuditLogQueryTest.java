@@ -0,0 +1,59 @@
+package com.thinkerscave.common.auditing.service;
+
+import com.thinkerscave.common.auditing.dto.AuditLogEntry;
+import com.thinkerscave.common.auditing.dto.AuditLogPage;
+import com.thinkerscave.common.auditing.service.AuditLogQuery.Cursor;
+import com.thinkerscave.common.auditing.service.AuditLogQuery.Table;
+import com.thinkerscave.common.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditLogQueryTest {
+
+    private static final Instant FROM = Instant.parse("2026-09-01T00:00:00Z");
+    private static final Instant TO = Instant.parse("2026-10-01T00:00:00Z");
+
+    @Test
+    void keysetQuery_BoundsTimeAndContinuesBelowCursor() {
+        Cursor cursor = new Cursor(Instant.parse("2026-09-15T10:00:00.123456Z"), 42L);
+        AuditLogQuery query = AuditLogQuery.over(Table.ORGANIZATION, FROM, TO, 50)
+                .whereEquals("action", "CREATE_STUDENT")
+                .whereEquals("performed_by", null)
+                .after(cursor);
+
+        assertTrue(query.sql().endsWith("WHERE created_at >= ? AND created_at < ? AND action = ? "
+                + "AND (created_at, id) < (?, ?) ORDER BY created_at DESC, id DESC LIMIT 51"));
+        assertEquals(List.of(Timestamp.from(FROM), Timestamp.from(TO), "CREATE_STUDENT",
+                Timestamp.from(cursor.occurredAt()), 42L), query.params());
+    }
+
+    @Test
+    void cursor_RoundTripsAndRejectsGarbage() {
+        Cursor cursor = new Cursor(Instant.parse("2026-09-15T10:00:00.123456Z"), 42L);
+
+        assertEquals(cursor, Cursor.decode(cursor.encode()));
+        assertNull(Cursor.decode(""));
+        assertThrows(BadRequestException.class, () -> Cursor.decode("not-a-cursor"));
+    }
+
+    @Test
+    void page_HandsOutCursorOnlyWhenMoreRowsFollow() {
+        List<AuditLogEntry> rows = List.of(entry(3), entry(2), entry(1));
+
+        AuditLogPage first = AuditLogSearchService.page(rows, 2);
+        assertEquals(2, first.items().size());
+        assertEquals(new Cursor(entry(2).occurredAt(), 2), Cursor.decode(first.nextCursor()));
+
+        assertNull(AuditLogSearchService.page(rows, 3).nextCursor());
+    }
+
+    private static AuditLogEntry entry(long id) {
+        return new AuditLogEntry(id, "school_a", 5L, "CREATE_STUDENT", null, "admin", "{}", "SUCCESS", null,
+                12L, null, FROM.plusSeconds(id));
+    }
+}
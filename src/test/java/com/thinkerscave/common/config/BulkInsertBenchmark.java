@@ -0,0 +1,290 @@
+package com.thinkerscave.common.config;
+
+import jakarta.persistence.CascadeType;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows inserted per second when marking attendance for a class and when
+ * creating a syllabus (chapters with their topics), with IDENTITY ids as the
+ * entities had them against pooled sequences with JDBC batching, the
+ * settings of HibernateMultiTenantConfig.
+ *
+ * Runs on in-memory H2, where a round trip costs next to nothing; against
+ * PostgreSQL over the network every statement saved by batching is a round
+ * trip saved, so the gap is wider there.
+ *
+ * Not part of the test run. Start it with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.thinkerscave.common.config.BulkInsertBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkInsertBenchmark {
+
+    private static final int STUDENTS = 200;
+    private static final int CHAPTERS = 10;
+    private static final int TOPICS_PER_CHAPTER = 20;
+    private static final int SYLLABUS_ROWS = CHAPTERS * (TOPICS_PER_CHAPTER + 1);
+
+    private SessionFactory identity;
+    private SessionFactory pooled;
+    private long day;
+
+    @Setup
+    public void setUp() {
+        identity = sessionFactory("bulk_identity",
+                IdentityAttendance.class, IdentityChapter.class, IdentityTopic.class);
+        pooled = sessionFactory("bulk_pooled",
+                PooledAttendance.class, PooledChapter.class, PooledTopic.class);
+    }
+
+    private static SessionFactory sessionFactory(String database, Class<?>... entities) {
+        Configuration configuration = new Configuration()
+                .setProperty("hibernate.connection.url", "jdbc:h2:mem:" + database)
+                .setProperty("hibernate.dialect", "org.hibernate.dialect.H2Dialect")
+                .setProperty("hibernate.hbm2ddl.auto", "create-drop")
+                .setProperty("hibernate.jdbc.batch_size", "50")
+                .setProperty("hibernate.order_inserts", "true")
+                .setProperty("hibernate.order_updates", "true");
+        for (Class<?> entity : entities) {
+            configuration.addAnnotatedClass(entity);
+        }
+        return configuration.buildSessionFactory();
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteRows() {
+        deleteRows(identity, "Identity");
+        deleteRows(pooled, "Pooled");
+    }
+
+    private static void deleteRows(SessionFactory sessionFactory, String entityPrefix) {
+        sessionFactory.inTransaction(session -> {
+            for (String entity : List.of("Attendance", "Topic", "Chapter")) {
+                session.createMutationQuery("delete from " + entityPrefix + entity).executeUpdate();
+            }
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        identity.close();
+        pooled.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STUDENTS)
+    public void attendanceIdentity() {
+        LocalDate date = LocalDate.now().plusDays(day++);
+        identity.inTransaction(session -> {
+            for (long student = 1; student <= STUDENTS; student++) {
+                session.persist(new IdentityAttendance(student, date));
+            }
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STUDENTS)
+    public void attendancePooled() {
+        LocalDate date = LocalDate.now().plusDays(day++);
+        pooled.inTransaction(session -> {
+            for (long student = 1; student <= STUDENTS; student++) {
+                session.persist(new PooledAttendance(student, date));
+            }
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SYLLABUS_ROWS)
+    public void syllabusIdentity() {
+        identity.inTransaction(session -> {
+            for (int c = 1; c <= CHAPTERS; c++) {
+                IdentityChapter chapter = new IdentityChapter("Chapter " + c);
+                for (int t = 1; t <= TOPICS_PER_CHAPTER; t++) {
+                    chapter.topics.add(new IdentityTopic(chapter, "Topic " + c + "." + t));
+                }
+                session.persist(chapter);
+            }
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SYLLABUS_ROWS)
+    public void syllabusPooled() {
+        pooled.inTransaction(session -> {
+            for (int c = 1; c <= CHAPTERS; c++) {
+                PooledChapter chapter = new PooledChapter("Chapter " + c);
+                for (int t = 1; t <= TOPICS_PER_CHAPTER; t++) {
+                    chapter.topics.add(new PooledTopic(chapter, "Topic " + c + "." + t));
+                }
+                session.persist(chapter);
+            }
+        });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(BulkInsertBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Entity(name = "IdentityAttendance")
+    public static class IdentityAttendance {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long id;
+
+        private Long referenceId;
+        private LocalDate attendanceDate;
+        private String status = "PRESENT";
+
+        protected IdentityAttendance() {
+        }
+
+        IdentityAttendance(Long referenceId, LocalDate attendanceDate) {
+            this.referenceId = referenceId;
+            this.attendanceDate = attendanceDate;
+        }
+    }
+
+    @Entity(name = "PooledAttendance")
+    public static class PooledAttendance {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "attendance_id_seq")
+        @SequenceGenerator(name = "attendance_id_seq", sequenceName = "attendance_id_seq", allocationSize = 50)
+        private Long id;
+
+        private Long referenceId;
+        private LocalDate attendanceDate;
+        private String status = "PRESENT";
+
+        protected PooledAttendance() {
+        }
+
+        PooledAttendance(Long referenceId, LocalDate attendanceDate) {
+            this.referenceId = referenceId;
+            this.attendanceDate = attendanceDate;
+        }
+    }
+
+    @Entity(name = "IdentityChapter")
+    public static class IdentityChapter {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long chapterId;
+
+        private String chapterName;
+
+        @OneToMany(mappedBy = "chapter", cascade = CascadeType.ALL)
+        private List<IdentityTopic> topics = new ArrayList<>();
+
+        protected IdentityChapter() {
+        }
+
+        IdentityChapter(String chapterName) {
+            this.chapterName = chapterName;
+        }
+    }
+
+    @Entity(name = "IdentityTopic")
+    public static class IdentityTopic {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long topicId;
+
+        @ManyToOne(fetch = FetchType.LAZY)
+        @JoinColumn(name = "chapter_id")
+        private IdentityChapter chapter;
+
+        private String topicName;
+
+        protected IdentityTopic() {
+        }
+
+        IdentityTopic(IdentityChapter chapter, String topicName) {
+            this.chapter = chapter;
+            this.topicName = topicName;
+        }
+    }
+
+    @Entity(name = "PooledChapter")
+    public static class PooledChapter {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "chapters_chapter_id_seq")
+        @SequenceGenerator(name = "chapters_chapter_id_seq", sequenceName = "chapters_chapter_id_seq", allocationSize = 50)
+        private Long chapterId;
+
+        private String chapterName;
+
+        @OneToMany(mappedBy = "chapter", cascade = CascadeType.ALL)
+        private List<PooledTopic> topics = new ArrayList<>();
+
+        protected PooledChapter() {
+        }
+
+        PooledChapter(String chapterName) {
+            this.chapterName = chapterName;
+        }
+    }
+
+    @Entity(name = "PooledTopic")
+    public static class PooledTopic {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "topics_topic_id_seq")
+        @SequenceGenerator(name = "topics_topic_id_seq", sequenceName = "topics_topic_id_seq", allocationSize = 50)
+        private Long topicId;
+
+        @ManyToOne(fetch = FetchType.LAZY)
+        @JoinColumn(name = "chapter_id")
+        private PooledChapter chapter;
+
+        private String topicName;
+
+        protected PooledTopic() {
+        }
+
+        PooledTopic(PooledChapter chapter, String topicName) {
+            this.chapter = chapter;
+            this.topicName = topicName;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.thinkerscave.common.config;
+
+import com.thinkerscave.common.context.OrganizationContext;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Filter;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class OrganizationFilterActivatorTest {
+
+    private EntityManagerFactory entityManagerFactory;
+    private Session session;
+    private Filter filter;
+
+    @BeforeEach
+    void setUp() {
+        entityManagerFactory = mock(EntityManagerFactory.class);
+        session = mock(Session.class);
+        filter = mock(Filter.class);
+        EntityManager entityManager = mock(EntityManager.class);
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+        when(session.enableFilter("tenantFilter")).thenReturn(filter);
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+    }
+
+    @AfterEach
+    void tearDown() {
+        OrganizationContext.clear();
+        TransactionSynchronizationManager.unbindResourceIfPossible(entityManagerFactory);
+    }
+
+    @Test
+    void changingOrganization_ReappliesFilterToOpenSession() {
+        OrganizationContext.setOrganizationId(5L);
+        OrganizationContext.setOrganizationId(5L);
+        OrganizationContext.setOrganizationId(6L);
+
+        verify(session, times(2)).enableFilter("tenantFilter");
+        verify(filter).setParameter("tenantId", 5L);
+        verify(filter).setParameter("tenantId", 6L);
+    }
+
+    @Test
+    void clearingOrganization_DisablesFilter() {
+        OrganizationContext.setOrganizationId(5L);
+        when(session.getEnabledFilter("tenantFilter")).thenReturn(filter);
+
+        OrganizationContext.clear();
+
+        verify(session).disableFilter("tenantFilter");
+    }
+
+    @Test
+    void unchangedOrganization_TouchesNoSession() {
+        OrganizationContext.clear();
+        OrganizationContext.setOrganizationId(null);
+
+        verify(session, never()).enableFilter(any());
+        verify(session, never()).disableFilter(any());
+    }
+}
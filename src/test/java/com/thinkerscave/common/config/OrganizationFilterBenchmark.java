@@ -0,0 +1,90 @@
+package com.thinkerscave.common.config;
+
+import com.thinkerscave.common.context.OrganizationContext;
+import com.thinkerscave.common.course.domain.AcademicYear;
+import com.thinkerscave.common.course.domain.Semester;
+import com.thinkerscave.common.menum.domain.Role;
+import com.thinkerscave.common.orgm.domain.Organisation;
+import com.thinkerscave.common.usrm.domain.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of activating the organization filter per service call, as the former
+ * OrganizationFilterAspect did on every service method, against what remains
+ * per call now: nothing, unless OrganizationContext changes. The filter is
+ * the one Semester defines, mapped with the entities Semester refers to.
+ *
+ * Not part of the test run. Start it with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.thinkerscave.common.config.OrganizationFilterBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrganizationFilterBenchmark {
+
+    private SessionFactory sessionFactory;
+    private EntityManager entityManager;
+
+    @Setup
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Semester.class)
+                .addAnnotatedClass(AcademicYear.class)
+                .addAnnotatedClass(Organisation.class)
+                .addAnnotatedClass(User.class)
+                .addAnnotatedClass(Role.class)
+                .setProperty("hibernate.connection.url", "jdbc:h2:mem:filter_benchmark")
+                .setProperty("hibernate.dialect", "org.hibernate.dialect.H2Dialect")
+                .buildSessionFactory();
+        entityManager = sessionFactory.openSession();
+        OrganizationContext.setOrganizationId(5L);
+    }
+
+    @TearDown
+    public void tearDown() {
+        OrganizationContext.clear();
+        entityManager.close();
+        sessionFactory.close();
+    }
+
+    /** What the aspect did before every service method. */
+    @Benchmark
+    public Object perCallActivation() {
+        Session session = entityManager.unwrap(Session.class);
+        return session.enableFilter(OrganizationFilterActivator.FILTER_NAME)
+                .setParameter(OrganizationFilterActivator.PARAMETER_NAME, OrganizationContext.getOrganizationId());
+    }
+
+    /** Setting the organization the context already holds, the common case. */
+    @Benchmark
+    public void unchangedContext() {
+        OrganizationContext.setOrganizationId(5L);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(OrganizationFilterBenchmark.class.getSimpleName()).build()).run();
+    }
+}
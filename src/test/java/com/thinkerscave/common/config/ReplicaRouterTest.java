@@ -0,0 +1,65 @@
+package com.thinkerscave.common.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ReplicaRouterTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica = mock(DataSource.class);
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReplicaRouter router;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        router = new ReplicaRouter(Map.of(TenantShardRouter.DEFAULT_SHARD, replica), 1000, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadOnlyRoutingContext.clear();
+    }
+
+    @Test
+    void route_WriteTransaction_UsesPrimary() {
+        assertSame(primary, router.route(TenantShardRouter.DEFAULT_SHARD, primary));
+    }
+
+    @Test
+    void route_ReadOnlyTransaction_UsesReplica() {
+        ReadOnlyRoutingContext.markReadOnly();
+
+        assertSame(replica, router.route(TenantShardRouter.DEFAULT_SHARD, primary));
+        assertEquals(1.0, meterRegistry.get("tenant.datasource.routed")
+                .tag("target", ReplicaRouter.TARGET_REPLICA).counter().count());
+    }
+
+    @Test
+    void route_ReplicaLagging_FallsBackUntilCaughtUp() {
+        ReadOnlyRoutingContext.markReadOnly();
+
+        router.recordLag(TenantShardRouter.DEFAULT_SHARD, 5000);
+        assertSame(primary, router.route(TenantShardRouter.DEFAULT_SHARD, primary));
+        assertEquals(1.0, meterRegistry.get("tenant.replica.fallback").counter().count());
+
+        router.recordLag(TenantShardRouter.DEFAULT_SHARD, 10);
+        assertSame(replica, router.route(TenantShardRouter.DEFAULT_SHARD, primary));
+    }
+
+    @Test
+    void route_ShardWithoutReplica_UsesPrimary() {
+        ReadOnlyRoutingContext.markReadOnly();
+
+        assertSame(primary, router.route("shard_b", primary));
+    }
+}
@@ -0,0 +1,174 @@
+package com.thinkerscave.common.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Simulates a small pool serving a multi-tenant request mix and counts the
+ * search_path round trips the registry saves compared to the previous
+ * "SET on checkout + SET public on release" behaviour.
+ */
+class SearchPathRegistryTest {
+
+    private SearchPathRegistry registry;
+
+    /** What each fake physical connection's session search_path really is. */
+    private final Map<Connection, String> actualSchema = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        registry = new SearchPathRegistry();
+        actualSchema.clear();
+    }
+
+    @Test
+    void multiTenantMix_SkipsRedundantSetsAndKeepsIsolation() throws Exception {
+        List<Connection> pool = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            pool.add(fakeConnection(true));
+        }
+        // Skewed mix: a couple of busy tenants and a long tail
+        String[] tenants = { "school_a", "school_a", "school_a", "school_b", "school_b", "college_c", "coaching_d",
+                "public" };
+        Random random = new Random(42);
+
+        int requests = 10_000;
+        for (int i = 0; i < requests; i++) {
+            Connection connection = pool.get(random.nextInt(pool.size()));
+            String tenant = tenants[random.nextInt(tenants.length)];
+
+            registry.apply(connection, tenant);
+
+            assertEquals(tenant, actualSchema.get(connection), "connection must be on the requested schema");
+        }
+
+        long executed = registry.getExecutedCount();
+        long skipped = registry.getSkippedCount();
+
+        // The previous behaviour sent two statements per request; now at most one
+        assertEquals(requests, executed + skipped);
+        // With this mix a checkout finds its schema already set about a quarter of the time
+        assertTrue(skipped > requests / 5, "expected over 20% of checkouts to skip the SET, got " + skipped);
+    }
+
+    @Test
+    void apply_SameSchemaTwice_SendsSingleStatement() throws Exception {
+        Connection connection = fakeConnection(true);
+
+        registry.apply(connection, "school_a");
+        registry.apply(connection, "school_a");
+
+        assertEquals(1, registry.getExecutedCount());
+        assertEquals(1, registry.getSkippedCount());
+    }
+
+    @Test
+    void apply_InsideOpenTransaction_IsNotRemembered() throws Exception {
+        Connection connection = fakeConnection(false);
+
+        registry.apply(connection, "school_a");
+        registry.apply(connection, "school_a");
+
+        // A rollback could undo the first SET, so the second one is re-sent
+        assertEquals(2, registry.getExecutedCount());
+    }
+
+    @Test
+    void apply_FailedStatement_ForgetsConnection() throws Exception {
+        Connection connection = fakeConnection(true);
+        registry.apply(connection, "school_a");
+
+        Statement failing = mock(Statement.class);
+        when(failing.execute(anyString())).thenThrow(new SQLException("boom"));
+        when(connection.createStatement()).thenReturn(failing);
+        assertThrows(SQLException.class, () -> registry.apply(connection, "school_b"));
+
+        Statement working = mock(Statement.class);
+        when(connection.createStatement()).thenReturn(working);
+        registry.apply(connection, "school_a");
+
+        verify(working).execute("SET search_path TO \"school_a\"");
+    }
+
+    @Test
+    void publicDataSource_ResetsConnectionLeftOnTenantSchema() throws Exception {
+        Connection connection = fakeConnection(true);
+        registry.apply(connection, "school_a");
+
+        javax.sql.DataSource pool = mock(javax.sql.DataSource.class);
+        when(pool.getConnection()).thenReturn(connection);
+        PublicSearchPathDataSource dataSource = new PublicSearchPathDataSource(pool, registry);
+
+        dataSource.getConnection();
+        assertEquals("public", actualSchema.get(connection));
+
+        dataSource.getConnection();
+        assertEquals(2, registry.getExecutedCount());
+        assertEquals(1, registry.getSkippedCount());
+    }
+
+    @Test
+    void apply_PooledTenant_SetsSchemaAndTenantKeyTogether() throws Exception {
+        Connection connection = fakeConnection(true);
+        Statement statement = mock(Statement.class);
+        when(connection.createStatement()).thenReturn(statement);
+
+        registry.apply(connection, TenancyModeResolver.POOLED_SCHEMA, "coaching_d");
+        registry.apply(connection, TenancyModeResolver.POOLED_SCHEMA, "coaching_d");
+        registry.apply(connection, TenancyModeResolver.POOLED_SCHEMA, "coaching_e");
+
+        verify(statement).execute("SET search_path TO \"tenant_pool\"; SET app.tenant_id TO 'coaching_d'");
+        verify(statement).execute("SET search_path TO \"tenant_pool\"; SET app.tenant_id TO 'coaching_e'");
+        assertEquals(1, registry.getSkippedCount());
+    }
+
+    @Test
+    void apply_SchemaTenantAfterPooledTenant_ResetsTenantKey() throws Exception {
+        Connection connection = fakeConnection(true);
+        Statement statement = mock(Statement.class);
+        when(connection.createStatement()).thenReturn(statement);
+
+        registry.apply(connection, TenancyModeResolver.POOLED_SCHEMA, "coaching_d");
+        registry.apply(connection, "school_a");
+        registry.apply(connection, "school_b");
+
+        verify(statement).execute("SET search_path TO \"school_a\"; RESET app.tenant_id");
+        verify(statement).execute("SET search_path TO \"school_b\"");
+    }
+
+    @Test
+    void apply_InvalidTenantKey_IsRejected() throws Exception {
+        Connection connection = fakeConnection(true);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> registry.apply(connection, TenancyModeResolver.POOLED_SCHEMA, "x'; DROP TABLE users; --"));
+    }
+
+    private Connection fakeConnection(boolean autoCommit) throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(connection.getAutoCommit()).thenReturn(autoCommit);
+        when(connection.createStatement()).thenAnswer(invocation -> {
+            Statement statement = mock(Statement.class);
+            when(statement.execute(anyString())).thenAnswer(call -> {
+                String sql = call.getArgument(0);
+                actualSchema.put(connection, sql.substring(sql.indexOf('"') + 1, sql.lastIndexOf('"')));
+                return false;
+            });
+            return statement;
+        });
+        return connection;
+    }
+}
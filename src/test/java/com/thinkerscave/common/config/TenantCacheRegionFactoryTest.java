@@ -0,0 +1,114 @@
+package com.thinkerscave.common.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TenantCacheRegionFactoryTest {
+
+    private TenantCacheRegionFactory factory;
+    private SharedSessionContractImplementor schoolA;
+    private SharedSessionContractImplementor schoolB;
+
+    @BeforeEach
+    void setUp() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("second-level-cache.regions.section.max-size", "2");
+        factory = new TenantCacheRegionFactory(environment, 100, 600);
+        schoolA = session("school_a");
+        schoolB = session("school_b");
+    }
+
+    @Test
+    void entityRegion_KeepsTenantsApart() {
+        DomainDataStorageAccess menus = factory.createDomainDataStorageAccess(region("menu"), null);
+
+        menus.putIntoCache("menu#1", "school_a menu", schoolA);
+
+        assertEquals("school_a menu", menus.getFromCache("menu#1", schoolA));
+        assertNull(menus.getFromCache("menu#1", schoolB), "another tenant must not see the entry");
+
+        menus.putIntoCache("menu#1", "school_b menu", schoolB);
+        menus.removeFromCache("menu#1", schoolA);
+        assertNull(menus.getFromCache("menu#1", schoolA));
+        assertEquals("school_b menu", menus.getFromCache("menu#1", schoolB));
+    }
+
+    @Test
+    void evictWithoutSession_DropsKeyForEveryTenant() {
+        DomainDataStorageAccess roles = factory.createDomainDataStorageAccess(region("role"), null);
+        roles.putIntoCache("role#7", "a", schoolA);
+        roles.putIntoCache("role#7", "b", schoolB);
+        roles.putIntoCache("role#8", "b", schoolB);
+
+        assertTrue(roles.contains("role#7"));
+        roles.evictData("role#7");
+
+        assertFalse(roles.contains("role#7"));
+        assertNull(roles.getFromCache("role#7", schoolA));
+        assertNull(roles.getFromCache("role#7", schoolB));
+        assertEquals("b", roles.getFromCache("role#8", schoolB));
+    }
+
+    @Test
+    void queryResults_AreTenantScoped_TimestampsAreShared() {
+        StorageAccess results = factory.createQueryResultsRegionStorageAccess("default-query-results-region", null);
+        StorageAccess timestamps = factory.createTimestampsRegionStorageAccess("default-update-timestamps-region", null);
+
+        results.putIntoCache("from Menu", "ids of school_a", schoolA);
+        timestamps.putIntoCache("menu_master", 42L, schoolA);
+
+        assertNull(results.getFromCache("from Menu", schoolB));
+        assertEquals(42L, timestamps.getFromCache("menu_master", schoolB),
+                "a write in one tenant must invalidate cached results of the table everywhere");
+    }
+
+    @Test
+    void regionSettings_OverrideTheDefaults() {
+        factory.createDomainDataStorageAccess(region("section"), null);
+        factory.createDomainDataStorageAccess(region("menu"), null);
+
+        assertEquals(2, factory.region("section").policy().eviction().orElseThrow().getMaximum());
+        assertEquals(100, factory.region("menu").policy().eviction().orElseThrow().getMaximum());
+        assertEquals(Duration.ofSeconds(600),
+                factory.region("menu").policy().expireAfterWrite().orElseThrow().getExpiresAfter());
+    }
+
+    @Test
+    void hitRatio_IsReportedPerRegion() {
+        DomainDataStorageAccess branches = factory.createDomainDataStorageAccess(region("branch"), null);
+        MeterRegistry registry = new SimpleMeterRegistry();
+        factory.bindTo(registry);
+
+        branches.putIntoCache("branch#1", "main", schoolA);
+        branches.getFromCache("branch#1", schoolA);
+        branches.getFromCache("branch#1", schoolB);
+
+        assertEquals(0.5, registry.get("hibernate.cache.hit.ratio").tag("region", "branch").gauge().value(), 0.0001);
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "hibernate.branch").tag("result", "hit")
+                .functionCounter().count(), 0.0001);
+    }
+
+    private static DomainDataRegionConfig region(String name) {
+        DomainDataRegionConfig config = mock(DomainDataRegionConfig.class);
+        when(config.getRegionName()).thenReturn(name);
+        return config;
+    }
+
+    private static SharedSessionContractImplementor session(String tenant) {
+        SharedSessionContractImplementor session = mock(SharedSessionContractImplementor.class);
+        when(session.getTenantIdentifier()).thenReturn(tenant);
+        return session;
+    }
+}
@@ -0,0 +1,116 @@
+package com.thinkerscave.common.config;
+
+import com.thinkerscave.common.service.TenantLookupService;
+import com.thinkerscave.common.service.TenantLookupService.LoginTenant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Notifications relayed by TenantConfigChangeListener must drop what is
+ * cached about the tenants and users they name: shards and tenancy modes
+ * for tenant_config, login lookups for user_tenant_mapping.
+ */
+class TenantConfigChangeEvictionTest {
+
+    private static final String SHARD_SQL = "SELECT shard_key FROM public.tenant_config WHERE tenant_id = ?";
+    private static final String MODE_SQL = "SELECT tenancy_mode FROM public.tenant_config WHERE tenant_id = ?";
+
+    private JdbcTemplate jdbcTemplate;
+    private TenantShardRouter shardRouter;
+    private TenancyModeResolver modeResolver;
+    private TenantLookupService lookupService;
+    private AnnotationConfigApplicationContext context;
+    private TenantConfigChangeListener listener;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        TenantShardProperties properties = new TenantShardProperties();
+        TenantShardProperties.ShardDataSource shardB = new TenantShardProperties.ShardDataSource();
+        shardB.setUrl("jdbc:h2:mem:tenant_config_eviction_shard_b");
+        shardB.setUsername("sa");
+        shardB.setPassword("");
+        shardB.setMaximumPoolSize(1);
+        properties.getDatasources().put("shard_b", shardB);
+        shardRouter = new TenantShardRouter(mock(DataSource.class), jdbcTemplate, properties,
+                new SearchPathRegistry());
+        modeResolver = new TenancyModeResolver(jdbcTemplate, 3_600_000);
+        lookupService = new TenantLookupService(jdbcTemplate, 100, 300);
+
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(TenantShardRouter.class, () -> shardRouter);
+        context.registerBean(TenancyModeResolver.class, () -> modeResolver);
+        context.registerBean(TenantLookupService.class, () -> lookupService);
+        context.refresh();
+        listener = new TenantConfigChangeListener(context);
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+    }
+
+    @Test
+    void notification_EvictsShardAndModeOfNamedTenants() {
+        when(jdbcTemplate.queryForList(eq(SHARD_SQL), eq(String.class), any())).thenReturn(List.of("default"));
+        when(jdbcTemplate.queryForList(eq(MODE_SQL), eq(String.class), any())).thenReturn(List.of("SCHEMA"));
+        assertEquals("default", shardRouter.shardOf("sj_college"));
+        assertEquals(TenancyMode.SCHEMA, modeResolver.modeOf("sj_college"));
+        shardRouter.shardOf("mumbai_2024");
+        modeResolver.modeOf("mumbai_2024");
+
+        // sj_college moves to shard_b and is pooled on another node
+        when(jdbcTemplate.queryForList(SHARD_SQL, String.class, "sj_college")).thenReturn(List.of("shard_b"));
+        when(jdbcTemplate.queryForList(MODE_SQL, String.class, "sj_college")).thenReturn(List.of("POOLED"));
+        context.publishEvent(listener.parse(
+                "{\"tenant_ids\":[\"sj_college\",\"sj_college\"],\"subdomains\":[\"sjcollege\",null]}"));
+
+        assertEquals("shard_b", shardRouter.shardOf("sj_college"));
+        assertEquals(TenancyMode.POOLED, modeResolver.modeOf("sj_college"));
+        shardRouter.shardOf("mumbai_2024");
+        modeResolver.modeOf("mumbai_2024");
+        verify(jdbcTemplate, times(1)).queryForList(SHARD_SQL, String.class, "mumbai_2024");
+        verify(jdbcTemplate, times(1)).queryForList(MODE_SQL, String.class, "mumbai_2024");
+    }
+
+    @Test
+    void resync_EvictsEveryTenant() {
+        when(jdbcTemplate.queryForList(eq(SHARD_SQL), eq(String.class), any())).thenReturn(List.of("default"));
+        when(jdbcTemplate.queryForList(eq(MODE_SQL), eq(String.class), any())).thenReturn(List.of("SCHEMA"));
+        shardRouter.shardOf("mumbai_2024");
+        modeResolver.modeOf("mumbai_2024");
+
+        context.publishEvent(TenantConfigChangedEvent.resync());
+        shardRouter.shardOf("mumbai_2024");
+        modeResolver.modeOf("mumbai_2024");
+
+        verify(jdbcTemplate, times(2)).queryForList(SHARD_SQL, String.class, "mumbai_2024");
+        verify(jdbcTemplate, times(2)).queryForList(MODE_SQL, String.class, "mumbai_2024");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void mappingNotification_EvictsCachedLoginsOfTheUser() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq("priya"), eq("priya")))
+                .thenReturn(List.of(new LoginTenant("sj_college", "priya", "Priya@SJ.edu")));
+        lookupService.findLogin("priya");
+
+        // The users trigger rewrote her mapping row
+        context.publishEvent(listener.parseMappingChange("{\"emails\":[\"Priya@SJ.edu\",\"Priya@SJ.edu\"]}"));
+        lookupService.findLogin("priya");
+
+        verify(jdbcTemplate, times(2)).query(anyString(), any(RowMapper.class), eq("priya"), eq("priya"));
+        assertTrue(listener.parseMappingChange("not json").isResync());
+    }
+}
@@ -0,0 +1,51 @@
+package com.thinkerscave.common.config;
+
+import com.thinkerscave.common.exception.TenantConnectionLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TenantConnectionBulkheadTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TenantConnectionBulkhead bulkhead;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        bulkhead = new TenantConnectionBulkhead(meterRegistry, 2, 50);
+    }
+
+    @Test
+    void acquire_NoisyTenantAtCap_IsRejectedWhileOthersProceed() throws Exception {
+        bulkhead.acquire("school_a");
+        bulkhead.acquire("school_a");
+
+        assertThrows(TenantConnectionLimitExceededException.class, () -> bulkhead.acquire("school_a"));
+        assertDoesNotThrow(() -> bulkhead.acquire("school_b"));
+
+        assertEquals(1.0, meterRegistry.get("tenant.connection.rejected").tag("tenant", "school_a").counter().count());
+        assertEquals(2.0, meterRegistry.get("tenant.connection.active").tag("tenant", "school_a").gauge().value());
+    }
+
+    @Test
+    void release_FreesSlotForNextRequest() throws Exception {
+        bulkhead.acquire("school_a");
+        bulkhead.acquire("school_a");
+        bulkhead.release("school_a");
+
+        assertDoesNotThrow(() -> bulkhead.acquire("school_a"));
+        assertEquals(3, meterRegistry.get("tenant.connection.wait").tag("tenant", "school_a").timer().count());
+    }
+
+    @Test
+    void disabledCap_NeverBlocks() throws Exception {
+        TenantConnectionBulkhead unlimited = new TenantConnectionBulkhead(meterRegistry, 0, 50);
+        for (int i = 0; i < 100; i++) {
+            unlimited.acquire("school_a");
+        }
+        assertFalse(unlimited.isEnabled());
+    }
+}
@@ -0,0 +1,98 @@
+package com.thinkerscave.common.context;
+
+import org.apache.logging.log4j.LogManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logging cost of one request with eight threads logging at once: setting
+ * and clearing the MDC like RequestContextPipelineFilter does, plus what a
+ * typical request logs at production levels (three DEBUG calls that are
+ * filtered out, two INFO lines). {@code mdcOnly} is the part every request
+ * pays even when nothing is logged.
+ *
+ * Compares synchronous and async loggers with the pattern and the JSON
+ * layout (src/test/resources/log4j2-benchmark.xml, writing to the temp
+ * directory). Run with -prof gc to see the allocation rate per request.
+ *
+ * Not part of the test run. Start it with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.thinkerscave.common.context.LoggingBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class LoggingBenchmark {
+
+    @Param({ "sync", "async" })
+    public String loggers;
+
+    @Param({ "pattern", "json" })
+    public String format;
+
+    private Logger log;
+
+    @Setup
+    public void setUp() {
+        // Each parameter combination runs in a fresh JVM, before Log4j2 starts
+        System.setProperty("log4j2.configurationFile", "log4j2-benchmark.xml");
+        System.setProperty("benchmark.loggers", loggers);
+        System.setProperty("log.format", format);
+        log = LoggerFactory.getLogger(LoggingBenchmark.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        LogManager.shutdown();
+    }
+
+    @Benchmark
+    public void mdcOnly() {
+        LoggingContext.startRequest(null);
+        LoggingContext.setTenant("school_a");
+        LoggingContext.setOrganization(5L);
+        LoggingContext.clear();
+    }
+
+    @Benchmark
+    public void request() {
+        LoggingContext.startRequest(null);
+        LoggingContext.setTenant("school_a");
+        LoggingContext.setOrganization(5L);
+        try {
+            log.debug("Request tenant: {} | user: {} | org: {}", "school_a", "teacher", 5L);
+            log.info("Loaded {} students for section {}", 32, "VII-A");
+            log.debug("Cache hit for key {}", "school_a:42");
+            log.debug("Query took {}ms", 3);
+            log.info("Attendance recorded for {} students by {}", 32, "teacher");
+        } finally {
+            LoggingContext.clear();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(LoggingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,44 @@
+package com.thinkerscave.common.context;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoggingContextTest {
+
+    @AfterEach
+    void tearDown() {
+        LoggingContext.clear();
+    }
+
+    @Test
+    void callerRequestId_IsKeptWhenItIsAPlainToken() {
+        assertEquals("gw-1234.abc_9", LoggingContext.startRequest("gw-1234.abc_9"));
+        assertEquals("gw-1234.abc_9", MDC.get(LoggingContext.REQUEST_ID));
+    }
+
+    @Test
+    void unsafeOrMissingRequestId_IsReplaced() {
+        String generated = LoggingContext.startRequest("id\nFAKE LOG LINE");
+
+        assertEquals(16, generated.length());
+        assertTrue(generated.chars().allMatch(c -> Character.digit(c, 16) >= 0));
+        assertEquals(16, LoggingContext.startRequest(null).length());
+        assertEquals(16, LoggingContext.startRequest("x".repeat(65)).length());
+    }
+
+    @Test
+    void clear_RemovesAllRequestFields() {
+        LoggingContext.startRequest(null);
+        LoggingContext.setTenant("school_a");
+        LoggingContext.setOrganization(5L);
+
+        LoggingContext.clear();
+
+        assertNull(MDC.get(LoggingContext.REQUEST_ID));
+        assertNull(MDC.get(LoggingContext.TENANT));
+        assertNull(MDC.get(LoggingContext.ORGANIZATION));
+    }
+}
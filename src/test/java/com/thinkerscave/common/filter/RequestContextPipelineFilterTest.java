@@ -0,0 +1,231 @@
+package com.thinkerscave.common.filter;
+
+import com.thinkerscave.common.config.TenantContext;
+import com.thinkerscave.common.context.LoggingContext;
+import com.thinkerscave.common.context.OrganizationContext;
+import com.thinkerscave.common.context.RequestContext;
+import com.thinkerscave.common.orgm.domain.OrganizationUser;
+import com.thinkerscave.common.orgm.repository.OrganizationUserRepository;
+import com.thinkerscave.common.orgm.service.OrganizationMembershipIndex;
+import com.thinkerscave.common.resolver.SubdomainTenantResolver;
+import com.thinkerscave.common.security.AccessTokenRevocationRegistry;
+import com.thinkerscave.common.security.PrincipalCache;
+import com.thinkerscave.common.security.UserInfoUserDetails;
+import com.thinkerscave.common.usrm.repository.UserRepository;
+import com.thinkerscave.common.usrm.service.impl.JwtServiceImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RequestContextPipelineFilterTest {
+
+    private static final String TOKEN = "header.payload.signature";
+
+    private JwtServiceImpl jwtService;
+    private SubdomainTenantResolver subdomainResolver;
+    private PrincipalCache principalCache;
+    private UserRepository userRepository;
+    private OrganizationUserRepository orgUserRepository;
+    private OrganizationMembershipIndex membershipIndex;
+    private AccessTokenRevocationRegistry revocations;
+    private SimpleMeterRegistry meterRegistry;
+    private RequestContextPipelineFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = mock(JwtServiceImpl.class);
+        subdomainResolver = mock(SubdomainTenantResolver.class);
+        principalCache = mock(PrincipalCache.class);
+        userRepository = mock(UserRepository.class);
+        orgUserRepository = mock(OrganizationUserRepository.class);
+        membershipIndex = new OrganizationMembershipIndex(orgUserRepository, 100, 300);
+        revocations = mock(AccessTokenRevocationRegistry.class);
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RequestContextPipelineFilter(new RequestContextResolver(jwtService, subdomainResolver,
+                principalCache, userRepository, membershipIndex, revocations, meterRegistry));
+
+        Claims claims = Jwts.claims()
+                .id("jti-1")
+                .subject("teacher")
+                .add("tenant_id", "school_a")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .build();
+        when(jwtService.extractAllClaimsPublic(TOKEN)).thenReturn(claims);
+        when(jwtService.extractPrincipal(claims)).thenReturn(
+                new UserInfoUserDetails(42L, "teacher", 7L, List.of("TEACHER"), List.of()));
+        when(jwtService.validateClaims(any(), any())).thenReturn(true);
+        when(principalCache.accessState("teacher")).thenReturn(
+                new PrincipalCache.AccessState(false, null, Set.of("TEACHER")));
+
+        OrganizationUser membership = new OrganizationUser();
+        membership.setOrganizationId(5L);
+        membership.setUserId(42L);
+        when(orgUserRepository.findByUserIdAndIsActive(42L, true)).thenReturn(List.of(membership));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void tenant_SubdomainBeatsTokenBeatsHeader() throws Exception {
+        MockHttpServletRequest request = authenticated(request(null));
+        request.addHeader("X-Tenant-ID", "school_b");
+        assertEquals("school_a", run(request).getTenantId());
+
+        when(subdomainResolver.extractTenantFromSubdomain(any())).thenReturn("school_c");
+        assertEquals(RequestContext.TenantSource.SUBDOMAIN, run(authenticated(request(null))).getTenantSource());
+
+        when(subdomainResolver.extractTenantFromSubdomain(any())).thenReturn(null);
+        MockHttpServletRequest anonymous = request(null);
+        anonymous.addHeader("X-Tenant-ID", "school_b'; DROP");
+        assertEquals("school_bDROP", run(anonymous).getTenantId());
+        assertEquals("public", run(request(null)).getTenantId());
+    }
+
+    @Test
+    void invalidBearerToken_IsRejected() throws Exception {
+        MockHttpServletRequest request = request(null);
+        request.addHeader("Authorization", "Bearer forged");
+        when(jwtService.extractAllClaimsPublic("forged")).thenThrow(new IllegalArgumentException("bad signature"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> fail("chain must not run"));
+
+        assertEquals(401, response.getStatus());
+    }
+
+    @Test
+    void revokedToken_IsRejected() throws Exception {
+        when(revocations.isRevoked("jti-1")).thenReturn(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(authenticated(request(null)), response, (req, res) -> fail("chain must not run"));
+
+        assertEquals(401, response.getStatus());
+    }
+
+    @Test
+    void warmRequests_ResolveEverythingWithoutQueries() throws Exception {
+        assertEquals(5L, run(authenticated(request(null))).getOrganizationId());
+        assertEquals(5L, run(authenticated(request("5"))).getOrganizationId());
+        assertEquals(5L, run(authenticated(request(null))).getOrganizationId());
+
+        verify(jwtService, times(3)).extractAllClaimsPublic(TOKEN);
+        verify(orgUserRepository, times(1)).findByUserIdAndIsActive(42L, true);
+        verifyNoInteractions(userRepository);
+        verify(principalCache, never()).load(any());
+
+        DistributionSummary queries = meterRegistry.get("organization.context.queries").summary();
+        assertEquals(3, queries.count());
+        assertEquals(1.0, queries.totalAmount());
+        assertEquals(3, meterRegistry.get("request.context.resolve").tag("step", "principal").timer().count());
+    }
+
+    @Test
+    void blockedUser_IsNotAuthenticated() throws Exception {
+        when(principalCache.accessState("teacher")).thenReturn(
+                new PrincipalCache.AccessState(true, null, Set.of("TEACHER")));
+
+        assertFalse(run(authenticated(request(null))).isAuthenticated());
+        verify(principalCache, never()).load(any());
+    }
+
+    @Test
+    void changedRoles_ReloadThePrincipal() throws Exception {
+        when(principalCache.accessState("teacher")).thenReturn(
+                new PrincipalCache.AccessState(false, null, Set.of("LIBRARIAN")));
+        UserInfoUserDetails librarian = new UserInfoUserDetails(42L, "teacher", 8L, List.of("LIBRARIAN"), List.of());
+        when(principalCache.load("teacher")).thenReturn(librarian);
+
+        assertSame(librarian, run(authenticated(request(null))).getPrincipal());
+    }
+
+    @Test
+    void headerForForeignOrganization_IsRejected() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(authenticated(request("9")), response, (req, res) -> fail("chain must not run"));
+
+        assertEquals(403, response.getStatus());
+    }
+
+    @Test
+    void malformedOrganizationHeader_IsBadRequest() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(authenticated(request("five")), response, (req, res) -> fail("chain must not run"));
+
+        assertEquals(400, response.getStatus());
+    }
+
+    @Test
+    void contexts_AreClearedAfterRequest() throws Exception {
+        RequestContext seen = run(authenticated(request(null)));
+
+        assertTrue(seen.isAuthenticated());
+        assertNull(RequestContext.current());
+        assertNull(TenantContext.getTenant());
+        assertNull(OrganizationContext.getOrganizationId());
+        assertNull(MDC.get(LoggingContext.TENANT));
+        assertNull(MDC.get(LoggingContext.REQUEST_ID));
+    }
+
+    @Test
+    void requestId_IsTakenFromHeaderAndEchoed() throws Exception {
+        MockHttpServletRequest request = authenticated(request(null));
+        request.addHeader("X-Request-ID", "gw-42");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> logged = new AtomicReference<>();
+
+        filter.doFilter(request, response, (req, res) -> logged.set(
+                MDC.get(LoggingContext.REQUEST_ID) + " " + MDC.get(LoggingContext.TENANT) + " "
+                        + MDC.get(LoggingContext.ORGANIZATION)));
+
+        assertEquals("gw-42 school_a 5", logged.get());
+        assertEquals("gw-42", response.getHeader("X-Request-ID"));
+    }
+
+    private static MockHttpServletRequest request(String orgHeader) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/courses");
+        if (orgHeader != null) {
+            request.addHeader("X-Organization-ID", orgHeader);
+        }
+        return request;
+    }
+
+    private static MockHttpServletRequest authenticated(MockHttpServletRequest request) {
+        request.addHeader("Authorization", "Bearer " + TOKEN);
+        return request;
+    }
+
+    private RequestContext run(MockHttpServletRequest request) throws Exception {
+        AtomicReference<RequestContext> seen = new AtomicReference<>();
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            RequestContext context = RequestContext.current();
+            assertEquals(context.getTenantId(), TenantContext.getTenant());
+            assertEquals(context.getOrganizationId(), OrganizationContext.getOrganizationId());
+            seen.set(context);
+        });
+        SecurityContextHolder.clearContext();
+        return seen.get();
+    }
+}
@@ -0,0 +1,93 @@
+package com.thinkerscave.common.monitoring;
+
+import com.thinkerscave.common.config.TenantContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlMetricsFilterTest {
+
+    private Connection connection;
+    private SimpleMeterRegistry meterRegistry;
+    private SqlMetricsFilter filter;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        connection = DriverManager.getConnection("jdbc:h2:mem:sql_metrics;DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS student (id BIGINT PRIMARY KEY, name VARCHAR(50))");
+        }
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new SqlMetricsFilter(meterRegistry, true, 3, true, true);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        TenantContext.clear();
+        connection.close();
+    }
+
+    @Test
+    void connectionsAreOnlyWrappedDuringARequest() {
+        assertSame(connection, SqlInstrumentation.instrument(connection));
+    }
+
+    @Test
+    void countsStatementsPerEndpointAndTenant_AndFlagsRepeats() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/students/7");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/students/{id}");
+            TenantContext.setTenant("school_a");
+            try {
+                Connection instrumented = SqlInstrumentation.instrument(connection);
+                assertNotSame(connection, instrumented);
+                assertSame(instrumented, SqlInstrumentation.instrument(instrumented));
+                try (Statement statement = instrumented.createStatement()) {
+                    statement.executeQuery("SELECT COUNT(*) FROM student");
+                }
+                for (long id = 1; id <= 3; id++) {
+                    try (PreparedStatement ps = instrumented.prepareStatement("SELECT name FROM student WHERE id = ?")) {
+                        assertEquals(ps, ps);
+                        ps.setLong(1, id);
+                        ps.executeQuery();
+                    }
+                }
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            } finally {
+                TenantContext.clear();
+            }
+        });
+
+        assertTrue(response.getHeader("Server-Timing").matches("db;dur=\\d+\\.\\d;desc=\"4 statements\""));
+        assertEquals(4.0, meterRegistry.get("sql.request.statements")
+                .tags("method", "GET", "uri", "/api/v1/students/{id}", "tenant", "school_a")
+                .summary().totalAmount());
+        assertEquals(1, meterRegistry.get("sql.request.time").tag("tenant", "school_a").timer().count());
+        assertEquals(1.0, meterRegistry.get("sql.request.repeated").counter().count());
+        assertNull(SqlStatistics.current());
+    }
+
+    @Test
+    void fewRepeats_AreNotFlagged() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/courses"), new MockHttpServletResponse(),
+                (req, res) -> SqlStatistics.current().record("SELECT 1", 1_000));
+
+        assertEquals(1.0, meterRegistry.get("sql.request.statements").tag("uri", "UNMATCHED")
+                .tag("tenant", "none").summary().totalAmount());
+        assertTrue(meterRegistry.find("sql.request.repeated").counters().isEmpty());
+    }
+}
@@ -0,0 +1,124 @@
+package com.thinkerscave.common.orgm.service;
+
+import com.thinkerscave.common.config.TenantShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Onboarding a tenant on a fresh install, where ddl-auto made the public
+ * templates: ids are plain bigints (or serials drawing from public's
+ * sequence) and the tenant's search_path does not include public, so every
+ * copied table needs an id sequence of its own.
+ */
+class SchemaInitializerTest {
+
+    /** Primary key column of each public template and whether it is an identity. */
+    private static final Map<String, Object[]> PRIMARY_KEYS = Map.of(
+            "role_master", new Object[] { "role_id", false },
+            "users", new Object[] { "id", false },
+            "organization_users", new Object[] { "id", false },
+            "topics", new Object[] { "topic_id", true });
+
+    private Connection connection;
+    private Statement statement;
+    private List<String> executed;
+    private SchemaInitializer schemaInitializer;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = mock(Connection.class);
+        statement = mock(Statement.class);
+        executed = new ArrayList<>();
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.execute(anyString())).thenAnswer(invocation -> executed.add(invocation.getArgument(0)));
+        ResultSet templates = rows(List.of(
+                Map.of("table_name", "role_master"), Map.of("table_name", "users"),
+                Map.of("table_name", "organization_users"), Map.of("table_name", "topics"),
+                Map.of("table_name", "user_roles"), Map.of("table_name", "tenant_config")));
+        when(statement.executeQuery(contains("FROM pg_class"))).thenReturn(templates);
+        when(connection.prepareStatement(anyString())).thenAnswer(invocation -> prepared(invocation.getArgument(0)));
+
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        TenantShardRouter shardRouter = mock(TenantShardRouter.class);
+        when(shardRouter.dataSourceFor("new_school")).thenReturn(dataSource);
+        schemaInitializer = new SchemaInitializer(dataSource, shardRouter, null, null);
+    }
+
+    @Test
+    void freshInstall_NewSchemaGetsAnIdSequencePerTable() throws SQLException {
+        assertTrue(schemaInitializer.createSchemaIfNotExists("new_school"));
+
+        assertEquals("CREATE SCHEMA \"new_school\"", executed.get(0));
+        assertTrue(executed.contains(
+                "CREATE TABLE \"new_school\".\"role_master\" (LIKE public.\"role_master\" INCLUDING ALL)"));
+        assertTrue(executed.contains(
+                "ALTER TABLE \"new_school\".\"role_master\" ALTER COLUMN \"role_id\" DROP DEFAULT"));
+        assertTrue(executed.contains("""
+                ALTER TABLE "new_school"."role_master" ALTER COLUMN "role_id" ADD GENERATED BY DEFAULT \
+                AS IDENTITY (SEQUENCE NAME "new_school"."role_master_role_id_seq" INCREMENT BY 50)"""));
+        assertTrue(executed.contains("""
+                ALTER TABLE "new_school"."users" ALTER COLUMN "id" ADD GENERATED BY DEFAULT \
+                AS IDENTITY (SEQUENCE NAME "new_school"."users_id_seq" INCREMENT BY 50)"""));
+        assertTrue(executed.contains("""
+                ALTER TABLE "new_school"."organization_users" ALTER COLUMN "id" ADD GENERATED BY DEFAULT \
+                AS IDENTITY (SEQUENCE NAME "new_school"."organization_users_id_seq" INCREMENT BY 50)"""));
+
+        // LIKE already copied topics' identity; user_roles has a composite key
+        assertTrue(executed.stream().noneMatch(sql -> sql.contains("\"topics\" ALTER COLUMN")));
+        assertTrue(executed.stream().noneMatch(sql -> sql.contains("\"user_roles\" ALTER COLUMN")));
+        assertTrue(executed.stream().noneMatch(sql -> sql.contains("tenant_config")));
+    }
+
+    /**
+     * Answers the catalog queries of SchemaInitializer: the schema does not
+     * exist yet, no template is partitioned, primary keys per PRIMARY_KEYS.
+     */
+    private static PreparedStatement prepared(String sql) throws SQLException {
+        PreparedStatement ps = mock(PreparedStatement.class);
+        Map<Integer, String> parameters = new HashMap<>();
+        doAnswer(invocation -> parameters.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(ps).setString(anyInt(), anyString());
+        when(ps.executeQuery()).thenAnswer(invocation -> {
+            if (sql.contains("pg_get_partkeydef")) {
+                Map<String, Object> row = new HashMap<>();
+                row.put("1", null);
+                return rows(List.of(row));
+            }
+            if (sql.contains("pg_index")) {
+                Object[] key = PRIMARY_KEYS.get(parameters.get(2));
+                return rows(key == null ? List.of() : List.of(Map.of("attname", key[0], "is_identity", key[1])));
+            }
+            return rows(List.of());
+        });
+        return ps;
+    }
+
+    private static ResultSet rows(List<Map<String, Object>> rows) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        int[] row = { -1 };
+        when(rs.next()).thenAnswer(invocation -> ++row[0] < rows.size());
+        when(rs.getString(anyString())).thenAnswer(invocation ->
+                (String) rows.get(row[0]).get(invocation.getArgument(0)));
+        when(rs.getString(anyInt())).thenAnswer(invocation ->
+                (String) rows.get(row[0]).get(String.valueOf((int) invocation.getArgument(0))));
+        when(rs.getBoolean(anyString())).thenAnswer(invocation ->
+                Boolean.TRUE.equals(rows.get(row[0]).get(invocation.getArgument(0))));
+        return rs;
+    }
+}
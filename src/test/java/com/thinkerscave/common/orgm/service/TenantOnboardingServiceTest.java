@@ -1,6 +1,10 @@
 package com.thinkerscave.common.orgm.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thinkerscave.common.config.TenancyModeResolver;
+import com.thinkerscave.common.config.TenantShardRouter;
+import com.thinkerscave.common.exception.BadRequestException;
+import com.thinkerscave.common.exception.PasswordHashingBusyException;
 import com.thinkerscave.common.orgm.dto.TenantOnboardingRequest;
 import com.thinkerscave.common.orgm.dto.TenantOnboardingResponse;
 import com.thinkerscave.common.orgm.dto.TenantStatusResponse;
@@ -41,6 +45,15 @@ class TenantOnboardingServiceTest {
     @Mock
     private OrganizationService organizationService;
 
+    @Mock
+    private TenantShardRouter shardRouter;
+
+    @Mock
+    private TenancyModeResolver tenancyModes;
+
+    @Mock
+    private PooledTenancyService pooledTenancyService;
+
     @InjectMocks
     private TenantOnboardingService tenantOnboardingService;
 
@@ -62,6 +75,7 @@ class TenantOnboardingServiceTest {
     @Test
     void onboardNewTenant_Success() throws Exception {
         // Mocks
+        when(shardRouter.placeNewTenant("test_tenant")).thenReturn(TenantShardRouter.DEFAULT_SHARD);
         when(schemaInitializer.createSchemaIfNotExists(anyString())).thenReturn(true);
         when(passwordEncoder.encode(anyString())).thenReturn("hashedPassword");
         when(objectMapper.writeValueAsString(any())).thenReturn("{}");
@@ -83,6 +97,52 @@ class TenantOnboardingServiceTest {
                 eq("test_tenant"), eq("support@test-school.thinkerscave.com"), eq("hashedPassword"),
                 eq("IT_SUPPORT"), any(), any());
         verify(defaultDataSeeder, times(1)).seedDefaultData("test_tenant");
+        verify(shardRouter, never()).evict(anyString());
+    }
+
+    @Test
+    void onboardNewTenant_UnknownTenancyMode_IsBadRequest() throws Exception {
+        validRequest.setTenancyMode("shared");
+
+        BadRequestException error = assertThrows(BadRequestException.class,
+                () -> tenantOnboardingService.onboardNewTenant(validRequest));
+
+        assertTrue(error.getMessage().contains("[SCHEMA, POOLED]"));
+        verify(shardRouter, never()).placeNewTenant(anyString());
+        verify(schemaInitializer, never()).createSchemaIfNotExists(anyString());
+    }
+
+    @Test
+    void onboardNewTenant_Pooled_RegistersInPooledSchema() throws Exception {
+        validRequest.setTenancyMode("POOLED");
+        when(shardRouter.placeNewTenant("test_tenant")).thenReturn(TenantShardRouter.DEFAULT_SHARD);
+        when(passwordEncoder.encode(anyString())).thenReturn("hashedPassword");
+
+        TenantOnboardingResponse response = tenantOnboardingService.onboardNewTenant(validRequest);
+
+        assertEquals("test_tenant", response.getTenantId());
+        verify(pooledTenancyService).registerPooledTenant("test_tenant");
+        verify(schemaInitializer, never()).createSchemaIfNotExists(anyString());
+        verify(defaultDataSeeder).seedDefaultData("test_tenant");
+    }
+
+    @Test
+    void onboardNewTenant_HashingSaturated_RejectsBeforeAnySideEffect() throws Exception {
+        when(passwordEncoder.encode(anyString())).thenThrow(new PasswordHashingBusyException("busy", 1));
+
+        assertThrows(PasswordHashingBusyException.class,
+                () -> tenantOnboardingService.onboardNewTenant(validRequest));
+        verify(shardRouter, never()).placeNewTenant(anyString());
+        verify(schemaInitializer, never()).createSchemaIfNotExists(anyString());
+    }
+
+    @Test
+    void onboardNewTenant_AlreadyRegistered_ThrowsException() {
+        when(tenancyModes.isRegistered("test_tenant")).thenReturn(true);
+
+        assertThrows(TenantOnboardingService.TenantAlreadyExistsException.class,
+                () -> tenantOnboardingService.onboardNewTenant(validRequest));
+        verify(shardRouter, never()).placeNewTenant(anyString());
     }
 
     @Test
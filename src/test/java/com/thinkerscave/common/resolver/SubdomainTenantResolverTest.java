@@ -0,0 +1,84 @@
+package com.thinkerscave.common.resolver;
+
+import com.thinkerscave.common.config.TenantConfigChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class SubdomainTenantResolverTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private SubdomainTenantResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        resolver = new SubdomainTenantResolver(jdbcTemplate, 100, 300, 240);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("sjcollege")))
+                .thenReturn(List.of("sj_college"));
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("mumbai-school")))
+                .thenReturn(List.of());
+    }
+
+    @Test
+    void mappedAndUnmappedSubdomains_AreQueriedOnce() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals("sj_college", resolve("sjcollege.thinkerscave.com"));
+            assertEquals("mumbai_school", resolve("mumbai-school.thinkerscave.com"));
+        }
+
+        verify(jdbcTemplate, times(1)).queryForList(anyString(), eq(String.class), eq("sjcollege"));
+        verify(jdbcTemplate, times(1)).queryForList(anyString(), eq(String.class), eq("mumbai-school"));
+    }
+
+    @Test
+    void localHostsAndIpAddresses_AreSkippedWithoutQueries() {
+        assertNull(resolve("localhost"));
+        assertNull(resolve("203.0.113.7"));
+        assertNull(resolve("thinkerscave.com"));
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void tenantConfigChange_EvictsMappedAndNegativeEntries() {
+        resolve("sjcollege.thinkerscave.com");
+        resolve("mumbai-school.thinkerscave.com");
+
+        // mumbai-school gets registered; sj_college is deactivated
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("mumbai-school")))
+                .thenReturn(List.of("mumbai_2024"));
+        resolver.onTenantConfigChanged(new TenantConfigChangedEvent(Set.of("mumbai_2024"), Set.of("mumbai-school")));
+        resolver.onTenantConfigChanged(new TenantConfigChangedEvent(Set.of("sj_college"), Set.of("sjcollege")));
+
+        assertEquals("mumbai_2024", resolve("mumbai-school.thinkerscave.com"));
+        resolve("sjcollege.thinkerscave.com");
+        verify(jdbcTemplate, times(2)).queryForList(anyString(), eq(String.class), eq("sjcollege"));
+    }
+
+    @Test
+    void databaseFailure_FallsBackWithoutCaching() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("newschool")))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"))
+                .thenReturn(List.of("new_school"));
+
+        assertEquals("newschool", resolve("newschool.thinkerscave.com"));
+        assertEquals("new_school", resolve("newschool.thinkerscave.com"));
+    }
+
+    private String resolve(String host) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setServerName(host);
+        return resolver.extractTenantFromSubdomain(request);
+    }
+}
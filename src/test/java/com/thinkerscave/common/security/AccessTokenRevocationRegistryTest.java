@@ -0,0 +1,105 @@
+package com.thinkerscave.common.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AccessTokenRevocationRegistryTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private AccessTokenRevocationRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        registry = new AccessTokenRevocationRegistry(jdbcTemplate, 100, 0.01);
+    }
+
+    @Test
+    void revokedToken_IsRevokedUntilItExpires() {
+        Claims claims = Jwts.claims()
+                .id("jti-1")
+                .subject("teacher")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .build();
+
+        registry.revoke(claims);
+
+        assertTrue(registry.isRevoked("jti-1"));
+        assertFalse(registry.isRevoked("jti-2"));
+        assertFalse(registry.isRevoked(null));
+        verify(jdbcTemplate).update(contains("INSERT INTO public.revoked_access_tokens"),
+                eq("jti-1"), anyLong(), anyLong());
+    }
+
+    @Test
+    void expiredTokens_AreNeitherStoredNorReportedAfterCompaction() {
+        registry.revoke("gone", System.currentTimeMillis() - 1);
+        verifyNoInteractions(jdbcTemplate);
+
+        registry.revoke("short", System.currentTimeMillis() + 50);
+        registry.revoke("long", System.currentTimeMillis() + 60_000);
+        sleep(100);
+        registry.compact();
+
+        assertFalse(registry.isRevoked("short"));
+        assertTrue(registry.isRevoked("long"));
+        verify(jdbcTemplate).update(contains("DELETE FROM public.revoked_access_tokens"), anyLong());
+    }
+
+    @Test
+    void sync_PicksUpRevocationsOfOtherNodes() throws Exception {
+        ResultSet row = mock(ResultSet.class);
+        when(row.getString("jti")).thenReturn("remote");
+        when(row.getLong("expires_at")).thenReturn(System.currentTimeMillis() + 60_000);
+        doAnswer(invocation -> {
+            ((RowCallbackHandler) invocation.getArgument(1)).processRow(row);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), anyLong(), anyLong());
+
+        registry.sync();
+
+        assertTrue(registry.isRevoked("remote"));
+    }
+
+    @Test
+    void filter_GrowsPastExpectedInsertionsWithoutFalseNegatives() {
+        long expiresAt = System.currentTimeMillis() + 60_000;
+        for (int i = 0; i < 1_000; i++) {
+            registry.revoke("jti-" + i, expiresAt);
+        }
+
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(registry.isRevoked("jti-" + i));
+        }
+        int falsePositives = 0;
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+        for (int i = 0; i < 1_000; i++) {
+            filter.put("jti-" + i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
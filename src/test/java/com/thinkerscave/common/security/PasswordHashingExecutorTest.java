@@ -0,0 +1,75 @@
+package com.thinkerscave.common.security;
+
+import com.thinkerscave.common.config.TenantContext;
+import com.thinkerscave.common.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingExecutorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordHashingExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new PasswordHashingExecutor(1, 1, 2000, 3);
+        executor.bindTo(meterRegistry);
+        TenantContext.setTenant("sj_college");
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+        executor.shutdown();
+    }
+
+    @Test
+    void encoder_HashesOnPoolAndRecordsTenantMetrics() {
+        OffloadedPasswordEncoder encoder = new OffloadedPasswordEncoder(new BCryptPasswordEncoder(4), executor);
+
+        String hash = encoder.encode("secret");
+
+        assertTrue(encoder.matches("secret", hash));
+        assertEquals(1, meterRegistry.get("password.hashing")
+                .tag("tenant", "sj_college").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    void saturatedPool_RejectsFast() throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+        CompletableFuture<Object> busy = CompletableFuture.supplyAsync(() -> executor.execute("matches", () -> {
+            running.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        }), callers);
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Object> queued = CompletableFuture.supplyAsync(() -> executor.execute("matches", () -> true), callers);
+        while (!queued.isDone() && meterRegistry.get("executor.queued").tag("name", "password.hashing.executor").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        PasswordHashingBusyException rejected = assertThrows(PasswordHashingBusyException.class,
+                () -> executor.execute("matches", () -> true));
+
+        assertEquals(3, rejected.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("password.hashing.rejected")
+                .tag("tenant", "sj_college").tag("reason", "queue_full").counter().count());
+        release.countDown();
+        assertEquals(true, busy.get(5, TimeUnit.SECONDS));
+        assertEquals(true, queued.get(5, TimeUnit.SECONDS));
+        callers.shutdown();
+    }
+}
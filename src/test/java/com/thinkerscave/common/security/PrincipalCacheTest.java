@@ -0,0 +1,148 @@
+package com.thinkerscave.common.security;
+
+import com.thinkerscave.common.config.TenantContext;
+import com.thinkerscave.common.usrm.domain.User;
+import com.thinkerscave.common.usrm.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PrincipalCacheTest {
+
+    private UserDetailsService userDetailsService;
+    private UserRepository userRepository;
+    private PrincipalCache principalCache;
+
+    @BeforeEach
+    void setUp() {
+        userDetailsService = mock(UserDetailsService.class);
+        when(userDetailsService.loadUserByUsername(anyString()))
+                .thenAnswer(inv -> mock(UserDetails.class));
+        userRepository = mock(UserRepository.class);
+        principalCache = new PrincipalCache(userDetailsService, mock(PrivilegeDictionary.class), userRepository,
+                100, 300);
+        TenantContext.setTenant("school_a");
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void load_RepeatedRequests_HitDatabaseOnce() {
+        UserDetails first = principalCache.load("alice");
+        UserDetails second = principalCache.load("alice");
+
+        assertSame(first, second);
+        verify(userDetailsService, times(1)).loadUserByUsername("alice");
+    }
+
+    @Test
+    void load_SameUsernameInOtherTenant_IsCachedSeparately() {
+        UserDetails inA = principalCache.load("alice");
+        TenantContext.setTenant("school_b");
+        UserDetails inB = principalCache.load("alice");
+
+        assertNotSame(inA, inB);
+        verify(userDetailsService, times(2)).loadUserByUsername("alice");
+    }
+
+    @Test
+    void evictUser_DropsBothNamesOfTheUser() {
+        principalCache.load("alice");
+        principalCache.load("alice@school.test");
+
+        User user = new User();
+        user.setUserName("alice");
+        user.setEmail("alice@school.test");
+        principalCache.evictUser(user);
+
+        principalCache.load("alice");
+        principalCache.load("alice@school.test");
+        verify(userDetailsService, times(2)).loadUserByUsername("alice");
+        verify(userDetailsService, times(2)).loadUserByUsername("alice@school.test");
+    }
+
+    @Test
+    void evictTenant_LeavesOtherTenantsCached() {
+        principalCache.load("alice");
+        TenantContext.setTenant("school_b");
+        principalCache.load("bob");
+
+        TenantContext.setTenant("school_a");
+        principalCache.evictTenant();
+        principalCache.load("alice");
+        TenantContext.setTenant("school_b");
+        principalCache.load("bob");
+
+        verify(userDetailsService, times(2)).loadUserByUsername("alice");
+        verify(userDetailsService, times(1)).loadUserByUsername("bob");
+    }
+
+    @Test
+    void evictUser_InsideTransaction_WaitsForCommit() {
+        principalCache.load("alice");
+        TransactionSynchronizationManager.initSynchronization();
+
+        principalCache.evictUser("alice");
+        principalCache.load("alice");
+        verify(userDetailsService, times(1)).loadUserByUsername("alice");
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        principalCache.load("alice");
+        verify(userDetailsService, times(2)).loadUserByUsername("alice");
+    }
+
+    @Test
+    void accessState_IsCachedUntilTheUserChanges() {
+        when(userRepository.findAccessState("alice")).thenReturn(List.of(
+                new Object[] { 1L, false, null, "TEACHER" },
+                new Object[] { 1L, false, null, "LIBRARIAN" }));
+
+        PrincipalCache.AccessState state = principalCache.accessState("alice");
+        principalCache.accessState("alice");
+
+        assertFalse(state.suspended());
+        assertEquals(Set.of("TEACHER", "LIBRARIAN"), state.roleNames());
+        verify(userRepository, times(1)).findAccessState("alice");
+
+        when(userRepository.findAccessState("alice")).thenReturn(List.<Object[]>of(
+                new Object[] { 1L, true, null, "TEACHER" }));
+        principalCache.evictUser("alice");
+
+        assertTrue(principalCache.accessState("alice").suspended());
+    }
+
+    @Test
+    void accessState_ExpiredLoginLock_IsNotSuspended() {
+        when(userRepository.findAccessState("alice")).thenReturn(List.<Object[]>of(
+                new Object[] { 1L, true, LocalDateTime.now().minusHours(1), "TEACHER" }));
+        when(userRepository.findAccessState("bob")).thenReturn(List.of());
+
+        assertFalse(principalCache.accessState("alice").suspended());
+        assertNull(principalCache.accessState("bob"));
+    }
+
+    @Test
+    void accessState_MatchesOnlyPrincipalsWithTheCurrentRoles() {
+        PrincipalCache.AccessState state = new PrincipalCache.AccessState(false, null, Set.of("TEACHER"));
+
+        assertTrue(state.matches(new UserInfoUserDetails(1L, "alice", 7L, List.of("TEACHER"), List.of())));
+        assertFalse(state.matches(new UserInfoUserDetails(1L, "alice", 8L, List.of("ADMIN"), List.of())));
+    }
+}
@@ -1,12 +1,13 @@
 package com.thinkerscave.common.security;
 
-import com.thinkerscave.common.filter.JwtAuthFilter;
-import com.thinkerscave.common.filter.TenantFilter;
+import com.thinkerscave.common.filter.RequestContextPipelineFilter;
+import com.thinkerscave.common.filter.RequestContextResolver;
 import com.thinkerscave.common.resolver.SubdomainTenantResolver;
 import com.thinkerscave.common.service.TenantLookupService;
 import com.thinkerscave.common.usrm.controller.UserController;
 import com.thinkerscave.common.usrm.dto.UserResponseDTO;
 import com.thinkerscave.common.usrm.service.LoginAttemptService;
+import com.thinkerscave.common.usrm.service.LoginService;
 import com.thinkerscave.common.usrm.service.RefreshTokenService;
 import com.thinkerscave.common.usrm.service.UserService;
 import com.thinkerscave.common.usrm.service.impl.JwtServiceImpl;
@@ -36,7 +37,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import org.junit.jupiter.api.Disabled;
 
 @WebMvcTest(UserController.class)
-@Import({ SecurityConfig.class, TenantFilter.class, JwtAuthFilter.class })
+@Import({ SecurityConfig.class, RequestContextPipelineFilter.class, RequestContextResolver.class })
 @Disabled("Failing due to missing UserRepository bean dependency in OrganizationFilter")
 class SecurityIntegrationTest {
 
@@ -58,6 +59,9 @@ class SecurityIntegrationTest {
     @MockBean
     private RefreshTokenService refreshTokenService;
 
+    @MockBean
+    private LoginService loginService;
+
     @MockBean
     private LoginAttemptService loginAttemptService;
 
@@ -67,6 +71,9 @@ class SecurityIntegrationTest {
     @MockBean
     private SubdomainTenantResolver subdomainResolver;
 
+    @MockBean
+    private AccessTokenRevocationRegistry accessTokenRevocations;
+
     @MockBean
     private UserUserInfoDetailsService userDetailsService;
 
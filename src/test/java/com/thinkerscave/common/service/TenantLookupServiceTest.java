@@ -0,0 +1,105 @@
+package com.thinkerscave.common.service;
+
+import com.thinkerscave.common.config.TenantConfigChangedEvent;
+import com.thinkerscave.common.config.UserTenantMappingChangedEvent;
+import com.thinkerscave.common.service.TenantLookupService.LoginTenant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TenantLookupServiceTest {
+
+    private static final LoginTenant PRIYA = new LoginTenant("sj_college", "priya", "Priya@SJ.edu");
+
+    private JdbcTemplate jdbcTemplate;
+    private TenantLookupService service;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        service = new TenantLookupService(jdbcTemplate, 100, 300);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void identifier_IsNormalisedAndCached() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq("priya@sj.edu"), eq("priya@sj.edu")))
+                .thenReturn(List.of(PRIYA));
+
+        assertEquals("sj_college", service.findTenantByEmailOrUsername("  Priya@SJ.edu "));
+        assertEquals(PRIYA, service.findLogin("priya@sj.edu"));
+
+        verify(jdbcTemplate, times(1)).query(anyString(), any(RowMapper.class), eq("priya@sj.edu"), eq("priya@sj.edu"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void mobileNumber_ResolvesToCanonicalUsername() {
+        when(jdbcTemplate.query(contains("mobile_number"), any(RowMapper.class), eq(9876543210L)))
+                .thenReturn(List.of(PRIYA));
+
+        LoginTenant login = service.findLogin("98765-43210");
+
+        assertEquals("priya", login.username());
+        assertEquals("sj_college", login.tenantId());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void sharedMobileNumber_IsNotALogin() {
+        when(jdbcTemplate.query(contains("mobile_number"), any(RowMapper.class), eq(9876543210L)))
+                .thenReturn(List.of(PRIYA, new LoginTenant("mumbai_school", "ravi", "ravi@mumbai.edu")));
+
+        assertEquals("public", service.findTenantByEmailOrUsername("9876543210"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void unknownIdentifier_IsNotCached() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq("nobody"), eq("nobody")))
+                .thenReturn(List.of());
+
+        assertNull(service.findLogin("nobody"));
+        assertNull(service.findLogin("nobody"));
+
+        verify(jdbcTemplate, times(2)).query(anyString(), any(RowMapper.class), eq("nobody"), eq("nobody"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void mappingAndTenantChanges_EvictCachedLogins() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq("priya"), eq("priya")))
+                .thenReturn(List.of(PRIYA));
+
+        service.findLogin("priya");
+        service.onUserTenantMappingChanged(new UserTenantMappingChangedEvent(Set.of("priya@sj.edu")));
+        service.findLogin("priya");
+        service.onTenantConfigChanged(new TenantConfigChangedEvent(Set.of("sj_college"), Set.of()));
+        service.findLogin("priya");
+
+        verify(jdbcTemplate, times(3)).query(anyString(), any(RowMapper.class), eq("priya"), eq("priya"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void upsert_WritesMobileNumberAndEvictsTheUser() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq("priya"), eq("priya")))
+                .thenReturn(List.of(PRIYA));
+        service.findLogin("priya");
+
+        service.upsertUserTenantMapping("priya@sj.edu", "priya", 9876543210L, "sj_college");
+        service.findLogin("priya");
+
+        verify(jdbcTemplate).update(contains("mobile_number"), eq("priya@sj.edu"), eq("priya"), eq(9876543210L),
+                eq("sj_college"));
+        verify(jdbcTemplate, times(2)).query(anyString(), any(RowMapper.class), eq("priya"), eq("priya"));
+    }
+}
@@ -0,0 +1,144 @@
+package com.thinkerscave.common.usrm.service.impl;
+
+import com.thinkerscave.common.config.TenantContext;
+import com.thinkerscave.common.menum.repository.RoleMenuPrivilegeMappingRepository;
+import com.thinkerscave.common.menum.repository.SubMenuPrivilegeMappingRepository;
+import com.thinkerscave.common.security.PrivilegeDictionary;
+import com.thinkerscave.common.security.UserInfoUserDetails;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Covers the verified-claims cache and the compact principal claims.
+ * {@link JwtFilterChainBenchmark} measures the filter chain's token work.
+ */
+class JwtServiceImplTest {
+
+    private static final String SECRET = Base64.getEncoder()
+            .encodeToString("unit_test_secret_key_with_at_least_256_bits!!".getBytes());
+
+    private JwtServiceImpl jwtService;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtServiceImpl();
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtService, "expiration", 60_000L);
+        ReflectionTestUtils.setField(jwtService, "claimsCacheMaxSize", 1_000L);
+        meterRegistry = new SimpleMeterRegistry();
+        jwtService.bindTo(meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void filterChain_VerifiesSignatureOncePerToken() {
+        String token = jwtService.generateToken("teacher@school.com", 42);
+        UserDetails user = new User("teacher@school.com", "x", List.of());
+
+        // Tenant resolution, then authentication
+        Claims claims = jwtService.extractAllClaimsPublic(token);
+        assertTrue(jwtService.validateToken(token, user));
+        assertEquals(42, jwtService.extractUserId(token));
+
+        assertEquals("teacher@school.com", claims.getSubject());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "jwt.verified_claims").tag("result", "miss")
+                .functionCounter().count());
+    }
+
+    @Test
+    void compactAuthorities_RebuildPrincipalUntilDictionaryChanges() {
+        SubMenuPrivilegeMappingRepository offered = mock(SubMenuPrivilegeMappingRepository.class);
+        RoleMenuPrivilegeMappingRepository granted = mock(RoleMenuPrivilegeMappingRepository.class);
+        when(offered.findActivePrivilegeCodes()).thenReturn(List.of("COURSES_ADD", "COURSES_VIEW", "SYLLABUS_EDIT"));
+        when(granted.findActiveGrantKeys()).thenReturn(List.of("7:COURSES_VIEW", "7:SYLLABUS_EDIT"));
+        PrivilegeDictionary dictionary = new PrivilegeDictionary(offered, granted, 300);
+        ReflectionTestUtils.setField(jwtService, "privilegeDictionary", dictionary);
+
+        UserInfoUserDetails teacher = new UserInfoUserDetails(42L, "teacher@school.com", 7L, List.of("TEACHER"),
+                List.of("COURSES_VIEW", "SYLLABUS_EDIT"));
+        String token = jwtService.generateToken(teacher);
+
+        UserInfoUserDetails rebuilt = jwtService.extractPrincipal(token);
+        assertNotNull(rebuilt);
+        assertEquals(42L, rebuilt.getUserId());
+        assertEquals(7L, rebuilt.getRoleId());
+        assertEquals(authorityNames(teacher), authorityNames(rebuilt));
+
+        // A grant change bumps the dictionary version; the token falls back to a lookup
+        when(granted.findActiveGrantKeys()).thenReturn(List.of("7:COURSES_VIEW"));
+        ReflectionTestUtils.invokeMethod(dictionary, "evict", "public");
+        assertNull(jwtService.extractPrincipal(token));
+    }
+
+    @Test
+    void compactAuthorities_AreOnlyHonouredInTheIssuingTenant() {
+        SubMenuPrivilegeMappingRepository offered = mock(SubMenuPrivilegeMappingRepository.class);
+        RoleMenuPrivilegeMappingRepository granted = mock(RoleMenuPrivilegeMappingRepository.class);
+        when(offered.findActivePrivilegeCodes()).thenReturn(List.of("COURSES_VIEW"));
+        when(granted.findActiveGrantKeys()).thenReturn(List.of("7:COURSES_VIEW"));
+        PrivilegeDictionary dictionary = new PrivilegeDictionary(offered, granted, 300);
+        ReflectionTestUtils.setField(jwtService, "privilegeDictionary", dictionary);
+        UserInfoUserDetails teacher = new UserInfoUserDetails(42L, "teacher@school.com", 7L, List.of("TEACHER"),
+                List.of("COURSES_VIEW"));
+
+        TenantContext.setTenant("school_a");
+        String token = jwtService.generateToken(teacher);
+        String versionInA = dictionary.current().getVersion();
+        assertNotNull(jwtService.extractPrincipal(token));
+
+        // Seeded alike, yet school_b must not accept school_a's token
+        TenantContext.setTenant("school_b");
+        assertNotEquals(versionInA, dictionary.current().getVersion());
+        assertNull(jwtService.extractPrincipal(token));
+    }
+
+    @Test
+    void legacyToken_HasNoCompactPrincipal() {
+        ReflectionTestUtils.setField(jwtService, "privilegeDictionary", mock(PrivilegeDictionary.class));
+
+        assertNull(jwtService.extractPrincipal(jwtService.generateToken("teacher@school.com")));
+    }
+
+    private static List<String> authorityNames(UserDetails user) {
+        return user.getAuthorities().stream().map(GrantedAuthority::getAuthority).sorted().toList();
+    }
+
+    @Test
+    void tamperedToken_IsNeverCached() {
+        String token = jwtService.generateToken("teacher@school.com");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThrows(Exception.class, () -> jwtService.extractAllClaimsPublic(tampered));
+        assertThrows(Exception.class, () -> jwtService.extractAllClaimsPublic(tampered));
+    }
+
+    @Test
+    void evictClaims_ForcesReverification() {
+        String token = jwtService.generateToken("teacher@school.com");
+        jwtService.extractAllClaimsPublic(token);
+
+        jwtService.evictClaims(token);
+        jwtService.extractAllClaimsPublic(token);
+
+        assertEquals(2.0, meterRegistry.get("cache.gets").tag("cache", "jwt.verified_claims").tag("result", "miss")
+                .functionCounter().count());
+    }
+}
@@ -0,0 +1,126 @@
+package com.thinkerscave.common.usrm.service.impl;
+
+import com.thinkerscave.common.config.TenantContext;
+import com.thinkerscave.common.security.PrincipalCache;
+import com.thinkerscave.common.usrm.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class LoginAttemptServiceImplTest {
+
+    private UserRepository userRepository;
+    private PrincipalCache principalCache;
+    private InMemoryLoginAttemptStore store;
+    private LoginAttemptServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        principalCache = mock(PrincipalCache.class);
+        store = new InMemoryLoginAttemptStore(1000);
+        service = new LoginAttemptServiceImpl(store, userRepository, principalCache,
+                mock(PlatformTransactionManager.class));
+        TenantContext.setTenant("sj_college");
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        TenantContext.clear();
+        service.flush();
+    }
+
+    @Test
+    void loginsBelowThreshold_NeverTouchTheDatabase() {
+        service.isBlocked("priya");
+        service.loginFailed("priya");
+        service.loginFailed("priya");
+        service.isBlocked("priya");
+        service.loginSucceeded("priya");
+
+        assertFalse(service.isBlocked("priya"));
+        verifyNoInteractions(userRepository, principalCache);
+    }
+
+    @Test
+    void crossingThreshold_LocksOnceAndPersistsInBackground() {
+        for (int i = 0; i < 5; i++) {
+            service.loginFailed("priya");
+        }
+
+        assertTrue(service.isBlocked("priya"));
+        verify(userRepository, timeout(1000).times(1)).updateLockState(eq("priya"), eq(true), eq(3), notNull());
+        verify(principalCache, timeout(1000)).evictUser("priya");
+    }
+
+    @Test
+    void concurrentFailures_LockAndPersistOnce() throws Exception {
+        int threads = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> failures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                failures.add(pool.submit(() -> {
+                    TenantContext.setTenant("sj_college");
+                    start.await();
+                    service.loginFailed("priya");
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> failure : failures) {
+                failure.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertTrue(service.isBlocked("priya"));
+        service.flush();
+        verify(userRepository, times(1)).updateLockState(eq("priya"), eq(true), eq(3), notNull());
+    }
+
+    @Test
+    void countersAreKeptPerTenant() {
+        service.loginFailed("priya");
+        service.loginFailed("priya");
+        TenantContext.setTenant("mumbai_school");
+        service.loginFailed("priya");
+
+        assertFalse(service.isBlocked("priya"));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void expiredLock_IsLiftedAndUnlockPersisted() {
+        long now = System.currentTimeMillis();
+        store.lock("sj_college\u0000priya", now - 10, now - 1);
+
+        assertFalse(service.isBlocked("priya"));
+        verify(userRepository, timeout(1000)).updateLockState("priya", false, null, null);
+    }
+
+    @Test
+    void failuresOutsideWindow_DoNotCount() {
+        InMemoryLoginAttemptStore.AttemptWindow window = new InMemoryLoginAttemptStore.AttemptWindow(3);
+
+        assertEquals(1, window.recordFailure(1_000, 500));
+        assertEquals(2, window.recordFailure(1_200, 500));
+        assertEquals(2, window.recordFailure(1_600, 500));
+        assertEquals(3, window.recordFailure(1_650, 500));
+    }
+}
@@ -0,0 +1,154 @@
+package com.thinkerscave.common.usrm.service.impl;
+
+import com.thinkerscave.common.config.TenantContext;
+import com.thinkerscave.common.menum.domain.Menu;
+import com.thinkerscave.common.menum.domain.Privilege;
+import com.thinkerscave.common.menum.domain.Role;
+import com.thinkerscave.common.menum.domain.RoleMenuPrivilegeMapping;
+import com.thinkerscave.common.menum.domain.SubMenu;
+import com.thinkerscave.common.orgm.domain.Organisation;
+import com.thinkerscave.common.shared.enums.OrganizationType;
+import com.thinkerscave.common.usrm.domain.RefreshToken;
+import com.thinkerscave.common.usrm.domain.User;
+import com.thinkerscave.common.usrm.service.LoginService.LoginResult;
+import com.thinkerscave.common.usrm.service.RefreshTokenService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Statements a login sends to the database, counted by Hibernate against
+ * the test database. Refresh token rotation is a native PostgreSQL UPDATE
+ * ... RETURNING that H2 cannot run, so RefreshTokenService is mocked and
+ * its one statement is not part of the counts.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({ LoginServiceImpl.class, LoginServiceImplStatementsTest.Passwords.class })
+class LoginServiceImplStatementsTest {
+
+    @Autowired
+    private LoginServiceImpl loginService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @MockBean
+    private RefreshTokenService refreshTokenService;
+
+    private Statistics statistics;
+
+    @TestConfiguration
+    static class Passwords {
+
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder(4);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        Organisation org = new Organisation();
+        org.setOrgCode("SJC");
+        org.setOrgName("SJ College");
+        org.setTenantSchema("sj_college");
+        org.setType(OrganizationType.COLLEGE);
+        entityManager.persist(org);
+
+        Role role = new Role();
+        role.setRoleName("TEACHER");
+        role.setRoleCode("TEACHER");
+        entityManager.persist(role);
+
+        Menu menu = new Menu();
+        menu.setName("Courses");
+        menu.setIsActive(true);
+        entityManager.persist(menu);
+        SubMenu subMenu = new SubMenu();
+        subMenu.setSubMenuName("Courses");
+        subMenu.setSubMenuCode("COURSES");
+        subMenu.setIsActive(true);
+        subMenu.setMenu(menu);
+        entityManager.persist(subMenu);
+        Privilege privilege = new Privilege();
+        privilege.setPrivilegeName("VIEW");
+        entityManager.persist(privilege);
+        RoleMenuPrivilegeMapping mapping = new RoleMenuPrivilegeMapping();
+        mapping.setRole(role);
+        mapping.setSubMenu(subMenu);
+        mapping.setPrivilege(privilege);
+        entityManager.persist(mapping);
+
+        User user = User.builder()
+                .userCode("U-42")
+                .firstName("Priya")
+                .lastName("Nair")
+                .email("priya@sj.edu")
+                .mobileNumber(9_800_000_042L)
+                .userName("priya")
+                .password(passwordEncoder.encode("secret"))
+                .roles(Set.of(role))
+                // organizations stay empty: organization_users is also an entity
+                // table, whose id only the real schema generates
+                .build();
+        entityManager.persist(user);
+        entityManager.flush();
+        entityManager.clear();
+
+        when(refreshTokenService.createRefreshToken(any(User.class)))
+                .thenAnswer(invocation -> RefreshToken.builder().user(invocation.getArgument(0)).build());
+        TenantContext.setTenant("sj_college");
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void login_CostsThreeStatementsBeforeTheRefreshToken() {
+        LoginResult result = loginService.login("priya", "secret");
+
+        assertEquals(List.of("COURSES_VIEW"), result.profile().getPrivileges());
+        assertEquals("COLLEGE", result.profile().getOrgType());
+        // user graph, privilege matrix, org type
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void wrongPassword_StopsAfterUserGraphAndPrivileges() {
+        assertThrows(BadCredentialsException.class, () -> loginService.login("priya", "wrong"));
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        verifyNoInteractions(refreshTokenService);
+    }
+}
@@ -0,0 +1,119 @@
+package com.thinkerscave.common.usrm.service.impl;
+
+import com.thinkerscave.common.config.TenantContext;
+import com.thinkerscave.common.menum.domain.Privilege;
+import com.thinkerscave.common.menum.domain.Role;
+import com.thinkerscave.common.menum.domain.RoleMenuPrivilegeMapping;
+import com.thinkerscave.common.menum.domain.SubMenu;
+import com.thinkerscave.common.menum.repository.RoleMenuPrivilegeMappingRepository;
+import com.thinkerscave.common.orgm.domain.Organisation;
+import com.thinkerscave.common.orgm.repository.OrganizationRepository;
+import com.thinkerscave.common.usrm.domain.User;
+import com.thinkerscave.common.usrm.repository.RefreshTokenRepository;
+import com.thinkerscave.common.usrm.repository.UserRepository;
+import com.thinkerscave.common.usrm.service.LoginService.LoginResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.LockedException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class LoginServiceImplTest {
+
+    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+
+    private UserRepository userRepository;
+    private RoleMenuPrivilegeMappingRepository mappingRepository;
+    private OrganizationRepository organizationRepository;
+    private RefreshTokenRepository refreshTokenRepository;
+    private LoginServiceImpl loginService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        mappingRepository = mock(RoleMenuPrivilegeMappingRepository.class);
+        organizationRepository = mock(OrganizationRepository.class);
+        refreshTokenRepository = mock(RefreshTokenRepository.class);
+        loginService = new LoginServiceImpl(userRepository, mappingRepository, organizationRepository,
+                new RefreshTokenServiceImpl(refreshTokenRepository, userRepository, false, 0, 0), passwordEncoder);
+        TenantContext.setTenant("sj_college");
+
+        Role role = new Role();
+        role.setRoleId(7L);
+        role.setRoleName("TEACHER");
+        Organisation org = new Organisation();
+        org.setOrgId(5L);
+        org.setOrgName("SJ College");
+
+        user = new User();
+        user.setId(42L);
+        user.setUserName("priya");
+        user.setPassword(passwordEncoder.encode("secret"));
+        user.setRoles(Set.of(role));
+        user.setOrganizations(Set.of(org));
+
+        SubMenu subMenu = new SubMenu();
+        subMenu.setSubMenuCode("COURSES");
+        Privilege privilege = new Privilege();
+        privilege.setPrivilegeName("VIEW");
+        RoleMenuPrivilegeMapping mapping = new RoleMenuPrivilegeMapping();
+        mapping.setSubMenu(subMenu);
+        mapping.setPrivilege(privilege);
+
+        when(userRepository.findLoginProfile("priya")).thenReturn(List.of(user));
+        when(mappingRepository.findByRoleId(7L)).thenReturn(List.of(mapping));
+        when(organizationRepository.findByTenantSchema("sj_college")).thenReturn(Optional.empty());
+        when(refreshTokenRepository.rotate(eq(42L), any(), any())).thenReturn(Optional.of("previous-hash"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void login_BuildsPrincipalProfileAndTokenFromOneUserLoad() {
+        LoginResult result = loginService.login("priya", "secret");
+
+        assertEquals(42L, result.principal().getUserId());
+        assertEquals(List.of("COURSES_VIEW"), result.profile().getPrivileges());
+        assertEquals(1, result.profile().getOrganizations().size());
+        assertSame(user, result.refreshToken().getUser());
+        verify(userRepository, never()).findByUserName(any());
+    }
+
+    @Test
+    void wrongPassword_IsBadCredentialsWithoutAToken() {
+        assertThrows(BadCredentialsException.class, () -> loginService.login("priya", "wrong"));
+
+        verifyNoInteractions(organizationRepository);
+        verifyNoInteractions(refreshTokenRepository);
+    }
+
+    @Test
+    void unknownUser_IsBadCredentials() {
+        when(userRepository.findLoginProfile("nobody")).thenReturn(List.of());
+
+        assertThrows(BadCredentialsException.class, () -> loginService.login("nobody", "secret"));
+    }
+
+    @Test
+    void lockedAccount_IsRefusedBeforePasswordCheck() {
+        user.setIsBlocked(true);
+        user.setLockDateTime(LocalDateTime.now());
+
+        assertThrows(LockedException.class, () -> loginService.login("priya", "secret"));
+    }
+}
@@ -0,0 +1,132 @@
+package com.thinkerscave.common.usrm.service.impl;
+
+import com.thinkerscave.common.config.TenantContext;
+import com.thinkerscave.common.usrm.domain.RefreshToken;
+import com.thinkerscave.common.usrm.domain.User;
+import com.thinkerscave.common.usrm.repository.RefreshTokenRepository;
+import com.thinkerscave.common.usrm.repository.RefreshTokenRepository.TokenOwner;
+import com.thinkerscave.common.usrm.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RefreshTokenServiceImplTest {
+
+    private RefreshTokenRepository refreshTokenRepository;
+    private RefreshTokenServiceImpl service;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenRepository = mock(RefreshTokenRepository.class);
+        service = new RefreshTokenServiceImpl(refreshTokenRepository, mock(UserRepository.class), true, 100, 60);
+        TenantContext.setTenant("sj_college");
+
+        user = new User();
+        user.setId(42L);
+        user.setUserName("priya");
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void createRefreshToken_StoresOnlyTheHash() {
+        when(refreshTokenRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        RefreshToken issued = service.createRefreshToken(user);
+
+        assertNotNull(issued.getToken());
+        assertEquals(RefreshTokenServiceImpl.hash(issued.getToken()), issued.getTokenHash());
+        assertEquals(64, issued.getTokenHash().length());
+        verify(refreshTokenRepository).rotate(eq(42L), eq(issued.getTokenHash()), any());
+        verify(refreshTokenRepository).save(issued);
+    }
+
+    @Test
+    void createRefreshToken_RotatesExistingTokenWithOneStatement() {
+        when(refreshTokenRepository.rotate(eq(42L), any(), any())).thenReturn(Optional.of("previous-hash"));
+
+        service.createRefreshToken(user);
+
+        verify(refreshTokenRepository).rotate(eq(42L), any(), any());
+        verifyNoMoreInteractions(refreshTokenRepository);
+    }
+
+    @Test
+    void validate_ServesRepeatedRefreshesFromCache() {
+        String token = "a-raw-token";
+        when(refreshTokenRepository.findOwnerByTokenHash(eq(RefreshTokenServiceImpl.hash(token)), any()))
+                .thenReturn(Optional.of(owner("priya", Instant.now().plusSeconds(3600))));
+
+        assertEquals("priya", service.validateAndGetUsername(token));
+        assertEquals("priya", service.validateAndGetUsername(token));
+
+        verify(refreshTokenRepository, times(1)).findOwnerByTokenHash(any(), any());
+    }
+
+    @Test
+    void logout_EvictsCachedToken() {
+        String token = "a-raw-token";
+        when(refreshTokenRepository.findOwnerByTokenHash(any(), any()))
+                .thenReturn(Optional.of(owner("priya", Instant.now().plusSeconds(3600))))
+                .thenReturn(Optional.empty());
+        service.validateAndGetUsername(token);
+
+        service.deleteByToken(token);
+
+        verify(refreshTokenRepository).deleteByTokenHash(RefreshTokenServiceImpl.hash(token));
+        assertThrows(RuntimeException.class, () -> service.validateAndGetUsername(token));
+    }
+
+    @Test
+    void cacheEntries_AreScopedToTheTenant() {
+        String token = "a-raw-token";
+        when(refreshTokenRepository.findOwnerByTokenHash(any(), any()))
+                .thenReturn(Optional.of(owner("priya", Instant.now().plusSeconds(3600))))
+                .thenReturn(Optional.empty());
+        service.validateAndGetUsername(token);
+
+        TenantContext.setTenant("other_school");
+
+        assertThrows(RuntimeException.class, () -> service.validateAndGetUsername(token));
+    }
+
+    @Test
+    void purge_DeletesInBatchesUntilNoneAreLeft() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(refreshTokenRepository.deleteExpiredBatch(any(), eq(2))).thenReturn(2, 2, 1);
+        RefreshTokenPurgeJob job = new RefreshTokenPurgeJob(refreshTokenRepository, jdbcTemplate,
+                mock(PlatformTransactionManager.class), 2);
+
+        assertEquals(5, job.purgeTenant("sj_college", Instant.now()));
+        verify(refreshTokenRepository, times(3)).deleteExpiredBatch(any(), eq(2));
+        assertNull(TenantContext.getTenant());
+    }
+
+    private static TokenOwner owner(String userName, Instant expiryDate) {
+        return new TokenOwner() {
+            @Override
+            public String getUserName() {
+                return userName;
+            }
+
+            @Override
+            public Instant getExpiryDate() {
+                return expiryDate;
+            }
+        };
+    }
+}